@@ -1,11 +1,16 @@
 package com.ansill.tesla.api.high;
 
 import com.ansill.lock.autolock.AutoLock;
+import com.ansill.tesla.api.exception.VehicleOfflineException;
+import com.ansill.tesla.api.exception.VehicleSleepingException;
 import com.ansill.tesla.api.high.model.AccountCredentials;
+import com.ansill.tesla.api.jfr.CredentialsRefreshEvent;
 import com.ansill.tesla.api.low.Client;
+import com.ansill.tesla.api.model.CachePolicy;
 import com.ansill.tesla.api.raw.exception.ReAuthenticationException;
 import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
 import com.ansill.validation.Validation;
+import jdk.jfr.EventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,11 +20,15 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -34,17 +43,33 @@ public class Account implements AutoCloseable{
   @Nonnull
   private static final Duration DEFAULT_TIME_OFFSET_BEFORE_REFRESH = Duration.ofDays(1); // Lets not get things too close to the chest, 1 day left out of 45 days should be reasonable
 
+  /** Default lifetime of the vehicle index before it's rebuilt from the vehicle list */
+  @Nonnull
+  private static final Duration DEFAULT_VEHICLE_INDEX_LIFETIME = Duration.ofMinutes(1);
+
+  /** Default time an observed asleep or offline state is trusted before vehicle is asked again */
+  @Nonnull
+  private static final Duration DEFAULT_VEHICLE_STATE_LIFETIME = Duration.ofMinutes(1);
+
+  /** Maximum jitter subtracted from the refresh delay so accounts don't refresh all at once */
+  @Nonnull
+  private static final Duration MAX_REFRESH_JITTER = Duration.ofMinutes(10);
+
+  /** Flight recorder event type of the refreshes, checked so a refresh doesn't allocate the event when it's disabled */
+  @Nonnull
+  private static final EventType CREDENTIALS_REFRESH_EVENT_TYPE = EventType.getEventType(CredentialsRefreshEvent.class);
+
   /** Low Level Client */
   @Nonnull
   private final Client client;
 
-  /** RRWL to handle client refresh cycle */
+  /** Scheduler shared by all accounts of the client */
   @Nonnull
-  private final ReentrantReadWriteLock rrwl = new ReentrantReadWriteLock(true);
+  private final ScheduledExecutorService refreshScheduler;
 
-  /** Reference to the timer */
+  /** Reference to the scheduled refresh */
   @Nonnull
-  private final AtomicReference<Timer> timer = new AtomicReference<>();
+  private final AtomicReference<ScheduledFuture<?>> scheduledRefresh = new AtomicReference<>();
 
   /** Lifetime for fast-changing data */
   @Nonnull
@@ -54,17 +79,45 @@ public class Account implements AutoCloseable{
   @Nonnull
   private final AtomicReference<AtomicReference<Duration>> slowChangingDataLifetime;
 
+  /** Cache policy for vehicle data */
+  @Nonnull
+  private final CachePolicy cachePolicy;
+
+  /** Live vehicles of this account by id, lookups return the same instance so its cached data survives */
+  @Nonnull
+  private final ConcurrentHashMap<String,Vehicle> vehicles = new ConcurrentHashMap<>();
+
+  /** Vehicles indexed by name, VIN and id */
+  @Nonnull
+  private final AtomicReference<VehicleIndex> vehicleIndex = new AtomicReference<>(VehicleIndex.EMPTY);
+
+  /** Lock that serializes vehicle index rebuilds */
+  @Nonnull
+  private final ReentrantLock vehicleIndexLock = new ReentrantLock();
+
+  /** Lifetime of the vehicle index before it's rebuilt from the vehicle list */
+  @Nonnull
+  private final AtomicReference<Duration> vehicleIndexLifetime = new AtomicReference<>();
+
+  /** Last observed online states of the vehicles */
+  @Nonnull
+  private final VehicleStateIndex vehicleStates = new VehicleStateIndex();
+
+  /** Time an observed asleep or offline state is trusted before vehicle is asked again */
+  @Nonnull
+  private final AtomicReference<Duration> vehicleStateLifetime = new AtomicReference<>(DEFAULT_VEHICLE_STATE_LIFETIME);
+
   /** Closed flag */
   @Nonnull
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
-  /** Current "good" credentials */
+  /** Current "good" credentials, replaced as a whole on refresh so readers always see a consistent snapshot */
   @Nonnull
-  private AccountCredentials credentials;
+  private final AtomicReference<AccountCredentials> credentials = new AtomicReference<>();
 
   /** Refresh subscription */
   @Nullable
-  private RefreshSubscription refreshSubscription;
+  private volatile RefreshSubscription refreshSubscription;
 
   @Nonnull
   private final Consumer<Account> onClose;
@@ -79,6 +132,10 @@ public class Account implements AutoCloseable{
    * @param credentials                     good credentials
    * @param fastChangingDataLifetime        lifetime for fast-changing data
    * @param slowChangingDataLifetime        lifetime for slow-changing data
+   * @param cachePolicy                     cache policy for vehicle data
+   * @param refreshScheduler                scheduler that refreshes the credentials, shared by all accounts
+   * @param vehicleIndexLifetime            lifetime of the vehicle index before it's rebuilt from the vehicle list
+   * @param subscription                    refresh subscription
    * @param refreshDurationBeforeExpiration duration before the expiration for Account to refresh the credentials
    * @param onClose
    */
@@ -87,14 +144,20 @@ public class Account implements AutoCloseable{
     @Nonnull AccountCredentials credentials,
     @Nonnull AtomicReference<AtomicReference<Duration>> fastChangingDataLifetime,
     @Nonnull AtomicReference<AtomicReference<Duration>> slowChangingDataLifetime,
+    @Nonnull CachePolicy cachePolicy,
+    @Nonnull ScheduledExecutorService refreshScheduler,
+    @Nullable Duration vehicleIndexLifetime,
     @Nullable RefreshSubscription subscription,
     @Nullable Duration refreshDurationBeforeExpiration,
     @Nonnull Consumer<Account> onClose
   ){
     this.client = client;
-    this.credentials = credentials;
+    this.credentials.set(credentials);
     this.fastChangingDataLifetime = fastChangingDataLifetime;
     this.slowChangingDataLifetime = slowChangingDataLifetime;
+    this.cachePolicy = cachePolicy;
+    this.refreshScheduler = refreshScheduler;
+    this.vehicleIndexLifetime.set(vehicleIndexLifetime != null ? vehicleIndexLifetime : DEFAULT_VEHICLE_INDEX_LIFETIME);
     this.refreshSubscription = subscription;
     this.onClose = onClose;
     this.refreshDurationBeforeExpiration.set(refreshDurationBeforeExpiration !=
@@ -131,23 +194,33 @@ public class Account implements AutoCloseable{
   }
 
   /**
-   * Returns access token
+   * Sets lifetime in duration for vehicle index before it's rebuilt from the vehicle list
    *
-   * @return token
+   * @param duration lifetime in duration
    */
-  @Nonnull
-  String getToken(){
-    return credentials.getAccessToken();
+  public void setVehicleIndexLifetime(@Nonnull Duration duration){
+    vehicleIndexLifetime.set(Validation.assertNonnull(duration, "duration"));
   }
 
   /**
-   * Creates readlock for other dependent objects to claim to use the client. Used so that credentials can be safely changed during nobody is using it
+   * Sets how long an observed asleep or offline state is trusted. Data calls on a vehicle that was last seen asleep or
+   * offline within this duration fail right away instead of waiting for the request to time out. Once the state is
+   * older than this, the next data call lists the vehicles first to learn it again. Zero disables it
    *
-   * @return readlock
+   * @param duration lifetime in duration
+   */
+  public void setVehicleStateLifetime(@Nonnull Duration duration){
+    vehicleStateLifetime.set(Validation.assertNonnull(duration, "duration"));
+  }
+
+  /**
+   * Returns access token
+   *
+   * @return token
    */
   @Nonnull
-  AutoLock getReadLock(){
-    return AutoLock.create(rrwl.readLock());
+  String getToken(){
+    return credentials.get().getAccessToken();
   }
 
   /** Resets the timer so it will refresh credentials before its expiry time */
@@ -159,19 +232,8 @@ public class Account implements AutoCloseable{
     // Ensure that it's not closed
     if(this.closed.get()) return;
 
-    // Set up TimerTask
-    TimerTask task = new TimerTask(){
-      @Override
-      public void run(){
-        try{
-          refresh();
-        }catch(ReAuthenticationException e){
-          e.printStackTrace(); // TODO!!
-        }
-      }
-    };
-
     // Figure out the delay
+    var credentials = this.credentials.get();
     var delay = Duration.between(
       Instant.now(),
       credentials.getExpirationTime().minus(refreshDurationBeforeExpiration.get())
@@ -185,6 +247,12 @@ public class Account implements AutoCloseable{
     if(delay.isNegative()) delay = Duration.between(Instant.now(), credentials.getExpirationTime())
                                            .minus(Duration.ofSeconds(15));
 
+    // Fire a bit earlier by random amount so refreshes of many accounts don't all happen at the same time
+    if(!delay.isNegative() && !delay.isZero()){
+      var maxJitter = Math.min(delay.toMillis() / 10, MAX_REFRESH_JITTER.toMillis());
+      delay = delay.minusMillis(ThreadLocalRandom.current().nextLong(maxJitter + 1));
+    }
+
     // Log the delay
     LOGGER.debug("The delay until new firing event is {}", delay);
 
@@ -198,13 +266,24 @@ public class Account implements AutoCloseable{
       return;
     }
 
-    // Create new timer and schedule it
-    var timer = new Timer();
-    timer.schedule(task, delay.toMillis());
+    // Schedule it on the shared scheduler
+    ScheduledFuture<?> future;
+    try{
+      future = refreshScheduler.schedule(() -> {
+        try{
+          refresh();
+        }catch(ReAuthenticationException e){
+          e.printStackTrace(); // TODO!!
+        }
+      }, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }catch(RejectedExecutionException e){
+      LOGGER.debug("Refresh scheduler has been shut down, credentials will not be refreshed", e);
+      return;
+    }
 
-    // Cancel the timer if previously set
-    timer = this.timer.getAndSet(timer);
-    if(timer != null) timer.cancel();
+    // Cancel the refresh if previously set
+    future = this.scheduledRefresh.getAndSet(future);
+    if(future != null) future.cancel(false);
 
   }
 
@@ -237,25 +316,36 @@ public class Account implements AutoCloseable{
     // Ensure that it's not closed
     if(this.closed.get()) return;
 
-    // Lock it
-    try(var ignored = AutoLock.create(rrwl.writeLock()).doLock()){
-
-      // Refresh it and update response
-      credentials = AccountCredentials.convert(client.refreshToken(credentials.getRefreshToken()));
+    // Refresh it without holding anything, old access token stays usable in the meantime
+    var oldCredentials = credentials.get();
+    var subscription = refreshSubscription;
+    var event = CREDENTIALS_REFRESH_EVENT_TYPE.isEnabled() ? new CredentialsRefreshEvent() : null;
+    if(event != null) event.begin();
+    try{
+
+      // Refresh it and swap the credentials
+      var newCredentials = AccountCredentials.convert(client.refreshToken(oldCredentials.getRefreshToken()));
+      if(!credentials.compareAndSet(oldCredentials, newCredentials)){
+        LOGGER.debug("Credentials have been refreshed by someone else in the meantime");
+        commit(event, "RACED");
+        return;
+      }
+      commit(event, "REFRESHED");
 
       // Log the successful refresh
       LOGGER.debug("Refresh is successful");
 
       // Fire subscription if exists
-      if(refreshSubscription != null) refreshSubscription.getConsumer().accept(credentials);
+      if(subscription != null) subscription.getConsumer().accept(newCredentials);
 
     }catch(ReAuthenticationException exception){
 
       // Log the successful refresh
       LOGGER.debug("Exception has been thrown during attempting to refresh");
+      commit(event, "FAILED");
 
       // Fire subscription if exists
-      if(refreshSubscription != null) refreshSubscription.getOnError().accept(exception);
+      if(subscription != null) subscription.getOnError().accept(exception);
 
       // Resume the exception throwing
       throw exception;
@@ -266,18 +356,84 @@ public class Account implements AutoCloseable{
 
   }
 
+  /**
+   * Commits the flight recorder event of the refresh if the recording wants it
+   *
+   * @param event   event that has begun when the refresh started or null if the event is disabled
+   * @param outcome outcome of the refresh
+   */
+  private static void commit(@Nullable CredentialsRefreshEvent event, @Nonnull String outcome){
+    if(event == null) return;
+    event.end();
+    if(!event.shouldCommit()) return;
+    event.outcome = outcome;
+    event.commit();
+  }
+
+  /**
+   * Returns live vehicle with the id of the listed vehicle, or creates one if there's none yet. Listed data is merged
+   * into the existing vehicle
+   *
+   * @param vehicle listed vehicle
+   * @return live vehicle
+   */
+  @Nonnull
+  private Vehicle toVehicle(@Nonnull com.ansill.tesla.api.low.model.Vehicle vehicle){
+    recordVehicleState(vehicle);
+    var existing = vehicles.get(vehicle.getId());
+    if(existing == null) return vehicles.computeIfAbsent(vehicle.getId(), id -> Vehicle.convert(vehicle, this));
+    existing.merge(vehicle);
+    return existing;
+  }
+
+  /**
+   * Returns vehicle index if it's not too old
+   *
+   * @return vehicle index or null if it's too old
+   */
+  @Nullable
+  private VehicleIndex getFreshVehicleIndex(){
+    var index = vehicleIndex.get();
+    return index.isFresh(vehicleIndexLifetime.get().toNanos()) ? index : null;
+  }
+
+  /**
+   * Rebuilds vehicle index from the vehicle list unless someone else has rebuilt it already
+   *
+   * @param observed index that has been found stale or missing a vehicle
+   * @return rebuilt index
+   */
+  @Nonnull
+  private VehicleIndex rebuildVehicleIndex(@Nonnull VehicleIndex observed){
+    try(var ignored = AutoLock.create(vehicleIndexLock).doLock()){
+
+      // Someone may have rebuilt it while we waited
+      var index = vehicleIndex.get();
+      if(index != observed) return index;
+
+      // List the vehicles and build index
+      var listed = performOnClient(client -> client.getVehicles(credentials.get().getAccessToken()));
+      index = VehicleIndex.build(listed, this::toVehicle);
+
+      // Forget vehicles that are no longer in the account
+      var ids = listed.stream().map(com.ansill.tesla.api.low.model.Vehicle::getId).collect(Collectors.toSet());
+      vehicles.keySet().retainAll(ids);
+      vehicleStates.retain(ids);
+
+      // Save it
+      vehicleIndex.set(index);
+      return index;
+    }
+  }
+
   @Nonnull
   public Set<Vehicle> getVehicles(){
 
     // Ensure that it's not closed
     if(this.closed.get()) throw new IllegalStateException("Account is closed!");
 
-    // Perform it
-    return performOnClient(client -> client.getVehicles(credentials.getAccessToken())
-                                           .stream()
-                                           .map(vehicle -> Vehicle.convert(vehicle, this))
-                                           .collect(Collectors.toUnmodifiableSet())
-    );
+    // Full listing always goes to the server
+    return Set.copyOf(rebuildVehicleIndex(vehicleIndex.get()).getVehicles());
   }
 
   @Nonnull
@@ -289,13 +445,15 @@ public class Account implements AutoCloseable{
     // Assert name
     Validation.assertNonemptyString(name);
 
-    // Perform it
-    return performOnClient(client -> client.getVehicles(credentials.getAccessToken())
-                                           .stream()
-                                           .map(vehicle -> Vehicle.convert(vehicle, this))
-                                           .filter(item -> item.getName().equals(name))
-                                           .findAny()
-    );
+    // Look it up in the index if it's fresh
+    var index = getFreshVehicleIndex();
+    if(index != null){
+      var vehicle = index.getByName(name);
+      if(vehicle != null) return Optional.of(vehicle);
+    }
+
+    // Otherwise rebuild the index and try again
+    return Optional.ofNullable(rebuildVehicleIndex(vehicleIndex.get()).getByName(name));
   }
 
   @Nonnull
@@ -307,9 +465,16 @@ public class Account implements AutoCloseable{
     // Assert id
     Validation.assertNonemptyString(id);
 
-    // Perform it
-    return performOnClient(client -> client.getVehicle(credentials.getAccessToken(), id)
-                                           .map(item -> Vehicle.convert(item, this)));
+    // Look it up in the index if it's fresh
+    var index = getFreshVehicleIndex();
+    if(index != null){
+      var vehicle = index.getById(id);
+      if(vehicle != null) return Optional.of(vehicle);
+    }
+
+    // Otherwise ask for that one vehicle
+    return performOnClient(client -> client.getVehicle(credentials.get().getAccessToken(), id)
+                                           .map(this::toVehicle));
   }
 
   @Nonnull
@@ -321,13 +486,15 @@ public class Account implements AutoCloseable{
     // Assert vin
     Validation.assertNonemptyString(vin);
 
-    // Perform it
-    return performOnClient(client -> client.getVehicles(credentials.getAccessToken())
-                                           .stream()
-                                           .map(vehicle -> Vehicle.convert(vehicle, this))
-                                           .filter(item -> item.getVIN().equals(vin))
-                                           .findAny()
-    );
+    // Look it up in the index if it's fresh
+    var index = getFreshVehicleIndex();
+    if(index != null){
+      var vehicle = index.getByVin(vin);
+      if(vehicle != null) return Optional.of(vehicle);
+    }
+
+    // Otherwise rebuild the index and try again
+    return Optional.ofNullable(rebuildVehicleIndex(vehicleIndex.get()).getByVin(vin));
   }
 
   /**
@@ -350,6 +517,16 @@ public class Account implements AutoCloseable{
     return slowChangingDataLifetime;
   }
 
+  /**
+   * Returns cache policy for vehicle data
+   *
+   * @return cache policy
+   */
+  @Nonnull
+  CachePolicy getCachePolicy(){
+    return cachePolicy;
+  }
+
   /**
    * Performs a function on client
    *
@@ -362,43 +539,89 @@ public class Account implements AutoCloseable{
     // Ensure that it's not closed
     if(this.closed.get()) throw new IllegalStateException("Account is closed!");
 
-    // Lock it
-    try(var ignored = this.getReadLock().doLock()){
+    // Run it, charged to the poll if there's one running
+    RequestBudget.charge();
+    return function.apply(this.client);
+  }
 
-      // Run it
-      return function.apply(this.client);
+  /**
+   * Records state of the vehicle as it was returned by the server
+   *
+   * @param vehicle vehicle
+   */
+  void recordVehicleState(@Nonnull com.ansill.tesla.api.low.model.Vehicle vehicle){
+    vehicleStates.record(vehicle.getId(), vehicle.getState());
+  }
 
+  /**
+   * Records state of the vehicle as it was returned by a wake-up command. A vehicle that is still asleep is waking up,
+   * so its state is recorded as unknown rather than asleep to let the calls that follow reach the vehicle
+   *
+   * @param vehicle vehicle
+   */
+  void recordVehicleWakeUp(@Nonnull com.ansill.tesla.api.low.model.Vehicle vehicle){
+    if(vehicle.getState() == com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP){
+      vehicleStates.recordUnknown(vehicle.getId());
+    }else{
+      vehicleStates.record(vehicle.getId(), vehicle.getState());
     }
   }
 
   /**
-   * Performs a function on client
+   * Performs a vehicle data function on client. Fails fast if the vehicle has recently been seen asleep or offline. If
+   * the vehicle has not been observed or it was too long ago, the states of all vehicles are taken from one vehicle
+   * list first, which is shared by the concurrent callers and not repeated within the vehicle state lifetime
    *
+   * @param id       vehicle id
    * @param function function
    * @param <T>      return value type
    * @return return value
    * @throws VehicleIDNotFoundException thrown if vehicle cannot be found
+   * @throws VehicleSleepingException   thrown if vehicle is asleep
+   * @throws VehicleOfflineException    thrown if vehicle is offline
    */
-  <T> T performOnClientWithVehicleException(@Nonnull FunctionWithVehicleException<Client,T> function)
+  <T> T performOnClientWithVehicleException(
+    @Nonnull String id,
+    @Nonnull FunctionWithVehicleException<Client,T> function
+  )
   throws VehicleIDNotFoundException{
 
     // Ensure that it's not closed
     if(this.closed.get()) throw new IllegalStateException("Account is closed!");
 
-    // Lock it
-    try(var ignored = this.getReadLock().doLock()){
-
-      // Run it
-      return function.apply(this.client);
+    // Find out the state, list the vehicles if it's not known
+    var lifetime = vehicleStateLifetime.get().toNanos();
+    var state = vehicleStates.get(id, lifetime);
+    if(state == null && lifetime > 0 && !vehicleStates.isObserved(id, lifetime)){
+      var index = vehicleIndex.get();
+      if(!index.isFresh(lifetime)) rebuildVehicleIndex(index);
+      state = vehicleStates.get(id, lifetime);
+    }
 
+    // Fail fast if it's known to be unreachable
+    if(state == com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP) throw new VehicleSleepingException();
+    if(state == com.ansill.tesla.api.low.model.Vehicle.State.OFFLINE) throw new VehicleOfflineException();
+
+    // Run it and remember what it tells about the state
+    RequestBudget.charge();
+    try{
+      var result = function.apply(this.client);
+      vehicleStates.record(id, com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+      return result;
+    }catch(VehicleSleepingException e){
+      vehicleStates.record(id, com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+      throw e;
+    }catch(VehicleOfflineException e){
+      vehicleStates.record(id, com.ansill.tesla.api.low.model.Vehicle.State.OFFLINE);
+      throw e;
     }
   }
 
   @Override
   public void close(){
     if(!closed.compareAndSet(false, true)) return;
-    var timer = this.timer.getAndSet(null);
-    if(timer != null) timer.cancel();
+    var future = this.scheduledRefresh.getAndSet(null);
+    if(future != null) future.cancel(false);
     this.onClose.accept(this);
   }
 }
@@ -0,0 +1,274 @@
+package com.ansill.tesla.api.high;
+
+import com.ansill.tesla.api.data.model.ChargingState;
+import com.ansill.tesla.api.high.model.Location;
+import com.ansill.tesla.api.high.model.VehicleChangeEvent;
+import com.ansill.tesla.api.low.model.ChargeState;
+import com.ansill.tesla.api.low.model.DriveState;
+import com.ansill.tesla.api.low.model.VehicleState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.measure.Quantity;
+import javax.measure.quantity.Angle;
+import java.time.Instant;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static tech.units.indriya.unit.Units.RADIAN;
+
+/**
+ * Detects changes between successive fetches of a vehicle. Each fetched section is compared against the one fetched
+ * before it, the changes are computed once and delivered to all listeners. Nothing is tracked while there are no
+ * listeners, the first section observed after that only sets the baseline
+ */
+final class ChangeDetector{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ChangeDetector.class);
+
+  /** Mean radius of the Earth in meters */
+  private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  /** Default distance the vehicle has to move before location change is reported in meters */
+  static final double DEFAULT_LOCATION_THRESHOLD_METERS = 100;
+
+  /** Vehicle id */
+  @Nonnull
+  private final String vehicleId;
+
+  /** Listeners */
+  @Nonnull
+  private final CopyOnWriteArrayList<Consumer<VehicleChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+  /** Last charge state */
+  @Nonnull
+  private final AtomicReference<ChargeState> lastChargeState = new AtomicReference<>();
+
+  /** Last vehicle state */
+  @Nonnull
+  private final AtomicReference<VehicleState> lastVehicleState = new AtomicReference<>();
+
+  /** Last drive state */
+  @Nonnull
+  private final AtomicReference<DriveState> lastDriveState = new AtomicReference<>();
+
+  /** Last reported location, distance is measured from it so slow movement adds up until it's reported */
+  @Nonnull
+  private final AtomicReference<Location> lastLocation = new AtomicReference<>();
+
+  /** Distance the vehicle has to move before location change is reported in meters */
+  private volatile double locationThresholdMeters = DEFAULT_LOCATION_THRESHOLD_METERS;
+
+  /**
+   * ChangeDetector constructor
+   *
+   * @param vehicleId vehicle id
+   */
+  ChangeDetector(@Nonnull String vehicleId){
+    this.vehicleId = vehicleId;
+  }
+
+  /**
+   * Returns whether the charging state means the vehicle is charging
+   *
+   * @param state charging state
+   * @return true if charging, false if not
+   */
+  private static boolean isCharging(@Nonnull ChargingState state){
+    return state == ChargingState.CHARGING || state == ChargingState.STARTING;
+  }
+
+  /**
+   * Returns angle in radians
+   *
+   * @param angle angle
+   * @return radians
+   */
+  private static double radians(@Nonnull Quantity<Angle> angle){
+    return angle.to(RADIAN).getValue().doubleValue();
+  }
+
+  /**
+   * Returns great-circle distance between two locations
+   *
+   * @param from location
+   * @param to   location
+   * @return distance in meters
+   */
+  static double distanceMeters(@Nonnull Location from, @Nonnull Location to){
+    var lat1 = radians(from.getLatitude());
+    var lat2 = radians(to.getLatitude());
+    var deltaLat = lat2 - lat1;
+    var deltaLon = radians(to.getLongitude()) - radians(from.getLongitude());
+    var a = Math.pow(Math.sin(deltaLat / 2), 2) +
+            Math.cos(lat1) * Math.cos(lat2) * Math.pow(Math.sin(deltaLon / 2), 2);
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  /**
+   * Adds listener
+   *
+   * @param listener listener
+   * @return true if added, false if it was already added
+   */
+  boolean addListener(@Nonnull Consumer<VehicleChangeEvent> listener){
+    return listeners.addIfAbsent(listener);
+  }
+
+  /**
+   * Removes listener
+   *
+   * @param listener listener
+   * @return true if removed, false if it was not added
+   */
+  boolean removeListener(@Nonnull Consumer<VehicleChangeEvent> listener){
+    return listeners.remove(listener);
+  }
+
+  /**
+   * Sets distance the vehicle has to move before location change is reported
+   *
+   * @param meters distance in meters
+   */
+  void setLocationThresholdMeters(double meters){
+    this.locationThresholdMeters = meters;
+  }
+
+  /**
+   * Observes freshly fetched sections, sections that were not fetched are null
+   *
+   * @param chargeState  charge state if fetched
+   * @param driveState   drive state if fetched
+   * @param vehicleState vehicle state if fetched
+   */
+  void observe(
+    @Nullable ChargeState chargeState,
+    @Nullable DriveState driveState,
+    @Nullable VehicleState vehicleState
+  ){
+
+    // Nobody listens or nothing has been fetched since the last time, don't bother
+    if(listeners.isEmpty()) return;
+    if(isSame(chargeState, lastChargeState) && isSame(driveState, lastDriveState) &&
+       isSame(vehicleState, lastVehicleState)) return;
+
+    // Set up values
+    var events = new LinkedList<VehicleChangeEvent>();
+    var now = Instant.now();
+
+    // Charge state
+    if(chargeState != null){
+      var previous = lastChargeState.getAndSet(chargeState);
+      if(previous != null && previous != chargeState){
+        var before = previous.getChargingState();
+        var after = chargeState.getChargingState();
+        if(isCharging(before) != isCharging(after)) events.add(new VehicleChangeEvent(
+          vehicleId,
+          isCharging(after) ? VehicleChangeEvent.Type.CHARGING_STARTED : VehicleChangeEvent.Type.CHARGING_STOPPED,
+          before,
+          after,
+          now
+        ));
+      }
+    }
+
+    // Drive state
+    if(driveState != null && lastDriveState.get() != driveState){
+      var previous = lastDriveState.getAndSet(driveState);
+      if(previous != null && previous.getShiftState() != driveState.getShiftState()){
+        events.add(new VehicleChangeEvent(
+          vehicleId,
+          VehicleChangeEvent.Type.SHIFT_STATE_CHANGED,
+          previous.getShiftState(),
+          driveState.getShiftState(),
+          now
+        ));
+      }
+      var location = new Location(driveState.getHeading(), driveState.getLatitude(), driveState.getLongitude());
+      var reported = lastLocation.get();
+      if(reported == null) lastLocation.compareAndSet(null, location);
+      else if(distanceMeters(reported, location) >= locationThresholdMeters &&
+              lastLocation.compareAndSet(reported, location)){
+        events.add(new VehicleChangeEvent(vehicleId, VehicleChangeEvent.Type.LOCATION_MOVED, reported, location, now));
+      }
+    }
+
+    // Vehicle state
+    if(vehicleState != null){
+      var previous = lastVehicleState.getAndSet(vehicleState);
+      if(previous != null && previous != vehicleState){
+        compare(events, VehicleChangeEvent.Type.LOCK_STATE_CHANGED, previous.isLocked(), vehicleState.isLocked(), now);
+        compare(
+          events,
+          VehicleChangeEvent.Type.USER_PRESENCE_CHANGED,
+          previous.isUserPresent(),
+          vehicleState.isUserPresent(),
+          now
+        );
+        compare(
+          events,
+          VehicleChangeEvent.Type.SENTRY_MODE_CHANGED,
+          previous.isSentryMode(),
+          vehicleState.isSentryMode(),
+          now
+        );
+        compare(
+          events,
+          VehicleChangeEvent.Type.SOFTWARE_VERSION_CHANGED,
+          previous.getCarVersion(),
+          vehicleState.getCarVersion(),
+          now
+        );
+      }
+    }
+
+    // Deliver them
+    for(var event : events){
+      for(var listener : listeners){
+        try{
+          listener.accept(event);
+        }catch(RuntimeException e){
+          LOGGER.warn("Change listener has thrown an exception on event {} of vehicle {}", event.getType(), vehicleId, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns whether the section has not been fetched or is the one that has been observed last
+   *
+   * @param section section if fetched
+   * @param last    last observed section
+   * @param <T>     section type
+   * @return true if there's nothing new, false otherwise
+   */
+  private static <T> boolean isSame(@Nullable T section, @Nonnull AtomicReference<T> last){
+    return section == null || section == last.get();
+  }
+
+  /**
+   * Adds event if the values differ
+   *
+   * @param events   events to add to
+   * @param type     type of change
+   * @param previous previous value
+   * @param current  current value
+   * @param now      observation time
+   */
+  private void compare(
+    @Nonnull List<VehicleChangeEvent> events,
+    @Nonnull VehicleChangeEvent.Type type,
+    @Nonnull Object previous,
+    @Nonnull Object current,
+    @Nonnull Instant now
+  ){
+    if(!Objects.equals(previous, current)) events.add(new VehicleChangeEvent(vehicleId, type, previous, current, now));
+  }
+}
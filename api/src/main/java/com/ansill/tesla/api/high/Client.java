@@ -1,6 +1,12 @@
 package com.ansill.tesla.api.high;
 
 import com.ansill.tesla.api.high.model.AccountCredentials;
+import com.ansill.tesla.api.high.model.OverflowPolicy;
+import com.ansill.tesla.api.high.model.PollingPolicy;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.ansill.tesla.api.metrics.ClientMetrics;
+import com.ansill.tesla.api.model.CacheMode;
+import com.ansill.tesla.api.model.CachePolicy;
 import com.ansill.tesla.api.model.ClientBuilder;
 import com.ansill.tesla.api.raw.exception.AuthenticationException;
 import com.ansill.tesla.api.raw.exception.ReAuthenticationException;
@@ -10,16 +16,30 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static com.ansill.utility.Utility.f;
+
 /** Highly-Opinionated client */
 public final class Client implements AutoCloseable{
 
@@ -29,6 +49,27 @@ public final class Client implements AutoCloseable{
   /** Default slow changing data lifetime - used to prevent too-frequent polling */
   private static final Duration DEFAULT_SLOW_CHANGING_DATA_LIFETIME = Duration.ofMinutes(1);
 
+  /** Default staleness window - how long after expiry the cached data may still be returned while being updated */
+  private static final Duration DEFAULT_STALE_WINDOW = Duration.ofSeconds(30);
+
+  /** Default fraction of the lifetime after which reads update the cached data ahead of expiry */
+  private static final double DEFAULT_REFRESH_AHEAD_RATIO = 0.75;
+
+  /** Default maximum number of requests per second the polls of all pollers may send */
+  private static final double DEFAULT_MAX_POLL_REQUESTS_PER_SECOND = 2;
+
+  /** Number of threads that update cached data in the background */
+  private static final int CACHE_UPDATE_THREADS = 4;
+
+  /** Number of credential refreshes that can run at the same time across all accounts */
+  private static final int CREDENTIALS_REFRESH_THREADS = 2;
+
+  /** Number of threads that time the polls, the polls themselves run on the poll executor */
+  private static final int POLL_SCHEDULER_THREADS = 1;
+
+  /** Number of polls of all pollers that can run at the same time, the rest wait in the queue */
+  private static final int POLL_THREADS = 4;
+
   /** Low-level client */
   @Nonnull
   private final com.ansill.tesla.api.low.Client client;
@@ -41,6 +82,14 @@ public final class Client implements AutoCloseable{
   @Nonnull
   private final Set<Account> accounts = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
+  /** Set of active pollers */
+  @Nonnull
+  private final Set<VehiclePoller> pollers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+  /** Set of active telemetry publishers */
+  @Nonnull
+  private final Set<TelemetryPublisher> publishers = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
   /** Lifetime in duration for fast-changing data to be cached in the memory before it's purged */
   @Nonnull
   private final AtomicReference<Duration> fastChangingDataLifetime = new AtomicReference<>();
@@ -49,23 +98,179 @@ public final class Client implements AutoCloseable{
   @Nonnull
   private final AtomicReference<Duration> slowChangingDataLifetime = new AtomicReference<>();
 
+  /** Executor that updates cached data in the background, null if cache mode is blocking */
+  @Nullable
+  private final ThreadPoolExecutor cacheExecutor;
+
+  /** Cache policy shared by all vehicles */
+  @Nonnull
+  private final CachePolicy cachePolicy;
+
+  /** Lifetime of the vehicle index in each account, null to use default */
+  @Nullable
+  private final Duration vehicleIndexLifetime;
+
+  /** Scheduler that refreshes credentials of all accounts */
+  @Nonnull
+  private final ScheduledThreadPoolExecutor refreshScheduler = createRefreshScheduler();
+
+  /** Executor that runs fleet fetches, the concurrency is bounded by each fetch */
+  @Nonnull
+  private final ExecutorService fleetExecutor = createFleetExecutor();
+
+  /** Scheduler that times the polls of all pollers */
+  @Nonnull
+  private final ScheduledThreadPoolExecutor pollScheduler = createPollScheduler();
+
+  /** Executor that runs the polls of all pollers */
+  @Nonnull
+  private final ThreadPoolExecutor pollExecutor = createPollExecutor();
+
+  /** Requests-per-second budget shared by the polls of all pollers */
+  @Nonnull
+  private final RequestBudget pollBudget;
+
   /**
    * Constructor that constructs high-level client using medium-level client
    *
    * @param client                   low-level client
    * @param fastChangingDataLifetime Lifetime in duration for fast-changing data to be cached in the memory before it's purged
    * @param slowChangingDataLifetime Lifetime in duration for slow-changing data to be cached in the memory before it's purged
+   * @param cacheMode                cache mode
+   * @param staleWindow              how long after expiry the cached data may still be returned while being updated
+   * @param refreshAheadRatio        fraction of the lifetime after which reads update the cached data ahead of expiry
+   * @param vehicleIndexLifetime     lifetime of the vehicle index in each account before it's rebuilt
+   * @param maxPollRequestsPerSecond maximum number of requests per second the polls of all pollers may send
+   * @param metrics                  metrics that receive the cache statistics, null to not record anything
    */
   private Client(
     @Nonnull com.ansill.tesla.api.low.Client client,
     @Nullable Duration fastChangingDataLifetime,
-    @Nullable Duration slowChangingDataLifetime
+    @Nullable Duration slowChangingDataLifetime,
+    @Nullable CacheMode cacheMode,
+    @Nullable Duration staleWindow,
+    @Nullable Double refreshAheadRatio,
+    @Nullable Duration vehicleIndexLifetime,
+    @Nullable Double maxPollRequestsPerSecond,
+    @Nullable ClientMetrics metrics
   ){
     this.client = client;
+    this.vehicleIndexLifetime = vehicleIndexLifetime;
+    this.pollBudget = new RequestBudget(
+      maxPollRequestsPerSecond != null ? maxPollRequestsPerSecond : DEFAULT_MAX_POLL_REQUESTS_PER_SECOND
+    );
     this.fastChangingDataLifetime.set(fastChangingDataLifetime !=
                                       null ? fastChangingDataLifetime : DEFAULT_FAST_CHANGING_DATA_LIFETIME);
     this.slowChangingDataLifetime.set(slowChangingDataLifetime !=
                                       null ? slowChangingDataLifetime : DEFAULT_SLOW_CHANGING_DATA_LIFETIME);
+
+    // Set up cache policy, background updates need their own threads
+    if(cacheMode == null) cacheMode = CacheMode.BLOCKING;
+    this.cacheExecutor = cacheMode == CacheMode.BLOCKING ? null : createCacheExecutor();
+    var cachePolicy = cacheMode == CacheMode.BLOCKING ? CachePolicy.BLOCKING : new CachePolicy(
+      cacheMode,
+      staleWindow != null ? staleWindow : DEFAULT_STALE_WINDOW,
+      refreshAheadRatio != null ? refreshAheadRatio : DEFAULT_REFRESH_AHEAD_RATIO,
+      RequestBudget.charging(cacheExecutor)
+    );
+    this.cachePolicy = metrics != null ? cachePolicy.withMetrics(metrics) : cachePolicy;
+  }
+
+  /**
+   * Creates scheduler that refreshes credentials of all accounts, the pool size bounds the concurrent refreshes
+   *
+   * @return scheduler
+   */
+  @Nonnull
+  private static ScheduledThreadPoolExecutor createRefreshScheduler(){
+    var counter = new AtomicInteger();
+    var scheduler = new ScheduledThreadPoolExecutor(CREDENTIALS_REFRESH_THREADS, runnable -> {
+      var thread = new Thread(runnable, "tesla-credentials-refresh-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  /**
+   * Creates scheduler that times the polls of all pollers
+   *
+   * @return scheduler
+   */
+  @Nonnull
+  private static ScheduledThreadPoolExecutor createPollScheduler(){
+    var counter = new AtomicInteger();
+    var scheduler = new ScheduledThreadPoolExecutor(POLL_SCHEDULER_THREADS, runnable -> {
+      var thread = new Thread(runnable, "tesla-poll-scheduler-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  /**
+   * Creates executor that runs the polls of all pollers
+   *
+   * @return executor
+   */
+  @Nonnull
+  private static ThreadPoolExecutor createPollExecutor(){
+    var counter = new AtomicInteger();
+    var executor = new ThreadPoolExecutor(
+      POLL_THREADS,
+      POLL_THREADS,
+      1,
+      TimeUnit.MINUTES,
+      new LinkedBlockingQueue<>(),
+      runnable -> {
+        var thread = new Thread(runnable, "tesla-poll-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    );
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Creates executor that runs fleet fetches
+   *
+   * @return executor
+   */
+  @Nonnull
+  private static ExecutorService createFleetExecutor(){
+    var counter = new AtomicInteger();
+    return Executors.newCachedThreadPool(runnable -> {
+      var thread = new Thread(runnable, "tesla-fleet-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Creates executor that updates cached data in the background
+   *
+   * @return executor
+   */
+  @Nonnull
+  private static ThreadPoolExecutor createCacheExecutor(){
+    var counter = new AtomicInteger();
+    var executor = new ThreadPoolExecutor(
+      CACHE_UPDATE_THREADS,
+      CACHE_UPDATE_THREADS,
+      1,
+      TimeUnit.MINUTES,
+      new LinkedBlockingQueue<>(),
+      runnable -> {
+        var thread = new Thread(runnable, "tesla-cache-update-" + counter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    );
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   /**
@@ -125,6 +330,9 @@ public final class Client implements AutoCloseable{
         AccountCredentials.convert(client.authenticate(emailAddress, password)),
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         null,
         null,
         this.accounts::remove
@@ -159,6 +367,9 @@ public final class Client implements AutoCloseable{
         AccountCredentials.convert(client.authenticate(emailAddress, password)),
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         null,
         refreshOffsetDuration,
         this.accounts::remove
@@ -199,6 +410,9 @@ public final class Client implements AutoCloseable{
         newCred,
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         new RefreshSubscription(
           consumer,
           Validation.assertNonnull(onError, "onError")
@@ -247,6 +461,9 @@ public final class Client implements AutoCloseable{
         newCred,
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         new RefreshSubscription(
           consumer,
           Validation.assertNonnull(onError, "onError")
@@ -277,6 +494,9 @@ public final class Client implements AutoCloseable{
         AccountCredentials.convert(client.refreshToken(refreshToken)),
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         null,
         null,
         this.accounts::remove
@@ -307,6 +527,9 @@ public final class Client implements AutoCloseable{
         AccountCredentials.convert(client.refreshToken(refreshToken)),
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         null,
         refreshOffsetDuration,
         this.accounts::remove
@@ -346,6 +569,9 @@ public final class Client implements AutoCloseable{
         newCred,
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         new RefreshSubscription(
           consumer,
           Validation.assertNonnull(onError, "onError")
@@ -393,6 +619,9 @@ public final class Client implements AutoCloseable{
         newCred,
         new AtomicReference<>(fastChangingDataLifetime),
         new AtomicReference<>(slowChangingDataLifetime),
+        cachePolicy,
+        refreshScheduler,
+        vehicleIndexLifetime,
         new RefreshSubscription(
           consumer,
           Validation.assertNonnull(onError, "onError")
@@ -440,6 +669,9 @@ public final class Client implements AutoCloseable{
       credentials,
       new AtomicReference<>(fastChangingDataLifetime),
       new AtomicReference<>(slowChangingDataLifetime),
+      cachePolicy,
+      refreshScheduler,
+      vehicleIndexLifetime,
       new RefreshSubscription(consumer, onError),
       null,
       this.accounts::remove
@@ -484,12 +716,175 @@ public final class Client implements AutoCloseable{
       credentials,
       new AtomicReference<>(fastChangingDataLifetime),
       new AtomicReference<>(slowChangingDataLifetime),
+      cachePolicy,
+      refreshScheduler,
+      vehicleIndexLifetime,
       new RefreshSubscription(consumer, onError),
       refreshOffsetDuration,
       this.accounts::remove
     ));
   }
 
+  /**
+   * Fetches snapshots of many vehicles with bounded concurrency. Outcomes are passed to the consumer as they complete,
+   * vehicles that are asleep, offline, in service or gone are reported in their outcomes without stopping the rest.
+   * Vehicles may belong to different accounts
+   *
+   * @param vehicles    vehicles to fetch
+   * @param concurrency maximum number of vehicles that are fetched at the same time
+   * @param consumer    consumer of the outcomes, called from the fetching threads so it must be thread-safe
+   * @return future that completes when all outcomes have been delivered, cancelling it stops starting new fetches
+   */
+  @Nonnull
+  public CompletableFuture<Void> fetchVehicleSnapshots(
+    @Nonnull Collection<Vehicle> vehicles,
+    int concurrency,
+    @Nonnull Consumer<VehicleSnapshotOutcome> consumer
+  ){
+
+    // Ensure that client is not closed
+    if(this.closed.get()) throw new IllegalStateException("Client is closed");
+
+    // Check parameters
+    Validation.assertNonnull(vehicles, "vehicles");
+    Validation.assertNonnull(consumer, "consumer");
+    if(concurrency <= 0) throw new IllegalArgumentException("concurrency must be positive");
+
+    // Start it
+    return FleetFetch.start(List.copyOf(vehicles), concurrency, fleetExecutor, consumer);
+  }
+
+  /**
+   * Fetches snapshots of many vehicles with bounded concurrency and publishes the outcomes as they complete. Each
+   * subscription starts its own fetch. Fetching slows down when the subscriber does not keep up and stops starting new
+   * fetches once the subscriber cancels
+   *
+   * @param vehicles    vehicles to fetch
+   * @param concurrency maximum number of vehicles that are fetched at the same time
+   * @return publisher of the outcomes
+   */
+  @Nonnull
+  public Flow.Publisher<VehicleSnapshotOutcome> fetchVehicleSnapshots(
+    @Nonnull Collection<Vehicle> vehicles,
+    int concurrency
+  ){
+
+    // Check parameters
+    var copy = List.copyOf(Validation.assertNonnull(vehicles, "vehicles"));
+    if(concurrency <= 0) throw new IllegalArgumentException("concurrency must be positive");
+
+    return subscriber -> {
+
+      // Submitting blocks when subscriber's buffer is full, which holds back the fetches
+      var publisher = new SubmissionPublisher<VehicleSnapshotOutcome>(fleetExecutor, Flow.defaultBufferSize());
+      publisher.subscribe(subscriber);
+
+      // Stop starting new fetches once subscriber has cancelled, it may cancel before the fetch is known
+      var fetch = new AtomicReference<CompletableFuture<Void>>();
+      Consumer<VehicleSnapshotOutcome> consumer = outcome -> {
+        publisher.submit(outcome);
+        var future = fetch.get();
+        if(future != null && !publisher.hasSubscribers()) future.cancel(false);
+      };
+      try{
+        var future = fetchVehicleSnapshots(copy, concurrency, consumer);
+        fetch.set(future);
+        if(!publisher.hasSubscribers()) future.cancel(false);
+        future.whenComplete((ignored, throwable) -> {
+          if(throwable != null) publisher.closeExceptionally(throwable);
+          else publisher.close();
+        });
+      }catch(RuntimeException e){
+        publisher.closeExceptionally(e);
+      }
+    };
+  }
+
+  /**
+   * Creates poller that polls vehicles at intervals that follow their activity. Vehicles are added to the poller with
+   * VehiclePoller.add and may belong to different accounts. The polls of all pollers share one requests-per-second
+   * budget, see Builder.setMaxPollRequestsPerSecond
+   *
+   * @param policy   polling policy
+   * @param consumer consumer of the poll outcomes, called from the polling threads so it must be thread-safe
+   * @return poller
+   */
+  @Nonnull
+  public VehiclePoller createPoller(@Nonnull PollingPolicy policy, @Nonnull Consumer<VehicleSnapshotOutcome> consumer){
+
+    // Ensure that client is not closed
+    if(this.closed.get()) throw new IllegalStateException("Client is closed");
+
+    // Check parameters
+    Validation.assertNonnull(policy, "policy");
+    Validation.assertNonnull(consumer, "consumer");
+
+    // Create it
+    return createPoller(policy, consumer, VehiclePoller.Gate.OPEN);
+  }
+
+  /**
+   * Creates poller and keeps track of it
+   *
+   * @param policy   polling policy
+   * @param consumer consumer of the poll outcomes
+   * @param gate     gate that holds back polls while their outcomes have nowhere to go
+   * @return poller
+   */
+  @Nonnull
+  private VehiclePoller createPoller(
+    @Nonnull PollingPolicy policy,
+    @Nonnull Consumer<VehicleSnapshotOutcome> consumer,
+    @Nonnull VehiclePoller.Gate gate
+  ){
+    var poller = new VehiclePoller(
+      pollScheduler,
+      pollExecutor,
+      pollBudget,
+      policy,
+      consumer,
+      gate,
+      this.pollers::remove
+    );
+    this.pollers.add(poller);
+    return poller;
+  }
+
+  /**
+   * Creates publisher of poll outcomes. Vehicles are added to the publisher with TelemetryPublisher.add, a publisher
+   * with a single vehicle publishes that vehicle alone. Each subscriber has its own buffer of the given size
+   *
+   * @param policy         polling policy
+   * @param overflowPolicy what to do when subscriber's buffer is full
+   * @param bufferSize     maximum number of outcomes buffered for each subscriber
+   * @return publisher
+   */
+  @Nonnull
+  public TelemetryPublisher createTelemetryPublisher(
+    @Nonnull PollingPolicy policy,
+    @Nonnull OverflowPolicy overflowPolicy,
+    int bufferSize
+  ){
+
+    // Ensure that client is not closed
+    if(this.closed.get()) throw new IllegalStateException("Client is closed");
+
+    // Check parameters
+    Validation.assertNonnull(policy, "policy");
+    Validation.assertNonnull(overflowPolicy, "overflowPolicy");
+    if(bufferSize <= 0) throw new IllegalArgumentException("bufferSize must be positive");
+
+    // Create it and keep track of it
+    var publisher = new TelemetryPublisher(
+      (consumer, gate) -> createPoller(policy, consumer, gate),
+      overflowPolicy,
+      bufferSize,
+      this.publishers::remove
+    );
+    this.publishers.add(publisher);
+    return publisher;
+  }
+
   @Override
   public void close(){
 
@@ -502,6 +897,21 @@ public final class Client implements AutoCloseable{
       accounts.remove(account);
     }
 
+    // Stop credentials refresh
+    this.refreshScheduler.shutdownNow();
+
+    // Stop polling
+    for(var publisher : publishers) publisher.close();
+    for(var poller : pollers) poller.close();
+    this.pollScheduler.shutdownNow();
+    this.pollExecutor.shutdownNow();
+
+    // Stop fleet fetches
+    this.fleetExecutor.shutdownNow();
+
+    // Stop background cache updates
+    if(this.cacheExecutor != null) this.cacheExecutor.shutdownNow();
+
     // Close client
     this.client.close();
   }
@@ -515,6 +925,21 @@ public final class Client implements AutoCloseable{
     /** Lifetime in duration for slow-changing data to be cached in the memory before it's purged */
     private Duration slowChangingDataLifetime;
 
+    /** Cache mode */
+    private CacheMode cacheMode;
+
+    /** How long after expiry the cached data may still be returned while being updated */
+    private Duration staleWindow;
+
+    /** Fraction of the lifetime after which reads update the cached data ahead of expiry */
+    private Double refreshAheadRatio;
+
+    /** Lifetime of the vehicle index in each account before it's rebuilt */
+    private Duration vehicleIndexLifetime;
+
+    /** Maximum number of requests per second the polls of all pollers may send */
+    private Double maxPollRequestsPerSecond;
+
     @Nonnull
     @Override
     public com.ansill.tesla.api.high.Client build(){
@@ -523,8 +948,23 @@ public final class Client implements AutoCloseable{
                                                   .setClientId(clientId)
                                                   .setClientSecret(clientSecret)
                                                   .setUnknownFieldsFunction(unknownFieldsFunction)
+                                                  .setReadRetryPolicy(readRetryPolicy)
+                                                  .setCommandRetryPolicy(commandRetryPolicy)
+                                                  .setCircuitBreakerPolicy(circuitBreakerPolicy)
+                                                  .setRateLimitPolicy(rateLimitPolicy)
+                                                  .setMetrics(metrics)
                                                   .build();
-      return new com.ansill.tesla.api.high.Client(client, fastChangingDataLifetime, slowChangingDataLifetime);
+      return new com.ansill.tesla.api.high.Client(
+        client,
+        fastChangingDataLifetime,
+        slowChangingDataLifetime,
+        cacheMode,
+        staleWindow,
+        refreshAheadRatio,
+        vehicleIndexLifetime,
+        maxPollRequestsPerSecond,
+        metrics
+      );
     }
 
     /**
@@ -551,6 +991,74 @@ public final class Client implements AutoCloseable{
       return this;
     }
 
+    /**
+     * Sets cache mode
+     *
+     * @param cacheMode cache mode or null to use default (blocking)
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setCacheMode(@Nullable CacheMode cacheMode){
+      this.cacheMode = cacheMode;
+      return this;
+    }
+
+    /**
+     * Sets staleness window, used in stale-while-revalidate cache mode
+     *
+     * @param staleWindow how long after expiry the cached data may still be returned while being updated or null to
+     *                    use default
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setStaleWindow(@Nullable Duration staleWindow){
+      this.staleWindow = staleWindow;
+      return this;
+    }
+
+    /**
+     * Sets refresh-ahead ratio, used in refresh-ahead cache mode
+     *
+     * @param refreshAheadRatio fraction of the lifetime after which reads update the cached data ahead of expiry or
+     *                          null to use default
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setRefreshAheadRatio(@Nullable Double refreshAheadRatio){
+      this.refreshAheadRatio = refreshAheadRatio;
+      return this;
+    }
+
+    /**
+     * Sets lifetime of the vehicle index that serves lookups by name, VIN and id
+     *
+     * @param vehicleIndexLifetime lifetime of the vehicle index in each account before it's rebuilt or null to use
+     *                             default
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setVehicleIndexLifetime(@Nullable Duration vehicleIndexLifetime){
+      this.vehicleIndexLifetime = vehicleIndexLifetime;
+      return this;
+    }
+
+    /**
+     * Sets maximum number of requests per second the polls may send, the budget is shared by all pollers and
+     * telemetry publishers of the client
+     *
+     * @param maxPollRequestsPerSecond requests per second or null to use default
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMaxPollRequestsPerSecond(@Nullable Double maxPollRequestsPerSecond){
+      if(maxPollRequestsPerSecond != null && !(maxPollRequestsPerSecond > 0)) throw new IllegalArgumentException(f(
+        "maxPollRequestsPerSecond must be positive, got {}",
+        maxPollRequestsPerSecond
+      ));
+      this.maxPollRequestsPerSecond = maxPollRequestsPerSecond;
+      return this;
+    }
+
     @Nonnull
     @Override
     public Builder setUrl(@Nullable String url){
@@ -0,0 +1,108 @@
+package com.ansill.tesla.api.high;
+
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Chooses the requests that bring the stale sections of vehicle data up to date. Every request is a round trip to the
+ * vehicle, which costs far more than transferring or parsing any sub-document, so the plan simply minimizes the number
+ * of requests:
+ * <ul>
+ *   <li>one stale section - its own data_request endpoint, the smallest response</li>
+ *   <li>two or more stale sections - one vehicle_data request with those sections selected</li>
+ *   <li>every section stale - one complete vehicle_data request, which refreshes the snapshot too</li>
+ * </ul>
+ */
+final class FetchPlanner{
+
+  private FetchPlanner(){
+    throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
+  }
+
+  /**
+   * Plans the requests for the stale sections
+   *
+   * @param stale sections that have to be fetched
+   * @return plan
+   */
+  @Nonnull
+  static Plan plan(@Nonnull Set<VehicleDataEndpoint> stale){
+
+    // Nothing to fetch
+    if(stale.isEmpty()) return new Plan(Strategy.NONE, Collections.emptySet());
+
+    // Everything is stale
+    var endpoints = Collections.unmodifiableSet(EnumSet.copyOf(stale));
+    if(stale.size() == VehicleDataEndpoint.values().length) return new Plan(Strategy.COMPLETE, endpoints);
+
+    // Single section goes through its own endpoint, more than one share a request
+    return new Plan(stale.size() == 1 ? Strategy.PER_SECTION : Strategy.PARTIAL, endpoints);
+  }
+
+  /** How the stale sections are fetched */
+  enum Strategy{
+
+    /** Nothing is stale */
+    NONE,
+
+    /** Single section through its own data_request */
+    PER_SECTION,
+
+    /** One vehicle_data with the stale sections selected */
+    PARTIAL,
+
+    /** One complete vehicle_data */
+    COMPLETE
+  }
+
+  /** Planned requests */
+  @Immutable
+  static final class Plan{
+
+    /** Strategy */
+    @Nonnull
+    private final Strategy strategy;
+
+    /** Sections to fetch */
+    @Nonnull
+    private final Set<VehicleDataEndpoint> endpoints;
+
+    /**
+     * Plan constructor
+     *
+     * @param strategy  strategy
+     * @param endpoints sections to fetch
+     */
+    private Plan(@Nonnull Strategy strategy, @Nonnull Set<VehicleDataEndpoint> endpoints){
+      this.strategy = strategy;
+      this.endpoints = endpoints;
+    }
+
+    /**
+     * Returns strategy
+     *
+     * @return strategy
+     */
+    @Nonnull
+    Strategy getStrategy(){
+      return strategy;
+    }
+
+    /**
+     * Returns sections to fetch
+     *
+     * @return sections
+     */
+    @Nonnull
+    Set<VehicleDataEndpoint> getEndpoints(){
+      return endpoints;
+    }
+  }
+}
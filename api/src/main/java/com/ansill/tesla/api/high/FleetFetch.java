@@ -0,0 +1,151 @@
+package com.ansill.tesla.api.high;
+
+import com.ansill.tesla.api.exception.VehicleInServiceException;
+import com.ansill.tesla.api.exception.VehicleOfflineException;
+import com.ansill.tesla.api.exception.VehicleSleepingException;
+import com.ansill.tesla.api.high.exception.VehicleNotFoundException;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fetches snapshots of many vehicles with bounded concurrency. At most the given number of vehicles are fetched at
+ * the same time, each finished fetch starts the next one. Outcomes are delivered as they complete and failure of one
+ * vehicle does not stop the rest
+ */
+final class FleetFetch{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(FleetFetch.class);
+
+  /** Vehicles that are not fetched yet */
+  @Nonnull
+  private final Queue<Vehicle> pending;
+
+  /** Number of vehicles whose outcome has not been delivered yet */
+  @Nonnull
+  private final AtomicInteger remaining;
+
+  /** Executor that runs the fetches */
+  @Nonnull
+  private final Executor executor;
+
+  /** Consumer of the outcomes */
+  @Nonnull
+  private final Consumer<VehicleSnapshotOutcome> consumer;
+
+  /** Future that completes when all outcomes have been delivered */
+  @Nonnull
+  private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+  /**
+   * FleetFetch constructor
+   *
+   * @param vehicles vehicles to fetch
+   * @param executor executor that runs the fetches
+   * @param consumer consumer of the outcomes
+   */
+  private FleetFetch(
+    @Nonnull Collection<Vehicle> vehicles,
+    @Nonnull Executor executor,
+    @Nonnull Consumer<VehicleSnapshotOutcome> consumer
+  ){
+    this.pending = new ConcurrentLinkedQueue<>(vehicles);
+    this.remaining = new AtomicInteger(vehicles.size());
+    this.executor = executor;
+    this.consumer = consumer;
+  }
+
+  /**
+   * Starts fetching snapshots of the vehicles
+   *
+   * @param vehicles    vehicles to fetch
+   * @param concurrency maximum number of vehicles that are fetched at the same time
+   * @param executor    executor that runs the fetches
+   * @param consumer    consumer of the outcomes, called from the executor threads
+   * @return future that completes when all outcomes have been delivered, cancelling it stops starting new fetches
+   */
+  @Nonnull
+  static CompletableFuture<Void> start(
+    @Nonnull Collection<Vehicle> vehicles,
+    int concurrency,
+    @Nonnull Executor executor,
+    @Nonnull Consumer<VehicleSnapshotOutcome> consumer
+  ){
+    var fetch = new FleetFetch(vehicles, executor, consumer);
+    if(vehicles.isEmpty()) fetch.done.complete(null);
+    for(int i = 0; i < Math.min(concurrency, vehicles.size()); i++) fetch.next();
+    return fetch.done;
+  }
+
+  /**
+   * Fetches snapshot of a vehicle and classifies the failures
+   *
+   * @param vehicle vehicle
+   * @return outcome
+   */
+  @Nonnull
+  static VehicleSnapshotOutcome fetch(@Nonnull Vehicle vehicle){
+    var id = vehicle.getKnownId();
+    try{
+      return VehicleSnapshotOutcome.success(id, vehicle.getVehicleSnapshot());
+    }catch(VehicleSleepingException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.ASLEEP, e);
+    }catch(VehicleOfflineException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.OFFLINE, e);
+    }catch(VehicleInServiceException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.IN_SERVICE, e);
+    }catch(VehicleNotFoundException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.NOT_FOUND, e);
+    }catch(RuntimeException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.FAILED, e);
+    }
+  }
+
+  /** Starts fetching the next pending vehicle if any */
+  private void next(){
+
+    // Don't start new fetches once cancelled or failed
+    if(done.isDone()) return;
+
+    // Take next vehicle
+    var vehicle = pending.poll();
+    if(vehicle == null) return;
+
+    try{
+      executor.execute(() -> {
+        try{
+          deliver(fetch(vehicle));
+        }finally{
+          if(remaining.decrementAndGet() == 0) done.complete(null);
+          else next();
+        }
+      });
+    }catch(RejectedExecutionException e){
+      done.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Delivers the outcome to the consumer, the consumer's exceptions are logged so they don't stop the rest
+   *
+   * @param outcome outcome
+   */
+  private void deliver(@Nonnull VehicleSnapshotOutcome outcome){
+    try{
+      consumer.accept(outcome);
+    }catch(RuntimeException e){
+      LOGGER.warn("Fleet fetch consumer has thrown an exception on outcome of vehicle {}", outcome.getVehicleId(), e);
+    }
+  }
+}
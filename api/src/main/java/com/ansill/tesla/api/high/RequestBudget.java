@@ -0,0 +1,164 @@
+package com.ansill.tesla.api.high;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Requests-per-second budget of the polls, shared by all pollers of a client. A poll reserves its first permit before
+ * it's started, so waiting for it does not hold a thread. Every further request the poll sends takes another permit and
+ * waits for it, so a poll that has to look the vehicle up, wake it or list the vehicles before asking for the data is
+ * charged for all of them. Requests a poll sets off on other threads, like the background cache updates, are charged
+ * through the executors that run them
+ */
+final class RequestBudget{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestBudget.class);
+
+  /** Charge of the poll that runs on the thread, null if there's no poll running */
+  @Nonnull
+  private static final ThreadLocal<Charge> CURRENT = new ThreadLocal<>();
+
+  /** Earliest time the next permit is due in System.nanoTime() */
+  @Nonnull
+  private final AtomicLong nextPermitAt = new AtomicLong(System.nanoTime());
+
+  /** Time between permits in nanoseconds */
+  private final long permitInterval;
+
+  /**
+   * RequestBudget constructor
+   *
+   * @param requestsPerSecond requests per second
+   */
+  RequestBudget(double requestsPerSecond){
+    this.permitInterval = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+  }
+
+  /**
+   * Charges the request that is about to be sent to the poll running on the thread, waits for the permit if it's not
+   * due yet. Does nothing outside of the polls
+   */
+  static void charge(){
+
+    // Not in a poll or paid for already
+    var charge = CURRENT.get();
+    if(charge == null) return;
+    if(charge.prepaid > 0){
+      charge.prepaid--;
+      return;
+    }
+
+    // Wait for the permit
+    var wait = charge.budget.reserve();
+    if(wait <= 0) return;
+    try{
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      LOGGER.debug("Interrupted while waiting for a poll permit, sending the request anyway");
+    }
+  }
+
+  /**
+   * Wraps the executor so the tasks submitted from a poll are charged to the budget of the poll as well. Tasks that are
+   * submitted outside of the polls are run as they are
+   *
+   * @param executor executor
+   * @return executor that carries the charge over
+   */
+  @Nonnull
+  static Executor charging(@Nonnull Executor executor){
+    return task -> {
+      var charge = CURRENT.get();
+      if(charge == null) executor.execute(task);
+      else executor.execute(() -> charge.budget.run(() -> {
+        task.run();
+        return null;
+      }, 0));
+    };
+  }
+
+  /**
+   * Reserves the next permit
+   *
+   * @return nanoseconds until the permit is due
+   */
+  long reserve(){
+    while(true){
+      var now = System.nanoTime();
+      var next = nextPermitAt.get();
+      var slot = next - now > 0 ? next : now;
+      if(nextPermitAt.compareAndSet(next, slot + permitInterval)) return slot - now;
+    }
+  }
+
+  /**
+   * Runs the poll on this thread with its first permit already reserved, the requests it sends are charged to this
+   * budget
+   *
+   * @param poll poll
+   * @param <T>  return value type
+   * @return return value
+   */
+  <T> T runPrepaid(@Nonnull Supplier<T> poll){
+    return run(poll, 1);
+  }
+
+  /**
+   * Runs the task on this thread, the requests it sends are charged to this budget
+   *
+   * @param task    task
+   * @param prepaid number of permits reserved before the task started
+   * @param <T>     return value type
+   * @return return value
+   */
+  private <T> T run(@Nonnull Supplier<T> task, int prepaid){
+    var previous = CURRENT.get();
+    CURRENT.set(new Charge(this, prepaid));
+    try{
+      return task.get();
+    }finally{
+      restore(previous);
+    }
+  }
+
+  /**
+   * Restores the charge of the thread
+   *
+   * @param previous charge that was there before or null if none
+   */
+  private static void restore(@Nullable Charge previous){
+    if(previous == null) CURRENT.remove();
+    else CURRENT.set(previous);
+  }
+
+  /** Charge of a single poll or a task it has set off, only touched by the thread that runs it */
+  private static final class Charge{
+
+    /** Budget the poll draws from */
+    @Nonnull
+    private final RequestBudget budget;
+
+    /** Number of permits reserved before the poll started and not used yet */
+    private int prepaid;
+
+    /**
+     * Charge constructor
+     *
+     * @param budget  budget the poll draws from
+     * @param prepaid number of permits reserved before the poll started
+     */
+    private Charge(@Nonnull RequestBudget budget, int prepaid){
+      this.budget = budget;
+      this.prepaid = prepaid;
+    }
+  }
+}
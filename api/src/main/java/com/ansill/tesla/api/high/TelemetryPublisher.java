@@ -0,0 +1,370 @@
+package com.ansill.tesla.api.high;
+
+import com.ansill.tesla.api.high.model.OverflowPolicy;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.ansill.validation.Validation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Publishes poll outcomes of vehicles as they come in. Vehicles are polled by their activity whether anybody subscribes
+ * or not, each subscriber receives the outcomes from the time it subscribed. Outcomes are buffered per subscriber and
+ * delivered on demand, the overflow policy decides what happens when the buffer is full
+ */
+public final class TelemetryPublisher implements Flow.Publisher<VehicleSnapshotOutcome>, AutoCloseable{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(TelemetryPublisher.class);
+
+  /** Poller that feeds this publisher */
+  @Nonnull
+  private final VehiclePoller poller;
+
+  /** Overflow policy */
+  @Nonnull
+  private final OverflowPolicy overflowPolicy;
+
+  /** Maximum number of outcomes buffered for each subscriber */
+  private final int bufferSize;
+
+  /** Function to run when publisher is closed */
+  @Nonnull
+  private final Consumer<TelemetryPublisher> onClose;
+
+  /** Active subscriptions */
+  @Nonnull
+  private final List<TelemetrySubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  /** Gate that holds back the polls while a subscriber has no room, only with the BLOCK overflow policy */
+  @Nonnull
+  private final RoomGate gate = new RoomGate();
+
+  /** Closed flag */
+  @Nonnull
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /**
+   * TelemetryPublisher constructor
+   *
+   * @param pollerFactory  function that creates poller that feeds the given consumer through the given gate
+   * @param overflowPolicy overflow policy
+   * @param bufferSize     maximum number of outcomes buffered for each subscriber
+   * @param onClose        function to run when publisher is closed
+   */
+  TelemetryPublisher(
+    @Nonnull BiFunction<Consumer<VehicleSnapshotOutcome>,VehiclePoller.Gate,VehiclePoller> pollerFactory,
+    @Nonnull OverflowPolicy overflowPolicy,
+    int bufferSize,
+    @Nonnull Consumer<TelemetryPublisher> onClose
+  ){
+    this.overflowPolicy = overflowPolicy;
+    this.bufferSize = bufferSize;
+    this.onClose = onClose;
+    this.poller = pollerFactory.apply(this::publish, gate);
+  }
+
+  /**
+   * Starts publishing outcomes of the vehicle. Does nothing if vehicle is already being published
+   *
+   * @param vehicle vehicle
+   */
+  public void add(@Nonnull Vehicle vehicle){
+
+    // Ensure that it's not closed
+    if(this.closed.get()) throw new IllegalStateException("Publisher is closed");
+
+    // Add it
+    poller.add(vehicle);
+  }
+
+  /**
+   * Stops publishing outcomes of the vehicle
+   *
+   * @param vehicle vehicle
+   */
+  public void remove(@Nonnull Vehicle vehicle){
+    poller.remove(vehicle);
+  }
+
+  @Override
+  public void subscribe(@Nonnull Flow.Subscriber<? super VehicleSnapshotOutcome> subscriber){
+    var subscription = new TelemetrySubscription(Validation.assertNonnull(subscriber, "subscriber"));
+    subscriptions.add(subscription);
+    subscriber.onSubscribe(subscription);
+
+    // Publisher may have been closed in the meantime
+    if(this.closed.get()) subscription.complete();
+  }
+
+  /**
+   * Offers the outcome to all subscribers
+   *
+   * @param outcome outcome
+   */
+  private void publish(@Nonnull VehicleSnapshotOutcome outcome){
+    for(var subscription : subscriptions) subscription.offer(outcome);
+  }
+
+  @Override
+  public void close(){
+
+    // Guard against multiple calls
+    if(!this.closed.compareAndSet(false, true)) return;
+
+    // Stop polling
+    poller.close();
+
+    // Complete subscribers once they have received what's buffered
+    for(var subscription : subscriptions) subscription.complete();
+
+    // Run on close
+    onClose.accept(this);
+  }
+
+  /**
+   * Gate that lets a poll through only if every subscriber has room for its outcome, counting the outcomes of the polls
+   * that are already running. Held polls don't take a thread, they are let through when a subscriber takes outcomes or
+   * goes away
+   */
+  private final class RoomGate implements VehiclePoller.Gate{
+
+    /** Polls held until there's room */
+    @Nonnull
+    private final Deque<Runnable> held = new ArrayDeque<>();
+
+    /** Number of polls that have been let through and not delivered yet */
+    private int entered = 0;
+
+    @Override
+    public synchronized boolean tryEnter(@Nonnull Runnable poll){
+      if(overflowPolicy != OverflowPolicy.BLOCK || hasRoom()){
+        entered++;
+        return true;
+      }
+      held.addLast(poll);
+      return false;
+    }
+
+    @Override
+    public void leave(){
+      synchronized(this){
+        entered--;
+      }
+      open();
+    }
+
+    /** Lets held polls through while there's room */
+    private void open(){
+
+      // Take them while holding the monitor, run them outside of it
+      var ready = new ArrayList<Runnable>();
+      synchronized(this){
+        while(!held.isEmpty() && hasRoom()){
+          entered++;
+          ready.add(held.pollFirst());
+        }
+      }
+      for(var poll : ready) poll.run();
+    }
+
+    /**
+     * Checks if every subscriber has room for one more outcome, must hold the monitor
+     *
+     * @return true if there's room, false if there's not
+     */
+    private boolean hasRoom(){
+      for(var subscription : subscriptions) if(subscription.size() + entered >= bufferSize) return false;
+      return true;
+    }
+  }
+
+  /** Subscription with its own buffer */
+  private final class TelemetrySubscription implements Flow.Subscription{
+
+    /** Subscriber */
+    @Nonnull
+    private final Flow.Subscriber<? super VehicleSnapshotOutcome> subscriber;
+
+    /** Lock that guards the buffer, demand and the flags */
+    @Nonnull
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Buffered outcomes */
+    @Nonnull
+    private final Deque<VehicleSnapshotOutcome> buffer = new ArrayDeque<>();
+
+    /** Number of drain requests, only the thread that raises it from zero delivers */
+    @Nonnull
+    private final AtomicInteger drains = new AtomicInteger();
+
+    /** Outstanding demand */
+    private long demand = 0;
+
+    /** Completion requested flag */
+    private boolean completing = false;
+
+    /** Terminated flag, no more signals are sent to subscriber */
+    private boolean terminated = false;
+
+    /** Error to send to subscriber */
+    @Nullable
+    private Throwable error = null;
+
+    /**
+     * TelemetrySubscription constructor
+     *
+     * @param subscriber subscriber
+     */
+    private TelemetrySubscription(@Nonnull Flow.Subscriber<? super VehicleSnapshotOutcome> subscriber){
+      this.subscriber = subscriber;
+    }
+
+    /**
+     * Buffers the outcome by the overflow policy and delivers what's demanded. With the BLOCK overflow policy, the gate
+     * has made sure there's room before the poll was let through
+     *
+     * @param outcome outcome
+     */
+    private void offer(@Nonnull VehicleSnapshotOutcome outcome){
+      lock.lock();
+      try{
+        if(terminated || completing) return;
+        switch(overflowPolicy){
+          case DROP_OLDEST -> {
+            if(buffer.size() >= bufferSize) buffer.pollFirst();
+          }
+          case CONFLATE -> {
+            buffer.removeIf(buffered -> buffered.getVehicleId().equals(outcome.getVehicleId()));
+            if(buffer.size() >= bufferSize) buffer.pollFirst();
+          }
+          case BLOCK -> {
+          }
+        }
+        buffer.addLast(outcome);
+      }finally{
+        lock.unlock();
+      }
+      drain();
+    }
+
+    /**
+     * Returns number of buffered outcomes
+     *
+     * @return number of buffered outcomes
+     */
+    private int size(){
+      lock.lock();
+      try{
+        return buffer.size();
+      }finally{
+        lock.unlock();
+      }
+    }
+
+    /** Completes subscription once buffered outcomes have been delivered */
+    private void complete(){
+      lock.lock();
+      try{
+        completing = true;
+      }finally{
+        lock.unlock();
+      }
+      drain();
+    }
+
+    @Override
+    public void request(long n){
+      lock.lock();
+      try{
+        if(terminated) return;
+        if(n <= 0) error = new IllegalArgumentException(f("Requested amount must be positive, got {}", n));
+        else demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+      }finally{
+        lock.unlock();
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel(){
+      lock.lock();
+      try{
+        terminate();
+      }finally{
+        lock.unlock();
+      }
+      gate.open();
+    }
+
+    /** Marks subscription terminated and drops it, must hold the lock */
+    private void terminate(){
+      terminated = true;
+      buffer.clear();
+      subscriptions.remove(this);
+    }
+
+    /** Delivers buffered outcomes while there is demand and sends the terminal signal when it's due */
+    private void drain(){
+
+      // Someone else is delivering, make it go around once more
+      if(drains.getAndIncrement() != 0) return;
+
+      int missed = 1;
+      do{
+        while(true){
+
+          // Take next signal
+          VehicleSnapshotOutcome next = null;
+          Throwable failure = null;
+          boolean done = false;
+          lock.lock();
+          try{
+            if(terminated) break;
+            if(error != null){
+              failure = error;
+              terminate();
+            }else if(demand > 0 && !buffer.isEmpty()){
+              next = buffer.pollFirst();
+              demand--;
+            }else if(completing && buffer.isEmpty()){
+              done = true;
+              terminate();
+            }else break;
+          }finally{
+            lock.unlock();
+          }
+
+          // Send it
+          try{
+            if(failure != null) subscriber.onError(failure);
+            else if(done) subscriber.onComplete();
+            else subscriber.onNext(next);
+          }catch(RuntimeException e){
+            LOGGER.warn("Telemetry subscriber has thrown an exception, cancelling its subscription", e);
+            cancel();
+          }
+        }
+        missed = drains.addAndGet(-missed);
+      }while(missed != 0);
+
+      // Delivered outcomes made room for the held polls
+      gate.open();
+    }
+  }
+}
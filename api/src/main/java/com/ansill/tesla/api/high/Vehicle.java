@@ -1,6 +1,7 @@
 package com.ansill.tesla.api.high;
 
 import com.ansill.tesla.api.data.model.ShiftState;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 import com.ansill.tesla.api.exception.VehicleSleepingException;
 import com.ansill.tesla.api.high.exception.VehicleNotFoundException;
 import com.ansill.tesla.api.high.model.BatteryState;
@@ -12,13 +13,17 @@ import com.ansill.tesla.api.high.model.ClimateState;
 import com.ansill.tesla.api.high.model.GUISettings;
 import com.ansill.tesla.api.high.model.Location;
 import com.ansill.tesla.api.high.model.SentryModeState;
+import com.ansill.tesla.api.high.model.VehicleChangeEvent;
 import com.ansill.tesla.api.high.model.VehicleConfig;
+import com.ansill.tesla.api.high.model.VehicleReading;
 import com.ansill.tesla.api.high.model.VehicleSnapshot;
+import com.ansill.tesla.api.model.CachePolicy;
 import com.ansill.tesla.api.model.CachedValue;
 import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
 import com.ansill.validation.Validation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tech.units.indriya.unit.Units;
 
 import javax.annotation.Nonnull;
 import javax.measure.Quantity;
@@ -26,9 +31,12 @@ import javax.measure.quantity.Length;
 import javax.measure.quantity.Power;
 import javax.measure.quantity.Speed;
 import java.time.Duration;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.ansill.utility.Utility.f;
 
@@ -90,6 +98,10 @@ public class Vehicle{
   @Nonnull
   private final CachedValue<com.ansill.tesla.api.low.model.CompleteData> cachedCompleteData;
 
+  /** Detector of changes between successive fetches */
+  @Nonnull
+  private final ChangeDetector changes;
+
   /**
    * Vehicle constructor
    *
@@ -98,6 +110,7 @@ public class Vehicle{
    * @param parent                   parent to call upon
    * @param fastChangingDataLifetime lifetime of fast-changing data
    * @param slowChangingDataLifetime lifetime of slow-changing data
+   * @param cachePolicy              cache policy
    */
   private Vehicle(
     @Nonnull String id,
@@ -105,21 +118,23 @@ public class Vehicle{
     @Nonnull Account parent,
     @Nonnull com.ansill.tesla.api.low.model.Vehicle vehicle,
     @Nonnull AtomicReference<AtomicReference<Duration>> fastChangingDataLifetime,
-    @Nonnull AtomicReference<AtomicReference<Duration>> slowChangingDataLifetime
+    @Nonnull AtomicReference<AtomicReference<Duration>> slowChangingDataLifetime,
+    @Nonnull CachePolicy cachePolicy
   ){
     this.id = id;
     this.vin = vin;
     this.fastChangingDataLifetime = fastChangingDataLifetime;
     this.slowChangingDataLifetime = slowChangingDataLifetime;
     this.parent = parent;
-    this.cachedVehicle = new CachedValue<>(slowChangingDataLifetime, vehicle);
-    this.cachedDriveState = new CachedValue<>(fastChangingDataLifetime);
-    this.cachedChargeState = new CachedValue<>(fastChangingDataLifetime);
-    this.cachedVehicleState = new CachedValue<>(fastChangingDataLifetime);
-    this.cachedGuiSettings = new CachedValue<>(slowChangingDataLifetime);
-    this.cachedClimateState = new CachedValue<>(fastChangingDataLifetime);
-    this.cachedVehicleConfig = new CachedValue<>(slowChangingDataLifetime);
-    this.cachedCompleteData = new CachedValue<>(fastChangingDataLifetime);
+    this.cachedVehicle = new CachedValue<>("vehicle", slowChangingDataLifetime, cachePolicy, vehicle);
+    this.cachedDriveState = new CachedValue<>("drive_state", fastChangingDataLifetime, cachePolicy);
+    this.cachedChargeState = new CachedValue<>("charge_state", fastChangingDataLifetime, cachePolicy);
+    this.cachedVehicleState = new CachedValue<>("vehicle_state", fastChangingDataLifetime, cachePolicy);
+    this.cachedGuiSettings = new CachedValue<>("gui_settings", slowChangingDataLifetime, cachePolicy);
+    this.cachedClimateState = new CachedValue<>("climate_state", fastChangingDataLifetime, cachePolicy);
+    this.cachedVehicleConfig = new CachedValue<>("vehicle_config", slowChangingDataLifetime, cachePolicy);
+    this.cachedCompleteData = new CachedValue<>("vehicle_data", fastChangingDataLifetime, cachePolicy);
+    this.changes = new ChangeDetector(id);
   }
 
   /**
@@ -138,10 +153,20 @@ public class Vehicle{
       parent,
       vehicle,
       parent.getFastChangingDataLifetime(),
-      parent.getSlowChangingDataLifetime()
+      parent.getSlowChangingDataLifetime(),
+      parent.getCachePolicy()
     );
   }
 
+  /**
+   * Merges freshly listed vehicle data into this vehicle, the rest of the cached data is kept
+   *
+   * @param vehicle freshly listed vehicle
+   */
+  void merge(@Nonnull com.ansill.tesla.api.low.model.Vehicle vehicle){
+    cachedVehicle.update(vehicle);
+  }
+
   /**
    * Sets the cache lifetime of fast-changing data
    * <p>
@@ -196,30 +221,13 @@ public class Vehicle{
     // Success flag
     boolean success = false;
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+    try{
 
       // Set up loop to repeat until awoken or fail
       for(int i = 0; i < 15; i++){
 
-        // Make the call
-        var vehicle = parent.performOnClient(client -> {
-          try{
-            return client.wakeup(parent.getToken(), id);
-          }catch(VehicleIDNotFoundException e){
-            exceptionCatcher.set(new VehicleNotFoundException(id));
-          }
-          return null;
-        });
-
-        // Check exception
-        if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
-
         // Check if vehicle state is not sleeping anymore
-        if(vehicle.getState() != com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP){
+        if(sendWakeUp()){
 
           // Update
           success = true;
@@ -238,6 +246,33 @@ public class Vehicle{
     if(!success) LOGGER.warn("After issuing a wake-up command, the vehicle is still asleep...");
   }
 
+  /**
+   * Sends a single wake-up command to the vehicle
+   *
+   * @return true if the vehicle is awake, false if it's still waking up
+   * @throws VehicleNotFoundException in a rare event if vehicle gets removed from the account, this exception will be thrown
+   */
+  boolean sendWakeUp() throws VehicleNotFoundException{
+
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Make the call
+    var vehicle = parent.performOnClient(client -> {
+      try{
+        return client.wakeup(parent.getToken(), id);
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+      }
+      return null;
+    });
+
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    parent.recordVehicleWakeUp(vehicle);
+    return vehicle.getState() != com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP;
+  }
+
   /**
    * Gets odometer
    *
@@ -435,26 +470,23 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.Vehicle getRawVehicle()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
 
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+    // Retrieve from cache if any or send new call
+    var state = cachedVehicle.getOrUpdate(() -> {
+      var item = parent.performOnClient(client -> client.getVehicle(parent.getToken(), id));
+      item.ifPresent(parent::recordVehicleState);
+      if(item.isPresent()) return item.get();
+      exceptionCatcher.set(new VehicleNotFoundException(id));
+      return null;
+    });
 
-      // Retrieve from cache if any or send new call
-      var state = cachedVehicle.getOrUpdate(() -> {
-        var item = parent.performOnClient(client -> client.getVehicle(parent.getToken(), id));
-        if(item.isPresent()) return item.get();
-        exceptionCatcher.set(new VehicleNotFoundException(id));
-        return null;
-      });
-
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Return it
+    return state;
   }
 
 
@@ -469,31 +501,30 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.DriveState getRawDriveState()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedDriveState.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleDriveState(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedDriveState.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleDriveState(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Report changes, outside of the update so the waiting readers are not held up by the listeners
+    changes.observe(null, state, null);
+
+    // Return it
+    return state;
   }
 
   /**
@@ -507,31 +538,30 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.ChargeState getRawChargeState()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedChargeState.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleChargeState(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedChargeState.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleChargeState(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Report changes, outside of the update so the waiting readers are not held up by the listeners
+    changes.observe(state, null, null);
+
+    // Return it
+    return state;
   }
 
   /**
@@ -545,31 +575,27 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.GuiSettings getRawGuiSettings()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedGuiSettings.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleGuiSettings(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedGuiSettings.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleGuiSettings(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Return it
+    return state;
   }
 
 
@@ -584,43 +610,192 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.CompleteData getRawCompleteVehicleData()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
 
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+    // Retrieve from cache if any or send new call
+    var state = cachedCompleteData.getOrUpdate(() -> {
+      try{
 
-      // Retrieve from cache if any or send new call
-      var state = cachedCompleteData.getOrUpdate(() -> {
-        try{
+        // Get data
+        var data = parent.performOnClientWithVehicleException(id, client -> client.getVehicleCompleteData(parent
+          .getToken(), id));
 
-          // Get data
-          var data = parent.performOnClientWithVehicleException(client -> client.getVehicleCompleteData(parent
-            .getToken(), id));
+        // Propagate other data
+        cachedVehicle.update(data.getVehicle());
+        cachedVehicleConfig.update(data.getVehicleConfig());
+        cachedClimateState.update(data.getClimateState());
+        cachedGuiSettings.update(data.getGuiSettings());
+        cachedDriveState.update(data.getDriveState());
+        cachedChargeState.update(data.getChargeState());
+        cachedVehicleState.update(data.getVehicleState());
 
-          // Propagate other data
-          cachedVehicle.update(data.getVehicle());
-          cachedVehicleConfig.update(data.getVehicleConfig());
-          cachedClimateState.update(data.getClimateState());
-          cachedGuiSettings.update(data.getGuiSettings());
-          cachedDriveState.update(data.getDriveState());
-          cachedChargeState.update(data.getChargeState());
-          cachedVehicleState.update(data.getVehicleState());
+        // Return data
+        return data;
 
-          // Return data
-          return data;
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+
+    // Report changes, outside of the update so the waiting readers are not held up by the listeners
+    changes.observe(state.getChargeState(), state.getDriveState(), state.getVehicleState());
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Return it
+    return state;
+  }
 
-      // Return it
-      return state;
+  /**
+   * Fetches only the selected sub-documents of vehicle data in a single request and updates their caches. Caches of
+   * the sub-documents that were not selected are left alone
+   *
+   * @param endpoints selected sub-documents
+   * @throws VehicleNotFoundException in a rare event if vehicle gets removed from the account, this exception will be thrown
+   * @throws VehicleSleepingException when the vehicle is possibly in sleeping state, this exception will be thrown
+   */
+  public void refresh(@Nonnull Set<VehicleDataEndpoint> endpoints)
+  throws VehicleNotFoundException, VehicleSleepingException{
+    getRawPartialData(Validation.assertNonnull(endpoints, "endpoints"));
+  }
+
+  /**
+   * Reads the sections together. Sections that are still cached are served from the cache, the stale ones are fetched
+   * with as few requests as possible - a single section through its own endpoint, several sections through one
+   * vehicle_data request with those sections selected, all of them through the complete vehicle_data request
+   *
+   * @param sections sections to read
+   * @return reading that contains exactly the requested sections
+   * @throws VehicleNotFoundException in a rare event if vehicle gets removed from the account, this exception will be thrown
+   * @throws VehicleSleepingException when the vehicle is possibly in sleeping state, this exception will be thrown
+   */
+  @Nonnull
+  public VehicleReading read(@Nonnull Set<VehicleDataEndpoint> sections)
+  throws VehicleNotFoundException, VehicleSleepingException{
+
+    // Check parameters
+    if(Validation.assertNonnull(sections, "sections").isEmpty()){
+      throw new IllegalArgumentException("sections cannot be empty");
+    }
+
+    // Take what's still valid in the cache, the values are held here so they can't expire under us
+    var chargeState = sections.contains(VehicleDataEndpoint.CHARGE_STATE) ?
+                      cachedChargeState.getIfValid().orElse(null) : null;
+    var climateState = sections.contains(VehicleDataEndpoint.CLIMATE_STATE) ?
+                       cachedClimateState.getIfValid().orElse(null) : null;
+    var driveState = sections.contains(VehicleDataEndpoint.DRIVE_STATE) ?
+                     cachedDriveState.getIfValid().orElse(null) : null;
+    var guiSettings = sections.contains(VehicleDataEndpoint.GUI_SETTINGS) ?
+                      cachedGuiSettings.getIfValid().orElse(null) : null;
+    var vehicleConfig = sections.contains(VehicleDataEndpoint.VEHICLE_CONFIG) ?
+                        cachedVehicleConfig.getIfValid().orElse(null) : null;
+    var vehicleState = sections.contains(VehicleDataEndpoint.VEHICLE_STATE) ?
+                       cachedVehicleState.getIfValid().orElse(null) : null;
+
+    // Find stale sections
+    var stale = EnumSet.noneOf(VehicleDataEndpoint.class);
+    if(sections.contains(VehicleDataEndpoint.CHARGE_STATE) && chargeState == null){
+      stale.add(VehicleDataEndpoint.CHARGE_STATE);
+    }
+    if(sections.contains(VehicleDataEndpoint.CLIMATE_STATE) && climateState == null){
+      stale.add(VehicleDataEndpoint.CLIMATE_STATE);
+    }
+    if(sections.contains(VehicleDataEndpoint.DRIVE_STATE) && driveState == null){
+      stale.add(VehicleDataEndpoint.DRIVE_STATE);
+    }
+    if(sections.contains(VehicleDataEndpoint.GUI_SETTINGS) && guiSettings == null){
+      stale.add(VehicleDataEndpoint.GUI_SETTINGS);
+    }
+    if(sections.contains(VehicleDataEndpoint.VEHICLE_CONFIG) && vehicleConfig == null){
+      stale.add(VehicleDataEndpoint.VEHICLE_CONFIG);
+    }
+    if(sections.contains(VehicleDataEndpoint.VEHICLE_STATE) && vehicleState == null){
+      stale.add(VehicleDataEndpoint.VEHICLE_STATE);
+    }
+
+    // Fetch them
+    var plan = FetchPlanner.plan(stale);
+    LOGGER.debug("Reading sections {} of vehicle {}, fetching {} with {}", sections, id, stale, plan.getStrategy());
+    switch(plan.getStrategy()){
+      case NONE -> {
+      }
+      case PER_SECTION -> {
+        if(stale.contains(VehicleDataEndpoint.CHARGE_STATE)) chargeState = getRawChargeState();
+        if(stale.contains(VehicleDataEndpoint.CLIMATE_STATE)) climateState = getRawClimateState();
+        if(stale.contains(VehicleDataEndpoint.DRIVE_STATE)) driveState = getRawDriveState();
+        if(stale.contains(VehicleDataEndpoint.GUI_SETTINGS)) guiSettings = getRawGuiSettings();
+        if(stale.contains(VehicleDataEndpoint.VEHICLE_CONFIG)) vehicleConfig = getRawVehicleConfig();
+        if(stale.contains(VehicleDataEndpoint.VEHICLE_STATE)) vehicleState = getRawVehicleState();
+      }
+      case PARTIAL -> {
+        var data = getRawPartialData(plan.getEndpoints());
+        if(chargeState == null) chargeState = data.getChargeState().orElse(null);
+        if(climateState == null) climateState = data.getClimateState().orElse(null);
+        if(driveState == null) driveState = data.getDriveState().orElse(null);
+        if(guiSettings == null) guiSettings = data.getGuiSettings().orElse(null);
+        if(vehicleConfig == null) vehicleConfig = data.getVehicleConfig().orElse(null);
+        if(vehicleState == null) vehicleState = data.getVehicleState().orElse(null);
+      }
+      case COMPLETE -> {
+        var data = getRawCompleteVehicleData();
+        chargeState = data.getChargeState();
+        climateState = data.getClimateState();
+        driveState = data.getDriveState();
+        guiSettings = data.getGuiSettings();
+        vehicleConfig = data.getVehicleConfig();
+        vehicleState = data.getVehicleState();
+      }
+    }
+
+    // Return the reading
+    return VehicleReading.convert(chargeState, climateState, driveState, guiSettings, vehicleConfig, vehicleState);
+  }
+
+  /**
+   * Fetches only the selected sub-documents of vehicle data in a single request and updates the caches of what came
+   * with it
+   *
+   * @param endpoints selected sub-documents
+   * @return partial data
+   * @throws VehicleNotFoundException in a rare event if vehicle gets removed from the account, this exception will be thrown
+   * @throws VehicleSleepingException when the vehicle is possibly in sleeping state, this exception will be thrown
+   */
+  @Nonnull
+  private com.ansill.tesla.api.low.model.PartialData getRawPartialData(@Nonnull Set<VehicleDataEndpoint> endpoints)
+  throws VehicleNotFoundException, VehicleSleepingException{
+    try{
+
+      // Get data
+      var data = parent.performOnClientWithVehicleException(id, client -> client.getVehiclePartialData(
+        parent.getToken(),
+        id,
+        endpoints
+      ));
+
+      // Propagate the data that came with it
+      cachedVehicle.update(data.getVehicle());
+      data.getVehicleConfig().ifPresent(cachedVehicleConfig::update);
+      data.getClimateState().ifPresent(cachedClimateState::update);
+      data.getGuiSettings().ifPresent(cachedGuiSettings::update);
+      data.getDriveState().ifPresent(cachedDriveState::update);
+      data.getChargeState().ifPresent(cachedChargeState::update);
+      data.getVehicleState().ifPresent(cachedVehicleState::update);
+
+      // Report changes
+      changes.observe(
+        data.getChargeState().orElse(null),
+        data.getDriveState().orElse(null),
+        data.getVehicleState().orElse(null)
+      );
+
+      // Return data
+      return data;
+
+    }catch(VehicleIDNotFoundException e){
+      throw new VehicleNotFoundException(id);
     }
   }
 
@@ -635,31 +810,30 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.VehicleState getRawVehicleState()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedVehicleState.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleVehicleState(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedVehicleState.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleVehicleState(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Report changes, outside of the update so the waiting readers are not held up by the listeners
+    changes.observe(null, null, state);
+
+    // Return it
+    return state;
   }
 
   /**
@@ -673,31 +847,27 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.ClimateState getRawClimateState()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedClimateState.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleClimateState(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedClimateState.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleClimateState(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Return it
+    return state;
   }
 
 
@@ -712,31 +882,61 @@ public class Vehicle{
   private com.ansill.tesla.api.low.model.VehicleConfig getRawVehicleConfig()
   throws VehicleNotFoundException, VehicleSleepingException{
 
-    // Lock it
-    try(var ignored = parent.getReadLock().doLock()){
-
-      // Exception catcher
-      AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
-
-      // Retrieve from cache if any or send new call
-      var state = cachedVehicleConfig.getOrUpdate(() -> {
-        try{
-          return parent.performOnClientWithVehicleException(client -> client.getVehicleVehicleConfig(
-            parent.getToken(),
-            id
-          ));
-        }catch(VehicleIDNotFoundException e){
-          exceptionCatcher.set(new VehicleNotFoundException(id));
-          return null;
-        }
-      });
+    // Exception catcher
+    AtomicReference<VehicleNotFoundException> exceptionCatcher = new AtomicReference<>();
+
+    // Retrieve from cache if any or send new call
+    var state = cachedVehicleConfig.getOrUpdate(() -> {
+      try{
+        return parent.performOnClientWithVehicleException(id, client -> client.getVehicleVehicleConfig(
+          parent.getToken(),
+          id
+        ));
+      }catch(VehicleIDNotFoundException e){
+        exceptionCatcher.set(new VehicleNotFoundException(id));
+        return null;
+      }
+    });
 
-      // Check exception
-      if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
+    // Check exception
+    if(exceptionCatcher.get() != null) throw exceptionCatcher.get();
 
-      // Return it
-      return state;
-    }
+    // Return it
+    return state;
+  }
+
+  /**
+   * Subscribes to changes of this vehicle. Changes are detected between successive fetches of the same data, so they
+   * are only reported when this vehicle's data is fetched, by any of its getters or a poller. Listeners are called on
+   * the fetching thread
+   *
+   * @param listener listener
+   * @return true if subscribed, false if the listener was already subscribed
+   */
+  public boolean subscribe(@Nonnull Consumer<VehicleChangeEvent> listener){
+    return changes.addListener(Validation.assertNonnull(listener, "listener"));
+  }
+
+  /**
+   * Unsubscribes from changes of this vehicle
+   *
+   * @param listener listener
+   * @return true if unsubscribed, false if the listener was not subscribed
+   */
+  public boolean unsubscribe(@Nonnull Consumer<VehicleChangeEvent> listener){
+    return changes.removeListener(Validation.assertNonnull(listener, "listener"));
+  }
+
+  /**
+   * Sets how far the vehicle has to move from the last reported location before location change is reported.
+   * Defaults to 100 meters
+   *
+   * @param threshold distance
+   */
+  public void setLocationChangeThreshold(@Nonnull Quantity<Length> threshold){
+    var meters = Validation.assertNonnull(threshold, "threshold").to(Units.METRE).getValue().doubleValue();
+    if(meters < 0) throw new IllegalArgumentException(f("threshold cannot be negative, got {}", threshold));
+    changes.setLocationThresholdMeters(meters);
   }
 
   /**
@@ -763,6 +963,27 @@ public class Vehicle{
     return getRawVehicle().getDisplayName();
   }
 
+  /**
+   * Returns vehicle's id that is known at the construction, does not look up the vehicle
+   *
+   * @return id
+   */
+  @Nonnull
+  String getKnownId(){
+    return id;
+  }
+
+  /**
+   * Returns vehicle's state as it was last listed in the account, does not wake the vehicle up
+   *
+   * @return state
+   * @throws VehicleNotFoundException in a rare event if vehicle gets removed from the account, this exception will be thrown
+   */
+  @Nonnull
+  com.ansill.tesla.api.low.model.Vehicle.State getListedState() throws VehicleNotFoundException{
+    return getRawVehicle().getState();
+  }
+
   /**
    * Returns vehicle's id
    *
@@ -0,0 +1,141 @@
+package com.ansill.tesla.api.high;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/** Snapshot of vehicles in the account indexed by display name, VIN and id */
+@Immutable
+final class VehicleIndex{
+
+  /** Empty index, always stale */
+  @Nonnull
+  static final VehicleIndex EMPTY = new VehicleIndex(
+    Collections.emptyMap(),
+    Collections.emptyMap(),
+    Collections.emptyMap(),
+    Long.MIN_VALUE
+  );
+
+  /** Vehicles by display name */
+  @Nonnull
+  private final Map<String,Vehicle> byName;
+
+  /** Vehicles by VIN */
+  @Nonnull
+  private final Map<String,Vehicle> byVin;
+
+  /** Vehicles by id */
+  @Nonnull
+  private final Map<String,Vehicle> byId;
+
+  /** Time the index was built in System.nanoTime(), Long.MIN_VALUE if never */
+  private final long builtAt;
+
+  /**
+   * VehicleIndex constructor
+   *
+   * @param byName  vehicles by display name
+   * @param byVin   vehicles by VIN
+   * @param byId    vehicles by id
+   * @param builtAt time the index was built in System.nanoTime()
+   */
+  private VehicleIndex(
+    @Nonnull Map<String,Vehicle> byName,
+    @Nonnull Map<String,Vehicle> byVin,
+    @Nonnull Map<String,Vehicle> byId,
+    long builtAt
+  ){
+    this.byName = byName;
+    this.byVin = byVin;
+    this.byId = byId;
+    this.builtAt = builtAt;
+  }
+
+  /**
+   * Builds index from the listed vehicles
+   *
+   * @param listed    listed vehicles
+   * @param toVehicle function that returns live instance of the listed vehicle
+   * @return index
+   */
+  @Nonnull
+  static VehicleIndex build(
+    @Nonnull Collection<com.ansill.tesla.api.low.model.Vehicle> listed,
+    @Nonnull Function<com.ansill.tesla.api.low.model.Vehicle,Vehicle> toVehicle
+  ){
+    var byName = new HashMap<String,Vehicle>();
+    var byVin = new HashMap<String,Vehicle>();
+    var byId = new HashMap<String,Vehicle>();
+    for(var data : listed){
+      var vehicle = toVehicle.apply(data);
+      if(data.getDisplayName() != null) byName.putIfAbsent(data.getDisplayName(), vehicle);
+      byVin.put(data.getVin(), vehicle);
+      byId.put(data.getId(), vehicle);
+    }
+    return new VehicleIndex(
+      Collections.unmodifiableMap(byName),
+      Collections.unmodifiableMap(byVin),
+      Collections.unmodifiableMap(byId),
+      System.nanoTime()
+    );
+  }
+
+  /**
+   * Checks if the index is younger than the lifetime
+   *
+   * @param lifetimeNanos lifetime in nanoseconds
+   * @return true if fresh, false if it should be rebuilt
+   */
+  boolean isFresh(long lifetimeNanos){
+    return builtAt != Long.MIN_VALUE && System.nanoTime() - builtAt <= lifetimeNanos;
+  }
+
+  /**
+   * Returns vehicle by display name
+   *
+   * @param name display name
+   * @return vehicle or null if not in index
+   */
+  @Nullable
+  Vehicle getByName(@Nonnull String name){
+    return byName.get(name);
+  }
+
+  /**
+   * Returns vehicle by VIN
+   *
+   * @param vin VIN
+   * @return vehicle or null if not in index
+   */
+  @Nullable
+  Vehicle getByVin(@Nonnull String vin){
+    return byVin.get(vin);
+  }
+
+  /**
+   * Returns vehicle by id
+   *
+   * @param id id
+   * @return vehicle or null if not in index
+   */
+  @Nullable
+  Vehicle getById(@Nonnull String id){
+    return byId.get(id);
+  }
+
+  /**
+   * Returns all vehicles in the index
+   *
+   * @return vehicles
+   */
+  @Nonnull
+  Collection<Vehicle> getVehicles(){
+    return byId.values();
+  }
+}
@@ -0,0 +1,415 @@
+package com.ansill.tesla.api.high;
+
+import com.ansill.tesla.api.data.model.ChargingState;
+import com.ansill.tesla.api.data.model.ShiftState;
+import com.ansill.tesla.api.exception.VehicleOfflineException;
+import com.ansill.tesla.api.exception.VehicleSleepingException;
+import com.ansill.tesla.api.high.exception.VehicleNotFoundException;
+import com.ansill.tesla.api.high.model.PollingPolicy;
+import com.ansill.tesla.api.high.model.VehicleActivity;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.ansill.validation.Validation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Polls vehicles at intervals that follow their activity - vehicles that are driving are polled often, vehicles that
+ * are asleep rarely. Sleeping vehicles are not woken up unless the policy says so, a vehicle that is waking up is
+ * polled again shortly instead of holding the thread while it wakes. Polls of all pollers of the client share one
+ * requests-per-second budget that is charged for every request a poll sends, not just for the poll
+ */
+public final class VehiclePoller implements AutoCloseable{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(VehiclePoller.class);
+
+  /** Number of wake-up commands sent to a sleeping vehicle before it's fetched anyway */
+  private static final int WAKE_UP_ATTEMPTS = 15;
+
+  /** Time between the wake-up commands */
+  @Nonnull
+  private static final Duration WAKE_UP_INTERVAL = Duration.ofSeconds(2);
+
+  /** Scheduler that times the polls */
+  @Nonnull
+  private final ScheduledExecutorService scheduler;
+
+  /** Executor that runs the polls */
+  @Nonnull
+  private final Executor executor;
+
+  /** Policy */
+  @Nonnull
+  private final PollingPolicy policy;
+
+  /** Consumer of the poll outcomes */
+  @Nonnull
+  private final Consumer<VehicleSnapshotOutcome> consumer;
+
+  /** Gate that holds back polls while their outcomes have nowhere to go */
+  @Nonnull
+  private final Gate gate;
+
+  /** Function to run when poller is closed */
+  @Nonnull
+  private final Consumer<VehiclePoller> onClose;
+
+  /** Polled vehicles by id */
+  @Nonnull
+  private final Map<String,PolledVehicle> vehicles = new ConcurrentHashMap<>();
+
+  /** Requests-per-second budget shared with the other pollers of the client */
+  @Nonnull
+  private final RequestBudget budget;
+
+  /** Closed flag */
+  @Nonnull
+  private final AtomicBoolean closed = new AtomicBoolean(false);
+
+  /**
+   * VehiclePoller constructor
+   *
+   * @param scheduler scheduler that times the polls
+   * @param executor  executor that runs the polls
+   * @param budget    requests-per-second budget shared with the other pollers of the client
+   * @param policy    polling policy
+   * @param consumer  consumer of the poll outcomes
+   * @param gate      gate that holds back polls while their outcomes have nowhere to go
+   * @param onClose   function to run when poller is closed
+   */
+  VehiclePoller(
+    @Nonnull ScheduledExecutorService scheduler,
+    @Nonnull Executor executor,
+    @Nonnull RequestBudget budget,
+    @Nonnull PollingPolicy policy,
+    @Nonnull Consumer<VehicleSnapshotOutcome> consumer,
+    @Nonnull Gate gate,
+    @Nonnull Consumer<VehiclePoller> onClose
+  ){
+    this.scheduler = scheduler;
+    this.executor = executor;
+    this.budget = budget;
+    this.policy = policy;
+    this.consumer = consumer;
+    this.gate = gate;
+    this.onClose = onClose;
+  }
+
+  /**
+   * Classifies activity of the vehicle from the poll outcome
+   *
+   * @param outcome outcome
+   * @return activity
+   */
+  @Nonnull
+  static VehicleActivity classify(@Nonnull VehicleSnapshotOutcome outcome){
+    return switch(outcome.getStatus()){
+      case ASLEEP -> VehicleActivity.ASLEEP;
+      case OFFLINE -> VehicleActivity.OFFLINE;
+      case SUCCESS -> {
+        var snapshot = outcome.getSnapshot().orElseThrow();
+        var chargingState = snapshot.getChargeState().getChargingState();
+        if(snapshot.getShiftState() != ShiftState.PARK) yield VehicleActivity.DRIVING;
+        if(chargingState == ChargingState.CHARGING || chargingState == ChargingState.STARTING){
+          yield VehicleActivity.CHARGING;
+        }
+        if(snapshot.isUserPresent()) yield VehicleActivity.USER_PRESENT;
+        yield VehicleActivity.IDLE;
+      }
+      default -> VehicleActivity.IDLE;
+    };
+  }
+
+  /**
+   * Starts polling the vehicle, the first poll happens as soon as the budget allows. Does nothing if vehicle is
+   * already being polled
+   *
+   * @param vehicle vehicle
+   */
+  public void add(@Nonnull Vehicle vehicle){
+
+    // Ensure that it's not closed
+    if(this.closed.get()) throw new IllegalStateException("Poller is closed");
+
+    // Add it and start if it's new
+    var polled = new PolledVehicle(Validation.assertNonnull(vehicle, "vehicle"));
+    if(vehicles.putIfAbsent(vehicle.getKnownId(), polled) == null) schedule(polled, Duration.ZERO);
+  }
+
+  /**
+   * Stops polling the vehicle
+   *
+   * @param vehicle vehicle
+   */
+  public void remove(@Nonnull Vehicle vehicle){
+    var polled = vehicles.remove(Validation.assertNonnull(vehicle, "vehicle").getKnownId());
+    if(polled == null) return;
+    polled.cancel();
+    leave(polled);
+  }
+
+  /**
+   * Returns activity of the vehicle as of its last poll
+   *
+   * @param vehicle vehicle
+   * @return optional that contains activity, empty if vehicle is not polled or has not been polled yet
+   */
+  @Nonnull
+  public Optional<VehicleActivity> getActivity(@Nonnull Vehicle vehicle){
+    var polled = vehicles.get(Validation.assertNonnull(vehicle, "vehicle").getKnownId());
+    return polled == null ? Optional.empty() : Optional.ofNullable(polled.activity);
+  }
+
+  /**
+   * Schedules the next poll of the vehicle
+   *
+   * @param polled polled vehicle
+   * @param delay  delay before the poll asks for budget
+   */
+  private void schedule(@Nonnull PolledVehicle polled, @Nonnull Duration delay){
+    if(this.closed.get() || polled.cancelled) return;
+    try{
+      polled.setFuture(scheduler.schedule(() -> admit(polled), delay.toNanos(), TimeUnit.NANOSECONDS));
+    }catch(RejectedExecutionException e){
+      LOGGER.debug("Poll of vehicle {} has been rejected, scheduler is shut down", polled.vehicle.getKnownId(), e);
+    }
+  }
+
+  /**
+   * Takes room at the gate, the poll is held there without a thread until there's room
+   *
+   * @param polled polled vehicle
+   */
+  private void admit(@Nonnull PolledVehicle polled){
+    if(this.closed.get() || polled.cancelled) return;
+    if(gate.tryEnter(() -> dispatch(polled))) dispatch(polled);
+  }
+
+  /**
+   * Takes permit from the budget and runs the poll when the permit is due, the room at the gate has been taken already
+   *
+   * @param polled polled vehicle
+   */
+  private void dispatch(@Nonnull PolledVehicle polled){
+    polled.entered.set(true);
+    if(this.closed.get() || polled.cancelled){
+      leave(polled);
+      return;
+    }
+    try{
+      var wait = budget.reserve();
+      if(wait <= 0) executor.execute(() -> poll(polled));
+      else polled.setFuture(scheduler.schedule(
+        () -> executor.execute(() -> poll(polled)),
+        wait,
+        TimeUnit.NANOSECONDS
+      ));
+    }catch(RejectedExecutionException e){
+      leave(polled);
+      LOGGER.debug("Poll of vehicle {} has been rejected, executor is shut down", polled.vehicle.getKnownId(), e);
+    }
+  }
+
+  /**
+   * Gives back the room the poll of the vehicle has taken at the gate, does nothing if it has been given back already
+   *
+   * @param polled polled vehicle
+   */
+  private void leave(@Nonnull PolledVehicle polled){
+    if(polled.entered.compareAndSet(true, false)) gate.leave();
+  }
+
+  /**
+   * Polls the vehicle, delivers the outcome and schedules the next poll by the observed activity
+   *
+   * @param polled polled vehicle
+   */
+  private void poll(@Nonnull PolledVehicle polled){
+    if(this.closed.get() || polled.cancelled){
+      leave(polled);
+      return;
+    }
+
+    // Poll it, the permit taken in admit pays for the first request
+    var outcome = budget.runPrepaid(() -> fetch(polled));
+
+    // Vehicle is waking up, try again shortly
+    if(outcome == null){
+      leave(polled);
+      schedule(polled, WAKE_UP_INTERVAL);
+      return;
+    }
+    polled.wakeUpAttempts = 0;
+    var activity = classify(outcome);
+    polled.activity = activity;
+
+    // Deliver it
+    try{
+      consumer.accept(outcome);
+    }catch(RuntimeException e){
+      LOGGER.warn("Poller consumer has thrown an exception on outcome of vehicle {}", outcome.getVehicleId(), e);
+    }
+    leave(polled);
+
+    // Vehicle is gone, stop polling it
+    if(outcome.getStatus() == VehicleSnapshotOutcome.Status.NOT_FOUND){
+      vehicles.remove(outcome.getVehicleId(), polled);
+      return;
+    }
+
+    // Schedule next one
+    schedule(polled, policy.getInterval(activity));
+  }
+
+  /**
+   * Fetches snapshot of the vehicle unless the vehicle is listed as asleep or offline. A sleeping vehicle that the
+   * policy wakes up is sent one wake-up command per poll until it's awake or out of attempts
+   *
+   * @param polled polled vehicle
+   * @return outcome or null if the vehicle is still waking up
+   */
+  @Nullable
+  private VehicleSnapshotOutcome fetch(@Nonnull PolledVehicle polled){
+    var vehicle = polled.vehicle;
+    var id = vehicle.getKnownId();
+    try{
+      switch(vehicle.getListedState()){
+        case OFFLINE -> {
+          return VehicleSnapshotOutcome.failure(
+            id,
+            VehicleSnapshotOutcome.Status.OFFLINE,
+            new VehicleOfflineException()
+          );
+        }
+        case ASLEEP -> {
+          if(!policy.isWakeSleeping()) return VehicleSnapshotOutcome.failure(
+            id,
+            VehicleSnapshotOutcome.Status.ASLEEP,
+            new VehicleSleepingException()
+          );
+          if(!vehicle.sendWakeUp() && ++polled.wakeUpAttempts < WAKE_UP_ATTEMPTS) return null;
+        }
+        default -> {
+        }
+      }
+    }catch(VehicleNotFoundException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.NOT_FOUND, e);
+    }catch(RuntimeException e){
+      return VehicleSnapshotOutcome.failure(id, VehicleSnapshotOutcome.Status.FAILED, e);
+    }
+    return FleetFetch.fetch(vehicle);
+  }
+
+  @Override
+  public void close(){
+
+    // Guard against multiple calls
+    if(!this.closed.compareAndSet(false, true)) return;
+
+    // Stop all polls
+    for(var polled : vehicles.values()){
+      polled.cancel();
+      leave(polled);
+    }
+    vehicles.clear();
+
+    // Run on close
+    onClose.accept(this);
+  }
+
+  /** Gate that holds back polls while their outcomes have nowhere to go */
+  interface Gate{
+
+    /** Gate that never holds back */
+    @Nonnull
+    Gate OPEN = new Gate(){
+      @Override
+      public boolean tryEnter(@Nonnull Runnable held){
+        return true;
+      }
+
+      @Override
+      public void leave(){
+      }
+    };
+
+    /**
+     * Takes room for the outcome of a poll. If there's no room, the poll is held and run once there is, with the room
+     * already taken for it
+     *
+     * @param held poll to run once there's room
+     * @return true if the room has been taken, false if the poll is held
+     */
+    boolean tryEnter(@Nonnull Runnable held);
+
+    /** Gives back the room taken for a poll once its outcome has been delivered or the poll has been dropped */
+    void leave();
+  }
+
+  /** Vehicle that is being polled */
+  private static final class PolledVehicle{
+
+    /** Vehicle */
+    @Nonnull
+    private final Vehicle vehicle;
+
+    /** Pending poll */
+    @Nonnull
+    private final AtomicReference<ScheduledFuture<?>> future = new AtomicReference<>();
+
+    /** Flag that is set while the pending poll holds room at the gate */
+    @Nonnull
+    private final AtomicBoolean entered = new AtomicBoolean(false);
+
+    /** Activity as of the last poll, null if not polled yet */
+    @Nullable
+    private volatile VehicleActivity activity;
+
+    /** Cancelled flag */
+    private volatile boolean cancelled = false;
+
+    /** Number of wake-up commands sent since the vehicle was last fetched, only touched by its polls one at a time */
+    private int wakeUpAttempts = 0;
+
+    /**
+     * PolledVehicle constructor
+     *
+     * @param vehicle vehicle
+     */
+    private PolledVehicle(@Nonnull Vehicle vehicle){
+      this.vehicle = vehicle;
+    }
+
+    /**
+     * Sets pending poll, cancels it right away if polling has been cancelled in the meantime
+     *
+     * @param future pending poll
+     */
+    private void setFuture(@Nonnull ScheduledFuture<?> future){
+      this.future.set(future);
+      if(cancelled) future.cancel(false);
+    }
+
+    /** Cancels polling */
+    private void cancel(){
+      cancelled = true;
+      var pending = future.get();
+      if(pending != null) pending.cancel(false);
+    }
+  }
+}
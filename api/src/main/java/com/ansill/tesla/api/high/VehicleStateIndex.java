@@ -0,0 +1,97 @@
+package com.ansill.tesla.api.high;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last observed online state of the vehicles in the account. States come from the vehicle list, which carries the
+ * state of every vehicle in a single call, and from the outcomes of the vehicle calls. Data calls consult it to fail
+ * fast on vehicles that are known to be asleep or offline instead of waiting for the request to time out
+ */
+final class VehicleStateIndex{
+
+  /** Observed states by vehicle id */
+  @Nonnull
+  private final ConcurrentHashMap<String,Observation> states = new ConcurrentHashMap<>();
+
+  /**
+   * Records observed state of the vehicle
+   *
+   * @param id    vehicle id
+   * @param state observed state
+   */
+  void record(@Nonnull String id, @Nonnull com.ansill.tesla.api.low.model.Vehicle.State state){
+    states.put(id, new Observation(state, System.nanoTime()));
+  }
+
+  /**
+   * Records that the state of the vehicle is not known, like right after it's been told to wake up. Unlike an unknown
+   * or too old state, it is not looked up from the vehicle list, so the calls go on to the vehicle and find out
+   *
+   * @param id vehicle id
+   */
+  void recordUnknown(@Nonnull String id){
+    states.put(id, new Observation(null, System.nanoTime()));
+  }
+
+  /**
+   * Checks if the vehicle has been observed within the lifetime, even if its state was not known
+   *
+   * @param id            vehicle id
+   * @param lifetimeNanos lifetime in nanoseconds
+   * @return true if it has been observed, false if it has not
+   */
+  boolean isObserved(@Nonnull String id, long lifetimeNanos){
+    var observation = states.get(id);
+    return observation != null && System.nanoTime() - observation.observedAt <= lifetimeNanos;
+  }
+
+  /**
+   * Returns state of the vehicle if it has been observed within the lifetime
+   *
+   * @param id            vehicle id
+   * @param lifetimeNanos lifetime in nanoseconds
+   * @return state or null if it's unknown or too old
+   */
+  @Nullable
+  com.ansill.tesla.api.low.model.Vehicle.State get(@Nonnull String id, long lifetimeNanos){
+    var observation = states.get(id);
+    if(observation == null || System.nanoTime() - observation.observedAt > lifetimeNanos) return null;
+    return observation.state;
+  }
+
+  /**
+   * Forgets vehicles that are not in the set
+   *
+   * @param ids ids of the vehicles to keep
+   */
+  void retain(@Nonnull Set<String> ids){
+    states.keySet().retainAll(ids);
+  }
+
+  /** State and the time it was observed */
+  @Immutable
+  private static final class Observation{
+
+    /** State, null if it's not known */
+    @Nullable
+    private final com.ansill.tesla.api.low.model.Vehicle.State state;
+
+    /** Time the state was observed in System.nanoTime() */
+    private final long observedAt;
+
+    /**
+     * Observation constructor
+     *
+     * @param state      state or null if it's not known
+     * @param observedAt time the state was observed in System.nanoTime()
+     */
+    private Observation(@Nullable com.ansill.tesla.api.low.model.Vehicle.State state, long observedAt){
+      this.state = state;
+      this.observedAt = observedAt;
+    }
+  }
+}
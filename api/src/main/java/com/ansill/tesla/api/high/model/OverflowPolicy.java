@@ -0,0 +1,17 @@
+package com.ansill.tesla.api.high.model;
+
+/** Overflow policy - defines what publisher does when subscriber's buffer is full */
+public enum OverflowPolicy{
+
+  /** Oldest buffered outcome is dropped to make room for the new one */
+  DROP_OLDEST,
+
+  /** Buffered outcome of the same vehicle is replaced with the new one, oldest is dropped if it's still full */
+  CONFLATE,
+
+  /**
+   * Polls of all vehicles are held back until every subscriber has room for their outcomes, so the slowest subscriber
+   * sets the pace. Held polls don't take a thread and polled outcomes reach every subscriber without waiting
+   */
+  BLOCK
+}
@@ -0,0 +1,135 @@
+package com.ansill.tesla.api.high.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.ansill.utility.Utility.f;
+
+/** Polling policy - how often vehicles are polled in each activity and whether sleeping ones are woken up */
+@Immutable
+public final class PollingPolicy{
+
+  /** Default policy */
+  @Nonnull
+  public static final PollingPolicy DEFAULT = builder().build();
+
+  /** Interval for each activity */
+  @Nonnull
+  private final Map<VehicleActivity,Duration> intervals;
+
+  /** Whether sleeping vehicles should be woken up to be polled */
+  private final boolean wakeSleeping;
+
+  /**
+   * PollingPolicy constructor
+   *
+   * @param intervals    interval for each activity
+   * @param wakeSleeping whether sleeping vehicles should be woken up to be polled
+   */
+  private PollingPolicy(@Nonnull Map<VehicleActivity,Duration> intervals, boolean wakeSleeping){
+    this.intervals = Collections.unmodifiableMap(new EnumMap<>(intervals));
+    this.wakeSleeping = wakeSleeping;
+  }
+
+  /**
+   * Creates builder with default values
+   *
+   * @return builder
+   */
+  @Nonnull
+  public static Builder builder(){
+    return new Builder();
+  }
+
+  /**
+   * Returns interval between polls of the vehicle in the activity
+   *
+   * @param activity activity
+   * @return interval
+   */
+  @Nonnull
+  public Duration getInterval(@Nonnull VehicleActivity activity){
+    return intervals.get(Validation.assertNonnull(activity, "activity"));
+  }
+
+  /**
+   * Returns whether sleeping vehicles should be woken up to be polled
+   *
+   * @return true if sleeping vehicles will be woken up, false if they are left asleep
+   */
+  public boolean isWakeSleeping(){
+    return wakeSleeping;
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Builder */
+  public static final class Builder{
+
+    /** Interval for each activity */
+    @Nonnull
+    private final Map<VehicleActivity,Duration> intervals = new EnumMap<>(VehicleActivity.class);
+
+    /** Whether sleeping vehicles should be woken up to be polled */
+    private boolean wakeSleeping = false;
+
+    /** Builder constructor with default intervals */
+    private Builder(){
+      intervals.put(VehicleActivity.DRIVING, Duration.ofSeconds(10));
+      intervals.put(VehicleActivity.CHARGING, Duration.ofMinutes(1));
+      intervals.put(VehicleActivity.USER_PRESENT, Duration.ofSeconds(30));
+      intervals.put(VehicleActivity.IDLE, Duration.ofMinutes(5));
+      intervals.put(VehicleActivity.ASLEEP, Duration.ofMinutes(15));
+      intervals.put(VehicleActivity.OFFLINE, Duration.ofMinutes(15));
+    }
+
+    /**
+     * Sets interval between polls of the vehicle in the activity
+     *
+     * @param activity activity
+     * @param interval interval
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setInterval(@Nonnull VehicleActivity activity, @Nonnull Duration interval){
+      Validation.assertNonnull(activity, "activity");
+      if(Validation.assertNonnull(interval, "interval").isNegative() || interval.isZero()){
+        throw new IllegalArgumentException(f("interval must be positive, got {}", interval));
+      }
+      intervals.put(activity, interval);
+      return this;
+    }
+
+    /**
+     * Sets whether sleeping vehicles should be woken up to be polled
+     *
+     * @param wakeSleeping true to wake sleeping vehicles, false to leave them asleep
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setWakeSleeping(boolean wakeSleeping){
+      this.wakeSleeping = wakeSleeping;
+      return this;
+    }
+
+    /**
+     * Builds policy
+     *
+     * @return policy
+     */
+    @Nonnull
+    public PollingPolicy build(){
+      return new PollingPolicy(intervals, wakeSleeping);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.ansill.tesla.api.high.model;
+
+/** Activity of the vehicle as last observed, decides how often the vehicle is polled */
+public enum VehicleActivity{
+
+  /** Vehicle is in gear */
+  DRIVING,
+
+  /** Vehicle is charging */
+  CHARGING,
+
+  /** User is in the vehicle */
+  USER_PRESENT,
+
+  /** Vehicle is online but parked, not charging and nobody is in it */
+  IDLE,
+
+  /** Vehicle is asleep */
+  ASLEEP,
+
+  /** Vehicle is offline */
+  OFFLINE
+}
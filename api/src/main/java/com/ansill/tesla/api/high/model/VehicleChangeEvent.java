@@ -0,0 +1,178 @@
+package com.ansill.tesla.api.high.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.time.Instant;
+import java.util.Optional;
+
+/** Change of a vehicle field between two successive fetches */
+@Immutable
+public final class VehicleChangeEvent{
+
+  /** Vehicle id */
+  @Nonnull
+  private final String vehicleId;
+
+  /** Type of change */
+  @Nonnull
+  private final Type type;
+
+  /** Value before the change */
+  @Nonnull
+  private final Object previous;
+
+  /** Value after the change */
+  @Nonnull
+  private final Object current;
+
+  /** Time the change was observed */
+  @Nonnull
+  private final Instant observedAt;
+
+  /**
+   * VehicleChangeEvent constructor
+   *
+   * @param vehicleId  vehicle id
+   * @param type       type of change
+   * @param previous   value before the change
+   * @param current    value after the change
+   * @param observedAt time the change was observed
+   */
+  public VehicleChangeEvent(
+    @Nonnull String vehicleId,
+    @Nonnull Type type,
+    @Nonnull Object previous,
+    @Nonnull Object current,
+    @Nonnull Instant observedAt
+  ){
+    this.vehicleId = Validation.assertNonnull(vehicleId, "vehicleId");
+    this.type = Validation.assertNonnull(type, "type");
+    this.previous = Validation.assertNonnull(previous, "previous");
+    this.current = Validation.assertNonnull(current, "current");
+    this.observedAt = Validation.assertNonnull(observedAt, "observedAt");
+  }
+
+  /**
+   * Returns vehicle id
+   *
+   * @return id
+   */
+  @Nonnull
+  public String getVehicleId(){
+    return vehicleId;
+  }
+
+  /**
+   * Returns type of change
+   *
+   * @return type
+   */
+  @Nonnull
+  public Type getType(){
+    return type;
+  }
+
+  /**
+   * Returns value before the change, its class is given by the type
+   *
+   * @return value
+   */
+  @Nonnull
+  public Object getPrevious(){
+    return previous;
+  }
+
+  /**
+   * Returns value after the change, its class is given by the type
+   *
+   * @return value
+   */
+  @Nonnull
+  public Object getCurrent(){
+    return current;
+  }
+
+  /**
+   * Returns value before the change if it's of the given class
+   *
+   * @param clazz class
+   * @param <T>   value type
+   * @return optional that contains the value if it's of the class
+   */
+  @Nonnull
+  public <T> Optional<T> getPrevious(@Nonnull Class<T> clazz){
+    return cast(previous, clazz);
+  }
+
+  /**
+   * Returns value after the change if it's of the given class
+   *
+   * @param clazz class
+   * @param <T>   value type
+   * @return optional that contains the value if it's of the class
+   */
+  @Nonnull
+  public <T> Optional<T> getCurrent(@Nonnull Class<T> clazz){
+    return cast(current, clazz);
+  }
+
+  /**
+   * Casts the value if it's of the class
+   *
+   * @param value value
+   * @param clazz class
+   * @param <T>   value type
+   * @return optional that contains the value if it's of the class
+   */
+  @Nonnull
+  private static <T> Optional<T> cast(@Nullable Object value, @Nonnull Class<T> clazz){
+    return clazz.isInstance(value) ? Optional.of(clazz.cast(value)) : Optional.empty();
+  }
+
+  /**
+   * Returns time the change was observed
+   *
+   * @return time
+   */
+  @Nonnull
+  public Instant getObservedAt(){
+    return observedAt;
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Type of change, each type documents the class of its values */
+  public enum Type{
+
+    /** Vehicle has started charging, values are ChargingState */
+    CHARGING_STARTED,
+
+    /** Vehicle has stopped charging, values are ChargingState */
+    CHARGING_STOPPED,
+
+    /** Vehicle has moved further than the threshold since the last reported location, values are Location */
+    LOCATION_MOVED,
+
+    /** Shift state has changed, values are ShiftState */
+    SHIFT_STATE_CHANGED,
+
+    /** Vehicle has been locked or unlocked, values are Boolean - true if locked */
+    LOCK_STATE_CHANGED,
+
+    /** User has entered or left the vehicle, values are Boolean - true if present */
+    USER_PRESENCE_CHANGED,
+
+    /** Sentry mode has been turned on or off, values are Boolean - true if on */
+    SENTRY_MODE_CHANGED,
+
+    /** Software version has changed, values are String */
+    SOFTWARE_VERSION_CHANGED
+  }
+}
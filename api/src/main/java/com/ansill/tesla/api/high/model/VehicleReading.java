@@ -0,0 +1,286 @@
+package com.ansill.tesla.api.high.model;
+
+import com.ansill.tesla.api.data.model.ShiftState;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
+import com.ansill.utility.Utility;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.measure.Quantity;
+import javax.measure.quantity.Length;
+import javax.measure.quantity.Power;
+import javax.measure.quantity.Speed;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/** Vehicle state of the sections that were read together, sections that were not read are empty */
+@Immutable
+public final class VehicleReading{
+
+  /** Sections that were read */
+  @Nonnull
+  private final Set<VehicleDataEndpoint> sections;
+
+  /** Charge state */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.ChargeState chargeState;
+
+  /** Climate state */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.ClimateState climateState;
+
+  /** Drive state */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.DriveState driveState;
+
+  /** GUI settings */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.GuiSettings guiSettings;
+
+  /** Vehicle config */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.VehicleConfig vehicleConfig;
+
+  /** Vehicle state */
+  @Nullable
+  private final com.ansill.tesla.api.low.model.VehicleState vehicleState;
+
+  /**
+   * VehicleReading constructor
+   *
+   * @param chargeState   charge state if read
+   * @param climateState  climate state if read
+   * @param driveState    drive state if read
+   * @param guiSettings   gui settings if read
+   * @param vehicleConfig vehicle config if read
+   * @param vehicleState  vehicle state if read
+   */
+  private VehicleReading(
+    @Nullable com.ansill.tesla.api.low.model.ChargeState chargeState,
+    @Nullable com.ansill.tesla.api.low.model.ClimateState climateState,
+    @Nullable com.ansill.tesla.api.low.model.DriveState driveState,
+    @Nullable com.ansill.tesla.api.low.model.GuiSettings guiSettings,
+    @Nullable com.ansill.tesla.api.low.model.VehicleConfig vehicleConfig,
+    @Nullable com.ansill.tesla.api.low.model.VehicleState vehicleState
+  ){
+    var sections = EnumSet.noneOf(VehicleDataEndpoint.class);
+    if(chargeState != null) sections.add(VehicleDataEndpoint.CHARGE_STATE);
+    if(climateState != null) sections.add(VehicleDataEndpoint.CLIMATE_STATE);
+    if(driveState != null) sections.add(VehicleDataEndpoint.DRIVE_STATE);
+    if(guiSettings != null) sections.add(VehicleDataEndpoint.GUI_SETTINGS);
+    if(vehicleConfig != null) sections.add(VehicleDataEndpoint.VEHICLE_CONFIG);
+    if(vehicleState != null) sections.add(VehicleDataEndpoint.VEHICLE_STATE);
+    this.sections = Collections.unmodifiableSet(sections);
+    this.chargeState = chargeState;
+    this.climateState = climateState;
+    this.driveState = driveState;
+    this.guiSettings = guiSettings;
+    this.vehicleConfig = vehicleConfig;
+    this.vehicleState = vehicleState;
+  }
+
+  /**
+   * Converts medium-level sections to high-level object
+   *
+   * @param chargeState   charge state if read
+   * @param climateState  climate state if read
+   * @param driveState    drive state if read
+   * @param guiSettings   gui settings if read
+   * @param vehicleConfig vehicle config if read
+   * @param vehicleState  vehicle state if read
+   * @return high-level object
+   */
+  @Nonnull
+  public static VehicleReading convert(
+    @Nullable com.ansill.tesla.api.low.model.ChargeState chargeState,
+    @Nullable com.ansill.tesla.api.low.model.ClimateState climateState,
+    @Nullable com.ansill.tesla.api.low.model.DriveState driveState,
+    @Nullable com.ansill.tesla.api.low.model.GuiSettings guiSettings,
+    @Nullable com.ansill.tesla.api.low.model.VehicleConfig vehicleConfig,
+    @Nullable com.ansill.tesla.api.low.model.VehicleState vehicleState
+  ){
+    return new VehicleReading(chargeState, climateState, driveState, guiSettings, vehicleConfig, vehicleState);
+  }
+
+  /**
+   * Returns sections that were read
+   *
+   * @return sections
+   */
+  @Nonnull
+  public Set<VehicleDataEndpoint> getSections(){
+    return sections;
+  }
+
+  /**
+   * Returns battery state
+   *
+   * @return optional that contains state if charge state was read
+   */
+  @Nonnull
+  public Optional<BatteryState> getBatteryState(){
+    return Optional.ofNullable(chargeState).map(BatteryState::convert);
+  }
+
+  /**
+   * Returns charge state
+   *
+   * @return optional that contains state if charge state was read
+   */
+  @Nonnull
+  public Optional<ChargeState> getChargeState(){
+    return Optional.ofNullable(chargeState).map(ChargeState::convert);
+  }
+
+  /**
+   * Returns charge settings
+   *
+   * @return optional that contains settings if charge state was read
+   */
+  @Nonnull
+  public Optional<ChargeSettings> getChargeSettings(){
+    return Optional.ofNullable(chargeState).map(ChargeSettings::convert);
+  }
+
+  /**
+   * Returns charge added
+   *
+   * @return optional that contains charge added if charge state was read
+   */
+  @Nonnull
+  public Optional<ChargeAdded> getChargeAdded(){
+    return Optional.ofNullable(chargeState).map(ChargeAdded::convert);
+  }
+
+  /**
+   * Returns climate settings
+   *
+   * @return optional that contains settings if climate state was read
+   */
+  @Nonnull
+  public Optional<ClimateSettings> getClimateSettings(){
+    return Optional.ofNullable(climateState).map(ClimateSettings::convert);
+  }
+
+  /**
+   * Returns climate state
+   *
+   * @return optional that contains state if climate state was read
+   */
+  @Nonnull
+  public Optional<ClimateState> getClimateState(){
+    return Optional.ofNullable(climateState).map(ClimateState::convert);
+  }
+
+  /**
+   * Returns shift state
+   *
+   * @return optional that contains state if drive state was read
+   */
+  @Nonnull
+  public Optional<ShiftState> getShiftState(){
+    return Optional.ofNullable(driveState).map(com.ansill.tesla.api.low.model.DriveState::getShiftState);
+  }
+
+  /**
+   * Returns power usage
+   *
+   * @return optional that contains power usage if drive state was read
+   */
+  @Nonnull
+  public Optional<Quantity<Power>> getPowerUsage(){
+    return Optional.ofNullable(driveState).map(com.ansill.tesla.api.low.model.DriveState::getPower);
+  }
+
+  /**
+   * Returns speed
+   *
+   * @return optional that contains speed if drive state was read
+   */
+  @Nonnull
+  public Optional<Quantity<Speed>> getSpeed(){
+    return Optional.ofNullable(driveState).map(com.ansill.tesla.api.low.model.DriveState::getSpeed);
+  }
+
+  /**
+   * Returns location
+   *
+   * @return optional that contains location if drive state was read
+   */
+  @Nonnull
+  public Optional<Location> getLocation(){
+    return Optional.ofNullable(driveState)
+                   .map(state -> new Location(state.getHeading(), state.getLatitude(), state.getLongitude()));
+  }
+
+  /**
+   * Returns GUI settings
+   *
+   * @return optional that contains settings if GUI settings were read
+   */
+  @Nonnull
+  public Optional<GUISettings> getGUISettings(){
+    return Optional.ofNullable(guiSettings).map(GUISettings::convert);
+  }
+
+  /**
+   * Returns vehicle config
+   *
+   * @return optional that contains config if vehicle config was read
+   */
+  @Nonnull
+  public Optional<VehicleConfig> getVehicleConfig(){
+    return Optional.ofNullable(vehicleConfig).map(VehicleConfig::convert);
+  }
+
+  /**
+   * Returns odometer
+   *
+   * @return optional that contains odometer if vehicle state was read
+   */
+  @Nonnull
+  public Optional<Quantity<Length>> getOdometer(){
+    return Optional.ofNullable(vehicleState).map(com.ansill.tesla.api.low.model.VehicleState::getOdometer);
+  }
+
+  /**
+   * Returns lock state
+   *
+   * @return optional that contains true if vehicle is locked, false if it's not, if vehicle state was read
+   */
+  @Nonnull
+  public Optional<Boolean> isVehicleLocked(){
+    return Optional.ofNullable(vehicleState).map(com.ansill.tesla.api.low.model.VehicleState::isLocked);
+  }
+
+  /**
+   * Returns user present state
+   *
+   * @return optional that contains true if user is in the vehicle, false if not, if vehicle state was read
+   */
+  @Nonnull
+  public Optional<Boolean> isUserPresent(){
+    return Optional.ofNullable(vehicleState).map(com.ansill.tesla.api.low.model.VehicleState::isUserPresent);
+  }
+
+  /**
+   * Returns sentry mode state
+   *
+   * @return optional that contains state if vehicle state was read
+   */
+  @Nonnull
+  public Optional<SentryModeState> getSentryModeState(){
+    return Optional.ofNullable(vehicleState)
+                   .map(state -> state.isSentryModeAvailable() ? state.isSentryMode() ? SentryModeState.ACTIVE :
+                                                                 SentryModeState.INACTIVE :
+                                 SentryModeState.NOT_AVAILABLE);
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+}
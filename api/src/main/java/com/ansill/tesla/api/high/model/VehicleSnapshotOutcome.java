@@ -0,0 +1,154 @@
+package com.ansill.tesla.api.high.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Optional;
+
+/** Outcome of fetching a snapshot of one vehicle in a fleet fetch */
+@Immutable
+public final class VehicleSnapshotOutcome{
+
+  /** Vehicle id */
+  @Nonnull
+  private final String vehicleId;
+
+  /** Status */
+  @Nonnull
+  private final Status status;
+
+  /** Snapshot, only present if status is SUCCESS */
+  @Nullable
+  private final VehicleSnapshot snapshot;
+
+  /** Error, present if status is anything else than SUCCESS */
+  @Nullable
+  private final RuntimeException error;
+
+  /**
+   * VehicleSnapshotOutcome constructor
+   *
+   * @param vehicleId vehicle id
+   * @param status    status
+   * @param snapshot  snapshot, only if status is SUCCESS
+   * @param error     error, only if status is not SUCCESS
+   */
+  private VehicleSnapshotOutcome(
+    @Nonnull String vehicleId,
+    @Nonnull Status status,
+    @Nullable VehicleSnapshot snapshot,
+    @Nullable RuntimeException error
+  ){
+    this.vehicleId = Validation.assertNonnull(vehicleId, "vehicleId");
+    this.status = status;
+    this.snapshot = snapshot;
+    this.error = error;
+  }
+
+  /**
+   * Creates successful outcome
+   *
+   * @param vehicleId vehicle id
+   * @param snapshot  snapshot
+   * @return outcome
+   */
+  @Nonnull
+  public static VehicleSnapshotOutcome success(@Nonnull String vehicleId, @Nonnull VehicleSnapshot snapshot){
+    return new VehicleSnapshotOutcome(
+      vehicleId,
+      Status.SUCCESS,
+      Validation.assertNonnull(snapshot, "snapshot"),
+      null
+    );
+  }
+
+  /**
+   * Creates unsuccessful outcome
+   *
+   * @param vehicleId vehicle id
+   * @param status    status other than SUCCESS
+   * @param error     error that caused it
+   * @return outcome
+   */
+  @Nonnull
+  public static VehicleSnapshotOutcome failure(
+    @Nonnull String vehicleId,
+    @Nonnull Status status,
+    @Nonnull RuntimeException error
+  ){
+    if(Validation.assertNonnull(status, "status") == Status.SUCCESS){
+      throw new IllegalArgumentException("Failure outcome cannot have SUCCESS status");
+    }
+    return new VehicleSnapshotOutcome(vehicleId, status, null, Validation.assertNonnull(error, "error"));
+  }
+
+  /**
+   * Returns vehicle id
+   *
+   * @return id
+   */
+  @Nonnull
+  public String getVehicleId(){
+    return vehicleId;
+  }
+
+  /**
+   * Returns status
+   *
+   * @return status
+   */
+  @Nonnull
+  public Status getStatus(){
+    return status;
+  }
+
+  /**
+   * Returns snapshot
+   *
+   * @return optional that contains snapshot if status is SUCCESS
+   */
+  @Nonnull
+  public Optional<VehicleSnapshot> getSnapshot(){
+    return Optional.ofNullable(snapshot);
+  }
+
+  /**
+   * Returns error
+   *
+   * @return optional that contains error if status is not SUCCESS
+   */
+  @Nonnull
+  public Optional<RuntimeException> getError(){
+    return Optional.ofNullable(error);
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Status of the outcome */
+  public enum Status{
+
+    /** Snapshot has been fetched */
+    SUCCESS,
+
+    /** Vehicle is asleep */
+    ASLEEP,
+
+    /** Vehicle is offline */
+    OFFLINE,
+
+    /** Vehicle is in service */
+    IN_SERVICE,
+
+    /** Vehicle no longer exists in the account */
+    NOT_FOUND,
+
+    /** Any other failure */
+    FAILED
+  }
+}
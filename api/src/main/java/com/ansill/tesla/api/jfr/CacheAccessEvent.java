@@ -0,0 +1,27 @@
+package com.ansill.tesla.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight recorder event of reading a cached value, which includes waiting on the update if it's a miss */
+@Name("com.ansill.tesla.api.CacheAccess")
+@Label("Cache Access")
+@Category("Tesla API")
+@Description("Read of cached vehicle data")
+@Enabled(false)
+@StackTrace(false)
+public final class CacheAccessEvent extends Event{
+
+  /** Section name of the cached value */
+  @Label("Section")
+  public String section;
+
+  /** Whether the value has been served without waiting on the update */
+  @Label("Hit")
+  public boolean hit;
+}
@@ -0,0 +1,23 @@
+package com.ansill.tesla.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight recorder event of refreshing account credentials */
+@Name("com.ansill.tesla.api.CredentialsRefresh")
+@Label("Credentials Refresh")
+@Category("Tesla API")
+@Description("Refresh of Tesla account credentials")
+@Enabled(false)
+@StackTrace(false)
+public final class CredentialsRefreshEvent extends Event{
+
+  /** Outcome - REFRESHED, RACED if someone else has refreshed them in the meantime, or FAILED */
+  @Label("Outcome")
+  public String outcome;
+}
@@ -0,0 +1,41 @@
+package com.ansill.tesla.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight recorder event of an HTTP call, from sending the request until the response headers have been received */
+@Name("com.ansill.tesla.api.HttpCall")
+@Label("HTTP Call")
+@Category("Tesla API")
+@Description("HTTP call to Tesla API")
+@Enabled(false)
+@StackTrace(false)
+public final class HttpCallEvent extends Event{
+
+  /** HTTP method */
+  @Label("Method")
+  public String method;
+
+  /** URL path with the vehicle id replaced by {id} */
+  @Label("URL Template")
+  public String urlTemplate;
+
+  /** Status code, zero if the call has failed */
+  @Label("Status Code")
+  public int statusCode;
+
+  /** Response body size from the headers, -1 if unknown */
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  /** Name of the exception the call has failed with, null if it has not failed */
+  @Label("Failure")
+  public String failure;
+}
@@ -0,0 +1,33 @@
+package com.ansill.tesla.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Flight recorder event of parsing a response body into the response object */
+@Name("com.ansill.tesla.api.JsonParse")
+@Label("JSON Parse")
+@Category("Tesla API")
+@Description("Parsing of Tesla API response body")
+@Enabled(false)
+@StackTrace(false)
+public final class JsonParseEvent extends Event{
+
+  /** Name of the type the body is parsed into */
+  @Label("Target Type")
+  public String targetType;
+
+  /** Body size from the headers, -1 if unknown */
+  @Label("Bytes")
+  @DataAmount
+  public long bytes;
+
+  /** Whether parsing has succeeded */
+  @Label("Succeeded")
+  public boolean succeeded;
+}
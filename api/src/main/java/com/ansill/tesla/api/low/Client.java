@@ -1,5 +1,6 @@
 package com.ansill.tesla.api.low;
 
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
 import com.ansill.tesla.api.low.model.AccountCredentials;
 import com.ansill.tesla.api.low.model.ChargeState;
@@ -7,6 +8,7 @@ import com.ansill.tesla.api.low.model.ClimateState;
 import com.ansill.tesla.api.low.model.CompleteData;
 import com.ansill.tesla.api.low.model.DriveState;
 import com.ansill.tesla.api.low.model.GuiSettings;
+import com.ansill.tesla.api.low.model.PartialData;
 import com.ansill.tesla.api.low.model.Vehicle;
 import com.ansill.tesla.api.low.model.VehicleConfig;
 import com.ansill.tesla.api.low.model.VehicleState;
@@ -21,6 +23,7 @@ import com.ansill.validation.Validation;
 import javax.annotation.Nonnull;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -399,6 +402,24 @@ public class Client implements AutoCloseable{
     return null; // TODO
   }
 
+  @Nonnull
+  public PartialData getVehiclePartialData(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull Set<VehicleDataEndpoint> endpoints
+  )
+  throws VehicleIDNotFoundException{
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Get the data
+    return PartialData.convert(client.getPartialVehicleData(accessToken, idString, endpoints));
+  }
+
   @Nonnull
   public ChargeState getVehicleChargeState(@Nonnull String accessToken, @Nonnull String idString)
   throws VehicleIDNotFoundException{
@@ -513,6 +534,11 @@ public class Client implements AutoCloseable{
                                                        .setClientId(clientId)
                                                        .setClientSecret(clientSecret)
                                                        .setUnknownFieldsFunction(unknownFieldsFunction)
+                                                       .setReadRetryPolicy(readRetryPolicy)
+                                                       .setCommandRetryPolicy(commandRetryPolicy)
+                                                       .setCircuitBreakerPolicy(circuitBreakerPolicy)
+                                                       .setRateLimitPolicy(rateLimitPolicy)
+                                                       .setMetrics(metrics)
                                                        .build());
     }
   }
@@ -0,0 +1,152 @@
+package com.ansill.tesla.api.low.model;
+
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Optional;
+
+/** Vehicle data with only the selected sub-documents */
+@Immutable
+public final class PartialData{
+
+  /** Vehicle */
+  @Nonnull
+  private final Vehicle vehicle;
+
+  /** Vehicle state */
+  @Nullable
+  private final VehicleState vehicleState;
+
+  /** Climate State */
+  @Nullable
+  private final ClimateState climateState;
+
+  /** Charge State */
+  @Nullable
+  private final ChargeState chargeState;
+
+  /** Vehicle Config */
+  @Nullable
+  private final VehicleConfig vehicleConfig;
+
+  /** GUI Settings */
+  @Nullable
+  private final GuiSettings guiSettings;
+
+  /** Drive State */
+  @Nullable
+  private final DriveState driveState;
+
+  /**
+   * PartialData constructor
+   *
+   * @param vehicle       vehicle
+   * @param vehicleState  vehicle state if selected
+   * @param climateState  climate state if selected
+   * @param chargeState   charge state if selected
+   * @param vehicleConfig vehicle config if selected
+   * @param guiSettings   gui settings if selected
+   * @param driveState    drive state if selected
+   */
+  PartialData(
+    @Nonnull Vehicle vehicle,
+    @Nullable VehicleState vehicleState,
+    @Nullable ClimateState climateState,
+    @Nullable ChargeState chargeState,
+    @Nullable VehicleConfig vehicleConfig,
+    @Nullable GuiSettings guiSettings,
+    @Nullable DriveState driveState
+  ){
+    this.vehicle = vehicle;
+    this.vehicleState = vehicleState;
+    this.climateState = climateState;
+    this.chargeState = chargeState;
+    this.vehicleConfig = vehicleConfig;
+    this.guiSettings = guiSettings;
+    this.driveState = driveState;
+  }
+
+  @Nonnull
+  public static PartialData convert(@Nonnull com.ansill.tesla.api.data.model.PartialVehicle vehicle){
+    return new PartialData(
+      Vehicle.convert(vehicle),
+      vehicle.getVehicleState().map(VehicleState::convert).orElse(null),
+      vehicle.getClimateState().map(ClimateState::convert).orElse(null),
+      vehicle.getChargeState().map(ChargeState::convert).orElse(null),
+      vehicle.getVehicleConfig().map(VehicleConfig::convert).orElse(null),
+      vehicle.getGuiSettings().map(GuiSettings::convert).orElse(null),
+      vehicle.getDriveState().map(DriveState::convert).orElse(null)
+    );
+  }
+
+  /**
+   * Returns vehicle information
+   *
+   * @return vehicle
+   */
+  @Nonnull
+  public Vehicle getVehicle(){
+    return vehicle;
+  }
+
+  /**
+   * Returns vehicle state
+   *
+   * @return optional that contains state if it was selected
+   */
+  @Nonnull
+  public Optional<VehicleState> getVehicleState(){
+    return Optional.ofNullable(vehicleState);
+  }
+
+  /**
+   * Returns climate state
+   *
+   * @return optional that contains state if it was selected
+   */
+  @Nonnull
+  public Optional<ClimateState> getClimateState(){
+    return Optional.ofNullable(climateState);
+  }
+
+  /**
+   * Returns charge state
+   *
+   * @return optional that contains state if it was selected
+   */
+  @Nonnull
+  public Optional<ChargeState> getChargeState(){
+    return Optional.ofNullable(chargeState);
+  }
+
+  /**
+   * Returns vehicle config
+   *
+   * @return optional that contains config if it was selected
+   */
+  @Nonnull
+  public Optional<VehicleConfig> getVehicleConfig(){
+    return Optional.ofNullable(vehicleConfig);
+  }
+
+  /**
+   * Returns GUI settings
+   *
+   * @return optional that contains settings if it was selected
+   */
+  @Nonnull
+  public Optional<GuiSettings> getGuiSettings(){
+    return Optional.ofNullable(guiSettings);
+  }
+
+  /**
+   * Returns drive state
+   *
+   * @return optional that contains state if it was selected
+   */
+  @Nonnull
+  public Optional<DriveState> getDriveState(){
+    return Optional.ofNullable(driveState);
+  }
+}
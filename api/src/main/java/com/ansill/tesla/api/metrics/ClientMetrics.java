@@ -0,0 +1,71 @@
+package com.ansill.tesla.api.metrics;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Metrics - receives measurements from the client. Implementations are called on the request threads, including the
+ * HTTP dispatcher threads, so they must be thread-safe and should not block. Every method does nothing by default
+ * <p>
+ * Endpoints are request paths without the vehicle id, such as "vehicles", "vehicle", "vehicle_data",
+ * "data_request/charge_state", "command/door_unlock", "wake_up" and "oauth/token". Sections are the cached parts of the
+ * high-level vehicle, such as "charge_state" or "vehicle_data"
+ */
+public interface ClientMetrics{
+
+  /** Metrics that discard everything */
+  @Nonnull
+  ClientMetrics NOOP = new ClientMetrics(){
+  };
+
+  /**
+   * Records request that has received a response
+   *
+   * @param endpoint     endpoint
+   * @param statusCode   status code
+   * @param latencyNanos time until the response headers have been received in nanoseconds
+   */
+  default void recordRequest(@Nonnull String endpoint, int statusCode, long latencyNanos){
+  }
+
+  /**
+   * Records request that has timed out
+   *
+   * @param endpoint     endpoint
+   * @param latencyNanos time until it timed out in nanoseconds
+   */
+  default void recordTimeout(@Nonnull String endpoint, long latencyNanos){
+  }
+
+  /**
+   * Records state found by the vehicle request that follows a timed out vehicle data request
+   *
+   * @param state vehicle state such as "asleep", "online" or "offline"
+   */
+  default void recordSleepProbe(@Nonnull String state){
+  }
+
+  /**
+   * Records value served from the cache without waiting on the update
+   *
+   * @param section section
+   */
+  default void recordCacheHit(@Nonnull String section){
+  }
+
+  /**
+   * Records caller that had to wait on the update
+   *
+   * @param section section
+   */
+  default void recordCacheMiss(@Nonnull String section){
+  }
+
+  /**
+   * Records update of the cached value, either in the foreground or in the background
+   *
+   * @param section      section
+   * @param latencyNanos time the update took in nanoseconds
+   */
+  default void recordCacheRefresh(@Nonnull String section, long latencyNanos){
+  }
+}
@@ -0,0 +1,222 @@
+package com.ansill.tesla.api.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics that keep everything in memory. Latencies go into lock-free histograms and everything else into counters,
+ * recording allocates only the first time an endpoint, status code or section shows up
+ */
+@ThreadSafe
+public final class HistogramMetrics implements ClientMetrics{
+
+  /** Request latencies in nanoseconds by endpoint */
+  @Nonnull
+  private final ConcurrentHashMap<String,LatencyHistogram> requestLatencies = new ConcurrentHashMap<>();
+
+  /** Status code counts by endpoint */
+  @Nonnull
+  private final ConcurrentHashMap<String,ConcurrentHashMap<Integer,LongAdder>> statusCodes = new ConcurrentHashMap<>();
+
+  /** Timeout counts by endpoint */
+  @Nonnull
+  private final ConcurrentHashMap<String,LongAdder> timeouts = new ConcurrentHashMap<>();
+
+  /** Sleep probe counts by vehicle state */
+  @Nonnull
+  private final ConcurrentHashMap<String,LongAdder> sleepProbes = new ConcurrentHashMap<>();
+
+  /** Cache hit counts by section */
+  @Nonnull
+  private final ConcurrentHashMap<String,LongAdder> cacheHits = new ConcurrentHashMap<>();
+
+  /** Cache miss counts by section */
+  @Nonnull
+  private final ConcurrentHashMap<String,LongAdder> cacheMisses = new ConcurrentHashMap<>();
+
+  /** Cache refresh latencies in nanoseconds by section */
+  @Nonnull
+  private final ConcurrentHashMap<String,LatencyHistogram> cacheRefreshes = new ConcurrentHashMap<>();
+
+  /**
+   * Increments the counter of the key
+   *
+   * @param counters counters
+   * @param key      key
+   */
+  private static void increment(@Nonnull ConcurrentHashMap<String,LongAdder> counters, @Nonnull String key){
+    var counter = counters.get(key);
+    if(counter == null) counter = counters.computeIfAbsent(key, ignored -> new LongAdder());
+    counter.increment();
+  }
+
+  /**
+   * Returns histogram of the key, creates it if needed
+   *
+   * @param histograms histograms
+   * @param key        key
+   * @return histogram
+   */
+  @Nonnull
+  private static LatencyHistogram histogram(
+    @Nonnull ConcurrentHashMap<String,LatencyHistogram> histograms,
+    @Nonnull String key
+  ){
+    var histogram = histograms.get(key);
+    if(histogram == null) histogram = histograms.computeIfAbsent(key, ignored -> new LatencyHistogram());
+    return histogram;
+  }
+
+  /**
+   * Returns count of the key
+   *
+   * @param counters counters
+   * @param key      key
+   * @return count
+   */
+  private static long count(@Nonnull ConcurrentHashMap<String,LongAdder> counters, @Nonnull String key){
+    var counter = counters.get(key);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  @Override
+  public void recordRequest(@Nonnull String endpoint, int statusCode, long latencyNanos){
+    histogram(requestLatencies, endpoint).record(latencyNanos);
+    var codes = statusCodes.get(endpoint);
+    if(codes == null) codes = statusCodes.computeIfAbsent(endpoint, ignored -> new ConcurrentHashMap<>());
+    var counter = codes.get(statusCode);
+    if(counter == null) counter = codes.computeIfAbsent(statusCode, ignored -> new LongAdder());
+    counter.increment();
+  }
+
+  @Override
+  public void recordTimeout(@Nonnull String endpoint, long latencyNanos){
+    increment(timeouts, endpoint);
+  }
+
+  @Override
+  public void recordSleepProbe(@Nonnull String state){
+    increment(sleepProbes, state);
+  }
+
+  @Override
+  public void recordCacheHit(@Nonnull String section){
+    increment(cacheHits, section);
+  }
+
+  @Override
+  public void recordCacheMiss(@Nonnull String section){
+    increment(cacheMisses, section);
+  }
+
+  @Override
+  public void recordCacheRefresh(@Nonnull String section, long latencyNanos){
+    histogram(cacheRefreshes, section).record(latencyNanos);
+  }
+
+  /**
+   * Returns endpoints that have received responses
+   *
+   * @return endpoints
+   */
+  @Nonnull
+  public Set<String> getEndpoints(){
+    return Collections.unmodifiableSet(requestLatencies.keySet());
+  }
+
+  /**
+   * Returns request latencies of the endpoint in nanoseconds
+   *
+   * @param endpoint endpoint
+   * @return optional that contains live histogram, empty if endpoint has not received any response
+   */
+  @Nonnull
+  public Optional<LatencyHistogram> getRequestLatency(@Nonnull String endpoint){
+    return Optional.ofNullable(requestLatencies.get(endpoint));
+  }
+
+  /**
+   * Returns status code counts of the endpoint
+   *
+   * @param endpoint endpoint
+   * @return counts by status code
+   */
+  @Nonnull
+  public Map<Integer,Long> getStatusCodeCounts(@Nonnull String endpoint){
+    var codes = statusCodes.get(endpoint);
+    if(codes == null) return Collections.emptyMap();
+    var result = new HashMap<Integer,Long>();
+    codes.forEach((code, counter) -> result.put(code, counter.sum()));
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Returns number of timed out requests of the endpoint
+   *
+   * @param endpoint endpoint
+   * @return count
+   */
+  public long getTimeoutCount(@Nonnull String endpoint){
+    return count(timeouts, endpoint);
+  }
+
+  /**
+   * Returns number of sleep probes that have found the vehicle in the state
+   *
+   * @param state vehicle state
+   * @return count
+   */
+  public long getSleepProbeCount(@Nonnull String state){
+    return count(sleepProbes, state);
+  }
+
+  /**
+   * Returns number of cache hits of the section
+   *
+   * @param section section
+   * @return count
+   */
+  public long getCacheHitCount(@Nonnull String section){
+    return count(cacheHits, section);
+  }
+
+  /**
+   * Returns number of cache misses of the section
+   *
+   * @param section section
+   * @return count
+   */
+  public long getCacheMissCount(@Nonnull String section){
+    return count(cacheMisses, section);
+  }
+
+  /**
+   * Returns cache hit ratio of the section
+   *
+   * @param section section
+   * @return ratio in range [0, 1] or NaN if the section has not been read
+   */
+  public double getCacheHitRatio(@Nonnull String section){
+    var hits = getCacheHitCount(section);
+    var total = hits + getCacheMissCount(section);
+    return total == 0 ? Double.NaN : (double) hits / total;
+  }
+
+  /**
+   * Returns cache refresh latencies of the section in nanoseconds
+   *
+   * @param section section
+   * @return optional that contains live histogram, empty if section has not been refreshed
+   */
+  @Nonnull
+  public Optional<LatencyHistogram> getCacheRefreshLatency(@Nonnull String section){
+    return Optional.ofNullable(cacheRefreshes.get(section));
+  }
+}
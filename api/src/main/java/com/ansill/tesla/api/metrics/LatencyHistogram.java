@@ -0,0 +1,142 @@
+package com.ansill.tesla.api.metrics;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Lock-free log-linear histogram in the manner of HdrHistogram. Values below 128 are counted exactly, larger values
+ * fall into buckets that are 1/64 of their power of two wide, so any value is reported within about 1.6% of what was
+ * recorded. Recording is a few atomic increments and never allocates. Reads run alongside the recording and see a
+ * slightly moving picture rather than a snapshot
+ */
+@ThreadSafe
+public final class LatencyHistogram{
+
+  /** Number of bits of the values that are counted exactly */
+  private static final int LINEAR_BITS = 7;
+
+  /** Number of buckets per power of two above the linear range */
+  private static final int SUB_BUCKETS = 1 << (LINEAR_BITS - 1);
+
+  /** Number of buckets that cover the non-negative long values */
+  private static final int BUCKETS = (1 << LINEAR_BITS) + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+  /** Counts by bucket */
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  /** Number of recorded values */
+  private final LongAdder count = new LongAdder();
+
+  /** Sum of recorded values */
+  private final LongAdder sum = new LongAdder();
+
+  /** Largest recorded value */
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Returns bucket of the value
+   *
+   * @param value non-negative value
+   * @return bucket index
+   */
+  private static int bucketOf(long value){
+    if(value < (1 << LINEAR_BITS)) return (int) value;
+    var shift = Long.SIZE - Long.numberOfLeadingZeros(value) - LINEAR_BITS;
+    return (1 << LINEAR_BITS) + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  /**
+   * Returns largest value that falls into the bucket
+   *
+   * @param bucket bucket index
+   * @return value
+   */
+  private static long highestValueOf(int bucket){
+    if(bucket < (1 << LINEAR_BITS)) return bucket;
+    var shift = (bucket - (1 << LINEAR_BITS)) / SUB_BUCKETS + 1;
+    var subBucket = (bucket - (1 << LINEAR_BITS)) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1L) << shift) - 1;
+  }
+
+  /**
+   * Records value, negative values are recorded as zero
+   *
+   * @param value value
+   */
+  public void record(long value){
+    value = Math.max(0, value);
+    counts.incrementAndGet(bucketOf(value));
+    count.increment();
+    sum.add(value);
+    if(value > max.get()) max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Returns number of recorded values
+   *
+   * @return count
+   */
+  public long getCount(){
+    return count.sum();
+  }
+
+  /**
+   * Returns largest recorded value
+   *
+   * @return max or zero if nothing has been recorded
+   */
+  public long getMax(){
+    return max.get();
+  }
+
+  /**
+   * Returns mean of recorded values
+   *
+   * @return mean or zero if nothing has been recorded
+   */
+  public double getMean(){
+    var total = count.sum();
+    return total == 0 ? 0 : (double) sum.sum() / total;
+  }
+
+  /**
+   * Returns value at the percentile, which is the highest value that is equivalent to the recorded one
+   *
+   * @param percentile percentile in range [0, 100]
+   * @return value or zero if nothing has been recorded
+   */
+  public long getValueAtPercentile(double percentile){
+    if(!(percentile >= 0 && percentile <= 100)){
+      throw new IllegalArgumentException(f("percentile must be in range [0, 100], got {}", percentile));
+    }
+
+    // Count the buckets up to the rank
+    var total = 0L;
+    for(int bucket = 0; bucket < BUCKETS; bucket++) total += counts.get(bucket);
+    if(total == 0) return 0;
+    var rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    var seen = 0L;
+    for(int bucket = 0; bucket < BUCKETS; bucket++){
+      seen += counts.get(bucket);
+      if(seen >= rank) return Math.min(highestValueOf(bucket), getMax());
+    }
+    return getMax();
+  }
+
+  @Override
+  public String toString(){
+    return f(
+      "LatencyHistogram(count={}, mean={}, p50={}, p99={}, p999={}, max={})",
+      getCount(),
+      getMean(),
+      getValueAtPercentile(50),
+      getValueAtPercentile(99),
+      getValueAtPercentile(99.9),
+      getMax()
+    );
+  }
+}
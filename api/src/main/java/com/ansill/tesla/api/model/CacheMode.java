@@ -0,0 +1,14 @@
+package com.ansill.tesla.api.model;
+
+/** Cache mode - defines what cached value does when its value gets old */
+public enum CacheMode{
+
+  /** Caller waits on the update once the value expires */
+  BLOCKING,
+
+  /** Value that has expired within the staleness window is returned right away and updated in the background */
+  STALE_WHILE_REVALIDATE,
+
+  /** Value that is read close to its expiry is updated in the background before it expires */
+  REFRESH_AHEAD
+}
@@ -0,0 +1,152 @@
+package com.ansill.tesla.api.model;
+
+import com.ansill.tesla.api.metrics.ClientMetrics;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Cache policy - groups cache mode with its settings, executor that performs the background updates and metrics that
+ * receive the cache statistics
+ */
+@Immutable
+public final class CachePolicy{
+
+  /** Policy that blocks the caller on update, same as plain cached value */
+  @Nonnull
+  public static final CachePolicy BLOCKING = new CachePolicy(CacheMode.BLOCKING, Duration.ZERO, 1.0, null);
+
+  /** Cache mode */
+  @Nonnull
+  private final CacheMode mode;
+
+  /** How long after expiry the value may still be returned while it is being updated */
+  @Nonnull
+  private final Duration staleWindow;
+
+  /** Fraction of the lifetime after which reads trigger the update ahead of expiry */
+  private final double refreshAheadRatio;
+
+  /** Executor that runs the background updates */
+  @Nullable
+  private final Executor executor;
+
+  /** Metrics that receive hits, misses and refreshes */
+  @Nonnull
+  private final ClientMetrics metrics;
+
+  /**
+   * CachePolicy constructor
+   *
+   * @param mode              cache mode
+   * @param staleWindow       how long after expiry the value may still be returned while it is being updated
+   * @param refreshAheadRatio fraction of the lifetime after which reads trigger the update ahead of expiry
+   * @param executor          executor that runs the background updates, may be null only in blocking mode
+   */
+  public CachePolicy(
+    @Nonnull CacheMode mode,
+    @Nonnull Duration staleWindow,
+    double refreshAheadRatio,
+    @Nullable Executor executor
+  ){
+    this(mode, staleWindow, refreshAheadRatio, executor, ClientMetrics.NOOP);
+  }
+
+  /**
+   * CachePolicy constructor
+   *
+   * @param mode              cache mode
+   * @param staleWindow       how long after expiry the value may still be returned while it is being updated
+   * @param refreshAheadRatio fraction of the lifetime after which reads trigger the update ahead of expiry
+   * @param executor          executor that runs the background updates, may be null only in blocking mode
+   * @param metrics           metrics that receive hits, misses and refreshes
+   */
+  public CachePolicy(
+    @Nonnull CacheMode mode,
+    @Nonnull Duration staleWindow,
+    double refreshAheadRatio,
+    @Nullable Executor executor,
+    @Nonnull ClientMetrics metrics
+  ){
+    this.mode = Validation.assertNonnull(mode, "mode");
+    this.staleWindow = Validation.assertNonnull(staleWindow, "staleWindow");
+    if(staleWindow.isNegative()) throw new IllegalArgumentException("staleWindow cannot be negative");
+    if(!(refreshAheadRatio > 0 && refreshAheadRatio <= 1)) throw new IllegalArgumentException(f(
+      "refreshAheadRatio must be in range (0, 1], got {}",
+      refreshAheadRatio
+    ));
+    this.refreshAheadRatio = refreshAheadRatio;
+    if(mode != CacheMode.BLOCKING && executor == null) throw new IllegalArgumentException(f(
+      "Executor is required in {} mode",
+      mode
+    ));
+    this.executor = executor;
+    this.metrics = Validation.assertNonnull(metrics, "metrics");
+  }
+
+  /**
+   * Returns copy of this policy that reports to the metrics
+   *
+   * @param metrics metrics
+   * @return policy
+   */
+  @Nonnull
+  public CachePolicy withMetrics(@Nonnull ClientMetrics metrics){
+    return new CachePolicy(mode, staleWindow, refreshAheadRatio, executor, metrics);
+  }
+
+  /**
+   * Returns cache mode
+   *
+   * @return mode
+   */
+  @Nonnull
+  public CacheMode getMode(){
+    return mode;
+  }
+
+  /**
+   * Returns how long after expiry the value may still be returned while it is being updated
+   *
+   * @return stale window
+   */
+  @Nonnull
+  public Duration getStaleWindow(){
+    return staleWindow;
+  }
+
+  /**
+   * Returns fraction of the lifetime after which reads trigger the update ahead of expiry
+   *
+   * @return ratio
+   */
+  public double getRefreshAheadRatio(){
+    return refreshAheadRatio;
+  }
+
+  /**
+   * Returns executor that runs the background updates
+   *
+   * @return executor, null in blocking mode
+   */
+  @Nullable
+  public Executor getExecutor(){
+    return executor;
+  }
+
+  /**
+   * Returns metrics that receive hits, misses and refreshes
+   *
+   * @return metrics
+   */
+  @Nonnull
+  public ClientMetrics getMetrics(){
+    return metrics;
+  }
+}
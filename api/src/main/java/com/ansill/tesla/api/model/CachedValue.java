@@ -1,37 +1,67 @@
 package com.ansill.tesla.api.model;
 
+import com.ansill.lock.autolock.AutoLock;
+import com.ansill.tesla.api.jfr.CacheAccessEvent;
 import com.ansill.validation.Validation;
+import jdk.jfr.EventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 /**
  * Cached Value
- * Caches value until its lifetime has passed, then that value will be dropped
+ * Caches value until its lifetime has passed, then that value will be dropped. Depending on the cache policy, old
+ * value can be returned while it's being updated in the background
+ * <p>
+ * Value and the time it was cached are kept together in one immutable holder, so reading a valid value does not lock
+ * nor allocate. Only the callers that have to wait on the update take the lock
  */
 public class CachedValue<T>{
 
   /** Logger */
   private static final Logger LOGGER = LoggerFactory.getLogger(CachedValue.class);
 
+  /** Section name of the values that have not been given one */
+  private static final String DEFAULT_SECTION = "value";
+
+  /** Flight recorder event type of the reads, checked so the reads don't allocate the event when it's disabled */
+  @Nonnull
+  private static final EventType CACHE_ACCESS_EVENT_TYPE = EventType.getEventType(CacheAccessEvent.class);
+
   /** Lifetime */
   @Nonnull
   private final AtomicReference<AtomicReference<Duration>> lifetime;
 
-  /** Value */
-  @Nullable
-  private T value = null;
+  /** Current value along with the time it was cached */
+  @Nonnull
+  private final AtomicReference<Holder<T>> holder = new AtomicReference<>(Holder.empty());
+
+  /** Lock that serializes the blocking updates so only one caller calls the supplier */
+  @Nonnull
+  private final ReentrantLock updateLock = new ReentrantLock();
 
-  /** Last updated */
+  /** Cache policy */
   @Nonnull
-  private Instant lastCached = Instant.MIN;
+  private final CachePolicy policy;
+
+  /** Section name the statistics are reported under */
+  @Nonnull
+  private final String section;
+
+  /** Flag whether background update is in progress */
+  @Nonnull
+  private final AtomicBoolean updating = new AtomicBoolean(false);
 
   /**
    * Creates cached value
@@ -39,7 +69,7 @@ public class CachedValue<T>{
    * @param lifetime lifetime reference
    */
   public CachedValue(@Nonnull AtomicReference<AtomicReference<Duration>> lifetime){
-    this.lifetime = lifetime;
+    this(lifetime, CachePolicy.BLOCKING);
   }
 
   /**
@@ -49,14 +79,88 @@ public class CachedValue<T>{
    * @param value    current value
    */
   public CachedValue(@Nonnull AtomicReference<AtomicReference<Duration>> lifetime, @Nonnull T value){
+    this(lifetime, CachePolicy.BLOCKING, value);
+  }
+
+  /**
+   * Creates cached value
+   *
+   * @param lifetime lifetime reference
+   * @param policy   cache policy
+   */
+  public CachedValue(@Nonnull AtomicReference<AtomicReference<Duration>> lifetime, @Nonnull CachePolicy policy){
+    this(DEFAULT_SECTION, lifetime, policy);
+  }
+
+  /**
+   * Creates cached value
+   *
+   * @param section  section name the statistics are reported under
+   * @param lifetime lifetime reference
+   * @param policy   cache policy
+   */
+  public CachedValue(
+    @Nonnull String section,
+    @Nonnull AtomicReference<AtomicReference<Duration>> lifetime,
+    @Nonnull CachePolicy policy
+  ){
+    this.section = Validation.assertNonnull(section, "section");
     this.lifetime = lifetime;
-    this.value = value;
-    this.lastCached = Instant.now();
+    this.policy = Validation.assertNonnull(policy, "policy");
+  }
+
+  /**
+   * Creates cached value
+   *
+   * @param lifetime lifetime reference
+   * @param policy   cache policy
+   * @param value    current value
+   */
+  public CachedValue(
+    @Nonnull AtomicReference<AtomicReference<Duration>> lifetime,
+    @Nonnull CachePolicy policy,
+    @Nonnull T value
+  ){
+    this(DEFAULT_SECTION, lifetime, policy, value);
+  }
+
+  /**
+   * Creates cached value
+   *
+   * @param section  section name the statistics are reported under
+   * @param lifetime lifetime reference
+   * @param policy   cache policy
+   * @param value    current value
+   */
+  public CachedValue(
+    @Nonnull String section,
+    @Nonnull AtomicReference<AtomicReference<Duration>> lifetime,
+    @Nonnull CachePolicy policy,
+    @Nonnull T value
+  ){
+    this(section, lifetime, policy);
+    this.holder.set(new Holder<>(value, System.nanoTime()));
+  }
+
+  /**
+   * Converts duration to nanoseconds, saturates instead of overflowing
+   *
+   * @param duration duration
+   * @return nanoseconds
+   */
+  private static long toNanos(@Nonnull Duration duration){
+    try{
+      return duration.toNanos();
+    }catch(ArithmeticException e){
+      return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
   }
 
   /** Invalidates the cache - removing the value from the cache */
-  public synchronized void invalidate(){
-    this.value = null;
+  public void invalidate(){
+
+    // Fresh holder rather than the shared empty one so an update that started before this is not cached over it
+    this.holder.set(new Holder<>(null, 0));
   }
 
   /**
@@ -64,9 +168,8 @@ public class CachedValue<T>{
    *
    * @param value new value
    */
-  public synchronized void update(@Nonnull T value){
-    this.value = Validation.assertNonnull(value, "value");
-    this.lastCached = Instant.now();
+  public void update(@Nonnull T value){
+    this.holder.set(new Holder<>(Validation.assertNonnull(value, "value"), System.nanoTime()));
   }
 
   /**
@@ -75,20 +178,164 @@ public class CachedValue<T>{
    * @param supplier supplier that updates the value
    * @return value
    */
-  public synchronized T getOrUpdate(@Nonnull Supplier<T> supplier){
+  public T getOrUpdate(@Nonnull Supplier<T> supplier){
+
+    // Only record the read if the flight recorder wants it
+    var event = CACHE_ACCESS_EVENT_TYPE.isEnabled() ? new CacheAccessEvent() : null;
+    if(event != null) event.begin();
+
+    // Return it right away if it's valid
+    var metrics = policy.getMetrics();
+    var current = this.holder.get();
+    var value = serve(current, supplier);
+    if(value != null){
+      metrics.recordCacheHit(section);
+      commit(event, true);
+      return value;
+    }
+    metrics.recordCacheMiss(section);
+    try{
+      return updateOrWait(supplier);
+    }finally{
+      commit(event, false);
+    }
+  }
+
+  /**
+   * Commits the flight recorder event of the read if the recording wants it
+   *
+   * @param event event that has begun when the read started or null if the event is disabled
+   * @param hit   whether the value has been served without waiting on the update
+   */
+  private void commit(@Nullable CacheAccessEvent event, boolean hit){
+    if(event == null) return;
+    event.end();
+    if(!event.shouldCommit()) return;
+    event.section = section;
+    event.hit = hit;
+    event.commit();
+  }
+
+  /**
+   * Updates the value unless someone else has done it while the caller waited on the lock. The new value is only
+   * cached if the holder has not been replaced by invalidate() or update(value) while the supplier ran
+   *
+   * @param supplier supplier that updates the value
+   * @return value
+   */
+  private T updateOrWait(@Nonnull Supplier<T> supplier){
+    var metrics = policy.getMetrics();
+
+    // Only one caller updates it, the rest wait and take the updated value
+    try(var ignored = AutoLock.create(updateLock).doLock()){
+
+      // Someone may have updated it while we waited
+      var current = this.holder.get();
+      var value = serve(current, supplier);
+      if(value != null) return value;
+
+      // Rebuild, don't replace the value if someone else has replaced it in the meantime
+      var startAt = System.nanoTime();
+      value = supplier.get();
+      var cachedAt = System.nanoTime();
+      metrics.recordCacheRefresh(section, cachedAt - startAt);
+      if(!this.holder.compareAndSet(current, new Holder<>(value, cachedAt))){
+        LOGGER.debug("The value has been replaced while it was being updated, keeping the replacement");
+      }
+
+      // Return value
+      return value;
+    }
+  }
+
+  /**
+   * Returns the value in the holder if it can be served without waiting on the update, starts the background update
+   * if the policy calls for it
+   *
+   * @param current  current holder
+   * @param supplier supplier that updates the value
+   * @return value or null if the caller has to wait on the update
+   */
+  @Nullable
+  private T serve(@Nonnull Holder<T> current, @Nonnull Supplier<T> supplier){
+
+    // Nothing to serve
+    var value = current.value;
+    if(value == null) return null;
 
     // Calculate if expired or not - return if not expired
-    if(value != null && !Instant.now().isAfter(lastCached.plus(lifetime.get().get()))){
+    var age = System.nanoTime() - current.cachedAt;
+    var lifetime = toNanos(this.lifetime.get().get());
+    if(age <= lifetime){
+
+      // Update ahead of the expiry if it's close enough
+      if(policy.getMode() == CacheMode.REFRESH_AHEAD && age > (long) (lifetime * policy.getRefreshAheadRatio())){
+        updateInBackground(current, supplier);
+      }
+
       LOGGER.debug("The current value is valid, returning current value");
       return value;
     }
 
-    // Rebuild
-    value = supplier.get();
-    lastCached = Instant.now();
+    // Return stale value if it's within the staleness window
+    if(policy.getMode() == CacheMode.STALE_WHILE_REVALIDATE && age - lifetime <= toNanos(policy.getStaleWindow())){
+      updateInBackground(current, supplier);
+      LOGGER.debug("The current value is stale, returning current value while it's being updated");
+      return value;
+    }
+
+    // Expired
+    return null;
+  }
+
+  /**
+   * Updates the value in the background unless there's an update in progress already. The current value is kept if the
+   * update fails
+   *
+   * @param current  holder that is being updated
+   * @param supplier supplier that updates the value
+   */
+  private void updateInBackground(@Nonnull Holder<T> current, @Nonnull Supplier<T> supplier){
+
+    // Only one update at a time
+    if(!updating.compareAndSet(false, true)) return;
 
-    // Return value
-    return value;
+    // Executor is guaranteed by the policy
+    var executor = Objects.requireNonNull(policy.getExecutor());
+    try{
+      executor.execute(() -> {
+        try{
+
+          // Don't replace the value if someone else has replaced it in the meantime
+          var startAt = System.nanoTime();
+          var newValue = supplier.get();
+          var cachedAt = System.nanoTime();
+          policy.getMetrics().recordCacheRefresh(section, cachedAt - startAt);
+          if(newValue != null) this.holder.compareAndSet(current, new Holder<>(newValue, cachedAt));
+
+        }catch(RuntimeException e){
+          LOGGER.debug("Failed to update the value in the background, keeping current value", e);
+        }finally{
+          updating.set(false);
+        }
+      });
+    }catch(RejectedExecutionException e){
+      updating.set(false);
+      LOGGER.debug("Background update has been rejected, keeping current value", e);
+    }
+  }
+
+  /**
+   * Returns optional object that contains value only if it has not expired yet - does not perform the update
+   *
+   * @return optional object that may contain the valid value
+   */
+  @Nonnull
+  public Optional<T> getIfValid(){
+    var current = this.holder.get();
+    if(current.value == null) return Optional.empty();
+    var age = System.nanoTime() - current.cachedAt;
+    return age <= toNanos(this.lifetime.get().get()) ? Optional.of(current.value) : Optional.empty();
   }
 
   /**
@@ -98,6 +345,49 @@ public class CachedValue<T>{
    */
   @Nonnull
   public Optional<T> get(){
-    return Optional.ofNullable(this.value);
+    return Optional.ofNullable(this.holder.get().value);
+  }
+
+  /**
+   * Value along with the time it was cached
+   *
+   * @param <T> value type
+   */
+  @Immutable
+  private static final class Holder<T>{
+
+    /** Empty holder */
+    @Nonnull
+    private static final Holder<?> EMPTY = new Holder<>(null, 0);
+
+    /** Value */
+    @Nullable
+    private final T value;
+
+    /** Time the value was cached in System.nanoTime() */
+    private final long cachedAt;
+
+    /**
+     * Holder constructor
+     *
+     * @param value    value
+     * @param cachedAt time the value was cached in System.nanoTime()
+     */
+    private Holder(@Nullable T value, long cachedAt){
+      this.value = value;
+      this.cachedAt = cachedAt;
+    }
+
+    /**
+     * Returns empty holder
+     *
+     * @param <T> value type
+     * @return empty holder
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <T> Holder<T> empty(){
+      return (Holder<T>) EMPTY;
+    }
   }
 }
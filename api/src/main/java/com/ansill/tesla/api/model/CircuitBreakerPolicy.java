@@ -0,0 +1,147 @@
+package com.ansill.tesla.api.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Circuit breaker policy - how many offline, in-service or timed out outcomes in a row open the circuit of a vehicle
+ * and how long the calls on it are short-circuited before a probe is let through
+ */
+@Immutable
+public final class CircuitBreakerPolicy{
+
+  /** Default policy */
+  @Nonnull
+  public static final CircuitBreakerPolicy DEFAULT = builder().build();
+
+  /** Policy that never opens the circuit */
+  @Nonnull
+  public static final CircuitBreakerPolicy DISABLED = new CircuitBreakerPolicy(false, 1, Duration.ZERO);
+
+  /** Enabled flag */
+  private final boolean enabled;
+
+  /** Number of failures in a row that opens the circuit */
+  private final int failureThreshold;
+
+  /** Time the circuit stays open before a probe is let through */
+  @Nonnull
+  private final Duration cooldown;
+
+  /**
+   * CircuitBreakerPolicy constructor
+   *
+   * @param enabled          enabled flag
+   * @param failureThreshold number of failures in a row that opens the circuit
+   * @param cooldown         time the circuit stays open before a probe is let through
+   */
+  private CircuitBreakerPolicy(boolean enabled, int failureThreshold, @Nonnull Duration cooldown){
+    this.enabled = enabled;
+    this.failureThreshold = failureThreshold;
+    this.cooldown = cooldown;
+  }
+
+  /**
+   * Creates builder with default values
+   *
+   * @return builder
+   */
+  @Nonnull
+  public static Builder builder(){
+    return new Builder();
+  }
+
+  /**
+   * Returns whether the circuit breaker is enabled
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled(){
+    return enabled;
+  }
+
+  /**
+   * Returns number of failures in a row that opens the circuit
+   *
+   * @return threshold
+   */
+  public int getFailureThreshold(){
+    return failureThreshold;
+  }
+
+  /**
+   * Returns time the circuit stays open before a probe is let through
+   *
+   * @return cooldown
+   */
+  @Nonnull
+  public Duration getCooldown(){
+    return cooldown;
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Builder */
+  public static final class Builder{
+
+    /** Number of failures in a row that opens the circuit */
+    private int failureThreshold = 3;
+
+    /** Time the circuit stays open before a probe is let through */
+    @Nonnull
+    private Duration cooldown = Duration.ofSeconds(30);
+
+    /** Builder constructor */
+    private Builder(){
+    }
+
+    /**
+     * Sets number of failures in a row that opens the circuit
+     *
+     * @param failureThreshold threshold
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setFailureThreshold(int failureThreshold){
+      if(failureThreshold <= 0){
+        throw new IllegalArgumentException(f("failureThreshold must be positive, got {}", failureThreshold));
+      }
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * Sets time the circuit stays open before a probe is let through
+     *
+     * @param cooldown cooldown
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setCooldown(@Nonnull Duration cooldown){
+      if(Validation.assertNonnull(cooldown, "cooldown").isNegative()){
+        throw new IllegalArgumentException("cooldown cannot be negative");
+      }
+      this.cooldown = cooldown;
+      return this;
+    }
+
+    /**
+     * Builds policy
+     *
+     * @return policy
+     */
+    @Nonnull
+    public CircuitBreakerPolicy build(){
+      return new CircuitBreakerPolicy(true, failureThreshold, cooldown);
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.ansill.tesla.api.model;
 
+import com.ansill.tesla.api.metrics.ClientMetrics;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.time.Duration;
@@ -27,6 +29,21 @@ public abstract class ClientBuilder<T>{
   /** Read timeout duration */
   protected Duration readTimeoutDuration;
 
+  /** Retry policy of reads */
+  protected RetryPolicy readRetryPolicy;
+
+  /** Retry policy of commands */
+  protected RetryPolicy commandRetryPolicy;
+
+  /** Circuit breaker policy */
+  protected CircuitBreakerPolicy circuitBreakerPolicy;
+
+  /** Rate limit policy */
+  protected RateLimitPolicy rateLimitPolicy;
+
+  /** Metrics */
+  protected ClientMetrics metrics;
+
   protected ClientBuilder(){
 
   }
@@ -68,7 +85,8 @@ public abstract class ClientBuilder<T>{
   }
 
   /**
-   * Sets debugging function - function that will be called when deserializer encounters strange property, returning true in the function will tell deserializer to do a hard-fail, returning false tells the deserializer to ignore the strange properties and continue
+   * Sets debugging function - function that will be called when deserializer encounters strange property, returning true in the function will tell deserializer to do a hard-fail, returning false tells the deserializer to ignore the strange properties and continue.
+   * The function is called for every object in the response, nested ones included, so returning true hard-fails on strange properties anywhere in the response
    *
    * @param unknownFieldsFunction debugging function - null will yield a lenient function
    * @return updated builder
@@ -104,6 +122,66 @@ public abstract class ClientBuilder<T>{
     return this;
   }
 
+  /**
+   * Sets retry policy of reads - vehicle list, vehicle and vehicle data requests
+   *
+   * @param policy desired policy or null to use default
+   * @return updated builder
+   */
+  @Nonnull
+  public ClientBuilder<T> setReadRetryPolicy(@Nullable RetryPolicy policy){
+    this.readRetryPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Sets retry policy of commands - wake-up and command requests
+   *
+   * @param policy desired policy or null to use default
+   * @return updated builder
+   */
+  @Nonnull
+  public ClientBuilder<T> setCommandRetryPolicy(@Nullable RetryPolicy policy){
+    this.commandRetryPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Sets circuit breaker policy of vehicle data and command requests
+   *
+   * @param policy desired policy or null to use default
+   * @return updated builder
+   */
+  @Nonnull
+  public ClientBuilder<T> setCircuitBreakerPolicy(@Nullable CircuitBreakerPolicy policy){
+    this.circuitBreakerPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Sets rate limit policy of vehicle list, vehicle, vehicle data and command requests
+   *
+   * @param policy desired policy or null to not limit the rate
+   * @return updated builder
+   */
+  @Nonnull
+  public ClientBuilder<T> setRateLimitPolicy(@Nullable RateLimitPolicy policy){
+    this.rateLimitPolicy = policy;
+    return this;
+  }
+
+  /**
+   * Sets metrics that receive request latencies, status codes, timeouts, sleep probes and cache statistics
+   *
+   * @param metrics desired metrics or null to not record anything
+   * @return updated builder
+   */
+  @Nonnull
+  public ClientBuilder<T> setMetrics(@Nullable ClientMetrics metrics){
+    this.metrics = metrics;
+    return this;
+  }
+
   /**
    * Builds the Client
    *
@@ -0,0 +1,14 @@
+package com.ansill.tesla.api.model;
+
+/** Rate limit mode - defines what the client does when the budget has no permit left */
+public enum RateLimitMode{
+
+  /**
+   * Caller waits until a permit frees up, up to the policy's maximum wait. Asynchronous calls get a future that starts
+   * the request when the permit frees up and do not hold any thread meanwhile
+   */
+  WAIT,
+
+  /** Call fails right away with RateLimitedException */
+  FAIL_FAST
+}
@@ -0,0 +1,373 @@
+package com.ansill.tesla.api.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Rate limit policy - token buckets that hold back requests before they reach the server. Every access token has its
+ * own buckets and the whole client shares the global ones, a request needs a permit from both. Commands and data reads
+ * draw from separate budgets. When the server throttles anyway, buckets of the budget pause for the time the server
+ * asks for and slow down, then recover to the full rate over the recovery time
+ */
+@Immutable
+public final class RateLimitPolicy{
+
+  /** Policy that does not limit anything */
+  @Nonnull
+  public static final RateLimitPolicy UNLIMITED = builder().build();
+
+  /** Limit on data reads of each access token */
+  @Nullable
+  private final Limit perTokenDataLimit;
+
+  /** Limit on commands of each access token */
+  @Nullable
+  private final Limit perTokenCommandLimit;
+
+  /** Limit on data reads of the whole client */
+  @Nullable
+  private final Limit globalDataLimit;
+
+  /** Limit on commands of the whole client */
+  @Nullable
+  private final Limit globalCommandLimit;
+
+  /** Mode */
+  @Nonnull
+  private final RateLimitMode mode;
+
+  /** Longest wait in WAIT mode, calls that would wait longer fail right away */
+  @Nonnull
+  private final Duration maxWait;
+
+  /** Time it takes to recover to the full rate after the server has throttled */
+  @Nonnull
+  private final Duration recovery;
+
+  /**
+   * RateLimitPolicy constructor
+   *
+   * @param perTokenDataLimit    limit on data reads of each access token, null if unlimited
+   * @param perTokenCommandLimit limit on commands of each access token, null if unlimited
+   * @param globalDataLimit      limit on data reads of the whole client, null if unlimited
+   * @param globalCommandLimit   limit on commands of the whole client, null if unlimited
+   * @param mode                 mode
+   * @param maxWait              longest wait in WAIT mode
+   * @param recovery             time it takes to recover to the full rate after the server has throttled
+   */
+  private RateLimitPolicy(
+    @Nullable Limit perTokenDataLimit,
+    @Nullable Limit perTokenCommandLimit,
+    @Nullable Limit globalDataLimit,
+    @Nullable Limit globalCommandLimit,
+    @Nonnull RateLimitMode mode,
+    @Nonnull Duration maxWait,
+    @Nonnull Duration recovery
+  ){
+    this.perTokenDataLimit = perTokenDataLimit;
+    this.perTokenCommandLimit = perTokenCommandLimit;
+    this.globalDataLimit = globalDataLimit;
+    this.globalCommandLimit = globalCommandLimit;
+    this.mode = mode;
+    this.maxWait = maxWait;
+    this.recovery = recovery;
+  }
+
+  /**
+   * Creates builder with default values, which do not limit anything
+   *
+   * @return builder
+   */
+  @Nonnull
+  public static Builder builder(){
+    return new Builder();
+  }
+
+  /**
+   * Returns limit on data reads of each access token
+   *
+   * @return optional that contains limit, empty if unlimited
+   */
+  @Nonnull
+  public Optional<Limit> getPerTokenDataLimit(){
+    return Optional.ofNullable(perTokenDataLimit);
+  }
+
+  /**
+   * Returns limit on commands of each access token
+   *
+   * @return optional that contains limit, empty if unlimited
+   */
+  @Nonnull
+  public Optional<Limit> getPerTokenCommandLimit(){
+    return Optional.ofNullable(perTokenCommandLimit);
+  }
+
+  /**
+   * Returns limit on data reads of the whole client
+   *
+   * @return optional that contains limit, empty if unlimited
+   */
+  @Nonnull
+  public Optional<Limit> getGlobalDataLimit(){
+    return Optional.ofNullable(globalDataLimit);
+  }
+
+  /**
+   * Returns limit on commands of the whole client
+   *
+   * @return optional that contains limit, empty if unlimited
+   */
+  @Nonnull
+  public Optional<Limit> getGlobalCommandLimit(){
+    return Optional.ofNullable(globalCommandLimit);
+  }
+
+  /**
+   * Returns mode
+   *
+   * @return mode
+   */
+  @Nonnull
+  public RateLimitMode getMode(){
+    return mode;
+  }
+
+  /**
+   * Returns longest wait in WAIT mode
+   *
+   * @return wait
+   */
+  @Nonnull
+  public Duration getMaxWait(){
+    return maxWait;
+  }
+
+  /**
+   * Returns time it takes to recover to the full rate after the server has throttled
+   *
+   * @return recovery
+   */
+  @Nonnull
+  public Duration getRecovery(){
+    return recovery;
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Limit of a single bucket */
+  @Immutable
+  public static final class Limit{
+
+    /** Permits added per second */
+    private final double permitsPerSecond;
+
+    /** Maximum number of permits that can be saved up */
+    private final int burst;
+
+    /**
+     * Limit constructor
+     *
+     * @param permitsPerSecond permits added per second
+     * @param burst            maximum number of permits that can be saved up
+     */
+    private Limit(double permitsPerSecond, int burst){
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+    }
+
+    /**
+     * Creates limit
+     *
+     * @param permitsPerSecond permits added per second
+     * @param burst            maximum number of permits that can be saved up
+     * @return limit
+     */
+    @Nonnull
+    public static Limit of(double permitsPerSecond, int burst){
+      if(!(permitsPerSecond > 0)){
+        throw new IllegalArgumentException(f("permitsPerSecond must be positive, got {}", permitsPerSecond));
+      }
+      if(burst <= 0) throw new IllegalArgumentException(f("burst must be positive, got {}", burst));
+      return new Limit(permitsPerSecond, burst);
+    }
+
+    /**
+     * Returns permits added per second
+     *
+     * @return permits
+     */
+    public double getPermitsPerSecond(){
+      return permitsPerSecond;
+    }
+
+    /**
+     * Returns maximum number of permits that can be saved up
+     *
+     * @return burst
+     */
+    public int getBurst(){
+      return burst;
+    }
+
+    @Override
+    public String toString(){
+      return Utility.simpleToString(this);
+    }
+  }
+
+  /** Builder */
+  public static final class Builder{
+
+    /** Limit on data reads of each access token */
+    @Nullable
+    private Limit perTokenDataLimit;
+
+    /** Limit on commands of each access token */
+    @Nullable
+    private Limit perTokenCommandLimit;
+
+    /** Limit on data reads of the whole client */
+    @Nullable
+    private Limit globalDataLimit;
+
+    /** Limit on commands of the whole client */
+    @Nullable
+    private Limit globalCommandLimit;
+
+    /** Mode */
+    @Nonnull
+    private RateLimitMode mode = RateLimitMode.WAIT;
+
+    /** Longest wait in WAIT mode */
+    @Nonnull
+    private Duration maxWait = Duration.ofMinutes(1);
+
+    /** Time it takes to recover to the full rate after the server has throttled */
+    @Nonnull
+    private Duration recovery = Duration.ofMinutes(1);
+
+    /** Builder constructor */
+    private Builder(){
+    }
+
+    /**
+     * Sets limit on data reads of each access token
+     *
+     * @param limit limit or null for unlimited
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setPerTokenDataLimit(@Nullable Limit limit){
+      this.perTokenDataLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets limit on commands of each access token
+     *
+     * @param limit limit or null for unlimited
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setPerTokenCommandLimit(@Nullable Limit limit){
+      this.perTokenCommandLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets limit on data reads of the whole client
+     *
+     * @param limit limit or null for unlimited
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setGlobalDataLimit(@Nullable Limit limit){
+      this.globalDataLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets limit on commands of the whole client
+     *
+     * @param limit limit or null for unlimited
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setGlobalCommandLimit(@Nullable Limit limit){
+      this.globalCommandLimit = limit;
+      return this;
+    }
+
+    /**
+     * Sets mode
+     *
+     * @param mode mode
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMode(@Nonnull RateLimitMode mode){
+      this.mode = Validation.assertNonnull(mode, "mode");
+      return this;
+    }
+
+    /**
+     * Sets longest wait in WAIT mode, calls that would wait longer fail right away
+     *
+     * @param maxWait wait
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMaxWait(@Nonnull Duration maxWait){
+      if(Validation.assertNonnull(maxWait, "maxWait").isNegative()){
+        throw new IllegalArgumentException("maxWait cannot be negative");
+      }
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * Sets time it takes to recover to the full rate after the server has throttled
+     *
+     * @param recovery recovery
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setRecovery(@Nonnull Duration recovery){
+      if(Validation.assertNonnull(recovery, "recovery").isNegative() || recovery.isZero()){
+        throw new IllegalArgumentException(f("recovery must be positive, got {}", recovery));
+      }
+      this.recovery = recovery;
+      return this;
+    }
+
+    /**
+     * Builds policy
+     *
+     * @return policy
+     */
+    @Nonnull
+    public RateLimitPolicy build(){
+      return new RateLimitPolicy(
+        perTokenDataLimit,
+        perTokenCommandLimit,
+        globalDataLimit,
+        globalCommandLimit,
+        mode,
+        maxWait,
+        recovery
+      );
+    }
+  }
+}
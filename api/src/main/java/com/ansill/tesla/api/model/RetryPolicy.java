@@ -0,0 +1,355 @@
+package com.ansill.tesla.api.model;
+
+import com.ansill.utility.Utility;
+import com.ansill.validation.Validation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Retry policy - how many times a request is attempted, how long to back off between the attempts and which failures
+ * are worth another attempt
+ */
+@Immutable
+public final class RetryPolicy{
+
+  /** Policy that makes a single attempt */
+  @Nonnull
+  public static final RetryPolicy NONE = builder().setMaxAttempts(1).build();
+
+  /**
+   * Default policy for reads - reads are idempotent so they are retried on server errors, throttling and timeouts on
+   * vehicles that turn out to be online
+   */
+  @Nonnull
+  public static final RetryPolicy READ_DEFAULT = builder().setMaxAttempts(5)
+                                                          .setInitialBackoff(Duration.ofMillis(250))
+                                                          .setMaxBackoff(Duration.ofSeconds(5))
+                                                          .setRetryableStatusCodes(Set.of(429, 500, 502, 503, 504))
+                                                          .setRetryableExceptions(Set.of(
+                                                            SocketTimeoutException.class,
+                                                            ConnectException.class
+                                                          ))
+                                                          .setDeadline(Duration.ofMinutes(1))
+                                                          .build();
+
+  /**
+   * Default policy for commands - commands may not be safe to repeat so they are retried only when the server has
+   * surely not acted on them, that is when it throttled or refused the request or the connection was never made
+   */
+  @Nonnull
+  public static final RetryPolicy COMMAND_DEFAULT = builder().setMaxAttempts(3)
+                                                             .setInitialBackoff(Duration.ofMillis(500))
+                                                             .setMaxBackoff(Duration.ofSeconds(5))
+                                                             .setRetryableStatusCodes(Set.of(429, 503))
+                                                             .setRetryableExceptions(Set.of(ConnectException.class))
+                                                             .setDeadline(Duration.ofSeconds(30))
+                                                             .build();
+
+  /** Maximum number of attempts including the first one */
+  private final int maxAttempts;
+
+  /** Backoff before the first retry */
+  @Nonnull
+  private final Duration initialBackoff;
+
+  /** Upper limit of the backoff */
+  @Nonnull
+  private final Duration maxBackoff;
+
+  /** Factor the backoff grows by after each retry */
+  private final double multiplier;
+
+  /** Fraction of the backoff that is randomized */
+  private final double jitter;
+
+  /** Status codes that are retried */
+  @Nonnull
+  private final Set<Integer> retryableStatusCodes;
+
+  /** Exception classes that are retried, subclasses included */
+  @Nonnull
+  private final Set<Class<? extends Throwable>> retryableExceptions;
+
+  /** Time limit of all attempts together, null if none */
+  @Nullable
+  private final Duration deadline;
+
+  /**
+   * RetryPolicy constructor
+   *
+   * @param maxAttempts          maximum number of attempts including the first one
+   * @param initialBackoff       backoff before the first retry
+   * @param maxBackoff           upper limit of the backoff
+   * @param multiplier           factor the backoff grows by after each retry
+   * @param jitter               fraction of the backoff that is randomized
+   * @param retryableStatusCodes status codes that are retried
+   * @param retryableExceptions  exception classes that are retried
+   * @param deadline             time limit of all attempts together, null if none
+   */
+  private RetryPolicy(
+    int maxAttempts,
+    @Nonnull Duration initialBackoff,
+    @Nonnull Duration maxBackoff,
+    double multiplier,
+    double jitter,
+    @Nonnull Set<Integer> retryableStatusCodes,
+    @Nonnull Set<Class<? extends Throwable>> retryableExceptions,
+    @Nullable Duration deadline
+  ){
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+    this.multiplier = multiplier;
+    this.jitter = jitter;
+    this.retryableStatusCodes = Set.copyOf(retryableStatusCodes);
+    this.retryableExceptions = Set.copyOf(retryableExceptions);
+    this.deadline = deadline;
+  }
+
+  /**
+   * Creates builder with default values, which make a single attempt
+   *
+   * @return builder
+   */
+  @Nonnull
+  public static Builder builder(){
+    return new Builder();
+  }
+
+  /**
+   * Returns maximum number of attempts including the first one
+   *
+   * @return attempts
+   */
+  public int getMaxAttempts(){
+    return maxAttempts;
+  }
+
+  /**
+   * Returns time limit of all attempts together
+   *
+   * @return optional that contains deadline, empty if there is none
+   */
+  @Nonnull
+  public Optional<Duration> getDeadline(){
+    return Optional.ofNullable(deadline);
+  }
+
+  /**
+   * Returns whether the status code is worth another attempt
+   *
+   * @param statusCode status code
+   * @return true if it should be retried
+   */
+  public boolean isRetryable(int statusCode){
+    return retryableStatusCodes.contains(statusCode);
+  }
+
+  /**
+   * Returns whether the failure is worth another attempt
+   *
+   * @param throwable failure
+   * @return true if it should be retried
+   */
+  public boolean isRetryable(@Nonnull Throwable throwable){
+    for(var type : retryableExceptions) if(type.isInstance(throwable)) return true;
+    return false;
+  }
+
+  /**
+   * Returns backoff before the retry, grows exponentially up to the maximum and is randomized by the jitter
+   *
+   * @param retry number of the retry, starting from 1
+   * @return backoff
+   */
+  @Nonnull
+  public Duration getBackoff(int retry){
+    var base = Math.min(
+      initialBackoff.toNanos() * Math.pow(multiplier, Math.max(0, retry - 1)),
+      (double) maxBackoff.toNanos()
+    );
+    return Duration.ofNanos((long) (base * (1 - jitter * ThreadLocalRandom.current().nextDouble())));
+  }
+
+  @Override
+  public String toString(){
+    return Utility.simpleToString(this);
+  }
+
+  /** Builder */
+  public static final class Builder{
+
+    /** Maximum number of attempts including the first one */
+    private int maxAttempts = 1;
+
+    /** Backoff before the first retry */
+    @Nonnull
+    private Duration initialBackoff = Duration.ofMillis(500);
+
+    /** Upper limit of the backoff */
+    @Nonnull
+    private Duration maxBackoff = Duration.ofSeconds(10);
+
+    /** Factor the backoff grows by after each retry */
+    private double multiplier = 2;
+
+    /** Fraction of the backoff that is randomized */
+    private double jitter = 0.5;
+
+    /** Status codes that are retried */
+    @Nonnull
+    private Set<Integer> retryableStatusCodes = Set.of();
+
+    /** Exception classes that are retried */
+    @Nonnull
+    private Set<Class<? extends Throwable>> retryableExceptions = Set.of();
+
+    /** Time limit of all attempts together */
+    @Nullable
+    private Duration deadline;
+
+    /** Builder constructor */
+    private Builder(){
+    }
+
+    /**
+     * Sets maximum number of attempts including the first one
+     *
+     * @param maxAttempts attempts
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMaxAttempts(int maxAttempts){
+      if(maxAttempts <= 0) throw new IllegalArgumentException(f("maxAttempts must be positive, got {}", maxAttempts));
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Sets backoff before the first retry
+     *
+     * @param initialBackoff backoff
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setInitialBackoff(@Nonnull Duration initialBackoff){
+      if(Validation.assertNonnull(initialBackoff, "initialBackoff").isNegative()){
+        throw new IllegalArgumentException("initialBackoff cannot be negative");
+      }
+      this.initialBackoff = initialBackoff;
+      return this;
+    }
+
+    /**
+     * Sets upper limit of the backoff
+     *
+     * @param maxBackoff backoff
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMaxBackoff(@Nonnull Duration maxBackoff){
+      if(Validation.assertNonnull(maxBackoff, "maxBackoff").isNegative()){
+        throw new IllegalArgumentException("maxBackoff cannot be negative");
+      }
+      this.maxBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Sets factor the backoff grows by after each retry
+     *
+     * @param multiplier factor, 1 keeps the backoff constant
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setMultiplier(double multiplier){
+      if(!(multiplier >= 1)) throw new IllegalArgumentException(f("multiplier must be at least 1, got {}", multiplier));
+      this.multiplier = multiplier;
+      return this;
+    }
+
+    /**
+     * Sets fraction of the backoff that is randomized - the backoff is drawn from [(1 - jitter) * backoff, backoff]
+     *
+     * @param jitter fraction, 0 disables the randomization
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setJitter(double jitter){
+      if(!(jitter >= 0 && jitter <= 1)) throw new IllegalArgumentException(f(
+        "jitter must be in range [0, 1], got {}",
+        jitter
+      ));
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Sets status codes that are retried
+     *
+     * @param retryableStatusCodes status codes
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setRetryableStatusCodes(@Nonnull Set<Integer> retryableStatusCodes){
+      this.retryableStatusCodes = Validation.assertNonnull(retryableStatusCodes, "retryableStatusCodes");
+      return this;
+    }
+
+    /**
+     * Sets exception classes that are retried, subclasses included
+     *
+     * @param retryableExceptions exception classes
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setRetryableExceptions(@Nonnull Set<Class<? extends Throwable>> retryableExceptions){
+      this.retryableExceptions = Validation.assertNonnull(retryableExceptions, "retryableExceptions");
+      return this;
+    }
+
+    /**
+     * Sets time limit of all attempts together, no retry is started that would end its backoff past the deadline
+     *
+     * @param deadline deadline or null for none
+     * @return updated builder
+     */
+    @Nonnull
+    public Builder setDeadline(@Nullable Duration deadline){
+      if(deadline != null && (deadline.isNegative() || deadline.isZero())){
+        throw new IllegalArgumentException(f("deadline must be positive, got {}", deadline));
+      }
+      this.deadline = deadline;
+      return this;
+    }
+
+    /**
+     * Builds policy
+     *
+     * @return policy
+     */
+    @Nonnull
+    public RetryPolicy build(){
+      return new RetryPolicy(
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        multiplier,
+        jitter,
+        retryableStatusCodes,
+        retryableExceptions,
+        deadline
+      );
+    }
+  }
+}
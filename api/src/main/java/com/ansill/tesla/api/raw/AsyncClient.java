@@ -0,0 +1,780 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.data.model.ChargeState;
+import com.ansill.tesla.api.data.model.ClimateState;
+import com.ansill.tesla.api.data.model.DriveState;
+import com.ansill.tesla.api.data.model.GuiSettings;
+import com.ansill.tesla.api.data.model.PartialVehicle;
+import com.ansill.tesla.api.data.model.VehicleConfig;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
+import com.ansill.tesla.api.data.model.VehicleState;
+import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
+import com.ansill.tesla.api.data.model.response.SimpleReasonResponse;
+import com.ansill.tesla.api.data.model.response.SimpleResponse;
+import com.ansill.tesla.api.data.model.response.SuccessfulAuthenticationResponse;
+import com.ansill.tesla.api.data.model.response.VehicleResponse;
+import com.ansill.tesla.api.data.model.response.VehiclesResponse;
+import com.ansill.tesla.api.model.RetryPolicy;
+import com.ansill.tesla.api.raw.RateLimiter.Budget;
+import com.ansill.tesla.api.raw.exception.ClientException;
+import com.ansill.tesla.api.utility.HTTPUtility;
+import com.ansill.tesla.api.utility.ReusableResponse;
+import com.ansill.validation.Validation;
+import com.fasterxml.jackson.core.type.TypeReference;
+import okhttp3.Request;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking twin of the raw client. Every call is enqueued on the OkHttp dispatcher instead of blocking the calling
+ * thread. Status codes map to the same exceptions as in {@link Client}, those complete the returned future exceptionally
+ * instead of being thrown. Obtained via {@link Client#async()}
+ */
+public final class AsyncClient{
+
+  /** Synchronous client that owns HTTP client, object mapper and configuration */
+  @Nonnull
+  private final Client client;
+
+  /**
+   * AsyncClient constructor
+   *
+   * @param client synchronous client to share the resources with
+   */
+  AsyncClient(@Nonnull Client client){
+    this.client = client;
+  }
+
+  /**
+   * Unwraps CompletionException if needed
+   *
+   * @param throwable throwable
+   * @return unwrapped throwable
+   */
+  @Nonnull
+  private static Throwable unwrap(@Nonnull Throwable throwable){
+    if(throwable instanceof CompletionException && throwable.getCause() != null) return throwable.getCause();
+    return throwable;
+  }
+
+  /**
+   * Wraps IOException in the same way the synchronous client does
+   *
+   * @param throwable throwable
+   * @return wrapped throwable
+   */
+  @Nonnull
+  private static Throwable wrap(@Nonnull Throwable throwable){
+    if(throwable instanceof IOException exception){
+      return new ClientException("Unhandled Exception has occurred", exception);
+    }
+    return throwable;
+  }
+
+  /**
+   * Handles the response and completes the future with the result
+   *
+   * @param future   future to complete
+   * @param response response
+   * @param handler  response handler
+   * @param <T>      result type
+   */
+  private static <T> void complete(
+    @Nonnull CompletableFuture<T> future,
+    @Nonnull ReusableResponse response,
+    @Nonnull ResponseHandler<T> handler
+  ){
+    try(response){
+      future.complete(handler.handle(response));
+    }catch(Exception e){
+      future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Sends request once and handles response
+   *
+   * @param request request
+   * @param handler response handler
+   * @param <T>     result type
+   * @return future that completes with the result
+   */
+  @Nonnull
+  private <T> CompletableFuture<T> send(@Nonnull Request request, @Nonnull ResponseHandler<T> handler){
+    return send(RetryPolicy.NONE, () -> HTTPUtility.httpCallAsync(request, client.getClientReference()), handler);
+  }
+
+  /**
+   * Sends request under the retry policy and handles the last response
+   *
+   * @param policy  retry policy
+   * @param request function that sends the request
+   * @param handler response handler
+   * @param <T>     result type
+   * @return future that completes with the result
+   */
+  @Nonnull
+  private <T> CompletableFuture<T> send(
+    @Nonnull RetryPolicy policy,
+    @Nonnull Supplier<CompletableFuture<ReusableResponse>> request,
+    @Nonnull ResponseHandler<T> handler
+  ){
+
+    // Set up future
+    var future = new CompletableFuture<T>();
+
+    // Send request
+    var call = Retrier.executeAsync(policy, request);
+    call.whenComplete((response, throwable) -> {
+
+      // Wrap and pass on
+      if(throwable != null){
+        future.completeExceptionally(wrap(throwable));
+        return;
+      }
+
+      // Handle code
+      complete(future, response, handler);
+    });
+
+    // Cancel the call if caller gives up on the future
+    future.whenComplete((result, throwable) -> {
+      if(future.isCancelled()) call.cancel(true);
+    });
+
+    // Return it
+    return future;
+  }
+
+  /**
+   * Sends request once a rate limit permit frees up, adapts the rate limiter if the server throttles it
+   *
+   * @param request     request
+   * @param accessToken access token the request is made with
+   * @param budget      budget the request draws from
+   * @return future that completes with the response or exceptionally with RateLimitedException if the permit is not
+   * worth waiting for
+   */
+  @Nonnull
+  private CompletableFuture<ReusableResponse> limitedCall(
+    @Nonnull Request request,
+    @Nonnull String accessToken,
+    @Nonnull Budget budget
+  ){
+
+    // Set up future
+    var future = new CompletableFuture<ReusableResponse>();
+
+    // Send request once permitted
+    var rateLimiter = client.getRateLimiter();
+    var permit = rateLimiter.acquireAsync(accessToken, budget);
+    permit.whenComplete((ignored, throwable) -> {
+
+      // Not permitted or caller has given up
+      if(throwable != null){
+        future.completeExceptionally(unwrap(throwable));
+        return;
+      }
+      if(future.isDone()) return;
+
+      // Send request
+      var call = HTTPUtility.httpCallAsync(request, client.getClientReference());
+      future.whenComplete((response, failure) -> {
+        if(future.isCancelled()) call.cancel(true);
+      });
+      call.whenComplete((response, failure) -> {
+        if(failure != null){
+          future.completeExceptionally(unwrap(failure));
+          return;
+        }
+        if(response.code() == 429) rateLimiter.throttled(accessToken, budget, RateLimiter.getRetryAfter(response));
+        if(!future.complete(response)) response.close();
+      });
+    });
+
+    // Stop waiting for the permit if caller gives up on the future
+    future.whenComplete((response, throwable) -> {
+      if(future.isCancelled()) permit.cancel(true);
+    });
+
+    // Return it
+    return future;
+  }
+
+  /** Ensures that client is not closed */
+  private void ensureOpen(){
+    if(client.isClosed()) throw new IllegalStateException("Client is closed");
+  }
+
+  /**
+   * Authenticates the account to retrieve an object with access and refresh tokens
+   *
+   * @param emailAddress email address to the account
+   * @param password     password to the account
+   * @return future that completes with object that contains access and refresh tokens or exceptionally with
+   * AuthenticationException if failed to authenticate
+   */
+  @Nonnull
+  public CompletableFuture<SuccessfulAuthenticationResponse> authenticate(
+    @Nonnull String emailAddress,
+    @Nonnull String password
+  ){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(emailAddress, "emailAddress");
+    Validation.assertNonnull(password, "password");
+
+    // Send request
+    return send(
+      client.createAuthenticationRequest(emailAddress, password),
+      response -> client.handleAuthenticationResponse(response, emailAddress)
+    );
+  }
+
+  /**
+   * Revokes the token
+   *
+   * @param refreshToken refresh token
+   * @return future that completes when token is revoked
+   */
+  @Nonnull
+  public CompletableFuture<Void> revokeToken(@Nonnull String refreshToken){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(refreshToken, "refreshToken");
+
+    // Send request
+    return send(client.createRevokeTokenRequest(refreshToken), response -> {
+      client.handleRevokeTokenResponse(response);
+      return null;
+    });
+  }
+
+  /**
+   * Refreshes the token
+   *
+   * @param refreshToken refresh token
+   * @return future that completes with new tokens or exceptionally with ReAuthenticationException if refresh token is
+   * no longer valid
+   */
+  @Nonnull
+  public CompletableFuture<SuccessfulAuthenticationResponse> refreshToken(@Nonnull String refreshToken){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(refreshToken, "refreshToken");
+
+    // Send request
+    return send(client.createRefreshTokenRequest(refreshToken), client::handleRefreshTokenResponse);
+  }
+
+  /**
+   * Retrieves vehicles on the account
+   *
+   * @param accessToken access token
+   * @return future that completes with vehicles
+   */
+  @Nonnull
+  public CompletableFuture<VehiclesResponse> getVehicles(@Nonnull String accessToken){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Send request
+    var request = client.createVehiclesRequest(accessToken);
+    return send(
+      client.getReadRetryPolicy(),
+      () -> limitedCall(request, accessToken, Budget.DATA),
+      client::handleVehiclesResponse
+    );
+  }
+
+  /**
+   * Retrieves a vehicle
+   *
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @return future that completes with vehicle or empty if vehicle does not exist
+   */
+  @Nonnull
+  public CompletableFuture<Optional<VehicleResponse>> getVehicle(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Send request
+    var request = client.createVehicleRequest(accessToken, idString);
+    return send(
+      client.getReadRetryPolicy(),
+      () -> limitedCall(request, accessToken, Budget.DATA),
+      client::handleVehicleResponse
+    );
+  }
+
+  /**
+   * Issues command to wake the vehicle up
+   * <B>NOTE:</B> Does not guarantee that vehicle is awoke after this command completes
+   *
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @return future that completes with vehicle response or exceptionally with VehicleIDNotFoundException if the
+   * vehicle does not exist
+   */
+  @Nonnull
+  public CompletableFuture<VehicleResponse> wakeup(@Nonnull String accessToken, @Nonnull String idString){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Send request
+    var request = client.createWakeupRequest(accessToken, idString);
+    return send(
+      client.getCommandRetryPolicy(),
+      () -> limitedCall(request, accessToken, Budget.COMMAND),
+      response -> client.handleWakeupResponse(response, idString)
+    );
+  }
+
+  @Nonnull
+  private CompletableFuture<SimpleReasonResponse> invokeSimpleCommand(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull String command
+  ){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Send request unless vehicle's circuit is open
+    var request = client.createCommandRequest(accessToken, idString, command);
+    return client.getCircuitBreaker().executeAsync(
+      idString,
+      () -> getVehicle(accessToken, idString),
+      () -> send(
+        client.getCommandRetryPolicy(),
+        () -> limitedCall(request, accessToken, Budget.COMMAND),
+        response -> client.handleCommandResponse(response, idString)
+      )
+    );
+  }
+
+  /**
+   * Sends vehicle data request, checks vehicle state if the request times out
+   *
+   * @param request     request
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @return future that completes with the response or exceptionally with SocketTimeoutException if the request timed
+   * out on a vehicle that is online
+   */
+  @Nonnull
+  private CompletableFuture<ReusableResponse> callVehicleData(
+    @Nonnull Request request,
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    var call = limitedCall(request, accessToken, Budget.DATA);
+    var future = call.exceptionallyCompose(throwable -> {
+
+      // Not a timeout, pass on
+      if(!(unwrap(throwable) instanceof SocketTimeoutException exception)){
+        return CompletableFuture.failedFuture(unwrap(throwable));
+      }
+
+      // Possible sleeping state
+      if(!client.isVerifySleepingState()){
+        return CompletableFuture.failedFuture(new ClientException(
+          "SocketTimeoutException thrown on possible sleeping vehicle and Client has been told to not attempt to verify the state",
+          exception
+        ));
+      }
+
+      // Call on vehicle, isOnlineAfterTimeout throws unless it's online
+      return getVehicle(accessToken, idString).thenCompose(vehicle -> {
+        client.isOnlineAfterTimeout(vehicle.orElseThrow());
+        return CompletableFuture.<ReusableResponse>failedFuture(exception);
+      });
+    });
+
+    // Cancel the call if caller gives up on the future
+    future.whenComplete((response, throwable) -> {
+      if(future.isCancelled()) call.cancel(true);
+    });
+
+    // Return it
+    return future;
+  }
+
+  @Nonnull
+  private <T> CompletableFuture<T> requestVehicleDataForm(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull TypeReference<T> typeToken,
+    @Nonnull String path
+  ){
+
+    // Send request, timeouts are retried only if the vehicle turns out to be online
+    var request = client.createVehicleDataRequest(accessToken, idString, path);
+    var call = send(
+      client.getReadRetryPolicy(),
+      () -> callVehicleData(request, accessToken, idString),
+      response -> client.handleVehicleDataResponse(response, idString, typeToken)
+    );
+    var future = call.exceptionallyCompose(throwable -> {
+
+      // Attempts ran out, timeouts only get this far on vehicles that are online when the state is verified
+      var failure = unwrap(throwable);
+      if(client.isVerifySleepingState() &&
+         failure instanceof ClientException exception &&
+         exception.getCause() instanceof SocketTimeoutException timeout){
+        return CompletableFuture.failedFuture(new ClientException(
+          "Failed to get vehicle data - client kept getting SocketTimeoutException",
+          timeout
+        ));
+      }
+      return CompletableFuture.failedFuture(failure);
+    });
+
+    // Cancel the call if caller gives up on the future
+    future.whenComplete((result, throwable) -> {
+      if(future.isCancelled()) call.cancel(true);
+    });
+
+    // Return it
+    return future;
+  }
+
+  @Nonnull
+  private <T> CompletableFuture<T> getVehicleDataForm(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull TypeReference<T> typeToken,
+    @Nonnull String path
+  ){
+
+    // Ensure that client is not closed
+    ensureOpen();
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Get the data
+    return client.getSingleFlight().executeAsync(
+      accessToken,
+      idString,
+      path,
+      () -> client.getCircuitBreaker().executeAsync(
+        idString,
+        () -> getVehicle(accessToken, idString),
+        () -> requestVehicleDataForm(accessToken, idString, typeToken, path)
+      )
+    );
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> unlockDoors(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "door_unlock");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> lockDoors(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "door_lock");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> honkHorn(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "honk_horn");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> flashLights(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "flash_lights");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> startHVACSystem(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "auto_conditioning_start");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> stopHVACSystem(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "auto_conditioning_stop");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> setMaxRangeChargeLimit(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_max_range");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> setStandardChargeLimit(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_standard");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> openChargePortDoor(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_port_door_open");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> closeChargePortDoor(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_port_door_close");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> startCharge(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_start");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> stopCharge(@Nonnull String accessToken, @Nonnull String idString){
+    return this.invokeSimpleCommand(accessToken, idString, "charge_stop");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> toggleMediaPlayback(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_toggle_playback");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> nextMediaTrack(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_next_track");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> previousMediaTrack(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_prev_track");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> nextFavoriteMedia(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_next_fav");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> previousFavoriteMedia(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_prev_fav");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> turnMediaVolumeUp(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_volume_up");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> turnMediaVolumeDown(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "media_volume_down");
+  }
+
+  @Nonnull
+  public CompletableFuture<SimpleReasonResponse> cancelSoftwareUpdate(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+    return this.invokeSimpleCommand(accessToken, idString, "cancel_software_update");
+  }
+
+  @Nonnull
+  public CompletableFuture<CompleteVehicleDataResponse> getVehicleData(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+
+    // Type
+    var type = new TypeReference<CompleteVehicleDataResponse>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, type, "vehicle_data");
+  }
+
+  @Nonnull
+  public CompletableFuture<PartialVehicle> getPartialVehicleData(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull Set<VehicleDataEndpoint> endpoints
+  ){
+
+    // Check parameters
+    var path = Client.createPartialVehicleDataPath(endpoints);
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<PartialVehicle>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, path).thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<ChargeState> getVehicleChargeState(@Nonnull String accessToken, @Nonnull String idString){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<ChargeState>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/charge_state")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<ClimateState> getVehicleClimateState(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<ClimateState>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/climate_state")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<DriveState> getVehicleDriveState(@Nonnull String accessToken, @Nonnull String idString){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<DriveState>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/drive_state")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<GuiSettings> getVehicleGuiSettings(@Nonnull String accessToken, @Nonnull String idString){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<GuiSettings>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/gui_settings")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<VehicleState> getVehicleVehicleState(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<VehicleState>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/vehicle_state")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  @Nonnull
+  public CompletableFuture<VehicleConfig> getVehicleVehicleConfig(
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ){
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<VehicleConfig>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, "data_request/vehicle_config")
+      .thenApply(SimpleResponse::getResponse);
+  }
+
+  /**
+   * Handles response, may throw the same exceptions as the synchronous client
+   *
+   * @param <T> result type
+   */
+  @FunctionalInterface
+  private interface ResponseHandler<T>{
+    T handle(@Nonnull ReusableResponse response) throws Exception;
+  }
+}
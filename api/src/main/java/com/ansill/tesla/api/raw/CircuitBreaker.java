@@ -0,0 +1,360 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.data.model.response.VehicleResponse;
+import com.ansill.tesla.api.exception.VehicleInServiceException;
+import com.ansill.tesla.api.exception.VehicleOfflineException;
+import com.ansill.tesla.api.model.CircuitBreakerPolicy;
+import com.ansill.tesla.api.raw.exception.ClientException;
+import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.net.SocketTimeoutException;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Per-vehicle circuit breaker. Offline, in-service and timed out outcomes in a row open the circuit of the vehicle,
+ * calls on it are then short-circuited with the exception that opened it until the cooldown passes. After that, one
+ * caller probes the vehicle with the cheap vehicle request and the circuit either closes or opens for another cooldown
+ * while everyone else keeps being short-circuited. Any other outcome closes the circuit
+ */
+final class CircuitBreaker{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  /** Policy */
+  @Nonnull
+  private final CircuitBreakerPolicy policy;
+
+  /** Circuits of the vehicles that have failed recently, by vehicle id */
+  @Nonnull
+  private final ConcurrentHashMap<String,Circuit> circuits = new ConcurrentHashMap<>();
+
+  /**
+   * CircuitBreaker constructor
+   *
+   * @param policy policy
+   */
+  CircuitBreaker(@Nonnull CircuitBreakerPolicy policy){
+    this.policy = policy;
+  }
+
+  /**
+   * Returns the reason the outcome counts against the circuit
+   *
+   * @param throwable failure
+   * @return reason or null if it does not count
+   */
+  @Nullable
+  private static Reason classify(@Nonnull Throwable throwable){
+    if(throwable instanceof CompletionException && throwable.getCause() != null) throwable = throwable.getCause();
+    if(throwable instanceof VehicleOfflineException) return Reason.OFFLINE;
+    if(throwable instanceof VehicleInServiceException) return Reason.IN_SERVICE;
+    if(throwable instanceof SocketTimeoutException) return Reason.TIMEOUT;
+    if(throwable instanceof ClientException && throwable.getCause() instanceof SocketTimeoutException){
+      return Reason.TIMEOUT;
+    }
+    return null;
+  }
+
+  /**
+   * Performs the call unless the circuit of the vehicle is open, probes the vehicle first if the cooldown has passed
+   *
+   * @param idString vehicle id
+   * @param probe    function that retrieves the vehicle
+   * @param call     function that performs the call
+   * @param <T>      result type
+   * @return result
+   * @throws VehicleIDNotFoundException thrown if vehicle id does not exist
+   */
+  @Nonnull
+  <T> T execute(
+    @Nonnull String idString,
+    @Nonnull Supplier<Optional<VehicleResponse>> probe,
+    @Nonnull SingleFlight.Flight<T> call
+  ) throws VehicleIDNotFoundException{
+
+    // Not enabled, go straight through
+    if(!policy.isEnabled()) return call.perform();
+
+    // Probe if it's this caller's turn
+    if(acquire(idString)){
+      Optional<VehicleResponse> vehicle;
+      try{
+        vehicle = probe.get();
+      }catch(RuntimeException | Error e){
+        probeFailed(idString, e);
+        throw e;
+      }
+      probed(idString, vehicle);
+    }
+
+    // Perform it and record the outcome
+    T result;
+    try{
+      result = call.perform();
+    }catch(VehicleIDNotFoundException | RuntimeException e){
+      record(idString, e);
+      throw e;
+    }
+    record(idString, null);
+    return result;
+  }
+
+  /**
+   * Starts the call unless the circuit of the vehicle is open, probes the vehicle first if the cooldown has passed
+   *
+   * @param idString vehicle id
+   * @param probe    function that starts retrieving the vehicle
+   * @param call     function that starts the call
+   * @param <T>      result type
+   * @return future that completes with the result or exceptionally if the call has been short-circuited, cancelling it
+   * cancels the call
+   */
+  @Nonnull
+  <T> CompletableFuture<T> executeAsync(
+    @Nonnull String idString,
+    @Nonnull Supplier<CompletableFuture<Optional<VehicleResponse>>> probe,
+    @Nonnull Supplier<CompletableFuture<T>> call
+  ){
+
+    // Not enabled, go straight through
+    if(!policy.isEnabled()) return call.get();
+
+    // Probe if it's this caller's turn
+    CompletableFuture<Void> permit;
+    try{
+      permit = acquire(idString) ?
+               probe.get().handle((vehicle, throwable) -> {
+                 if(throwable != null){
+                   probeFailed(idString, throwable);
+                   throw throwable instanceof CompletionException exception ?
+                         exception :
+                         new CompletionException(throwable);
+                 }
+                 probed(idString, vehicle);
+                 return null;
+               }) :
+               CompletableFuture.completedFuture(null);
+    }catch(RuntimeException e){
+      return CompletableFuture.failedFuture(e);
+    }
+
+    // Start it and record the outcome, cancelling the returned future cancels the call
+    var future = new CompletableFuture<T>();
+    permit.thenCompose(ignored -> {
+      if(future.isCancelled()) return CompletableFuture.<T>failedFuture(new CancellationException());
+      var started = call.get();
+      future.whenComplete((result, throwable) -> {
+        if(future.isCancelled()) started.cancel(true);
+      });
+      return started;
+    }).whenComplete((result, throwable) -> {
+
+      // Cancelled calls tell nothing about the vehicle
+      var cause = throwable instanceof CompletionException && throwable.getCause() != null ?
+                  throwable.getCause() :
+                  throwable;
+      if(!(cause instanceof CancellationException)) record(idString, throwable);
+      if(throwable != null) future.completeExceptionally(throwable);
+      else future.complete(result);
+    });
+    return future;
+  }
+
+  /**
+   * Checks the circuit before a call
+   *
+   * @param idString vehicle id
+   * @return true if the caller has to probe the vehicle first
+   * @throws RuntimeException exception of the outcome that opened the circuit if it's open
+   */
+  private boolean acquire(@Nonnull String idString){
+    while(true){
+
+      // Closed
+      var circuit = circuits.get(idString);
+      if(circuit == null || circuit.state == State.CLOSED) return false;
+
+      // Open and cooled down, first one to get here probes
+      if(circuit.state == State.OPEN && System.nanoTime() - circuit.openedAt >= policy.getCooldown().toNanos()){
+        if(circuits.replace(idString, circuit, circuit.halfOpen())) return true;
+        continue;
+      }
+
+      // Still open or somebody else is probing
+      LOGGER.debug("Circuit of vehicle {} is open due to {}, short-circuiting the call", idString, circuit.reason);
+      throw circuit.reason.toException(idString);
+    }
+  }
+
+  /**
+   * Closes or re-opens the circuit by the probed vehicle
+   *
+   * @param idString vehicle id
+   * @param vehicle  probed vehicle, empty if it does not exist
+   * @throws RuntimeException exception of the state that re-opened the circuit
+   */
+  private void probed(@Nonnull String idString, @Nonnull Optional<VehicleResponse> vehicle){
+    var response = vehicle.map(VehicleResponse::getResponse).orElse(null);
+    Reason reason = null;
+    if(response != null && "offline".equals(response.getState())) reason = Reason.OFFLINE;
+    else if(response != null && response.isInService()) reason = Reason.IN_SERVICE;
+
+    // Reachable or gone, close it and let the call find out
+    if(reason == null){
+      LOGGER.debug("Probe on vehicle {} has succeeded, closing its circuit", idString);
+      circuits.remove(idString);
+      return;
+    }
+
+    // Still unavailable
+    LOGGER.debug("Probe on vehicle {} has found it {}, re-opening its circuit", idString, reason);
+    circuits.put(idString, Circuit.open(reason, policy.getFailureThreshold()));
+    throw reason.toException(idString);
+  }
+
+  /**
+   * Re-opens the circuit after the probe has failed
+   *
+   * @param idString  vehicle id
+   * @param throwable failure
+   */
+  private void probeFailed(@Nonnull String idString, @Nonnull Throwable throwable){
+    var reason = classify(throwable);
+    circuits.computeIfPresent(idString, (key, circuit) -> reason != null ?
+                                                          Circuit.open(reason, policy.getFailureThreshold()) :
+                                                          circuit.expired(policy.getCooldown().toNanos()));
+  }
+
+  /**
+   * Records outcome of the call
+   *
+   * @param idString  vehicle id
+   * @param throwable failure or null if the call has succeeded
+   */
+  private void record(@Nonnull String idString, @Nullable Throwable throwable){
+    var reason = throwable == null ? null : classify(throwable);
+    circuits.compute(idString, (key, circuit) -> {
+
+      // Probe is in charge of circuits that are not closed, failures of the probe and short-circuited calls end here
+      if(circuit != null && circuit.state != State.CLOSED) return circuit;
+
+      // Anything other than failure closes it
+      if(reason == null) return null;
+
+      // Count it
+      var failures = circuit == null ? 1 : circuit.failures + 1;
+      if(failures < policy.getFailureThreshold()) return new Circuit(State.CLOSED, reason, failures, 0);
+      LOGGER.debug("Vehicle {} has failed {} times in a row due to {}, opening its circuit", key, failures, reason);
+      return Circuit.open(reason, failures);
+    });
+  }
+
+  /** Circuit state */
+  private enum State{
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /** Reason the circuit has opened */
+  private enum Reason{
+    OFFLINE,
+    IN_SERVICE,
+    TIMEOUT;
+
+    /**
+     * Creates exception that describes the reason
+     *
+     * @param idString vehicle id
+     * @return exception
+     */
+    @Nonnull
+    private RuntimeException toException(@Nonnull String idString){
+      return switch(this){
+        case OFFLINE -> new VehicleOfflineException();
+        case IN_SERVICE -> new VehicleInServiceException();
+        case TIMEOUT -> new ClientException(f("Vehicle {} has been timing out, calls are held off for now", idString));
+      };
+    }
+  }
+
+  /** Circuit of a vehicle */
+  @Immutable
+  private static final class Circuit{
+
+    /** State */
+    @Nonnull
+    private final State state;
+
+    /** Reason of the last failure */
+    @Nonnull
+    private final Reason reason;
+
+    /** Number of failures in a row */
+    private final int failures;
+
+    /** Time the circuit has opened in System.nanoTime() */
+    private final long openedAt;
+
+    /**
+     * Circuit constructor
+     *
+     * @param state    state
+     * @param reason   reason of the last failure
+     * @param failures number of failures in a row
+     * @param openedAt time the circuit has opened in System.nanoTime()
+     */
+    private Circuit(@Nonnull State state, @Nonnull Reason reason, int failures, long openedAt){
+      this.state = state;
+      this.reason = reason;
+      this.failures = failures;
+      this.openedAt = openedAt;
+    }
+
+    /**
+     * Creates circuit that has just opened
+     *
+     * @param reason   reason
+     * @param failures number of failures in a row
+     * @return circuit
+     */
+    @Nonnull
+    private static Circuit open(@Nonnull Reason reason, int failures){
+      return new Circuit(State.OPEN, reason, failures, System.nanoTime());
+    }
+
+    /**
+     * Returns this circuit being probed
+     *
+     * @return circuit
+     */
+    @Nonnull
+    private Circuit halfOpen(){
+      return new Circuit(State.HALF_OPEN, reason, failures, openedAt);
+    }
+
+    /**
+     * Returns this circuit open with the cooldown already passed so the next caller probes again
+     *
+     * @param cooldownNanos cooldown in nanoseconds
+     * @return circuit
+     */
+    @Nonnull
+    private Circuit expired(long cooldownNanos){
+      return new Circuit(State.OPEN, reason, failures, System.nanoTime() - cooldownNanos);
+    }
+  }
+}
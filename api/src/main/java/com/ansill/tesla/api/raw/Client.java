@@ -2,14 +2,11 @@ package com.ansill.tesla.api.raw;
 
 import com.ansill.tesla.api.data.model.ChargeState;
 import com.ansill.tesla.api.data.model.ClimateState;
-import com.ansill.tesla.api.data.model.CompleteVehicle;
 import com.ansill.tesla.api.data.model.DriveState;
 import com.ansill.tesla.api.data.model.GuiSettings;
-import com.ansill.tesla.api.data.model.MediaState;
-import com.ansill.tesla.api.data.model.SoftwareUpdate;
-import com.ansill.tesla.api.data.model.SpeedLimitMode;
-import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.PartialVehicle;
 import com.ansill.tesla.api.data.model.VehicleConfig;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 import com.ansill.tesla.api.data.model.VehicleState;
 import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
 import com.ansill.tesla.api.data.model.response.GenericErrorResponse;
@@ -18,14 +15,22 @@ import com.ansill.tesla.api.data.model.response.SimpleResponse;
 import com.ansill.tesla.api.data.model.response.SuccessfulAuthenticationResponse;
 import com.ansill.tesla.api.data.model.response.VehicleResponse;
 import com.ansill.tesla.api.data.model.response.VehiclesResponse;
+import com.ansill.tesla.api.data.utility.JacksonUtility;
 import com.ansill.tesla.api.exception.VehicleInServiceException;
 import com.ansill.tesla.api.exception.VehicleOfflineException;
 import com.ansill.tesla.api.exception.VehicleSleepingException;
+import com.ansill.tesla.api.jfr.JsonParseEvent;
+import com.ansill.tesla.api.metrics.ClientMetrics;
+import com.ansill.tesla.api.model.CircuitBreakerPolicy;
 import com.ansill.tesla.api.model.ClientBuilder;
+import com.ansill.tesla.api.model.RateLimitPolicy;
+import com.ansill.tesla.api.model.RetryPolicy;
+import com.ansill.tesla.api.raw.RateLimiter.Budget;
 import com.ansill.tesla.api.raw.exception.APIProtocolException;
 import com.ansill.tesla.api.raw.exception.AuthenticationException;
 import com.ansill.tesla.api.raw.exception.ClientException;
 import com.ansill.tesla.api.raw.exception.InvalidAccessTokenException;
+import com.ansill.tesla.api.raw.exception.RateLimitedException;
 import com.ansill.tesla.api.raw.exception.ReAuthenticationException;
 import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
 import com.ansill.tesla.api.utility.Constants;
@@ -35,29 +40,32 @@ import com.ansill.validation.Validation;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
+import jdk.jfr.EventType;
+import okhttp3.Dispatcher;
 import okhttp3.FormBody;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
-import okhttp3.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.ansill.utility.Utility.f;
 
@@ -67,8 +75,12 @@ public final class Client implements AutoCloseable{
   /** Logger */
   private static final Logger LOGGER = LoggerFactory.getLogger(Client.class);
 
-  /** Number of connection attempts */
-  private static final int MAX_ATTEMPTS = 5;
+  /** Maximum number of asynchronous requests in flight, the API is a single host so it applies per host too */
+  private static final int MAX_ASYNC_REQUESTS = 256;
+
+  /** Flight recorder event type of the parsing, checked so the parsing doesn't allocate the event when it's disabled */
+  @Nonnull
+  private static final EventType JSON_PARSE_EVENT_TYPE = EventType.getEventType(JsonParseEvent.class);
 
   /** Flag to indicate that client is closed */
   @Nonnull
@@ -106,13 +118,46 @@ public final class Client implements AutoCloseable{
   @Nonnull
   private final ObjectMapper objectMapper = new ObjectMapper();
 
+  /** Asynchronous view of this client */
+  @Nonnull
+  private final AsyncClient asyncClient = new AsyncClient(this);
+
+  /** Coalesces identical vehicle data requests in flight, shared with the async client */
+  @Nonnull
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  /** Retry policy of the vehicle list, vehicle and vehicle data requests */
+  @Nonnull
+  private final RetryPolicy readRetryPolicy;
+
+  /** Retry policy of the wake-up and command requests */
+  @Nonnull
+  private final RetryPolicy commandRetryPolicy;
+
+  /** Circuit breaker of the vehicle data and command requests, shared with the async client */
+  @Nonnull
+  private final CircuitBreaker circuitBreaker;
+
+  /** Rate limiter of the vehicle requests, shared with the async client */
+  @Nonnull
+  private final RateLimiter rateLimiter;
+
+  /** Metrics */
+  @Nonnull
+  private final ClientMetrics metrics;
+
   private Client(
     @Nullable String url,
     @Nullable String clientId,
     @Nullable String clientSecret,
     @Nullable Duration connectTimeoutDuration,
     @Nullable Duration readTimeoutDuration,
-    @Nullable Function<Map<String,Optional<Object>>,Boolean> unknownFieldsFunction
+    @Nullable Function<Map<String,Optional<Object>>,Boolean> unknownFieldsFunction,
+    @Nullable RetryPolicy readRetryPolicy,
+    @Nullable RetryPolicy commandRetryPolicy,
+    @Nullable CircuitBreakerPolicy circuitBreakerPolicy,
+    @Nullable RateLimitPolicy rateLimitPolicy,
+    @Nullable ClientMetrics metrics
   ){
 
     // Use default if null
@@ -136,21 +181,16 @@ public final class Client implements AutoCloseable{
     this.clientSecret = Validation.assertNonnull(clientSecret, "client_secret");
     this.connectTimeoutDuration.set(connectTimeoutDuration);
     this.readTimeoutDuration.set(readTimeoutDuration);
+    this.readRetryPolicy = readRetryPolicy != null ? readRetryPolicy : RetryPolicy.READ_DEFAULT;
+    this.commandRetryPolicy = commandRetryPolicy != null ? commandRetryPolicy : RetryPolicy.COMMAND_DEFAULT;
+    this.circuitBreaker = new CircuitBreaker(
+      circuitBreakerPolicy != null ? circuitBreakerPolicy : CircuitBreakerPolicy.DEFAULT
+    );
+    this.rateLimiter = new RateLimiter(rateLimitPolicy != null ? rateLimitPolicy : RateLimitPolicy.UNLIMITED);
+    this.metrics = metrics != null ? metrics : ClientMetrics.NOOP;
 
     // Set object mapper
-    var simpleModule = new SimpleModule();
-    simpleModule.addDeserializer(Vehicle.class, new Vehicle.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(CompleteVehicle.class, new CompleteVehicle.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(ClimateState.class, new ClimateState.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(ChargeState.class, new ChargeState.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(DriveState.class, new DriveState.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(GuiSettings.class, new GuiSettings.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(MediaState.class, new MediaState.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(SoftwareUpdate.class, new SoftwareUpdate.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(SpeedLimitMode.class, new SpeedLimitMode.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(VehicleConfig.class, new VehicleConfig.Deserializer(this.unknownFieldsFunction));
-    simpleModule.addDeserializer(VehicleState.class, new VehicleState.Deserializer(this.unknownFieldsFunction));
-    objectMapper.registerModule(simpleModule);
+    objectMapper.registerModule(JacksonUtility.createModule(this.unknownFieldsFunction));
 
     // Set function
     setUnknownFieldsFunction(unknownFieldsFunction);
@@ -176,33 +216,20 @@ public final class Client implements AutoCloseable{
       timeout = this.readTimeoutDuration.get();
       if(timeout != null) builder.readTimeout(timeout);
 
+      // Let asynchronous calls go wider than OkHttp's default of 5 per host
+      var dispatcher = new Dispatcher();
+      dispatcher.setMaxRequests(MAX_ASYNC_REQUESTS);
+      dispatcher.setMaxRequestsPerHost(MAX_ASYNC_REQUESTS);
+      builder.dispatcher(dispatcher);
+
+      // Time the requests unless nobody is listening
+      if(metrics != ClientMetrics.NOOP) builder.addInterceptor(new MetricsInterceptor(metrics, url));
+
       // Save
       return builder.build();
     });
   }
 
-  @Nonnull
-  private static <T> T fromJson(
-    @Nonnull ObjectMapper objectMapper,
-    @Nonnull ReusableResponse response,
-    @Nonnull Class<T> type
-  )
-  throws APIProtocolException, ClientException{
-
-    try{
-
-      // Get body
-      String body = response.getBodyAsString()
-                            .orElseThrow(() -> new APIProtocolException("The request body is empty!"));
-
-      // Forward it
-      return fromJson(objectMapper, body, type);
-
-    }catch(IOException e){
-      throw new ClientException("Failed to parse content of response body", e);
-    }
-  }
-
   /**
    * Creates builder
    *
@@ -217,98 +244,120 @@ public final class Client implements AutoCloseable{
   private static <T> T fromJson(
     @Nonnull ObjectMapper objectMapper,
     @Nonnull ReusableResponse response,
-    @Nonnull TypeReference<T> typeToken
+    @Nonnull Class<T> type
   )
   throws APIProtocolException, ClientException{
-
-    try{
-
-      // Get body
-      String body = response.getBodyAsString()
-                            .orElseThrow(() -> new APIProtocolException("The request body is empty!"));
-
-      // Forward it
-      return fromJson(objectMapper, body, typeToken);
-
-    }catch(IOException e){
-      throw new ClientException("Failed to parse content of response body", e);
-    }
+    return fromJson(response, type.getName(), stream -> objectMapper.readValue(stream, type));
   }
 
   @Nonnull
   private static <T> T fromJson(
     @Nonnull ObjectMapper objectMapper,
-    @Nonnull Response response,
-    @Nonnull Class<T> type
+    @Nonnull ReusableResponse response,
+    @Nonnull TypeReference<T> typeToken
   )
   throws APIProtocolException, ClientException{
-
-    try{
-
-      // Get body
-      String body = HTTPUtility.getStringFromResponseBody(response)
-                               .orElseThrow(() -> new APIProtocolException("The request body is empty!"));
-
-      // Forward it
-      return fromJson(objectMapper, body, type);
-
-    }catch(IOException e){
-      throw new ClientException("Failed to parse content of response body", e);
-    }
+    return fromJson(response, typeToken.getType().getTypeName(), stream -> objectMapper.readValue(stream, typeToken));
   }
 
+  /**
+   * Parses the response body. The body is streamed straight into the parser, it is only held as a string if something
+   * (like HTTP_LOGGING) has already buffered it
+   *
+   * @param response response
+   * @param typeName name of the type, used in error messages
+   * @param reader   function that parses the stream
+   * @param <T>      type
+   * @return parsed item
+   * @throws APIProtocolException thrown if the body is empty or is not in expected format
+   * @throws ClientException      thrown if the body cannot be read
+   */
   @Nonnull
   private static <T> T fromJson(
-    @Nonnull ObjectMapper objectMapper,
-    @Nonnull String string,
-    @Nonnull Class<T> type
-  ) throws APIProtocolException{
-    T item;
+    @Nonnull ReusableResponse response,
+    @Nonnull String typeName,
+    @Nonnull JsonReader<T> reader
+  ) throws APIProtocolException, ClientException{
+
+    // Only time the parsing if the flight recorder wants it
+    var event = JSON_PARSE_EVENT_TYPE.isEnabled() ? new JsonParseEvent() : null;
+    if(event != null) event.begin();
     try{
-      item = objectMapper.readValue(string, type);
-    }catch(JsonProcessingException e){
-      // Log what was in the string and push it up
-      throw new APIProtocolException(f(
-        "The JSON string is not in format of {} class. JSON message \n\"{}\"",
-        type.getName(),
-        string
-      ), e);
+      var item = parseJson(response, typeName, reader);
+      commit(event, response, typeName, true);
+      return item;
+    }catch(RuntimeException e){
+      commit(event, response, typeName, false);
+      throw e;
     }
-    if(item == null) throw new APIProtocolException(f(
-      "The JSON string is not in format of {} class. JSON message \n\"{}\"",
-      type.getName(),
-      string
-    ));
-    return item;
   }
 
+  /**
+   * Commits the flight recorder event of the parsing if the recording wants it
+   *
+   * @param event     event that has begun when the parsing started or null if the event is disabled
+   * @param response  response
+   * @param typeName  name of the type
+   * @param succeeded whether the parsing has succeeded
+   */
+  private static void commit(
+    @Nullable JsonParseEvent event,
+    @Nonnull ReusableResponse response,
+    @Nonnull String typeName,
+    boolean succeeded
+  ){
+    if(event == null) return;
+    event.end();
+    if(!event.shouldCommit()) return;
+    event.targetType = typeName;
+    event.bytes = response.contentLength();
+    event.succeeded = succeeded;
+    event.commit();
+  }
+
+  /**
+   * Parses the response body
+   *
+   * @param response response
+   * @param typeName name of the type, used in error messages
+   * @param reader   function that parses the stream
+   * @param <T>      type
+   * @return parsed item
+   * @throws APIProtocolException thrown if the body is empty or is not in expected format
+   * @throws ClientException      thrown if the body cannot be read
+   */
   @Nonnull
-  private static <T> T fromJson(
-    @Nonnull ObjectMapper objectMapper,
-    @Nonnull String string,
-    @Nonnull TypeReference<T> typeToken
-  ) throws APIProtocolException{
+  private static <T> T parseJson(
+    @Nonnull ReusableResponse response,
+    @Nonnull String typeName,
+    @Nonnull JsonReader<T> reader
+  ) throws APIProtocolException, ClientException{
+
+    // Get body and parse it
     T item;
-    try{
-      item = objectMapper.readValue(string, typeToken);
+    try(var body = response.getBodyAsStream()
+                           .orElseThrow(() -> new APIProtocolException("The request body is empty!"))){
+      item = reader.read(body);
     }catch(JsonProcessingException e){
-      // Log what was in the string and push it up
+      // Log what was in the body (if we still have it) and push it up
       throw new APIProtocolException(f(
         "The JSON string is not in format of {} class. JSON message \n\"{}\"",
-        typeToken.getType().getTypeName(),
-        string
+        typeName,
+        response.getBufferedBody().orElse(e.getOriginalMessage())
       ), e);
+    }catch(IOException e){
+      throw new ClientException("Failed to parse content of response body", e);
     }
     if(item == null) throw new APIProtocolException(f(
       "The JSON string is not in format of {} class. JSON message \n\"{}\"",
-      typeToken.getType().getTypeName(),
-      string
+      typeName,
+      response.getBufferedBody().orElse("null")
     ));
     return item;
   }
 
   public void setUnknownFieldsFunction(@Nullable Function<Map<String,Optional<Object>>,Boolean> function){
-    unknownFieldsFunction.set(function == null ? item -> false : function);
+    unknownFieldsFunction.set(function == null ? JacksonUtility.IGNORE_UNKNOWN_FIELDS : function);
   }
 
   public void resetConnectTimeoutDuration(){
@@ -341,6 +390,17 @@ public final class Client implements AutoCloseable{
     this.updateClientBuilder();
   }
 
+  /**
+   * Returns the asynchronous view of this client. The view shares the HTTP client, the object mapper and the
+   * configuration with this client, so closing this client also closes the view
+   *
+   * @return asynchronous client
+   */
+  @Nonnull
+  public AsyncClient async(){
+    return asyncClient;
+  }
+
   /**
    * Authenticates the account to retrieve an object with access and refresh tokens
    *
@@ -363,73 +423,14 @@ public final class Client implements AutoCloseable{
     Validation.assertNonnull(emailAddress, "emailAddress");
     Validation.assertNonnull(password, "password");
 
-    // Set up body
-    var requestBody = new FormBody.Builder().add("grant_type", "password")
-                                            .add("email", emailAddress)
-                                            .add("password", password)
-                                            .add("client_id", clientId)
-                                            .add("client_secret", clientSecret)
-                                            .build();
-
     // Set up request
-    Request request = new Request.Builder().url(url + "oauth/token")
-                                           .addHeader("Content-Type", "application/x-www-form-urlencoded")
-                                           .post(requestBody)
-                                           .build();
-
+    Request request = createAuthenticationRequest(emailAddress, password);
 
     // Send request
     try(var response = HTTPUtility.httpCall(request, this.clientReference)){
 
       // Handle code
-      return switch(response.code()){
-
-        // Success
-        case 200 -> fromJson(objectMapper, response, SuccessfulAuthenticationResponse.class);
-
-        // Unauthorized
-        case 401 -> {
-
-          // Parse error
-          var error = fromJson(objectMapper, response, GenericErrorResponse.class);
-
-          // If we get an response, ignore other error
-          if(error.getResponse().isPresent()){
-
-            // Get response
-            var item = error.getResponse().orElseThrow(() -> new APIProtocolException(f(
-              "Unexpected empty response in object: {}",
-              error
-            )));
-
-            // Check if it's invalid password
-            if(!item.startsWith("authorization_required_for_txid_")) throw new APIProtocolException(f(
-              "Unexpected string in 401 error response: {}",
-              error
-            ));
-
-            // It's invalid credentials error
-            throw new AuthenticationException(emailAddress);
-
-          }else{
-
-            // Check if it's invalid_client
-            if("invalid_client".equals(error.getError().orElse(""))){
-              throw new ClientException(error.getErrorDescription().orElseThrow());
-            }
-
-            // Otherwise report protocol error
-            throw new APIProtocolException(f(
-              "error: {}\t description: {}",
-              error.getError(),
-              error.getErrorDescription()
-            ));
-          }
-        }
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+      return handleAuthenticationResponse(response, emailAddress);
 
     }catch(IOException e){
 
@@ -446,22 +447,14 @@ public final class Client implements AutoCloseable{
     // Check parameters
     Validation.assertNonnull(refreshToken, "refreshToken");
 
-    // Set up body
-    var requestBody = new FormBody.Builder().build();
-
     // Set up request
-    Request request = new Request.Builder().url(url + "oauth/revoke")
-                                           .addHeader("Authorization", "Bearer " + refreshToken)
-                                           .post(requestBody)
-                                           .build();
+    Request request = createRevokeTokenRequest(refreshToken);
 
     // Send request
     try(var response = HTTPUtility.httpCall(request, this.clientReference)){
 
       // Handle code
-      if(response.code() != 200){
-        throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      }
+      handleRevokeTokenResponse(response);
 
     }catch(IOException e){
 
@@ -479,83 +472,14 @@ public final class Client implements AutoCloseable{
     // Check parameters
     Validation.assertNonnull(refreshToken, "refreshToken");
 
-    // Set up body
-    var requestBody = new FormBody.Builder().add("grant_type", "refresh_token")
-                                            .add("refresh_token", refreshToken)
-                                            .add("client_id", clientId)
-                                            .add("client_secret", clientSecret)
-                                            .build();
-
     // Set up request
-    Request request = new Request.Builder().url(url + "oauth/token")
-                                           .addHeader("Content-Type", "application/x-www-form-urlencoded")
-                                           .post(requestBody)
-                                           .build();
+    Request request = createRefreshTokenRequest(refreshToken);
 
     // Send request
     try(var response = HTTPUtility.httpCall(request, this.clientReference)){
 
       // Handle code
-      return switch(response.code()){
-
-        // Success
-        case 200 -> fromJson(objectMapper, response, SuccessfulAuthenticationResponse.class);
-
-        // Unauthorized
-        case 401 -> {
-
-          // Parse error
-          var error = fromJson(objectMapper, response, GenericErrorResponse.class);
-
-          // If we get an response, ignore other error
-          if(error.getResponse().isPresent()){
-
-            // Get response
-            var item = error.getResponse().orElseThrow(() -> new APIProtocolException(f(
-              "Unexpected empty response in object: {}",
-              error
-            )));
-
-            // Check if it's invalid password TODO correct place?
-            if(!item.startsWith("authorization_required_for_txid_")) throw new APIProtocolException(f(
-              "Unexpected string in 401 error response: {}",
-              error
-            ));
-
-            // It's invalid token error
-            throw new ReAuthenticationException();
-
-          }else{
-
-            // Check if it's invalid_client
-            if("invalid_client".equals(error.getError().orElse(""))){
-              throw new ClientException(error.getErrorDescription().orElseThrow());
-            }
-
-            // Check if it's invalid_grant
-            if("invalid_grant".equals(error.getError().orElse(""))){
-
-              // Check if error description matches
-              if("The provided authorization grant is invalid, expired, revoked, does not match the redirection URI used in the authorization request, or was issued to another client."
-                .equals(error.getErrorDescription().orElse(""))){
-
-                // It's invalid token error
-                throw new ReAuthenticationException();
-              }
-            }
-
-            // Otherwise report protocol error
-            throw new APIProtocolException(f(
-              "error: {}\t description: {}",
-              error.getError(),
-              error.getErrorDescription()
-            ));
-          }
-        }
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+      return handleRefreshTokenResponse(response);
 
     }catch(IOException e){
 
@@ -574,26 +498,13 @@ public final class Client implements AutoCloseable{
     Validation.assertNonnull(access_token, "access_token");
 
     // Set up request
-    Request request = new Request.Builder().url(url + "api/1/vehicles")
-                                           .addHeader("Authorization", "Bearer " + access_token)
-                                           .get()
-                                           .build();
+    Request request = createVehiclesRequest(access_token);
 
     // Send request
-    try(var response = HTTPUtility.httpCall(request, this.clientReference)){
+    try(var response = Retrier.execute(readRetryPolicy, () -> limitedCall(request, access_token, Budget.DATA))){
 
       // Handle code
-      return switch(response.code()){
-
-        // Success
-        case 200 -> fromJson(objectMapper, response, VehiclesResponse.class);
-
-        // Unauthenticated
-        case 401 -> throw new InvalidAccessTokenException();
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+      return handleVehiclesResponse(response);
 
     }catch(IOException e){
 
@@ -615,29 +526,13 @@ public final class Client implements AutoCloseable{
     Validation.assertNonnull(idString, "idString");
 
     // Set up request
-    Request request = new Request.Builder().url(url + "api/1/vehicles/" + idString)
-                                           .addHeader("Authorization", "Bearer " + accessToken)
-                                           .get()
-                                           .build();
+    Request request = createVehicleRequest(accessToken, idString);
 
     // Send request
-    try(var response = HTTPUtility.httpCall(request, this.clientReference)){
+    try(var response = Retrier.execute(readRetryPolicy, () -> limitedCall(request, accessToken, Budget.DATA))){
 
       // Handle code
-      return switch(response.code()){
-
-        // Success
-        case 200 -> Optional.of(fromJson(objectMapper, response, VehicleResponse.class));
-
-        // Unauthenticated
-        case 401 -> throw new InvalidAccessTokenException();
-
-        // Not found
-        case 404 -> Optional.empty();
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+      return handleVehicleResponse(response);
 
     }catch(IOException e){
 
@@ -669,35 +564,13 @@ public final class Client implements AutoCloseable{
     Validation.assertNonnull(idString, "idString");
 
     // Set up request
-    Request request = new Request.Builder().url(url + "api/1/vehicles/" + idString + "/wake_up")
-                                           .addHeader("Authorization", "Bearer " + accessToken)
-                                           .post(RequestBody.create("", MediaType.parse("text/plain")))
-                                           .build();
+    Request request = createWakeupRequest(accessToken, idString);
 
     // Send request
-    try(var response = HTTPUtility.httpCall(request, this.clientReference)){
+    try(var response = Retrier.execute(commandRetryPolicy, () -> limitedCall(request, accessToken, Budget.COMMAND))){
 
       // Handle code
-      return switch(response.code()){
-
-        // Success
-        case 200 -> fromJson(objectMapper, response, VehicleResponse.class);
-
-        // Unauthenticated
-        case 401 -> throw new InvalidAccessTokenException();
-
-        // Not found
-        case 404 -> throw new VehicleIDNotFoundException(idString);
-
-        // In service
-        case 405 -> throw new VehicleInServiceException();
-
-        // Request Timeout
-        case 408 -> throw new VehicleSleepingException(); // TODO will this ever happen?
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+      return handleWakeupResponse(response, idString);
 
     }catch(IOException e){
 
@@ -723,82 +596,91 @@ public final class Client implements AutoCloseable{
     Validation.assertNonnull(idString, "idString");
 
     // Set up request
-    Request request = new Request.Builder().url(url + "api/1/vehicles/" + idString + "/command/" + command)
-                                           .addHeader("Authorization", "Bearer " + accessToken)
-                                           .post(RequestBody.create("", MediaType.parse("text/plain")))
-                                           .build();
-
-    // Send request
-    try(var response = HTTPUtility.httpCall(request, this.clientReference)){
-
-      // Handle code
-      return switch(response.code()){
+    Request request = createCommandRequest(accessToken, idString, command);
 
-        // Success
-        case 200 -> fromJson(objectMapper, response, SimpleReasonResponse.class);
+    // Send request unless vehicle's circuit is open
+    return circuitBreaker.execute(idString, () -> this.getVehicle(accessToken, idString), () -> {
+      try(var response = Retrier.execute(commandRetryPolicy, () -> limitedCall(request, accessToken, Budget.COMMAND))){
 
-        // Unauthenticated
-        case 401 -> throw new InvalidAccessTokenException();
+        // Handle code
+        return handleCommandResponse(response, idString);
 
-        // In service
-        case 405 -> throw new VehicleInServiceException();
+      }catch(IOException e){
 
-        // Request Timeout
-        case 408 -> throw new VehicleSleepingException();
-
-        // Not found
-        case 404 -> throw new VehicleIDNotFoundException(idString);
-
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
-
-    }catch(IOException e){
-
-      // Wrap and re-throw
-      throw new ClientException("Unhandled Exception has occurred", e);
-    }
+        // Wrap and re-throw
+        throw new ClientException("Unhandled Exception has occurred", e);
+      }
+    });
   }
 
   @Nonnull
-  private <T> T getVehicleDataForm(
+  private <T> T requestVehicleDataForm(
     @Nonnull String accessToken,
     @Nonnull String idString,
     @Nonnull TypeReference<T> typeToken,
-    @Nonnull String path,
-    @Nonnegative int attemptsRemaining
+    @Nonnull String path
   ) throws VehicleIDNotFoundException{
 
     // Set up request
-    Request request = new Request.Builder().url(url + "api/1/vehicles/" + idString + "/" + path)
-                                           .addHeader("Authorization", "Bearer " + accessToken)
-                                           .get()
-                                           .build();
+    Request request = createVehicleDataRequest(accessToken, idString, path);
 
-    // Send request
-    try(var response = HTTPUtility.httpCall(request, this.clientReference)){
+    // Send request, timeouts are retried only if the vehicle turns out to be online
+    try(var response = Retrier.execute(readRetryPolicy, () -> callVehicleData(request, accessToken, idString))){
 
       // Handle code
-      return switch(response.code()){
+      return handleVehicleDataResponse(response, idString, typeToken);
 
-        // Success
-        case 200 -> fromJson(objectMapper, response, typeToken);
+    }catch(SocketTimeoutException e){
 
-        // Unauthenticated
-        case 401 -> throw new InvalidAccessTokenException();
+      // Attempts ran out
+      throw new ClientException("Failed to get vehicle data - client kept getting SocketTimeoutException", e);
 
-        // Not found
-        case 404 -> throw new VehicleIDNotFoundException(idString);
+    }catch(IOException e){
 
-        // In service
-        case 405 -> throw new VehicleInServiceException();
+      // Wrap and re-throw
+      throw new ClientException("Unhandled Exception has occurred", e);
+    }
+  }
 
-        // Request Timeout
-        case 408 -> throw new VehicleSleepingException();
+  /**
+   * Sends request once a rate limit permit frees up, adapts the rate limiter if the server throttles it
+   *
+   * @param request     request
+   * @param accessToken access token the request is made with
+   * @param budget      budget the request draws from
+   * @return response
+   * @throws IOException thrown if the request failed or interrupted while waiting for the permit
+   */
+  @Nonnull
+  private ReusableResponse limitedCall(
+    @Nonnull Request request,
+    @Nonnull String accessToken,
+    @Nonnull Budget budget
+  ) throws IOException{
+    rateLimiter.acquire(accessToken, budget);
+    var response = HTTPUtility.httpCall(request, this.clientReference);
+    if(response.code() == 429) rateLimiter.throttled(accessToken, budget, RateLimiter.getRetryAfter(response));
+    return response;
+  }
 
-        // Unknown
-        default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
-      };
+  /**
+   * Sends vehicle data request, checks vehicle state if the request times out
+   *
+   * @param request     request
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @return response
+   * @throws SocketTimeoutException thrown if the request timed out on a vehicle that is online
+   * @throws IOException            thrown if the request failed
+   */
+  @Nonnull
+  private ReusableResponse callVehicleData(
+    @Nonnull Request request,
+    @Nonnull String accessToken,
+    @Nonnull String idString
+  ) throws IOException{
+    try{
+      return limitedCall(request, accessToken, Budget.DATA);
     }catch(SocketTimeoutException e){
 
       // Possible sleeping state
@@ -809,41 +691,473 @@ public final class Client implements AutoCloseable{
         );
       }
 
-      // Error if attempts ran out
-      if(attemptsRemaining <= 0) throw new ClientException(
-        "Failed to get vehicle data - client kept getting multiple SocketTimeoutException");
+      // Call on vehicle, isOnlineAfterTimeout throws unless it's online
+      isOnlineAfterTimeout(this.getVehicle(accessToken, idString).orElseThrow());
+      throw e;
+    }
+  }
 
-      // Call on vehicle
-      var vehicle = this.getVehicle(accessToken, idString).orElseThrow();
+  /**
+   * Checks vehicle state after SocketTimeoutException has been thrown on vehicle data request
+   *
+   * @param vehicle vehicle response
+   * @return true if vehicle is online and the request should be attempted again
+   */
+  boolean isOnlineAfterTimeout(@Nonnull VehicleResponse vehicle){
 
-      // Get state - if asleep, throw VehicleUnavailableException
-      if("asleep".equals(vehicle.getResponse().getState())) throw new VehicleSleepingException();
+    // Count it
+    metrics.recordSleepProbe(vehicle.getResponse().getState());
 
-      // Get state - if online, try again
-      if("online".equals(vehicle.getResponse().getState())) return getVehicleDataForm(
-        accessToken,
-        idString,
-        typeToken,
-        path,
-        attemptsRemaining - 1
-      );
+    // Get state - if asleep, throw VehicleUnavailableException
+    if("asleep".equals(vehicle.getResponse().getState())) throw new VehicleSleepingException();
 
-      // Get state - if offline, TODO do we need to do anything for this?
-      if("offline".equals(vehicle.getResponse().getState())) throw new VehicleOfflineException();
+    // Get state - if online, try again
+    if("online".equals(vehicle.getResponse().getState())) return true;
 
-      // Else throw protocol error
-      throw new APIProtocolException(f(
-        "Cannot determine the cause of SocketTimeoutException, received state '{}'",
-        vehicle.getResponse().getState()
-      ));
+    // Get state - if offline, TODO do we need to do anything for this?
+    if("offline".equals(vehicle.getResponse().getState())) throw new VehicleOfflineException();
 
-    }catch(IOException e){
+    // Else throw protocol error
+    throw new APIProtocolException(f(
+      "Cannot determine the cause of SocketTimeoutException, received state '{}'",
+      vehicle.getResponse().getState()
+    ));
+  }
 
-      // Wrap and re-throw
-      throw new ClientException("Unhandled Exception has occurred", e);
+  /**
+   * Returns true if client is closed
+   *
+   * @return true if closed, false if open
+   */
+  boolean isClosed(){
+    return this.closed.get();
+  }
+
+  /**
+   * Returns true if client should attempt to verify the sleeping state on SocketTimeoutException
+   *
+   * @return true if it should be verified
+   */
+  boolean isVerifySleepingState(){
+    return verifySleepingState;
+  }
+
+  /**
+   * Returns circuit breaker of the vehicle data and command requests
+   *
+   * @return circuit breaker
+   */
+  @Nonnull
+  CircuitBreaker getCircuitBreaker(){
+    return circuitBreaker;
+  }
+
+  /**
+   * Returns rate limiter of the vehicle requests
+   *
+   * @return rate limiter
+   */
+  @Nonnull
+  RateLimiter getRateLimiter(){
+    return rateLimiter;
+  }
+
+  /**
+   * Returns reference to the HTTP client
+   *
+   * @return reference
+   */
+  @Nonnull
+  AtomicReference<OkHttpClient> getClientReference(){
+    return clientReference;
+  }
+
+  /**
+   * Returns retry policy of the vehicle list, vehicle and vehicle data requests
+   *
+   * @return policy
+   */
+  @Nonnull
+  RetryPolicy getReadRetryPolicy(){
+    return readRetryPolicy;
+  }
+
+  /**
+   * Returns retry policy of the wake-up and command requests
+   *
+   * @return policy
+   */
+  @Nonnull
+  RetryPolicy getCommandRetryPolicy(){
+    return commandRetryPolicy;
+  }
+
+  /**
+   * Returns the coalescing layer for vehicle data requests
+   *
+   * @return single flight
+   */
+  @Nonnull
+  SingleFlight getSingleFlight(){
+    return singleFlight;
+  }
+
+  @Nonnull
+  Request createAuthenticationRequest(@Nonnull String emailAddress, @Nonnull String password){
+
+    // Set up body
+    var requestBody = new FormBody.Builder().add("grant_type", "password")
+                                            .add("email", emailAddress)
+                                            .add("password", password)
+                                            .add("client_id", clientId)
+                                            .add("client_secret", clientSecret)
+                                            .build();
+
+    // Set up request
+    return new Request.Builder().url(url + "oauth/token")
+                                .addHeader("Content-Type", "application/x-www-form-urlencoded")
+                                .post(requestBody)
+                                .build();
+  }
+
+  @Nonnull
+  Request createRevokeTokenRequest(@Nonnull String refreshToken){
+
+    // Set up body
+    var requestBody = new FormBody.Builder().build();
+
+    // Set up request
+    return new Request.Builder().url(url + "oauth/revoke")
+                                .addHeader("Authorization", "Bearer " + refreshToken)
+                                .post(requestBody)
+                                .build();
+  }
+
+  @Nonnull
+  Request createRefreshTokenRequest(@Nonnull String refreshToken){
+
+    // Set up body
+    var requestBody = new FormBody.Builder().add("grant_type", "refresh_token")
+                                            .add("refresh_token", refreshToken)
+                                            .add("client_id", clientId)
+                                            .add("client_secret", clientSecret)
+                                            .build();
+
+    // Set up request
+    return new Request.Builder().url(url + "oauth/token")
+                                .addHeader("Content-Type", "application/x-www-form-urlencoded")
+                                .post(requestBody)
+                                .build();
+  }
+
+  @Nonnull
+  Request createVehiclesRequest(@Nonnull String accessToken){
+    return new Request.Builder().url(url + "api/1/vehicles")
+                                .addHeader("Authorization", "Bearer " + accessToken)
+                                .get()
+                                .build();
+  }
+
+  @Nonnull
+  Request createVehicleRequest(@Nonnull String accessToken, @Nonnull String idString){
+    return new Request.Builder().url(url + "api/1/vehicles/" + idString)
+                                .addHeader("Authorization", "Bearer " + accessToken)
+                                .get()
+                                .build();
+  }
+
+  @Nonnull
+  Request createWakeupRequest(@Nonnull String accessToken, @Nonnull String idString){
+    return new Request.Builder().url(url + "api/1/vehicles/" + idString + "/wake_up")
+                                .addHeader("Authorization", "Bearer " + accessToken)
+                                .post(RequestBody.create("", MediaType.parse("text/plain")))
+                                .build();
+  }
+
+  @Nonnull
+  Request createCommandRequest(@Nonnull String accessToken, @Nonnull String idString, @Nonnull String command){
+    return new Request.Builder().url(url + "api/1/vehicles/" + idString + "/command/" + command)
+                                .addHeader("Authorization", "Bearer " + accessToken)
+                                .post(RequestBody.create("", MediaType.parse("text/plain")))
+                                .build();
+  }
+
+  @Nonnull
+  Request createVehicleDataRequest(@Nonnull String accessToken, @Nonnull String idString, @Nonnull String path){
+    return new Request.Builder().url(url + "api/1/vehicles/" + idString + "/" + path)
+                                .addHeader("Authorization", "Bearer " + accessToken)
+                                .get()
+                                .build();
+  }
+
+  @Nonnull
+  SuccessfulAuthenticationResponse handleAuthenticationResponse(
+    @Nonnull ReusableResponse response,
+    @Nonnull String emailAddress
+  ) throws AuthenticationException{
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, SuccessfulAuthenticationResponse.class);
+
+      // Unauthorized
+      case 401 -> {
+
+        // Parse error
+        var error = fromJson(objectMapper, response, GenericErrorResponse.class);
+
+        // If we get an response, ignore other error
+        if(error.getResponse().isPresent()){
+
+          // Get response
+          var item = error.getResponse().orElseThrow(() -> new APIProtocolException(f(
+            "Unexpected empty response in object: {}",
+            error
+          )));
+
+          // Check if it's invalid password
+          if(!item.startsWith("authorization_required_for_txid_")) throw new APIProtocolException(f(
+            "Unexpected string in 401 error response: {}",
+            error
+          ));
+
+          // It's invalid credentials error
+          throw new AuthenticationException(emailAddress);
+
+        }else{
+
+          // Check if it's invalid_client
+          if("invalid_client".equals(error.getError().orElse(""))){
+            throw new ClientException(error.getErrorDescription().orElseThrow());
+          }
+
+          // Otherwise report protocol error
+          throw new APIProtocolException(f(
+            "error: {}\t description: {}",
+            error.getError(),
+            error.getErrorDescription()
+          ));
+        }
+      }
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  void handleRevokeTokenResponse(@Nonnull ReusableResponse response){
+
+    // Handle code
+    if(response.code() != 200){
+      throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
     }
   }
 
+  @Nonnull
+  SuccessfulAuthenticationResponse handleRefreshTokenResponse(@Nonnull ReusableResponse response)
+  throws ReAuthenticationException{
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, SuccessfulAuthenticationResponse.class);
+
+      // Unauthorized
+      case 401 -> {
+
+        // Parse error
+        var error = fromJson(objectMapper, response, GenericErrorResponse.class);
+
+        // If we get an response, ignore other error
+        if(error.getResponse().isPresent()){
+
+          // Get response
+          var item = error.getResponse().orElseThrow(() -> new APIProtocolException(f(
+            "Unexpected empty response in object: {}",
+            error
+          )));
+
+          // Check if it's invalid password TODO correct place?
+          if(!item.startsWith("authorization_required_for_txid_")) throw new APIProtocolException(f(
+            "Unexpected string in 401 error response: {}",
+            error
+          ));
+
+          // It's invalid token error
+          throw new ReAuthenticationException();
+
+        }else{
+
+          // Check if it's invalid_client
+          if("invalid_client".equals(error.getError().orElse(""))){
+            throw new ClientException(error.getErrorDescription().orElseThrow());
+          }
+
+          // Check if it's invalid_grant
+          if("invalid_grant".equals(error.getError().orElse(""))){
+
+            // Check if error description matches
+            if("The provided authorization grant is invalid, expired, revoked, does not match the redirection URI used in the authorization request, or was issued to another client."
+              .equals(error.getErrorDescription().orElse(""))){
+
+              // It's invalid token error
+              throw new ReAuthenticationException();
+            }
+          }
+
+          // Otherwise report protocol error
+          throw new APIProtocolException(f(
+            "error: {}\t description: {}",
+            error.getError(),
+            error.getErrorDescription()
+          ));
+        }
+      }
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  @Nonnull
+  VehiclesResponse handleVehiclesResponse(@Nonnull ReusableResponse response){
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, VehiclesResponse.class);
+
+      // Unauthenticated
+      case 401 -> throw new InvalidAccessTokenException();
+
+      // Throttled
+      case 429 -> throw new RateLimitedException(RateLimiter.getRetryAfter(response));
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  @Nonnull
+  Optional<VehicleResponse> handleVehicleResponse(@Nonnull ReusableResponse response){
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> Optional.of(fromJson(objectMapper, response, VehicleResponse.class));
+
+      // Unauthenticated
+      case 401 -> throw new InvalidAccessTokenException();
+
+      // Not found
+      case 404 -> Optional.empty();
+
+      // Throttled
+      case 429 -> throw new RateLimitedException(RateLimiter.getRetryAfter(response));
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  @Nonnull
+  VehicleResponse handleWakeupResponse(@Nonnull ReusableResponse response, @Nonnull String idString)
+  throws VehicleIDNotFoundException{
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, VehicleResponse.class);
+
+      // Unauthenticated
+      case 401 -> throw new InvalidAccessTokenException();
+
+      // Not found
+      case 404 -> throw new VehicleIDNotFoundException(idString);
+
+      // In service
+      case 405 -> throw new VehicleInServiceException();
+
+      // Request Timeout
+      case 408 -> throw new VehicleSleepingException(); // TODO will this ever happen?
+
+      // Throttled
+      case 429 -> throw new RateLimitedException(RateLimiter.getRetryAfter(response));
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  @Nonnull
+  SimpleReasonResponse handleCommandResponse(@Nonnull ReusableResponse response, @Nonnull String idString)
+  throws VehicleIDNotFoundException{
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, SimpleReasonResponse.class);
+
+      // Unauthenticated
+      case 401 -> throw new InvalidAccessTokenException();
+
+      // In service
+      case 405 -> throw new VehicleInServiceException();
+
+      // Request Timeout
+      case 408 -> throw new VehicleSleepingException();
+
+      // Not found
+      case 404 -> throw new VehicleIDNotFoundException(idString);
+
+      // Throttled
+      case 429 -> throw new RateLimitedException(RateLimiter.getRetryAfter(response));
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
+  @Nonnull
+  <T> T handleVehicleDataResponse(
+    @Nonnull ReusableResponse response,
+    @Nonnull String idString,
+    @Nonnull TypeReference<T> typeToken
+  ) throws VehicleIDNotFoundException{
+
+    // Handle code
+    return switch(response.code()){
+
+      // Success
+      case 200 -> fromJson(objectMapper, response, typeToken);
+
+      // Unauthenticated
+      case 401 -> throw new InvalidAccessTokenException();
+
+      // Not found
+      case 404 -> throw new VehicleIDNotFoundException(idString);
+
+      // In service
+      case 405 -> throw new VehicleInServiceException();
+
+      // Request Timeout
+      case 408 -> throw new VehicleSleepingException();
+
+      // Throttled
+      case 429 -> throw new RateLimitedException(RateLimiter.getRetryAfter(response));
+
+      // Unknown
+      default -> throw new APIProtocolException(f("Unexpected status code: {}", response.code()));
+    };
+  }
+
   @Nonnull
   public SimpleReasonResponse unlockDoors(@Nonnull String accessToken, @Nonnull String idString)
   throws VehicleIDNotFoundException{
@@ -973,7 +1287,16 @@ public final class Client implements AutoCloseable{
     @Nonnull String path
   )
   throws VehicleIDNotFoundException{
-    return getVehicleDataForm(accessToken, idString, typeToken, path, MAX_ATTEMPTS);
+    return singleFlight.execute(
+      accessToken,
+      idString,
+      path,
+      () -> circuitBreaker.execute(
+        idString,
+        () -> this.getVehicle(accessToken, idString),
+        () -> requestVehicleDataForm(accessToken, idString, typeToken, path)
+      )
+    );
   }
 
   @Nonnull
@@ -997,6 +1320,52 @@ public final class Client implements AutoCloseable{
     return getVehicleDataForm(accessToken, idString, type, "vehicle_data");
   }
 
+  /**
+   * Returns path of vehicle_data request that selects only the given sub-documents. Endpoints are always listed in the
+   * same order so the identical selections share the in-flight request
+   *
+   * @param endpoints selected sub-documents
+   * @return path
+   */
+  @Nonnull
+  static String createPartialVehicleDataPath(@Nonnull Set<VehicleDataEndpoint> endpoints){
+    if(Validation.assertNonnull(endpoints, "endpoints").isEmpty()){
+      throw new IllegalArgumentException("endpoints cannot be empty");
+    }
+    return "vehicle_data?endpoints=" + EnumSet.copyOf(endpoints)
+                                              .stream()
+                                              .map(VehicleDataEndpoint::getName)
+                                              .collect(Collectors.joining(";"));
+  }
+
+  @Nonnull
+  public PartialVehicle getPartialVehicleData(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull Set<VehicleDataEndpoint> endpoints
+  )
+  throws VehicleIDNotFoundException{
+
+    // Ensure that client is not closed
+    if(this.closed.get()) throw new IllegalStateException("Client is closed");
+
+    // Check parameters
+    Validation.assertNonnull(accessToken, "accessToken");
+
+    // Check parameters
+    Validation.assertNonnull(idString, "idString");
+
+    // Check parameters
+    var path = createPartialVehicleDataPath(endpoints);
+
+    // Type
+    var typeToken = new TypeReference<SimpleResponse<PartialVehicle>>(){
+    };
+
+    // Get the data
+    return getVehicleDataForm(accessToken, idString, typeToken, path).getResponse();
+  }
+
   @Nonnull
   public ChargeState getVehicleChargeState(@Nonnull String accessToken, @Nonnull String idString)
   throws VehicleIDNotFoundException{
@@ -1136,6 +1505,13 @@ public final class Client implements AutoCloseable{
     client.connectionPool().evictAll();
   }
 
+  /** Function that reads JSON from the stream */
+  @FunctionalInterface
+  private interface JsonReader<T>{
+    @Nullable
+    T read(@Nonnull InputStream stream) throws IOException;
+  }
+
   /** Builder */
   public static class Builder extends ClientBuilder<Client>{
 
@@ -1148,7 +1524,12 @@ public final class Client implements AutoCloseable{
         clientSecret,
         connectTimeoutDuration,
         readTimeoutDuration,
-        unknownFieldsFunction
+        unknownFieldsFunction,
+        readRetryPolicy,
+        commandRetryPolicy,
+        circuitBreakerPolicy,
+        rateLimitPolicy,
+        metrics
       );
     }
   }
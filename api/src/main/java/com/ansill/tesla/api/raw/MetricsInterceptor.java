@@ -0,0 +1,75 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.metrics.ClientMetrics;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Times every request of the HTTP client and reports it to the metrics by endpoint. Sits on the HTTP client so both
+ * the blocking and the asynchronous calls are covered, and measures up to the response headers so the body is left
+ * for the caller to read
+ */
+final class MetricsInterceptor implements Interceptor{
+
+  /** Path prefix of the vehicle requests */
+  private static final String VEHICLES_PATH = "api/1/vehicles";
+
+  /** Metrics */
+  @Nonnull
+  private final ClientMetrics metrics;
+
+  /** Path of the base URL */
+  @Nonnull
+  private final String basePath;
+
+  /**
+   * MetricsInterceptor constructor
+   *
+   * @param metrics metrics
+   * @param baseUrl base URL of the API, ending with slash
+   */
+  MetricsInterceptor(@Nonnull ClientMetrics metrics, @Nonnull String baseUrl){
+    this.metrics = metrics;
+    this.basePath = HttpUrl.get(baseUrl).encodedPath();
+  }
+
+  /**
+   * Returns endpoint of the URL, which is its path relative to the base URL with the vehicle id taken out
+   *
+   * @param url      URL
+   * @param basePath path of the base URL
+   * @return endpoint
+   */
+  @Nonnull
+  static String endpointOf(@Nonnull HttpUrl url, @Nonnull String basePath){
+    var path = url.encodedPath();
+    if(path.startsWith(basePath)) path = path.substring(basePath.length());
+    if(path.equals(VEHICLES_PATH)) return "vehicles";
+    if(!path.startsWith(VEHICLES_PATH + "/")) return path;
+
+    // Take out the id
+    var rest = path.substring(VEHICLES_PATH.length() + 1);
+    var slash = rest.indexOf('/');
+    return slash < 0 ? "vehicle" : rest.substring(slash + 1);
+  }
+
+  @Nonnull
+  @Override
+  public Response intercept(@Nonnull Chain chain) throws IOException{
+    var endpoint = endpointOf(chain.request().url(), basePath);
+    var startAt = System.nanoTime();
+    try{
+      var response = chain.proceed(chain.request());
+      metrics.recordRequest(endpoint, response.code(), System.nanoTime() - startAt);
+      return response;
+    }catch(SocketTimeoutException e){
+      metrics.recordTimeout(endpoint, System.nanoTime() - startAt);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,386 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.model.RateLimitMode;
+import com.ansill.tesla.api.model.RateLimitPolicy;
+import com.ansill.tesla.api.raw.exception.RateLimitedException;
+import com.ansill.tesla.api.utility.ReusableResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limiter. Every budget has a bucket per access token and a global bucket, a request reserves a permit
+ * from both and waits for the later of the two. Throttled responses pause and slow down the buckets of the budget
+ */
+final class RateLimiter{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RateLimiter.class);
+
+  /** Number of per-token buckets kept before the idle ones are dropped */
+  private static final int MAX_IDLE_BUCKETS = 1024;
+
+  /** Lowest fraction of the rate the buckets slow down to */
+  private static final double MIN_RATE_FACTOR = 1.0 / 16;
+
+  /** Policy */
+  @Nonnull
+  private final RateLimitPolicy policy;
+
+  /** Data read budget */
+  @Nonnull
+  private final BudgetBuckets data;
+
+  /** Command budget */
+  @Nonnull
+  private final BudgetBuckets command;
+
+  /**
+   * RateLimiter constructor
+   *
+   * @param policy policy
+   */
+  RateLimiter(@Nonnull RateLimitPolicy policy){
+    this.policy = policy;
+    var recovery = policy.getRecovery().toNanos();
+    this.data = new BudgetBuckets(
+      policy.getPerTokenDataLimit().orElse(null),
+      policy.getGlobalDataLimit().orElse(null),
+      recovery
+    );
+    this.command = new BudgetBuckets(
+      policy.getPerTokenCommandLimit().orElse(null),
+      policy.getGlobalCommandLimit().orElse(null),
+      recovery
+    );
+  }
+
+  /**
+   * Reads Retry-After header of the response
+   *
+   * @param response response
+   * @return time the server asks to wait or null if it did not say
+   */
+  @Nullable
+  static Duration getRetryAfter(@Nonnull ReusableResponse response){
+    var value = response.header("Retry-After").orElse(null);
+    if(value == null) return null;
+    try{
+      return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+    }catch(NumberFormatException e){
+
+      // HTTP-date form is not worth parsing, buckets fall back on their own pause
+      return null;
+    }
+  }
+
+  /**
+   * Takes a permit, waits for it if needed
+   *
+   * @param accessToken access token
+   * @param budget      budget
+   * @throws InterruptedIOException thrown if interrupted while waiting
+   * @throws RateLimitedException   thrown if there's no permit and the policy does not allow waiting for it
+   */
+  void acquire(@Nonnull String accessToken, @Nonnull Budget budget) throws InterruptedIOException{
+    var wait = reserve(accessToken, budget);
+    if(wait <= 0) return;
+    try{
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+    }
+  }
+
+  /**
+   * Takes a permit without holding the thread
+   *
+   * @param accessToken access token
+   * @param budget      budget
+   * @return future that completes when the permit frees up or exceptionally with RateLimitedException if the policy
+   * does not allow waiting for it
+   */
+  @Nonnull
+  CompletableFuture<Void> acquireAsync(@Nonnull String accessToken, @Nonnull Budget budget){
+    long wait;
+    try{
+      wait = reserve(accessToken, budget);
+    }catch(RateLimitedException e){
+      return CompletableFuture.failedFuture(e);
+    }
+    if(wait <= 0) return CompletableFuture.completedFuture(null);
+    return CompletableFuture.runAsync(() -> {
+    }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Adapts the buckets after the server has throttled the request
+   *
+   * @param accessToken access token
+   * @param budget      budget
+   * @param retryAfter  time the server asks to wait or null if it did not say
+   */
+  void throttled(@Nonnull String accessToken, @Nonnull Budget budget, @Nullable Duration retryAfter){
+    LOGGER.debug("Server has throttled {} request, retry after {}", budget, retryAfter);
+    buckets(budget).throttled(accessToken, retryAfter == null ? -1 : retryAfter.toNanos(), System.nanoTime());
+  }
+
+  /**
+   * Reserves a permit
+   *
+   * @param accessToken access token
+   * @param budget      budget
+   * @return nanoseconds until the permit frees up
+   * @throws RateLimitedException thrown if there's no permit and the policy does not allow waiting for it
+   */
+  private long reserve(@Nonnull String accessToken, @Nonnull Budget budget){
+    var maxWait = policy.getMode() == RateLimitMode.FAIL_FAST ? 0 : policy.getMaxWait().toNanos();
+    var wait = buckets(budget).reserve(accessToken, maxWait);
+    if(wait < 0) throw new RateLimitedException(Duration.ofNanos(-wait));
+    return wait;
+  }
+
+  /**
+   * Returns buckets of the budget
+   *
+   * @param budget budget
+   * @return buckets
+   */
+  @Nonnull
+  private BudgetBuckets buckets(@Nonnull Budget budget){
+    return budget == Budget.DATA ? data : command;
+  }
+
+  /** Budget the request draws from */
+  enum Budget{
+    DATA,
+    COMMAND
+  }
+
+  /** Per-token and global buckets of a budget */
+  private static final class BudgetBuckets{
+
+    /** Limit of each per-token bucket, null if unlimited */
+    @Nullable
+    private final RateLimitPolicy.Limit perTokenLimit;
+
+    /** Global bucket, null if unlimited */
+    @Nullable
+    private final Bucket global;
+
+    /** Recovery time in nanoseconds */
+    private final long recoveryNanos;
+
+    /** Per-token buckets by access token */
+    @Nonnull
+    private final ConcurrentHashMap<String,Bucket> perToken = new ConcurrentHashMap<>();
+
+    /**
+     * BudgetBuckets constructor
+     *
+     * @param perTokenLimit limit of each per-token bucket, null if unlimited
+     * @param globalLimit   limit of the global bucket, null if unlimited
+     * @param recoveryNanos recovery time in nanoseconds
+     */
+    private BudgetBuckets(
+      @Nullable RateLimitPolicy.Limit perTokenLimit,
+      @Nullable RateLimitPolicy.Limit globalLimit,
+      long recoveryNanos
+    ){
+      this.perTokenLimit = perTokenLimit;
+      this.global = globalLimit == null ? null : new Bucket(globalLimit, recoveryNanos, System.nanoTime());
+      this.recoveryNanos = recoveryNanos;
+    }
+
+    /**
+     * Returns bucket of the access token
+     *
+     * @param accessToken access token
+     * @param now         current time in System.nanoTime()
+     * @return bucket or null if unlimited
+     */
+    @Nullable
+    private Bucket tokenBucket(@Nonnull String accessToken, long now){
+      if(perTokenLimit == null) return null;
+      var bucket = perToken.get(accessToken);
+      if(bucket != null) return bucket;
+
+      // Access tokens come and go, drop the buckets that have refilled before tracking another one
+      if(perToken.size() >= MAX_IDLE_BUCKETS) perToken.values().removeIf(existing -> existing.isIdle(now));
+      return perToken.computeIfAbsent(accessToken, key -> new Bucket(perTokenLimit, recoveryNanos, now));
+    }
+
+    /**
+     * Reserves a permit from both buckets if it frees up within the wait. Both buckets stay locked, token bucket first,
+     * from checking the wait until the permits are taken, so concurrent callers can't push the wait past the limit
+     *
+     * @param accessToken access token
+     * @param maxWait     longest wait in nanoseconds
+     * @return nanoseconds until the permit frees up, or negated nanoseconds if it's beyond the wait and nothing has
+     * been reserved
+     */
+    private long reserve(@Nonnull String accessToken, long maxWait){
+      var bucket = tokenBucket(accessToken, System.nanoTime());
+      if(bucket == null) return global == null ? 0 : global.reserve(maxWait, System.nanoTime());
+      if(global == null) return bucket.reserve(maxWait, System.nanoTime());
+      synchronized(bucket){
+        synchronized(global){
+          var now = System.nanoTime();
+          var wait = Math.max(bucket.nanosUntilAvailable(now), global.nanosUntilAvailable(now));
+          if(wait > maxWait) return -wait;
+          bucket.take();
+          global.take();
+          return wait;
+        }
+      }
+    }
+
+    /**
+     * Adapts both buckets after the server has throttled
+     *
+     * @param accessToken     access token
+     * @param retryAfterNanos time the server asks to wait in nanoseconds, negative if it did not say
+     * @param now             current time in System.nanoTime()
+     */
+    private void throttled(@Nonnull String accessToken, long retryAfterNanos, long now){
+      var bucket = tokenBucket(accessToken, now);
+      if(bucket != null) bucket.throttled(retryAfterNanos, now);
+      if(global != null) global.throttled(retryAfterNanos, now);
+    }
+  }
+
+  /**
+   * Token bucket. Permits can be reserved ahead so the balance may go negative, later callers wait for it to be paid
+   * back. Rate is cut in half every time the server throttles and climbs back linearly over the recovery time
+   */
+  private static final class Bucket{
+
+    /** Permits added per nanosecond at the full rate */
+    private final double ratePerNano;
+
+    /** Maximum number of permits */
+    private final double burst;
+
+    /** Recovery time in nanoseconds */
+    private final long recoveryNanos;
+
+    /** Current number of permits, negative if reserved ahead */
+    private double permits;
+
+    /** Time the permits have been refilled up to in System.nanoTime() */
+    private long refilledAt;
+
+    /** Time no permits are added before in System.nanoTime() */
+    private long pausedUntil;
+
+    /** Fraction of the rate right after the last throttle */
+    private double throttledFactor = 1;
+
+    /** Time of the last throttle in System.nanoTime() */
+    private long throttledAt;
+
+    /**
+     * Bucket constructor
+     *
+     * @param limit         limit
+     * @param recoveryNanos recovery time in nanoseconds
+     * @param now           current time in System.nanoTime()
+     */
+    private Bucket(@Nonnull RateLimitPolicy.Limit limit, long recoveryNanos, long now){
+      this.ratePerNano = limit.getPermitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+      this.burst = limit.getBurst();
+      this.recoveryNanos = recoveryNanos;
+      this.permits = burst;
+      this.refilledAt = now;
+      this.pausedUntil = now;
+      this.throttledAt = now;
+    }
+
+    /**
+     * Returns permits added per nanosecond at the time
+     *
+     * @param now current time in System.nanoTime()
+     * @return rate
+     */
+    private double rate(long now){
+      return ratePerNano * Math.min(1, throttledFactor + (double) (now - throttledAt) / recoveryNanos);
+    }
+
+    /**
+     * Adds permits for the time that has passed
+     *
+     * @param now current time in System.nanoTime()
+     */
+    private void refill(long now){
+      var from = Math.max(refilledAt, pausedUntil);
+      if(now > from) permits = Math.min(burst, permits + (now - from) * rate(now));
+      refilledAt = Math.max(refilledAt, now);
+    }
+
+    /**
+     * Returns time until a permit frees up
+     *
+     * @param now current time in System.nanoTime()
+     * @return nanoseconds
+     */
+    private synchronized long nanosUntilAvailable(long now){
+      refill(now);
+      if(permits >= 1) return 0;
+      return Math.max(0, pausedUntil - now) + (long) Math.ceil((1 - permits) / rate(now));
+    }
+
+    /**
+     * Reserves a permit if it frees up within the wait
+     *
+     * @param maxWait longest wait in nanoseconds
+     * @param now     current time in System.nanoTime()
+     * @return nanoseconds until the reserved permit frees up, or negated nanoseconds if it's beyond the wait and
+     * nothing has been reserved
+     */
+    private synchronized long reserve(long maxWait, long now){
+      var wait = nanosUntilAvailable(now);
+      if(wait > maxWait) return -wait;
+      take();
+      return wait;
+    }
+
+    /** Takes a permit, caller holds the lock and has checked the wait */
+    private void take(){
+      permits -= 1;
+    }
+
+    /**
+     * Pauses and slows down the bucket
+     *
+     * @param retryAfterNanos time the server asks to wait in nanoseconds, negative if it did not say
+     * @param now             current time in System.nanoTime()
+     */
+    private synchronized void throttled(long retryAfterNanos, long now){
+      refill(now);
+      throttledFactor = Math.max(MIN_RATE_FACTOR, rate(now) / ratePerNano / 2);
+      throttledAt = now;
+      permits = Math.min(permits, 0);
+      var pause = retryAfterNanos >= 0 ? retryAfterNanos : (long) Math.ceil(1 / rate(now));
+      pausedUntil = Math.max(pausedUntil, now + pause);
+    }
+
+    /**
+     * Returns whether the bucket has refilled completely and can be dropped
+     *
+     * @param now current time in System.nanoTime()
+     * @return true if idle
+     */
+    private synchronized boolean isIdle(long now){
+      refill(now);
+      return permits >= burst && now >= pausedUntil && rate(now) >= ratePerNano;
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.model.RetryPolicy;
+import com.ansill.tesla.api.utility.ReusableResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Runs HTTP calls under a retry policy. Failures and status codes that the policy finds retryable are attempted again
+ * after a backoff, as long as there are attempts left and the backoff ends before the deadline. Otherwise the last
+ * failure is thrown or the last response is returned for the caller to handle
+ */
+final class Retrier{
+
+  /** Logger */
+  private static final Logger LOGGER = LoggerFactory.getLogger(Retrier.class);
+
+  private Retrier(){
+    throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
+  }
+
+  /**
+   * Returns backoff before the next attempt
+   *
+   * @param policy  policy
+   * @param attempt number of the attempt that just failed, starting from 1
+   * @param startAt time the first attempt started in System.nanoTime()
+   * @return backoff or null if no more attempts should be made
+   */
+  @Nullable
+  private static Duration nextBackoff(@Nonnull RetryPolicy policy, int attempt, long startAt){
+    if(attempt >= policy.getMaxAttempts()) return null;
+    var backoff = policy.getBackoff(attempt);
+    var deadline = policy.getDeadline().orElse(null);
+    if(deadline != null && System.nanoTime() + backoff.toNanos() - startAt > deadline.toNanos()) return null;
+    return backoff;
+  }
+
+  /**
+   * Performs the call under the policy
+   *
+   * @param policy policy
+   * @param call   call
+   * @return last response
+   * @throws IOException last failure if it could not be retried
+   */
+  @Nonnull
+  static ReusableResponse execute(@Nonnull RetryPolicy policy, @Nonnull Call call) throws IOException{
+    var startAt = System.nanoTime();
+    for(int attempt = 1; ; attempt++){
+
+      // Make the call
+      ReusableResponse response;
+      try{
+        response = call.call();
+      }catch(IOException e){
+        var backoff = policy.isRetryable(e) ? nextBackoff(policy, attempt, startAt) : null;
+        if(backoff == null || !sleep(backoff)) throw e;
+        LOGGER.debug("Attempt {} has failed, retrying", attempt, e);
+        continue;
+      }
+
+      // Return it unless it should be retried
+      var backoff = policy.isRetryable(response.code()) ? nextBackoff(policy, attempt, startAt) : null;
+      if(backoff == null) return response;
+      LOGGER.debug("Attempt {} has returned status code {}, retrying", attempt, response.code());
+      response.close();
+      if(!sleep(backoff)) throw new InterruptedIOException("Interrupted while backing off before the next attempt");
+    }
+  }
+
+  /**
+   * Performs the asynchronous call under the policy, backoffs don't hold any thread
+   *
+   * @param policy policy
+   * @param call   function that starts the call
+   * @return future that completes with the last response or exceptionally with the last failure, cancelling it
+   * cancels the call in flight and stops the retries
+   */
+  @Nonnull
+  static CompletableFuture<ReusableResponse> executeAsync(
+    @Nonnull RetryPolicy policy,
+    @Nonnull Supplier<CompletableFuture<ReusableResponse>> call
+  ){
+    var future = new CompletableFuture<ReusableResponse>();
+    var inFlight = new AtomicReference<CompletableFuture<ReusableResponse>>();
+    future.whenComplete((response, throwable) -> {
+      var pending = inFlight.get();
+      if(future.isCancelled() && pending != null) pending.cancel(true);
+    });
+    attemptAsync(policy, call, 1, System.nanoTime(), future, inFlight);
+    return future;
+  }
+
+  /**
+   * Makes one asynchronous attempt and schedules the next one if needed
+   *
+   * @param policy   policy
+   * @param call     function that starts the call
+   * @param attempt  number of this attempt, starting from 1
+   * @param startAt  time the first attempt started in System.nanoTime()
+   * @param future   future to complete
+   * @param inFlight call in flight
+   */
+  private static void attemptAsync(
+    @Nonnull RetryPolicy policy,
+    @Nonnull Supplier<CompletableFuture<ReusableResponse>> call,
+    int attempt,
+    long startAt,
+    @Nonnull CompletableFuture<ReusableResponse> future,
+    @Nonnull AtomicReference<CompletableFuture<ReusableResponse>> inFlight
+  ){
+
+    // Caller has given up
+    if(future.isDone()) return;
+
+    // Make the call
+    var pending = call.get();
+    inFlight.set(pending);
+    pending.whenComplete((response, throwable) -> {
+
+      // Failed, retry if it's worth it
+      if(throwable != null){
+        var failure = throwable instanceof CompletionException && throwable.getCause() != null ?
+                      throwable.getCause() :
+                      throwable;
+        var backoff = policy.isRetryable(failure) ? nextBackoff(policy, attempt, startAt) : null;
+        if(backoff == null) future.completeExceptionally(failure);
+        else{
+          LOGGER.debug("Attempt {} has failed, retrying", attempt, failure);
+          schedule(backoff, () -> attemptAsync(policy, call, attempt + 1, startAt, future, inFlight));
+        }
+        return;
+      }
+
+      // Return it unless it should be retried
+      var backoff = policy.isRetryable(response.code()) ? nextBackoff(policy, attempt, startAt) : null;
+      if(backoff == null){
+        if(!future.complete(response)) response.close();
+        return;
+      }
+      LOGGER.debug("Attempt {} has returned status code {}, retrying", attempt, response.code());
+      response.close();
+      schedule(backoff, () -> attemptAsync(policy, call, attempt + 1, startAt, future, inFlight));
+    });
+  }
+
+  /**
+   * Runs the task after the delay
+   *
+   * @param delay delay
+   * @param task  task
+   */
+  private static void schedule(@Nonnull Duration delay, @Nonnull Runnable task){
+    CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(task);
+  }
+
+  /**
+   * Sleeps through the backoff
+   *
+   * @param backoff backoff
+   * @return true if slept through, false if interrupted
+   */
+  private static boolean sleep(@Nonnull Duration backoff){
+    try{
+      TimeUnit.NANOSECONDS.sleep(backoff.toNanos());
+      return true;
+    }catch(InterruptedException e){
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** HTTP call that may be attempted many times */
+  @FunctionalInterface
+  interface Call{
+
+    /**
+     * Makes the call
+     *
+     * @return response
+     * @throws IOException if the call failed
+     */
+    @Nonnull
+    ReusableResponse call() throws IOException;
+  }
+}
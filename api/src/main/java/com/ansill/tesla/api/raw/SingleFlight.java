@@ -0,0 +1,263 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical in-flight requests. The first caller for a key performs the request and everyone else that asks
+ * for the same key while it is in flight gets the same result, sharing one round trip and one parse. Keys are made of
+ * access token, vehicle id and endpoint path so different endpoints or vehicles never wait on each other
+ */
+final class SingleFlight{
+
+  /** Requests currently in flight */
+  @Nonnull
+  private final ConcurrentHashMap<Key,InFlight> inFlight = new ConcurrentHashMap<>();
+
+  /** Number of callers waiting on a request someone else has performed */
+  @Nonnull
+  private final AtomicInteger joiners = new AtomicInteger();
+
+  /**
+   * Waits on the in-flight request and returns its result
+   *
+   * @param future in-flight request
+   * @param <T>    result type
+   * @return result
+   * @throws VehicleIDNotFoundException thrown if the in-flight request has thrown it
+   */
+  @SuppressWarnings("unchecked")
+  @Nonnull
+  private static <T> T await(@Nonnull CompletableFuture<Object> future) throws VehicleIDNotFoundException{
+    try{
+      return (T) future.join();
+    }catch(CompletionException e){
+
+      // Re-throw what the leader has thrown
+      var cause = e.getCause();
+      if(cause instanceof VehicleIDNotFoundException exception) throw exception;
+      if(cause instanceof RuntimeException exception) throw exception;
+      if(cause instanceof Error error) throw error;
+      throw e;
+    }
+  }
+
+  /**
+   * Returns number of callers that are waiting on a request someone else has performed
+   *
+   * @return number of joiners
+   */
+  int getJoiners(){
+    return joiners.get();
+  }
+
+  /**
+   * Registers the request as in flight or joins the identical one that is already in flight
+   *
+   * @param key    request key
+   * @param flight request to register
+   * @return request that has been joined or null if the given one has been registered
+   */
+  @Nullable
+  private InFlight registerOrJoin(@Nonnull Key key, @Nonnull InFlight flight){
+    while(true){
+      var existing = inFlight.putIfAbsent(key, flight);
+      if(existing == null || existing.join()) return existing;
+
+      // Everyone has given up on it, replace it
+      inFlight.remove(key, existing);
+    }
+  }
+
+  /**
+   * Performs the request or joins the identical one already in flight
+   *
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @param path        endpoint path
+   * @param request     function that performs the request
+   * @param <T>         result type, must be the same for every request on the same path
+   * @return result
+   * @throws VehicleIDNotFoundException thrown if vehicle id does not exist
+   */
+  @Nonnull
+  <T> T execute(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull String path,
+    @Nonnull Flight<T> request
+  ) throws VehicleIDNotFoundException{
+
+    // Join the request in flight if there's any
+    var key = new Key(accessToken, idString, path);
+    var flight = new InFlight();
+    var existing = registerOrJoin(key, flight);
+    if(existing != null){
+      joiners.incrementAndGet();
+      try{
+        return await(existing.result);
+      }finally{
+        joiners.decrementAndGet();
+      }
+    }
+
+    // Perform it and pass the result on to whoever joined
+    T result;
+    try{
+      result = request.perform();
+    }catch(Throwable throwable){
+      inFlight.remove(key, flight);
+      flight.result.completeExceptionally(throwable);
+      throw throwable;
+    }
+    inFlight.remove(key, flight);
+    flight.result.complete(result);
+    return result;
+  }
+
+  /**
+   * Starts the request or joins the identical one already in flight. Every caller gets its own copy of the future so
+   * cancelling it does not affect the others. Once every caller has given up on its copy, the request is cancelled too
+   *
+   * @param accessToken access token
+   * @param idString    vehicle id
+   * @param path        endpoint path
+   * @param request     function that starts the request
+   * @param <T>         result type, must be the same for every request on the same path
+   * @return future that completes with the result
+   */
+  @SuppressWarnings("unchecked")
+  @Nonnull
+  <T> CompletableFuture<T> executeAsync(
+    @Nonnull String accessToken,
+    @Nonnull String idString,
+    @Nonnull String path,
+    @Nonnull Supplier<CompletableFuture<T>> request
+  ){
+
+    // Join the request in flight if there's any
+    var key = new Key(accessToken, idString, path);
+    var flight = new InFlight();
+    var existing = registerOrJoin(key, flight);
+    if(existing != null) return (CompletableFuture<T>) (CompletableFuture<?>) existing.copy(key, this);
+
+    // Start it and pass the result on to whoever joined
+    try{
+      var call = request.get();
+      flight.call = call;
+      call.whenComplete((result, throwable) -> {
+        inFlight.remove(key, flight);
+        if(throwable != null) flight.result.completeExceptionally(throwable);
+        else flight.result.complete(result);
+      });
+    }catch(RuntimeException | Error e){
+      inFlight.remove(key, flight);
+      flight.result.completeExceptionally(e);
+    }
+    return (CompletableFuture<T>) (CompletableFuture<?>) flight.copy(key, this);
+  }
+
+  /** Function that performs the request */
+  @FunctionalInterface
+  interface Flight<T>{
+    @Nonnull
+    T perform() throws VehicleIDNotFoundException;
+  }
+
+  /** Request in flight and the callers that are waiting on it */
+  private static final class InFlight{
+
+    /** Number of callers once everyone has given up on the request */
+    private static final int ABANDONED = -1;
+
+    /** Result of the request */
+    @Nonnull
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+    /** Number of callers waiting on the result, starts with the one that performs it */
+    @Nonnull
+    private final AtomicInteger callers = new AtomicInteger(1);
+
+    /** Call of the asynchronous request, null if it's performed synchronously or not started yet */
+    @Nullable
+    private volatile CompletableFuture<?> call;
+
+    /**
+     * Adds caller to the request unless everyone has given up on it already
+     *
+     * @return true if joined, false if the request has been abandoned
+     */
+    private boolean join(){
+      while(true){
+        var count = callers.get();
+        if(count == ABANDONED) return false;
+        if(callers.compareAndSet(count, count + 1)) return true;
+      }
+    }
+
+    /**
+     * Returns copy of the result for a caller, the request is cancelled once every caller has given up on its copy
+     *
+     * @param key    request key
+     * @param parent single flight the request is registered in
+     * @return copy
+     */
+    @Nonnull
+    private CompletableFuture<Object> copy(@Nonnull Key key, @Nonnull SingleFlight parent){
+      var copy = result.copy();
+      copy.whenComplete((value, throwable) -> {
+
+        // Done or someone else is still waiting
+        if(result.isDone() || callers.decrementAndGet() != 0 || !callers.compareAndSet(0, ABANDONED)) return;
+
+        // Nobody is waiting anymore
+        parent.inFlight.remove(key, this);
+        var pending = call;
+        if(pending != null) pending.cancel(true);
+      });
+      return copy;
+    }
+  }
+
+  /** Request key */
+  private static final class Key{
+
+    /** Access token */
+    @Nonnull
+    private final String accessToken;
+
+    /** Vehicle id */
+    @Nonnull
+    private final String idString;
+
+    /** Endpoint path */
+    @Nonnull
+    private final String path;
+
+    private Key(@Nonnull String accessToken, @Nonnull String idString, @Nonnull String path){
+      this.accessToken = accessToken;
+      this.idString = idString;
+      this.path = path;
+    }
+
+    @Override
+    public boolean equals(Object o){
+      if(this == o) return true;
+      if(!(o instanceof Key key)) return false;
+      return accessToken.equals(key.accessToken) && idString.equals(key.idString) && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode(){
+      return Objects.hash(accessToken, idString, path);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.ansill.tesla.api.raw.exception;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.ansill.utility.Utility.f;
+
+/** Exception thrown when a request has been held back by the client's rate limiter or throttled by the server */
+public class RateLimitedException extends RuntimeException{
+
+  /** Serial Version ID */
+  private static final long serialVersionUID = -2189450167523874416L;
+
+  /** Message */
+  private static final String MESSAGE = "Rate limit exceeded";
+
+  /** Extra Message */
+  private static final String EXTRA_MESSAGE = MESSAGE + ", retry after {}";
+
+  /** Time until a permit frees up */
+  @Nullable
+  private final Duration retryAfter;
+
+  /**
+   * Constructor that takes in time until a permit frees up and formats exception message
+   *
+   * @param retryAfter time until a permit frees up or null if it's unknown
+   */
+  public RateLimitedException(@Nullable Duration retryAfter){
+    super(retryAfter == null ? MESSAGE : f(EXTRA_MESSAGE, retryAfter));
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Returns time until a permit frees up
+   *
+   * @return optional that contains the time, empty if it's unknown
+   */
+  @Nonnull
+  public Optional<Duration> getRetryAfter(){
+    return Optional.ofNullable(retryAfter);
+  }
+}
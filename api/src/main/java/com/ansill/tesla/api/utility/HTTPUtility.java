@@ -1,12 +1,19 @@
 package com.ansill.tesla.api.utility;
 
+import com.ansill.tesla.api.jfr.HttpCallEvent;
+import jdk.jfr.EventType;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 
@@ -21,6 +28,13 @@ public final class HTTPUtility{
   @Deprecated
   public static final AtomicReference<BiConsumer<Request,ReusableResponse>> HTTP_LOGGING = new AtomicReference<>();
 
+  /** Path segment that is followed by the vehicle id */
+  private static final String VEHICLES_SEGMENT = "vehicles";
+
+  /** Flight recorder event type of the calls, checked so the calls don't allocate the event when it's disabled */
+  @Nonnull
+  private static final EventType HTTP_CALL_EVENT_TYPE = EventType.getEventType(HttpCallEvent.class);
+
   private HTTPUtility(){
     throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
   }
@@ -32,20 +46,127 @@ public final class HTTPUtility{
     return Optional.of(body.string());
   }
 
+  /**
+   * Returns URL path with the vehicle id replaced by {id}, so the calls of all vehicles share the same template
+   *
+   * @param url URL
+   * @return template
+   */
+  @Nonnull
+  static String urlTemplateOf(@Nonnull HttpUrl url){
+    var segments = url.encodedPathSegments();
+    var builder = new StringBuilder();
+    for(int index = 0; index < segments.size(); index++){
+      builder.append('/');
+      if(index > 0 && segments.get(index - 1).equals(VEHICLES_SEGMENT)) builder.append("{id}");
+      else builder.append(segments.get(index));
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Commits the flight recorder event of the call if the recording wants it
+   *
+   * @param event     event that has begun when the call was sent or null if the event is disabled
+   * @param request   request
+   * @param response  response or null if the call has failed
+   * @param exception exception the call has failed with or null if it has not failed
+   */
+  private static void commit(
+    @Nullable HttpCallEvent event,
+    @Nonnull Request request,
+    @Nullable ReusableResponse response,
+    @Nullable Throwable exception
+  ){
+    if(event == null) return;
+    event.end();
+    if(!event.shouldCommit()) return;
+    event.method = request.method();
+    event.urlTemplate = urlTemplateOf(request.url());
+    event.statusCode = response == null ? 0 : response.code();
+    event.bytes = response == null ? -1 : response.contentLength();
+    event.failure = exception == null ? null : exception.getClass().getName();
+    event.commit();
+  }
+
   @Nonnull
   public static ReusableResponse httpCall(
     @Nonnull Request request,
     @Nonnull AtomicReference<OkHttpClient> clientRef
   ) throws IOException{
+
+    // Only time the call if the flight recorder wants it
+    var event = HTTP_CALL_EVENT_TYPE.isEnabled() ? new HttpCallEvent() : null;
+    if(event != null) event.begin();
     ReusableResponse reusableResponse = null;
+    Throwable failure = null;
     try{
       reusableResponse = new ReusableResponse(clientRef.get().newCall(request).execute());
+    }catch(IOException | RuntimeException e){
+      failure = e;
+      throw e;
     }finally{
+      commit(event, request, reusableResponse, failure);
       var consumer = HTTP_LOGGING.get();
       if(consumer != null) consumer.accept(request, reusableResponse);
     }
     return reusableResponse;
   }
 
+  /**
+   * Enqueues the request on the client's dispatcher. The returned future is completed on the dispatcher thread, either
+   * with the response or exceptionally with IOException
+   *
+   * @param request   request
+   * @param clientRef client reference
+   * @return future that completes with the response
+   */
+  @Nonnull
+  public static CompletableFuture<ReusableResponse> httpCallAsync(
+    @Nonnull Request request,
+    @Nonnull AtomicReference<OkHttpClient> clientRef
+  ){
+
+    // Set up future
+    var future = new CompletableFuture<ReusableResponse>();
+
+    // Enqueue it, only timed if the flight recorder wants it
+    var event = HTTP_CALL_EVENT_TYPE.isEnabled() ? new HttpCallEvent() : null;
+    if(event != null) event.begin();
+    var call = clientRef.get().newCall(request);
+    call.enqueue(new Callback(){
+      @Override
+      public void onFailure(@Nonnull Call call, @Nonnull IOException exception){
+        try{
+          commit(event, request, null, exception);
+          var consumer = HTTP_LOGGING.get();
+          if(consumer != null) consumer.accept(request, null);
+        }finally{
+          future.completeExceptionally(exception);
+        }
+      }
+
+      @Override
+      public void onResponse(@Nonnull Call call, @Nonnull Response response){
+        var reusableResponse = new ReusableResponse(response);
+        try{
+          commit(event, request, reusableResponse, null);
+          var consumer = HTTP_LOGGING.get();
+          if(consumer != null) consumer.accept(request, reusableResponse);
+        }finally{
+          if(!future.complete(reusableResponse)) reusableResponse.close();
+        }
+      }
+    });
+
+    // Cancel the call if caller gives up on the future
+    future.whenComplete((response, throwable) -> {
+      if(future.isCancelled()) call.cancel();
+    });
+
+    // Return it
+    return future;
+  }
+
 }
 
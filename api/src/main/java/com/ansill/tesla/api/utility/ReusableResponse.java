@@ -4,7 +4,10 @@ import okhttp3.Response;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static com.ansill.utility.Utility.simpleToString;
@@ -20,6 +23,9 @@ public class ReusableResponse implements AutoCloseable{
   @Nullable
   private String bodyString = null;
 
+  /** Flag whether the body has been handed out as a stream */
+  private boolean streamed = false;
+
   /**
    * Creates reusable response from response
    *
@@ -38,6 +44,27 @@ public class ReusableResponse implements AutoCloseable{
     return response.code();
   }
 
+  /**
+   * HTTP response header
+   *
+   * @param name header name
+   * @return optional string containing header value, empty if there's no such header
+   */
+  @Nonnull
+  public Optional<String> header(@Nonnull String name){
+    return Optional.ofNullable(response.header(name));
+  }
+
+  /**
+   * HTTP response body size from the headers
+   *
+   * @return size in bytes, -1 if unknown
+   */
+  public long contentLength(){
+    var body = response.body();
+    return body == null ? -1 : body.contentLength();
+  }
+
   /**
    * Retrieve body as string
    *
@@ -47,10 +74,38 @@ public class ReusableResponse implements AutoCloseable{
   @Nonnull
   public synchronized Optional<String> getBodyAsString() throws IOException{
     if(bodyString != null) return Optional.of(bodyString);
+    if(streamed) throw new IOException("The body has already been consumed as a stream");
     bodyString = HTTPUtility.getStringFromResponseBody(response).orElse(null);
     return Optional.ofNullable(bodyString);
   }
 
+  /**
+   * Retrieve body as stream without buffering it. If the body has been buffered already, the stream reads from the
+   * buffered string instead. Otherwise the body can be streamed only once and cannot be read as string after that
+   *
+   * @return optional stream containing body
+   * @throws IOException thrown if the body has already been streamed
+   */
+  @Nonnull
+  public synchronized Optional<InputStream> getBodyAsStream() throws IOException{
+    if(bodyString != null) return Optional.of(new ByteArrayInputStream(bodyString.getBytes(StandardCharsets.UTF_8)));
+    if(streamed) throw new IOException("The body has already been consumed as a stream");
+    var body = response.body();
+    if(body == null) return Optional.empty();
+    streamed = true;
+    return Optional.of(body.byteStream());
+  }
+
+  /**
+   * Retrieve body as string only if it has been buffered already
+   *
+   * @return optional string containing body string
+   */
+  @Nonnull
+  public synchronized Optional<String> getBufferedBody(){
+    return Optional.ofNullable(bodyString);
+  }
+
   @Override
   public void close(){
     bodyString = null;
@@ -60,7 +115,7 @@ public class ReusableResponse implements AutoCloseable{
   @Override
   public String toString(){
     try{
-      getBodyAsString();
+      if(!streamed) getBodyAsString();
     }catch(IOException e){
       e.printStackTrace();
     }
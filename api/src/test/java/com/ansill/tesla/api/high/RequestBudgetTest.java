@@ -0,0 +1,66 @@
+package com.ansill.tesla.api.high;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestBudgetTest{
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setUpEach(){
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  void tearDownEach(){
+    executor.shutdownNow();
+  }
+
+  private static Duration chargeTwice(){
+    var startAt = System.nanoTime();
+    RequestBudget.charge();
+    RequestBudget.charge();
+    return Duration.ofNanos(System.nanoTime() - startAt);
+  }
+
+  @Test
+  void tasksSetOffByPollAreCharged(){
+
+    // Five requests per second, the second request of a task waits for its permit
+    var budget = new RequestBudget(5);
+    var charging = RequestBudget.charging(executor);
+
+    // Task that a poll sets off on another thread
+    var waited = new CompletableFuture<Duration>();
+    budget.runPrepaid(() -> {
+      charging.execute(() -> waited.complete(chargeTwice()));
+      return null;
+    });
+
+    // It's charged to the budget of the poll
+    var duration = assertDoesNotThrow(() -> waited.get(5, TimeUnit.SECONDS));
+    assertTrue(duration.compareTo(Duration.ofMillis(150)) >= 0, "Task waited " + duration);
+  }
+
+  @Test
+  void tasksOutsideOfPollsAreNotCharged(){
+
+    // Task that is set off outside of the polls
+    var waited = new CompletableFuture<Duration>();
+    RequestBudget.charging(executor).execute(() -> waited.complete(chargeTwice()));
+
+    // It doesn't wait for anything
+    var duration = assertDoesNotThrow(() -> waited.get(5, TimeUnit.SECONDS));
+    assertTrue(duration.compareTo(Duration.ofMillis(150)) < 0, "Task waited " + duration);
+  }
+}
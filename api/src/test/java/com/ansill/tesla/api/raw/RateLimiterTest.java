@@ -0,0 +1,72 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.model.RateLimitMode;
+import com.ansill.tesla.api.model.RateLimitPolicy;
+import com.ansill.tesla.api.raw.RateLimiter.Budget;
+import com.ansill.tesla.api.raw.exception.RateLimitedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest{
+
+  private static final int THREADS = 16;
+
+  private static final int ROUNDS = 200;
+
+  @Test
+  void failFastNeverReservesAheadUnderContention() throws InterruptedException{
+
+    // Both buckets hand out one permit per caller and barely refill, so every round has one permit per bucket to give
+    var executor = Executors.newFixedThreadPool(THREADS);
+    try{
+      for(int round = 0; round < ROUNDS; round++){
+        var limiter = new RateLimiter(RateLimitPolicy.builder()
+                                                     .setPerTokenDataLimit(RateLimitPolicy.Limit.of(1.0 / 60, 1))
+                                                     .setGlobalDataLimit(RateLimitPolicy.Limit.of(1.0 / 60, 1))
+                                                     .setMode(RateLimitMode.FAIL_FAST)
+                                                     .build());
+        var accessToken = generateString(32);
+
+        // Everyone asks at once
+        var start = new CountDownLatch(1);
+        var permits = new ArrayList<CompletableFuture<CompletableFuture<Void>>>();
+        for(int i = 0; i < THREADS; i++){
+          permits.add(CompletableFuture.supplyAsync(() -> {
+            assertDoesNotThrow(() -> start.await());
+            return limiter.acquireAsync(accessToken, Budget.DATA);
+          }, executor));
+        }
+        start.countDown();
+
+        // One gets the permit right away, everyone else fails instead of waiting for it
+        var granted = new AtomicInteger();
+        var limited = new AtomicInteger();
+        for(var permit : permits){
+          var future = assertDoesNotThrow(() -> permit.get(5, TimeUnit.SECONDS));
+          assertTrue(future.isDone(), "Fail-fast permit has been reserved ahead");
+          try{
+            future.get();
+            granted.incrementAndGet();
+          }catch(ExecutionException e){
+            assertTrue(e.getCause() instanceof RateLimitedException);
+            limited.incrementAndGet();
+          }
+        }
+        assertEquals(1, granted.get());
+        assertEquals(THREADS - 1, limited.get());
+      }
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,266 @@
+package com.ansill.tesla.api.raw;
+
+import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.ansill.tesla.api.test.TestUtility.*;
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest{
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLE_HANDLER = new AtomicReference<>();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLE_DATA_HANDLER = new AtomicReference<>();
+
+  private static Javalin SERVER;
+
+  private static int PORT;
+
+  private Client client;
+
+  @BeforeAll
+  static void setUp(){
+
+    // Set port
+    PORT = 2000;
+
+    // Loop until available port exists
+    var success = false;
+    do{
+
+      // Attempt to start server
+      try{
+        SERVER = Javalin.create().start(PORT);
+
+        // If no exception, mark success
+        success = true;
+
+      }catch(Exception e){
+
+        // Increment port
+        PORT++;
+      }
+
+    }while(!success);
+
+    // Bind endpoints
+    SERVER.get("/api/1/vehicles/:id/:type", ctx -> VEHICLE_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles/:id/data_request/:type", ctx -> VEHICLE_DATA_HANDLER.get().accept(ctx));
+
+  }
+
+  @AfterAll
+  static void tearDown(){
+    SERVER.stop();
+  }
+
+  @BeforeEach
+  void setUpEach(){
+    client = Client.builder()
+                   .setUrl("http://localhost:" + PORT)
+                   .setClientId(generateString(16))
+                   .setClientSecret(generateString(16))
+                   .build();
+  }
+
+  @AfterEach
+  void tearDownEach(){
+    client.close();
+  }
+
+  @Test
+  void identicalRequestsAreCoalesced() throws InterruptedException{
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Set up client that counts the parses through the unknown field in the response
+    var unknownField = "unknown_" + generateString(8).toLowerCase();
+    var parses = new AtomicInteger();
+    var countingClient = Client.builder()
+                               .setUrl("http://localhost:" + PORT)
+                               .setClientId(generateString(16))
+                               .setClientSecret(generateString(16))
+                               .setUnknownFieldsFunction(fields -> {
+                                 if(fields.containsKey(unknownField)) parses.incrementAndGet();
+                                 return false;
+                               })
+                               .build();
+
+    // Set up 'catch' function that holds the response until it's let go
+    var hits = new AtomicInteger();
+    var release = new CountDownLatch(1);
+    VEHICLE_HANDLER.set(ctx -> {
+      hits.incrementAndGet();
+      try{
+        assertTrue(release.await(10, TimeUnit.SECONDS));
+      }catch(InterruptedException e){
+        Thread.currentThread().interrupt();
+      }
+      var tree = OBJECT_MAPPER.valueToTree(new CompleteVehicleDataResponse(vehicle));
+      ((ObjectNode) tree.get("response")).put(unknownField, 42);
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, tree));
+    });
+
+    // Fire identical requests, let the first one go once all others have joined it
+    var executor = Executors.newFixedThreadPool(8);
+    try{
+      var futures = IntStream.range(0, 8)
+                             .mapToObj(i -> CompletableFuture.supplyAsync(
+                               () -> assertDoesNotThrow(() -> countingClient.getVehicleData(
+                                 accessToken,
+                                 vehicle.getIdString()
+                               )),
+                               executor
+                             ))
+                             .collect(Collectors.toList());
+      await(() -> countingClient.getSingleFlight().getJoiners() == 7);
+      release.countDown();
+
+      // All of them got the same response from one request and one parse
+      var first = assertDoesNotThrow(() -> futures.get(0).get(10, TimeUnit.SECONDS));
+      assertEquals(vehicle, first.getResponse());
+      for(var future : futures) assertSame(first, assertDoesNotThrow(() -> future.get(10, TimeUnit.SECONDS)));
+      assertEquals(1, hits.get());
+      assertEquals(1, parses.get());
+      assertEquals(0, countingClient.getSingleFlight().getJoiners());
+    }finally{
+      executor.shutdownNow();
+      countingClient.close();
+    }
+  }
+
+  @Test
+  void differentRequestsAreNotSerialized() throws InterruptedException{
+
+    // Get old refresh tokens
+    var accessToken = generateString(32);
+    var otherAccessToken = generateString(32);
+
+    // Ids
+    var vehicle = generateCompleteVehicle();
+    var otherVehicle = generateCompleteVehicle();
+
+    // Set up 'catch' function that holds the first request until it's let go
+    var arrived = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    VEHICLE_HANDLER.set(ctx -> {
+      var isHeld = ctx.pathParam("id").equals(vehicle.getIdString()) &&
+                   ctx.header("Authorization").equals("Bearer " + accessToken);
+      if(isHeld){
+        arrived.countDown();
+        try{
+          assertTrue(release.await(10, TimeUnit.SECONDS));
+        }catch(InterruptedException e){
+          Thread.currentThread().interrupt();
+        }
+      }
+      ctx.status(200);
+      ctx.json(new CompleteVehicleDataResponse(
+        ctx.pathParam("id").equals(vehicle.getIdString()) ? vehicle : otherVehicle
+      ));
+    });
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      ctx.status(200);
+      ctx.json(Collections.singletonMap("response", vehicle.getChargeState()));
+    });
+
+    // Hold the request in flight
+    var held = CompletableFuture.supplyAsync(() -> assertDoesNotThrow(() -> client.getVehicleData(
+      accessToken,
+      vehicle.getIdString()
+    )));
+    assertTrue(arrived.await(10, TimeUnit.SECONDS));
+
+    // Other token, other endpoint and other vehicle go through while it's held
+    var otherToken = assertDoesNotThrow(() -> client.getVehicleData(otherAccessToken, vehicle.getIdString()));
+    assertEquals(vehicle, otherToken.getResponse());
+    var otherEndpoint = assertDoesNotThrow(() -> client.getVehicleChargeState(accessToken, vehicle.getIdString()));
+    assertEquals(vehicle.getChargeState(), otherEndpoint);
+    var other = assertDoesNotThrow(() -> client.getVehicleData(accessToken, otherVehicle.getIdString()));
+    assertEquals(otherVehicle, other.getResponse());
+    assertFalse(held.isDone());
+    assertEquals(0, client.getSingleFlight().getJoiners());
+
+    // Let it go
+    release.countDown();
+    var result = assertDoesNotThrow(() -> held.get(10, TimeUnit.SECONDS));
+    assertEquals(vehicle, result.getResponse());
+  }
+
+  @Test
+  void cancellingEveryCallerCancelsTheRequest() throws InterruptedException{
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Set up 'catch' function that holds the response until it's let go
+    var hits = new AtomicInteger();
+    var release = new CountDownLatch(1);
+    VEHICLE_HANDLER.set(ctx -> {
+      hits.incrementAndGet();
+      try{
+        assertTrue(release.await(10, TimeUnit.SECONDS));
+      }catch(InterruptedException e){
+        Thread.currentThread().interrupt();
+      }
+      ctx.status(200);
+      ctx.json(new CompleteVehicleDataResponse(vehicle));
+    });
+
+    // Fire identical requests
+    var futures = IntStream.range(0, 3)
+                           .mapToObj(i -> client.async().getVehicleData(accessToken, vehicle.getIdString()))
+                           .collect(Collectors.toList());
+    await(() -> hits.get() == 1);
+    var dispatcher = client.getClientReference().get().dispatcher();
+    assertEquals(1, dispatcher.runningCallsCount());
+
+    // Request keeps going while someone is still waiting on it
+    futures.get(0).cancel(true);
+    futures.get(1).cancel(true);
+    assertEquals(1, dispatcher.runningCallsCount());
+    assertFalse(futures.get(2).isDone());
+
+    // Last one gives up, the call is cancelled
+    futures.get(2).cancel(true);
+    await(() -> dispatcher.runningCallsCount() == 0);
+
+    // Next identical request starts over instead of joining the cancelled one
+    release.countDown();
+    var result = assertDoesNotThrow(() -> client.async()
+                                                .getVehicleData(accessToken, vehicle.getIdString())
+                                                .get(10, TimeUnit.SECONDS));
+    assertEquals(vehicle, result.getResponse());
+    assertEquals(2, hits.get());
+  }
+}
@@ -0,0 +1,382 @@
+package com.ansill.tesla.api.test;
+
+import com.ansill.tesla.api.model.CacheMode;
+import com.ansill.tesla.api.model.CachePolicy;
+import com.ansill.tesla.api.model.CachedValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedValueTest{
+
+  private static final int THREADS = 16;
+
+  private static AtomicReference<AtomicReference<Duration>> lifetimeOf(Duration duration){
+    return new AtomicReference<>(new AtomicReference<>(duration));
+  }
+
+  private static void sleep(long millis){
+    try{
+      Thread.sleep(millis);
+    }catch(InterruptedException e){
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void awaitOrFail(CountDownLatch latch){
+    try{
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }catch(InterruptedException e){
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Test
+  void testUpdateAndInvalidate(){
+
+    // Set up values
+    var cache = new CachedValue<String>(lifetimeOf(Duration.ofMinutes(1)));
+
+    // Empty to begin with
+    assertEquals(Optional.empty(), cache.get());
+    assertEquals(Optional.empty(), cache.getIfValid());
+
+    // Update it
+    cache.update("value");
+    assertEquals(Optional.of("value"), cache.get());
+    assertEquals(Optional.of("value"), cache.getIfValid());
+    assertEquals("value", cache.getOrUpdate(() -> fail("Valid value must not be updated")));
+
+    // Invalidate it
+    cache.invalidate();
+    assertEquals(Optional.empty(), cache.get());
+    assertEquals("new value", cache.getOrUpdate(() -> "new value"));
+    assertEquals(Optional.of("new value"), cache.get());
+  }
+
+  @Test
+  void testExpiredValue(){
+
+    // Set up values
+    var lifetime = lifetimeOf(Duration.ofMinutes(1));
+    var cache = new CachedValue<>(lifetime, "old value");
+
+    // Expire it
+    lifetime.get().set(Duration.ofNanos(-1));
+    assertEquals(Optional.of("old value"), cache.get());
+    assertEquals(Optional.empty(), cache.getIfValid());
+
+    // Update it
+    assertEquals("new value", cache.getOrUpdate(() -> "new value"));
+  }
+
+  @Test
+  void testConcurrentHits() throws Exception{
+
+    // Set up values
+    var cache = new CachedValue<>(lifetimeOf(Duration.ofMinutes(1)), "value");
+    var calls = new AtomicInteger();
+    var start = new CountDownLatch(1);
+
+    // Read it from many threads
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try{
+      var futures = new ArrayList<Future<String>>();
+      for(int i = 0; i < THREADS; i++){
+        futures.add(executor.submit(() -> {
+          awaitOrFail(start);
+          String value = null;
+          for(int j = 0; j < 1000; j++) value = cache.getOrUpdate(() -> "call " + calls.incrementAndGet());
+          return value;
+        }));
+      }
+      start.countDown();
+
+      // Everyone got the cached value without calling the supplier
+      for(var future : futures) assertEquals("value", future.get(10, TimeUnit.SECONDS));
+      assertEquals(0, calls.get());
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testConcurrentMissesCallSupplierOnce() throws Exception{
+
+    // Set up values
+    var cache = new CachedValue<String>(lifetimeOf(Duration.ofMinutes(1)));
+    var calls = new AtomicInteger();
+    var start = new CountDownLatch(1);
+
+    // Read it from many threads with slow supplier
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try{
+      var futures = new ArrayList<Future<String>>();
+      for(int i = 0; i < THREADS; i++){
+        futures.add(executor.submit(() -> {
+          awaitOrFail(start);
+          return cache.getOrUpdate(() -> {
+            try{
+              Thread.sleep(100);
+            }catch(InterruptedException e){
+              throw new RuntimeException(e);
+            }
+            return "call " + calls.incrementAndGet();
+          });
+        }));
+      }
+      start.countDown();
+
+      // Only one of them called the supplier, the rest took its value
+      for(var future : futures) assertEquals("call 1", future.get(10, TimeUnit.SECONDS));
+      assertEquals(1, calls.get());
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testInvalidateRacingUpdate() throws Exception{
+
+    // Set up values
+    var cache = new CachedValue<String>(lifetimeOf(Duration.ofMinutes(1)));
+    var supplierStarted = new CountDownLatch(1);
+    var supplierRelease = new CountDownLatch(1);
+
+    // Start update that waits on the latch
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try{
+      var future = executor.submit(() -> cache.getOrUpdate(() -> {
+        supplierStarted.countDown();
+        awaitOrFail(supplierRelease);
+        return "fetched value";
+      }));
+
+      // Invalidate it while the supplier runs
+      awaitOrFail(supplierStarted);
+      cache.invalidate();
+      supplierRelease.countDown();
+
+      // Caller gets the fetched value but it's not cached over the invalidation
+      assertEquals("fetched value", future.get(10, TimeUnit.SECONDS));
+      assertEquals(Optional.empty(), cache.get());
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testUpdateRacingUpdate() throws Exception{
+
+    // Set up values
+    var lifetime = lifetimeOf(Duration.ofMinutes(1));
+    var cache = new CachedValue<>(lifetime, "old value");
+    lifetime.get().set(Duration.ofNanos(-1));
+    var supplierStarted = new CountDownLatch(1);
+    var supplierRelease = new CountDownLatch(1);
+
+    // Start update that waits on the latch
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try{
+      var future = executor.submit(() -> cache.getOrUpdate(() -> {
+        supplierStarted.countDown();
+        awaitOrFail(supplierRelease);
+        return "fetched value";
+      }));
+
+      // Replace it while the supplier runs
+      awaitOrFail(supplierStarted);
+      cache.update("pushed value");
+      supplierRelease.countDown();
+
+      // Replacement is kept
+      assertEquals("fetched value", future.get(10, TimeUnit.SECONDS));
+      assertEquals(Optional.of("pushed value"), cache.get());
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testPolicyValidation(){
+    Executor executor = Runnable::run;
+    assertDoesNotThrow(() -> new CachePolicy(CacheMode.BLOCKING, Duration.ZERO, 1.0, null));
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofSeconds(1), 1.0, null)
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new CachePolicy(CacheMode.REFRESH_AHEAD, Duration.ZERO, 0.5, null)
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofSeconds(-1), 1.0, executor)
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new CachePolicy(CacheMode.REFRESH_AHEAD, Duration.ZERO, 0, executor)
+    );
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> new CachePolicy(CacheMode.REFRESH_AHEAD, Duration.ZERO, 1.5, executor)
+    );
+  }
+
+  @Test
+  void testStaleValueWithinWindow(){
+
+    // Set up values
+    var tasks = new ConcurrentLinkedQueue<Runnable>();
+    var policy = new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofMinutes(1), 1.0, tasks::add);
+    var cache = new CachedValue<>(lifetimeOf(Duration.ZERO), policy, "old value");
+    sleep(5);
+
+    // Stale value is returned right away and the update is left to the executor
+    assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertEquals(1, tasks.size());
+    assertEquals(Optional.of("old value"), cache.get());
+
+    // Run the update
+    tasks.remove().run();
+    assertEquals(Optional.of("new value"), cache.get());
+  }
+
+  @Test
+  void testStaleValuePastWindow(){
+
+    // Set up values
+    var tasks = new ConcurrentLinkedQueue<Runnable>();
+    var policy = new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofMillis(20), 1.0, tasks::add);
+    var cache = new CachedValue<>(lifetimeOf(Duration.ZERO), policy, "old value");
+    sleep(50);
+
+    // Caller waits on the update
+    var caller = Thread.currentThread();
+    assertEquals("new value", cache.getOrUpdate(() -> {
+      assertSame(caller, Thread.currentThread());
+      return "new value";
+    }));
+    assertTrue(tasks.isEmpty());
+    assertEquals(Optional.of("new value"), cache.get());
+  }
+
+  @Test
+  void testRefreshAhead(){
+
+    // Set up values, the update kicks in a thousandth into the lifetime
+    var tasks = new ConcurrentLinkedQueue<Runnable>();
+    var policy = new CachePolicy(CacheMode.REFRESH_AHEAD, Duration.ZERO, 0.001, tasks::add);
+    var lifetime = lifetimeOf(Duration.ofHours(1));
+    var cache = new CachedValue<>(lifetime, policy, "old value");
+
+    // Not past the ratio yet
+    assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertTrue(tasks.isEmpty());
+
+    // Past the ratio, the update fires once no matter how many reads
+    sleep(10);
+    lifetime.get().set(Duration.ofSeconds(1));
+    for(int i = 0; i < 10; i++) assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertEquals(1, tasks.size());
+
+    // Run the update, the new value is fresh so nothing fires
+    tasks.remove().run();
+    lifetime.get().set(Duration.ofHours(1));
+    assertEquals("new value", cache.getOrUpdate(() -> "newer value"));
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Test
+  void testOneBackgroundUpdateAtATime() throws Exception{
+
+    // Set up values
+    var calls = new AtomicInteger();
+    var supplierStarted = new CountDownLatch(1);
+    var supplierRelease = new CountDownLatch(1);
+    ExecutorService executor = Executors.newCachedThreadPool();
+    try{
+      var policy = new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofMinutes(1), 1.0, executor);
+      var cache = new CachedValue<>(lifetimeOf(Duration.ZERO), policy, "old value");
+      sleep(5);
+
+      // Hammer it while the update is stuck
+      for(int i = 0; i < 100; i++){
+        assertEquals("old value", cache.getOrUpdate(() -> {
+          calls.incrementAndGet();
+          supplierStarted.countDown();
+          awaitOrFail(supplierRelease);
+          return "new value";
+        }));
+      }
+      awaitOrFail(supplierStarted);
+      assertEquals(1, calls.get());
+
+      // Let it finish
+      supplierRelease.countDown();
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+      assertEquals(1, calls.get());
+      assertEquals(Optional.of("new value"), cache.get());
+    }finally{
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testFailedBackgroundUpdateKeepsValue(){
+
+    // Set up values
+    var tasks = new ConcurrentLinkedQueue<Runnable>();
+    var policy = new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofMinutes(1), 1.0, tasks::add);
+    var cache = new CachedValue<>(lifetimeOf(Duration.ZERO), policy, "old value");
+    sleep(5);
+
+    // Failing update
+    assertEquals("old value", cache.getOrUpdate(() -> {
+      throw new IllegalStateException("Failed");
+    }));
+    assertEquals(1, tasks.size());
+    assertDoesNotThrow(() -> tasks.remove().run());
+    assertEquals(Optional.of("old value"), cache.get());
+
+    // Next read tries again
+    assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertEquals(1, tasks.size());
+    tasks.remove().run();
+    assertEquals(Optional.of("new value"), cache.get());
+  }
+
+  @Test
+  void testRejectedBackgroundUpdateKeepsValue(){
+
+    // Set up values
+    var rejected = new AtomicInteger();
+    Executor executor = command -> {
+      rejected.incrementAndGet();
+      throw new RejectedExecutionException("Full");
+    };
+    var policy = new CachePolicy(CacheMode.STALE_WHILE_REVALIDATE, Duration.ofMinutes(1), 1.0, executor);
+    var cache = new CachedValue<>(lifetimeOf(Duration.ZERO), policy, "old value");
+    sleep(5);
+
+    // Rejected update keeps the value and is tried again on the next read
+    assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertEquals("old value", cache.getOrUpdate(() -> "new value"));
+    assertEquals(2, rejected.get());
+  }
+}
@@ -0,0 +1,370 @@
+package com.ansill.tesla.api.test;
+
+import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.response.VehiclesResponse;
+import com.ansill.tesla.api.high.Account;
+import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.ansill.tesla.api.test.TestUtility.*;
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetFetchTest{
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final AtomicReference<Consumer<Context>> AUTHENTICATION_HANDLER = new AtomicReference<>();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLES_HANDLER = new AtomicReference<>();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLE_DATA_HANDLER = new AtomicReference<>();
+
+  private static Javalin SERVER;
+
+  private static int PORT;
+
+  private final AtomicInteger dataRequests = new AtomicInteger();
+
+  private Client client;
+
+  private Account account;
+
+  @BeforeAll
+  static void setUp(){
+
+    // Set port
+    PORT = 2000;
+
+    // Loop until available port exists
+    var success = false;
+    do{
+
+      // Attempt to start server
+      try{
+        SERVER = Javalin.create().start(PORT);
+
+        // If no exception, mark success
+        success = true;
+
+      }catch(Exception e){
+
+        // Increment port
+        PORT++;
+      }
+
+    }while(!success);
+
+    // Bind endpoints
+    SERVER.post("/oauth/token", ctx -> AUTHENTICATION_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles", ctx -> VEHICLES_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles/:id/:type", ctx -> VEHICLE_DATA_HANDLER.get().accept(ctx));
+
+  }
+
+  @AfterAll
+  static void tearDown(){
+    SERVER.stop();
+  }
+
+  @BeforeEach
+  void setUpEach(){
+    var client_id = generateString(16);
+    var client_secret = generateString(16);
+    client = Client.builder()
+                   .setUrl("http://localhost:" + PORT)
+                   .setClientId(client_id)
+                   .setClientSecret(client_secret)
+                   .build();
+    var email = generateEmailAddress();
+    var pass = generateString(32);
+    var accessToken = generateString(32);
+    AUTHENTICATION_HANDLER.set(ctx -> HighAccountTest.auth(
+      ctx,
+      email,
+      pass,
+      client_id,
+      client_secret,
+      accessToken,
+      generateString(32),
+      Instant.now().getEpochSecond(),
+      (int) Duration.ofDays(100).getSeconds(),
+      "1"
+    ));
+    account = client.authenticate(email, pass).orElseThrow();
+  }
+
+  @AfterEach
+  void tearDownEach(){
+    account.close();
+    client.close();
+  }
+
+  private List<com.ansill.tesla.api.high.Vehicle> listVehicles(List<Vehicle> vehicles, Consumer<Context> handler){
+    VEHICLES_HANDLER.set(ctx -> {
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new VehiclesResponse(vehicles, vehicles.size())));
+    });
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      assertEquals("vehicle_data", ctx.pathParam("type"));
+      dataRequests.incrementAndGet();
+      handler.accept(ctx);
+    });
+    return new ArrayList<>(account.getVehicles());
+  }
+
+  private static List<Vehicle> generateOnlineVehicles(int count){
+    var vehicles = new ArrayList<Vehicle>(count);
+    for(int i = 0; i < count; i++) vehicles.add(generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE));
+    return vehicles;
+  }
+
+  @Test
+  void concurrencyStaysWithinLimit(){
+
+    // Every data request takes a while
+    var inFlight = new AtomicInteger();
+    var maxInFlight = new AtomicInteger();
+    var vehicles = listVehicles(generateOnlineVehicles(10), ctx -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try{
+        Thread.sleep(50);
+      }catch(InterruptedException e){
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+      ctx.status(408);
+    });
+
+    // Fetch them three at a time
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var future = client.fetchVehicleSnapshots(vehicles, 3, outcomes::add);
+    assertDoesNotThrow(() -> future.get(10, TimeUnit.SECONDS));
+
+    // All are done and never more than three were running
+    assertEquals(10, outcomes.size());
+    assertEquals(10, dataRequests.get());
+    assertEquals(3, maxInFlight.get());
+  }
+
+  @Test
+  void outcomesArriveAsEachVehicleFinishes() throws InterruptedException{
+
+    // One vehicle answers only when it's let go
+    var generated = generateOnlineVehicles(2);
+    var slowId = generated.get(0).getIdString();
+    var release = new CountDownLatch(1);
+    var vehicles = listVehicles(generated, ctx -> {
+      if(ctx.pathParam("id").equals(slowId)){
+        try{
+          assertTrue(release.await(5, TimeUnit.SECONDS));
+        }catch(InterruptedException e){
+          Thread.currentThread().interrupt();
+        }
+      }
+      ctx.status(408);
+    });
+
+    // The fast one arrives while the slow one is still being fetched
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var future = client.fetchVehicleSnapshots(vehicles, 2, outcomes::add);
+    var first = outcomes.poll(5, TimeUnit.SECONDS);
+    assertNotNull(first);
+    assertEquals(generated.get(1).getIdString(), first.getVehicleId());
+    assertFalse(future.isDone());
+
+    // The slow one follows
+    release.countDown();
+    var second = outcomes.poll(5, TimeUnit.SECONDS);
+    assertNotNull(second);
+    assertEquals(slowId, second.getVehicleId());
+    assertDoesNotThrow(() -> future.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void unreachableVehiclesBecomeOutcomes(){
+
+    // Set up vehicles that can't be fetched for different reasons
+    var asleep = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var offline = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.OFFLINE);
+    var inService = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var fellAsleep = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var failing = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var statusCodes = Map.of(inService.getIdString(), 405, fellAsleep.getIdString(), 408, failing.getIdString(), 600);
+    var vehicles = listVehicles(
+      List.of(asleep, offline, inService, fellAsleep, failing),
+      ctx -> ctx.status(statusCodes.get(ctx.pathParam("id")))
+    );
+
+    // Fetch them all
+    Map<String,VehicleSnapshotOutcome> outcomes = new ConcurrentHashMap<>();
+    var future = client.fetchVehicleSnapshots(vehicles, 2, outcome -> outcomes.put(outcome.getVehicleId(), outcome));
+    assertDoesNotThrow(() -> future.get(10, TimeUnit.SECONDS));
+
+    // Each one is reported in its own outcome, vehicles listed asleep or offline are not asked for data
+    assertEquals(5, outcomes.size());
+    assertEquals(VehicleSnapshotOutcome.Status.ASLEEP, outcomes.get(asleep.getIdString()).getStatus());
+    assertEquals(VehicleSnapshotOutcome.Status.OFFLINE, outcomes.get(offline.getIdString()).getStatus());
+    assertEquals(VehicleSnapshotOutcome.Status.IN_SERVICE, outcomes.get(inService.getIdString()).getStatus());
+    assertEquals(VehicleSnapshotOutcome.Status.ASLEEP, outcomes.get(fellAsleep.getIdString()).getStatus());
+    assertEquals(VehicleSnapshotOutcome.Status.FAILED, outcomes.get(failing.getIdString()).getStatus());
+    for(var outcome : outcomes.values()) assertTrue(outcome.getError().isPresent());
+    assertEquals(3, dataRequests.get());
+  }
+
+  @Test
+  void cancellingStopsNewFetches() throws InterruptedException{
+
+    // First fetch waits until it's let go
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var vehicles = listVehicles(generateOnlineVehicles(5), ctx -> {
+      started.countDown();
+      try{
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+      }catch(InterruptedException e){
+        Thread.currentThread().interrupt();
+      }
+      ctx.status(408);
+    });
+
+    // Fetch them one at a time and cancel while the first is running
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var future = client.fetchVehicleSnapshots(vehicles, 1, outcomes::add);
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    assertTrue(future.cancel(true));
+
+    // The running one finishes, nothing else is started
+    release.countDown();
+    assertNotNull(outcomes.poll(5, TimeUnit.SECONDS));
+    Thread.sleep(200);
+    assertEquals(1, dataRequests.get());
+    assertTrue(outcomes.isEmpty());
+  }
+
+  @Test
+  void publisherHoldsBackFetchesForSlowSubscriber() throws InterruptedException{
+
+    // More vehicles than the subscriber's buffer holds
+    var count = Flow.defaultBufferSize() + 50;
+    var generated = generateOnlineVehicles(count);
+    var vehicles = listVehicles(generated, ctx -> ctx.status(408));
+
+    // Subscriber that takes one and then waits
+    var received = new LinkedBlockingQueue<VehicleSnapshotOutcome>();
+    var completed = new CountDownLatch(1);
+    var subscription = new AtomicReference<Flow.Subscription>();
+    client.fetchVehicleSnapshots(vehicles, 2).subscribe(new Flow.Subscriber<>(){
+      @Override
+      public void onSubscribe(Flow.Subscription item){
+        subscription.set(item);
+        item.request(1);
+      }
+
+      @Override
+      public void onNext(VehicleSnapshotOutcome item){
+        received.add(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable){
+        fail(throwable);
+      }
+
+      @Override
+      public void onComplete(){
+        completed.countDown();
+      }
+    });
+
+    // Fetching stops once the buffer is full
+    await(() -> received.size() == 1);
+    int requests;
+    do{
+      requests = dataRequests.get();
+      Thread.sleep(200);
+    }while(requests != dataRequests.get());
+    assertTrue(requests < count, "All " + requests + " vehicles were fetched");
+    assertEquals(1, received.size());
+
+    // Rest is fetched once subscriber asks for it
+    subscription.get().request(Long.MAX_VALUE);
+    assertTrue(completed.await(10, TimeUnit.SECONDS));
+    assertEquals(count, received.size());
+    assertEquals(count, dataRequests.get());
+    assertEquals(
+      generated.stream().map(Vehicle::getIdString).collect(Collectors.toSet()),
+      received.stream().map(VehicleSnapshotOutcome::getVehicleId).collect(Collectors.toSet())
+    );
+  }
+
+  @Test
+  void publisherStopsFetchingOnceSubscriberCancels() throws InterruptedException{
+
+    // More vehicles than the subscriber's buffer holds
+    var count = Flow.defaultBufferSize() + 50;
+    var vehicles = listVehicles(generateOnlineVehicles(count), ctx -> ctx.status(408));
+
+    // Subscriber that takes one and then cancels
+    var received = new LinkedBlockingQueue<VehicleSnapshotOutcome>();
+    client.fetchVehicleSnapshots(vehicles, 2).subscribe(new Flow.Subscriber<>(){
+      private Flow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(Flow.Subscription item){
+        subscription = item;
+        item.request(1);
+      }
+
+      @Override
+      public void onNext(VehicleSnapshotOutcome item){
+        received.add(item);
+        subscription.cancel();
+      }
+
+      @Override
+      public void onError(Throwable throwable){
+        fail(throwable);
+      }
+
+      @Override
+      public void onComplete(){
+        fail("Cancelled subscription has completed");
+      }
+    });
+
+    // Fetching stops instead of going through the rest of the vehicles
+    await(() -> received.size() == 1);
+    int requests;
+    do{
+      requests = dataRequests.get();
+      Thread.sleep(200);
+    }while(requests != dataRequests.get());
+    assertTrue(requests < count, "All " + requests + " vehicles were fetched");
+    assertEquals(1, received.size());
+  }
+}
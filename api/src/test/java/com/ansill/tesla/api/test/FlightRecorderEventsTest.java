@@ -0,0 +1,161 @@
+package com.ansill.tesla.api.test;
+
+import com.ansill.tesla.api.data.model.response.SuccessfulAuthenticationResponse;
+import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.model.AccountCredentials;
+import com.ansill.tesla.api.jfr.CacheAccessEvent;
+import com.ansill.tesla.api.jfr.CredentialsRefreshEvent;
+import com.ansill.tesla.api.jfr.HttpCallEvent;
+import com.ansill.tesla.api.jfr.JsonParseEvent;
+import com.ansill.tesla.api.model.CachedValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.Javalin;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static com.ansill.tesla.api.test.TestUtility.writeToJson;
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest{
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final String EVENT_PREFIX = "com.ansill.tesla.api.";
+
+  private static Javalin SERVER;
+
+  private static int PORT;
+
+  @BeforeAll
+  static void setUp(){
+
+    // Set port
+    PORT = 2000;
+
+    // Loop until available port exists
+    var success = false;
+    do{
+
+      // Attempt to start server
+      try{
+        SERVER = Javalin.create().start(PORT);
+
+        // If no exception, mark success
+        success = true;
+
+      }catch(Exception e){
+
+        // Increment port
+        PORT++;
+      }
+
+    }while(!success);
+
+    // Bind endpoints, every token request gets fresh long-lived credentials
+    SERVER.post("/oauth/token", ctx -> {
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SuccessfulAuthenticationResponse(
+        generateString(32),
+        "bearer",
+        Duration.ofDays(45).getSeconds(),
+        generateString(32),
+        Instant.now().getEpochSecond()
+      )));
+    });
+
+  }
+
+  @AfterAll
+  static void tearDown(){
+    SERVER.stop();
+  }
+
+  private static Set<String> record(boolean enabled) throws IOException, InterruptedException{
+    try(var recording = new Recording()){
+
+      // Enable the events of the api if asked to, they're disabled by default
+      if(enabled){
+        recording.enable(HttpCallEvent.class).withoutThreshold();
+        recording.enable(JsonParseEvent.class).withoutThreshold();
+        recording.enable(CacheAccessEvent.class).withoutThreshold();
+        recording.enable(CredentialsRefreshEvent.class).withoutThreshold();
+      }
+      recording.start();
+
+      // Refresh credentials that are about to expire, it does the HTTP call and the parsing too
+      var refreshed = new CountDownLatch(1);
+      var error = new AtomicReference<Throwable>();
+      try(var client = Client.builder()
+                             .setUrl("http://localhost:" + PORT)
+                             .setClientId(generateString(16))
+                             .setClientSecret(generateString(16))
+                             .build()){
+        var credentials = new AccountCredentials(
+          generateString(32),
+          generateString(32),
+          Instant.now().plusSeconds(5)
+        );
+        var account = client.authenticateTrusted(credentials, newCredentials -> refreshed.countDown(), exception -> {
+          error.set(exception);
+          refreshed.countDown();
+        });
+        assertTrue(account.isPresent());
+        try(var ignored = account.get()){
+          assertTrue(refreshed.await(10, TimeUnit.SECONDS));
+          assertNull(error.get());
+        }
+      }
+
+      // Read the cache
+      var value = new CachedValue<String>(new AtomicReference<>(new AtomicReference<>(Duration.ofMinutes(1))));
+      assertEquals("value", value.getOrUpdate(() -> "value"));
+      assertEquals("value", value.getOrUpdate(() -> "other"));
+
+      // Collect the names of the api events
+      recording.stop();
+      var file = Files.createTempFile("tesla-api", ".jfr");
+      try{
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file)
+                            .stream()
+                            .map(RecordedEvent::getEventType)
+                            .map(EventType::getName)
+                            .filter(name -> name.startsWith(EVENT_PREFIX))
+                            .collect(Collectors.toSet());
+      }finally{
+        Files.deleteIfExists(file);
+      }
+    }
+  }
+
+  @Test
+  void disabledEventsRecordNothing() throws IOException, InterruptedException{
+    assertEquals(Set.of(), record(false));
+  }
+
+  @Test
+  void enabledEventsAreRecorded() throws IOException, InterruptedException{
+    assertEquals(Set.of(
+      EVENT_PREFIX + "HttpCall",
+      EVENT_PREFIX + "JsonParse",
+      EVENT_PREFIX + "CacheAccess",
+      EVENT_PREFIX + "CredentialsRefresh"
+    ), record(true));
+  }
+}
@@ -1,11 +1,16 @@
 package com.ansill.tesla.api.test;
 
+import com.ansill.tesla.api.data.model.PartialVehicle;
 import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
+import com.ansill.tesla.api.data.model.response.SimpleResponse;
 import com.ansill.tesla.api.data.model.response.SuccessfulAuthenticationResponse;
 import com.ansill.tesla.api.data.model.response.VehicleResponse;
 import com.ansill.tesla.api.data.model.response.VehiclesResponse;
+import com.ansill.tesla.api.exception.VehicleSleepingException;
 import com.ansill.tesla.api.high.Account;
 import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.model.VehicleChangeEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
@@ -19,8 +24,11 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -282,6 +290,267 @@ class HighAccountTest{
     assertEquals(vehicles.keySet(), map.keySet());
   }
 
+  @Test
+  void getVehiclesReturnsSameInstances(){
+
+    // Build vehicles
+    var vehicles = IntStream.range(0, 3).mapToObj(i -> generateVehicle()).collect(Collectors.toList());
+
+    // Set up a 'catch' that serves the list every time
+    VEHICLES_HANDLER.set(ctx -> {
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new VehiclesResponse(vehicles, vehicles.size())));
+    });
+
+    // Fire it twice
+    var first = assertDoesNotThrow(() -> account.getVehicles());
+    var second = assertDoesNotThrow(() -> account.getVehicles());
+    VEHICLES_HANDLER.set(DEFAULT_FAIL);
+
+    // Same vehicle must be the same instance
+    var firstMap = first.stream().collect(Collectors.toMap(com.ansill.tesla.api.high.Vehicle::getId, v -> v));
+    for(var vehicle : second) assertSame(firstMap.get(vehicle.getId()), vehicle);
+  }
+
+  @Test
+  void readFetchesOnlyStaleSections(){
+
+    // Build vehicle and its data
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var data = generateCompleteVehicle();
+    var vehicleDataRequests = new AtomicInteger();
+    var dataRequests = new AtomicInteger();
+
+    // Set up a 'catch' that serves the vehicle and the selected sections
+    VEHICLE_HANDLER.set(ctx -> {
+      if(!ctx.pathParamMap().containsKey("type")){
+        getVehicleSuccess(ctx, accessToken, vehicle);
+        return;
+      }
+      vehicleDataRequests.incrementAndGet();
+      assertEquals("vehicle_data", ctx.pathParam("type"));
+      assertEquals("charge_state;drive_state", ctx.queryParam("endpoints"));
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SimpleResponse<>(new PartialVehicle(
+        vehicle.getId(),
+        vehicle.getVehicleId(),
+        vehicle.getVIN(),
+        vehicle.getDisplayName(),
+        vehicle.getOptionCodes(),
+        vehicle.getColor().orElse(null),
+        vehicle.getTokens(),
+        vehicle.getState(),
+        vehicle.isInService(),
+        vehicle.isCalendarEnabled(),
+        vehicle.getApiVersion(),
+        vehicle.getBackseatToken().orElse(null),
+        vehicle.getBackseatTokenUpdatedAt().orElse(null),
+        Collections.emptyMap(),
+        null,
+        data.getDriveState(),
+        data.getChargeState(),
+        null,
+        null,
+        null
+      ))));
+    });
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      dataRequests.incrementAndGet();
+      assertEquals("climate_state", ctx.pathParam("type"));
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SimpleResponse<>(data.getClimateState())));
+    });
+
+    // Get vehicle, keep the data long enough to be served from the cache
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    high.setFastChangingDataCacheLifetime(new AtomicReference<>(Duration.ofMinutes(1)));
+
+    // Two stale sections are fetched in one request
+    var sections = EnumSet.of(VehicleDataEndpoint.CHARGE_STATE, VehicleDataEndpoint.DRIVE_STATE);
+    var first = assertDoesNotThrow(() -> high.read(sections));
+    assertEquals(sections, first.getSections());
+    assertEquals(1, vehicleDataRequests.get());
+
+    // Cached sections are not fetched again, the single stale one goes through its own endpoint
+    var mixed = EnumSet.of(VehicleDataEndpoint.CHARGE_STATE, VehicleDataEndpoint.CLIMATE_STATE);
+    var second = assertDoesNotThrow(() -> high.read(mixed));
+    assertEquals(mixed, second.getSections());
+    assertEquals(1, vehicleDataRequests.get());
+    assertEquals(1, dataRequests.get());
+  }
+
+  @Test
+  void subscribeReportsChangesBetweenFetches(){
+
+    // Build vehicle and two successive vehicle states
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var states = new LinkedList<>(List.of(generateVehicleState(), generateVehicleState()));
+    var firstVersion = states.getFirst().getCarVersion();
+    var secondVersion = states.getLast().getCarVersion();
+
+    // Set up a 'catch' that serves the vehicle and then the states in order
+    VEHICLE_HANDLER.set(ctx -> getVehicleSuccess(ctx, accessToken, vehicle));
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      assertEquals("vehicle_state", ctx.pathParam("type"));
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SimpleResponse<>(states.removeFirst())));
+    });
+
+    // Get vehicle, don't cache its data
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    high.setFastChangingDataCacheLifetime(new AtomicReference<>(Duration.ZERO));
+    var events = new LinkedList<VehicleChangeEvent>();
+    assertTrue(high.subscribe(events::add));
+
+    // First fetch only sets the baseline
+    assertEquals(firstVersion, assertDoesNotThrow(high::getVersion));
+    assertTrue(events.isEmpty());
+
+    // Second fetch reports the new version
+    assertEquals(secondVersion, assertDoesNotThrow(high::getVersion));
+    var versionEvents = events.stream()
+                              .filter(event -> event.getType() == VehicleChangeEvent.Type.SOFTWARE_VERSION_CHANGED)
+                              .collect(Collectors.toList());
+    assertEquals(1, versionEvents.size());
+    assertEquals(firstVersion, versionEvents.get(0).getPrevious(String.class).orElseThrow());
+    assertEquals(secondVersion, versionEvents.get(0).getCurrent(String.class).orElseThrow());
+  }
+
+  @Test
+  void subscribeAfterFetchTakesCachedSectionAsBaseline(){
+
+    // Build vehicle and two successive vehicle states
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var states = new LinkedList<>(List.of(generateVehicleState(), generateVehicleState()));
+    var firstVersion = states.getFirst().getCarVersion();
+    var secondVersion = states.getLast().getCarVersion();
+
+    // Set up a 'catch' that serves the vehicle and then the states in order
+    VEHICLE_HANDLER.set(ctx -> getVehicleSuccess(ctx, accessToken, vehicle));
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      assertEquals("vehicle_state", ctx.pathParam("type"));
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SimpleResponse<>(states.removeFirst())));
+    });
+
+    // Fetch it before anyone listens
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    var lifetime = new AtomicReference<>(Duration.ofHours(1));
+    high.setFastChangingDataCacheLifetime(lifetime);
+    assertEquals(firstVersion, assertDoesNotThrow(high::getVersion));
+
+    // Cached read after subscribing sets the baseline
+    var events = new LinkedList<VehicleChangeEvent>();
+    assertTrue(high.subscribe(events::add));
+    assertEquals(firstVersion, assertDoesNotThrow(high::getVersion));
+    assertTrue(events.isEmpty());
+
+    // Next fetch reports the new version
+    lifetime.set(Duration.ZERO);
+    assertEquals(secondVersion, assertDoesNotThrow(high::getVersion));
+    var versionEvents = events.stream()
+                              .filter(event -> event.getType() == VehicleChangeEvent.Type.SOFTWARE_VERSION_CHANGED)
+                              .collect(Collectors.toList());
+    assertEquals(1, versionEvents.size());
+    assertEquals(firstVersion, versionEvents.get(0).getPrevious(String.class).orElseThrow());
+    assertTrue(states.isEmpty());
+  }
+
+  @Test
+  void dataCallsFailFastOnSleepingVehicle(){
+
+    // Build vehicle that is listed as asleep
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var dataRequests = new AtomicInteger();
+
+    // Set up a 'catch' that serves the vehicle and counts the data requests
+    VEHICLE_HANDLER.set(ctx -> getVehicleSuccess(ctx, accessToken, vehicle));
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      dataRequests.incrementAndGet();
+      ctx.status(408);
+    });
+
+    // Data calls fail without reaching the server
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    assertThrows(VehicleSleepingException.class, high::getChargeState);
+    assertThrows(VehicleSleepingException.class, high::getClimateState);
+    assertEquals(0, dataRequests.get());
+  }
+
+  @Test
+  void dataCallsListVehiclesWhenStateIsUnknown() throws InterruptedException{
+
+    // Build vehicle that is listed as asleep
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var listRequests = new AtomicInteger();
+    var dataRequests = new AtomicInteger();
+
+    // Set up a 'catch' that serves the vehicle, the list and counts the requests
+    VEHICLE_HANDLER.set(ctx -> getVehicleSuccess(ctx, accessToken, vehicle));
+    VEHICLES_HANDLER.set(ctx -> {
+      listRequests.incrementAndGet();
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new VehiclesResponse(List.of(vehicle), 1)));
+    });
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      dataRequests.incrementAndGet();
+      ctx.status(408);
+    });
+
+    // Get vehicle and let its state grow old, the vehicle index has never been built
+    account.setVehicleStateLifetime(Duration.ofMillis(200));
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    Thread.sleep(300);
+
+    // Data call lists the vehicles first and fails from that
+    assertThrows(VehicleSleepingException.class, high::getChargeState);
+    assertEquals(1, listRequests.get());
+    assertEquals(0, dataRequests.get());
+
+    // State is fresh again, the list is not asked for again
+    assertThrows(VehicleSleepingException.class, high::getClimateState);
+    assertEquals(1, listRequests.get());
+    assertEquals(0, dataRequests.get());
+  }
+
+  @Test
+  void dataCallsReachVehicleAfterWakeUp(){
+
+    // Build vehicle that is listed as asleep
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var wakeRequests = new AtomicInteger();
+    var dataRequests = new AtomicInteger();
+
+    // Set up a 'catch' that serves the vehicle, answers the wake-up with the vehicle still asleep and serves the data
+    VEHICLE_HANDLER.set(ctx -> {
+      if(ctx.method().equalsIgnoreCase("get")){
+        getVehicleSuccess(ctx, accessToken, vehicle);
+        return;
+      }
+      assertEquals("wake_up", ctx.pathParam("type"));
+      wakeRequests.incrementAndGet();
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new VehicleResponse(vehicle)));
+    });
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      assertEquals("charge_state", ctx.pathParam("type"));
+      dataRequests.incrementAndGet();
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new SimpleResponse<>(generateChargeState())));
+    });
+
+    // Asleep vehicle fails fast
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    assertThrows(VehicleSleepingException.class, high::getChargeState);
+    assertEquals(0, dataRequests.get());
+
+    // Once told to wake up, the data call goes to the vehicle even though it was still asleep a moment ago
+    assertDoesNotThrow(() -> high.wakeUp());
+    assertEquals(1, wakeRequests.get());
+    assertDoesNotThrow(high::getChargeState);
+    assertEquals(1, dataRequests.get());
+  }
+
   @RepeatedTest(50)
   void getVehiclesByNameSuccess(){
 
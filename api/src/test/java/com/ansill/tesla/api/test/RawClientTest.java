@@ -1,21 +1,32 @@
 package com.ansill.tesla.api.test;
 
+import com.ansill.tesla.api.data.model.PartialVehicle;
 import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
 import com.ansill.tesla.api.data.model.response.GenericErrorResponse;
+import com.ansill.tesla.api.data.model.response.SimpleResponse;
 import com.ansill.tesla.api.data.model.response.SuccessfulAuthenticationResponse;
 import com.ansill.tesla.api.data.model.response.VehicleResponse;
 import com.ansill.tesla.api.data.model.response.VehiclesResponse;
 import com.ansill.tesla.api.exception.VehicleInServiceException;
 import com.ansill.tesla.api.exception.VehicleOfflineException;
 import com.ansill.tesla.api.exception.VehicleSleepingException;
+import com.ansill.tesla.api.metrics.HistogramMetrics;
+import com.ansill.tesla.api.model.CircuitBreakerPolicy;
+import com.ansill.tesla.api.model.RateLimitMode;
+import com.ansill.tesla.api.model.RateLimitPolicy;
+import com.ansill.tesla.api.model.RetryPolicy;
 import com.ansill.tesla.api.raw.Client;
 import com.ansill.tesla.api.raw.exception.APIProtocolException;
 import com.ansill.tesla.api.raw.exception.AuthenticationException;
 import com.ansill.tesla.api.raw.exception.ClientException;
 import com.ansill.tesla.api.raw.exception.InvalidAccessTokenException;
+import com.ansill.tesla.api.raw.exception.RateLimitedException;
 import com.ansill.tesla.api.raw.exception.ReAuthenticationException;
 import com.ansill.tesla.api.raw.exception.VehicleIDNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 import org.junit.jupiter.api.AfterAll;
@@ -28,12 +39,20 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -47,6 +66,8 @@ class RawClientTest{
 
   private static final Consumer<Context> DEFAULT_FAIL = context -> context.status(600);
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   private static final AtomicReference<Consumer<Context>> AUTHENTICATION_HANDLER = new AtomicReference<>();
 
   private static final AtomicReference<Consumer<Context>> REVOKE_HANDLER = new AtomicReference<>();
@@ -571,6 +592,182 @@ class RawClientTest{
 
   }
 
+  @Test
+  void testVehiclesRetriedOnRetryableStatus(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Client that retries 503 right away
+    var retryingClient = Client.builder()
+                               .setUrl("http://localhost:" + PORT)
+                               .setClientId(client_id)
+                               .setClientSecret(client_secret)
+                               .setReadRetryPolicy(RetryPolicy.builder()
+                                                              .setMaxAttempts(3)
+                                                              .setInitialBackoff(Duration.ZERO)
+                                                              .setRetryableStatusCodes(Set.of(503))
+                                                              .build())
+                               .build();
+
+    // Set up 'catch' function that is unavailable twice
+    var vehicle = generateVehicle();
+    var attempts = new AtomicInteger();
+    VEHICLES_HANDLER.set(ctx -> {
+      if(attempts.incrementAndGet() < 3){
+        ctx.status(503);
+        return;
+      }
+      ctx.status(200);
+      ctx.json(new VehiclesResponse(Collections.singletonList(vehicle), 1));
+    });
+
+    // Fire it, third attempt gets through
+    var result = assertDoesNotThrow(() -> retryingClient.getVehicles(accessToken));
+    assertEquals(1, result.getCount());
+    assertEquals(3, attempts.get());
+
+    // Status codes that are not retryable are not retried
+    attempts.set(0);
+    VEHICLES_HANDLER.set(ctx -> {
+      attempts.incrementAndGet();
+      ctx.status(500);
+    });
+    assertThrows(APIProtocolException.class, () -> retryingClient.getVehicles(accessToken));
+    assertEquals(1, attempts.get());
+    retryingClient.close();
+  }
+
+  @Test
+  void testVehiclesMetrics(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Client that records metrics
+    var metrics = new HistogramMetrics();
+    var measuredClient = Client.builder()
+                               .setUrl("http://localhost:" + PORT)
+                               .setClientId(client_id)
+                               .setClientSecret(client_secret)
+                               .setReadRetryPolicy(RetryPolicy.NONE)
+                               .setMetrics(metrics)
+                               .build();
+
+    // Set up 'catch' function that succeeds once, then fails
+    var vehicle = generateVehicle();
+    var attempts = new AtomicInteger();
+    VEHICLES_HANDLER.set(ctx -> {
+      if(attempts.incrementAndGet() > 1){
+        ctx.status(500);
+        return;
+      }
+      ctx.status(200);
+      ctx.json(new VehiclesResponse(Collections.singletonList(vehicle), 1));
+    });
+
+    // Fire it twice
+    assertDoesNotThrow(() -> measuredClient.getVehicles(accessToken));
+    assertThrows(APIProtocolException.class, () -> measuredClient.getVehicles(accessToken));
+
+    // Both are recorded under the endpoint
+    assertEquals(Map.of(200, 1L, 500, 1L), metrics.getStatusCodeCounts("vehicles"));
+    assertEquals(2, metrics.getRequestLatency("vehicles").orElseThrow().getCount());
+    measuredClient.close();
+  }
+
+  @Test
+  void testVehiclesRateLimited(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Client that allows one request per minute and does not retry
+    var policy = RateLimitPolicy.builder()
+                                .setPerTokenDataLimit(RateLimitPolicy.Limit.of(1.0 / 60, 1))
+                                .setMode(RateLimitMode.FAIL_FAST)
+                                .build();
+    var limitedClient = Client.builder()
+                              .setUrl("http://localhost:" + PORT)
+                              .setClientId(client_id)
+                              .setClientSecret(client_secret)
+                              .setReadRetryPolicy(RetryPolicy.NONE)
+                              .setRateLimitPolicy(policy)
+                              .build();
+
+    // Set up 'catch' function that throttles
+    var requests = new AtomicInteger();
+    VEHICLES_HANDLER.set(ctx -> {
+      requests.incrementAndGet();
+      ctx.header("Retry-After", "7");
+      ctx.status(429);
+    });
+
+    // Throttled response is reported as such
+    var exception = assertThrows(RateLimitedException.class, () -> limitedClient.getVehicles(accessToken));
+    assertEquals(Optional.of(Duration.ofSeconds(7)), exception.getRetryAfter());
+    assertEquals(1, requests.get());
+
+    // Budget is spent, next one fails without a request
+    assertThrows(RateLimitedException.class, () -> limitedClient.getVehicles(accessToken));
+    assertEquals(1, requests.get());
+    limitedClient.close();
+  }
+
+  @RepeatedTest(10)
+  void testVehiclesRateLimitedConcurrently() throws InterruptedException{
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Client that allows a burst of four requests per minute on both buckets and fails fast
+    var policy = RateLimitPolicy.builder()
+                                .setPerTokenDataLimit(RateLimitPolicy.Limit.of(1.0 / 60, 4))
+                                .setGlobalDataLimit(RateLimitPolicy.Limit.of(1.0 / 60, 4))
+                                .setMode(RateLimitMode.FAIL_FAST)
+                                .build();
+    var limitedClient = Client.builder()
+                              .setUrl("http://localhost:" + PORT)
+                              .setClientId(client_id)
+                              .setClientSecret(client_secret)
+                              .setRateLimitPolicy(policy)
+                              .build();
+
+    // Set up 'catch' function
+    var requests = new AtomicInteger();
+    VEHICLES_HANDLER.set(ctx -> {
+      requests.incrementAndGet();
+      ctx.status(200);
+      ctx.json(new VehiclesResponse(Collections.emptyList(), 0));
+    });
+
+    // Fire many at once, none of them may end up waiting for a permit
+    var start = new CountDownLatch(1);
+    var limited = new AtomicInteger();
+    var executor = Executors.newFixedThreadPool(16);
+    try{
+      var futures = IntStream.range(0, 16).mapToObj(i -> CompletableFuture.runAsync(() -> {
+        assertDoesNotThrow(() -> start.await());
+        try{
+          limitedClient.getVehicles(accessToken);
+        }catch(RateLimitedException e){
+          limited.incrementAndGet();
+        }catch(InvalidAccessTokenException e){
+          fail(e);
+        }
+      }, executor)).collect(Collectors.toList());
+      start.countDown();
+      for(var future : futures) assertDoesNotThrow(() -> future.get(5, TimeUnit.SECONDS));
+
+      // Exactly the burst went through
+      assertEquals(4, requests.get());
+      assertEquals(12, limited.get());
+    }finally{
+      executor.shutdownNow();
+      limitedClient.close();
+    }
+  }
+
   @RepeatedTest(50)
   void testVehicle(){
 
@@ -786,6 +983,158 @@ class RawClientTest{
     assertEquals(vehicle, result.getResponse());
   }
 
+  @RepeatedTest(10)
+  void testCompleteVehicleReportsNestedUnknownFields(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Unknown field hidden inside the charge state
+    var unknownField = "unknown_" + generateString(8).toLowerCase();
+
+    // Set up client that records unknown fields
+    var reported = Collections.synchronizedSet(new HashSet<String>());
+    var recordingClient = Client.builder()
+                                .setUrl("http://localhost:" + PORT)
+                                .setClientId(client_id)
+                                .setClientSecret(client_secret)
+                                .setUnknownFieldsFunction(fields -> {
+                                  reported.addAll(fields.keySet());
+                                  return false;
+                                })
+                                .build();
+
+    // Set up 'catch' function
+    VEHICLE_HANDLER.set(ctx -> {
+
+      // Inject unknown field into the nested charge state
+      var tree = OBJECT_MAPPER.valueToTree(new CompleteVehicleDataResponse(vehicle));
+      ((ObjectNode) tree.get("response").get("charge_state")).put(unknownField, 42);
+
+      // Send response
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, tree));
+    });
+
+    // Fire it
+    var result = assertDoesNotThrow(() -> recordingClient.getVehicleData(accessToken, vehicle.getIdString()));
+
+    // Unknown field is ignored but reported
+    assertEquals(vehicle, result.getResponse());
+    assertEquals(Set.of(unknownField), reported);
+  }
+
+  @RepeatedTest(10)
+  void testCompleteVehicleFailsOnNestedUnknownFields(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Set up client that hard-fails on unknown fields
+    var strictClient = Client.builder()
+                             .setUrl("http://localhost:" + PORT)
+                             .setClientId(client_id)
+                             .setClientSecret(client_secret)
+                             .setUnknownFieldsFunction(fields -> true)
+                             .build();
+
+    // Set up 'catch' function
+    VEHICLE_HANDLER.set(ctx -> {
+
+      // Inject unknown field into the nested charge state
+      var tree = OBJECT_MAPPER.valueToTree(new CompleteVehicleDataResponse(vehicle));
+      ((ObjectNode) tree.get("response").get("charge_state")).put("unknown_" + generateString(8).toLowerCase(), 42);
+
+      // Send response
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, tree));
+    });
+
+    // Fire it
+    assertThrows(IllegalArgumentException.class, () -> strictClient.getVehicleData(accessToken, vehicle.getIdString()));
+  }
+
+  @RepeatedTest(10)
+  void testPartialVehicle(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Set up 'catch' function
+    VEHICLE_HANDLER.set(ctx -> {
+
+      // Ensure no leftovers
+      try{
+        var pathParams = new HashSet<>(ctx.pathParamMap().keySet());
+        assertTrue(pathParams.remove("id"));
+        assertTrue(pathParams.remove("type"));
+        assertEquals(Collections.emptySet(), pathParams);
+        assertEquals(Collections.emptySet(), ctx.formParamMap().keySet());
+
+        // Must be get
+        assertEquals("get", ctx.method().toLowerCase());
+
+        // Bearer must exist and path params must match
+        assertEquals("Bearer " + accessToken, ctx.header("Authorization"));
+        assertEquals(vehicle.getIdString(), ctx.pathParam("id"));
+        assertEquals("vehicle_data", ctx.pathParam("type"));
+        assertEquals("charge_state;drive_state", ctx.queryParam("endpoints"));
+
+        // Set up response with only the selected sub-documents
+        var response = new SimpleResponse<>(new PartialVehicle(
+          vehicle.getId(),
+          vehicle.getVehicleId(),
+          vehicle.getVIN(),
+          vehicle.getDisplayName(),
+          vehicle.getOptionCodes(),
+          vehicle.getColor().orElse(null),
+          vehicle.getTokens(),
+          vehicle.getState(),
+          vehicle.isInService(),
+          vehicle.isCalendarEnabled(),
+          vehicle.getApiVersion(),
+          vehicle.getBackseatToken().orElse(null),
+          vehicle.getBackseatTokenUpdatedAt().orElse(null),
+          Collections.emptyMap(),
+          null,
+          vehicle.getDriveState(),
+          vehicle.getChargeState(),
+          null,
+          null,
+          null
+        ));
+
+        // Send response
+        ctx.status(200);
+        ctx.json(response);
+      }catch(Exception e){
+        e.printStackTrace();
+      }
+    });
+
+    // Fire it
+    var result = assertDoesNotThrow(() -> client.getPartialVehicleData(
+      accessToken,
+      vehicle.getIdString(),
+      EnumSet.of(VehicleDataEndpoint.DRIVE_STATE, VehicleDataEndpoint.CHARGE_STATE)
+    ));
+
+    // Compare values
+    assertEquals(Optional.of(vehicle.getChargeState()), result.getChargeState());
+    assertEquals(Optional.of(vehicle.getDriveState()), result.getDriveState());
+    assertEquals(Optional.empty(), result.getClimateState());
+    assertEquals(Optional.empty(), result.getVehicleState());
+  }
+
 
   @Test
   void testCompleteVehicleInvalidVehicleId(){
@@ -828,6 +1177,56 @@ class RawClientTest{
 
   }
 
+  @RepeatedTest(10)
+  void testCompleteVehicleAsync(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicle = generateCompleteVehicle();
+
+    // Set up 'catch' function
+    VEHICLE_HANDLER.set(ctx -> {
+
+      // Bearer must exist and path params must match
+      assertEquals("Bearer " + accessToken, ctx.header("Authorization"));
+      assertEquals(vehicle.getIdString(), ctx.pathParam("id"));
+      assertEquals("vehicle_data", ctx.pathParam("type"));
+
+      // Send response
+      ctx.status(200);
+      ctx.json(new CompleteVehicleDataResponse(vehicle));
+    });
+
+    // Fire it
+    var future = client.async().getVehicleData(accessToken, vehicle.getIdString());
+
+    // Compare values
+    var result = assertDoesNotThrow(() -> future.get(10, TimeUnit.SECONDS));
+    assertEquals(vehicle, result.getResponse());
+  }
+
+  @Test
+  void testCompleteVehicleAsyncInvalidVehicleId(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicleId = generateString(32);
+
+    // Set up 'catch' function
+    VEHICLE_HANDLER.set(ctx -> ctx.status(404));
+
+    // Fire it
+    var future = client.async().getVehicleData(accessToken, vehicleId);
+
+    // Should be completed exceptionally with the same exception as the synchronous client
+    var exception = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+    assertTrue(exception.getCause() instanceof VehicleIDNotFoundException);
+  }
+
   @Test
   void testCompleteVehicleInvalidToken(){
 
@@ -1309,6 +1708,35 @@ class RawClientTest{
 
   }
 
+  @Test
+  void testVehicleDataCircuitOpensWhenInService(){
+
+    // Get old refresh token
+    var accessToken = generateString(32);
+
+    // Id
+    var vehicleId = generateString(32);
+
+    // Set up 'catch' function that counts the requests
+    var requests = new AtomicInteger();
+    VEHICLE_DATA_HANDLER.set(ctx -> {
+      requests.incrementAndGet();
+      ctx.status(405);
+    });
+
+    // Fail until the circuit opens
+    var threshold = CircuitBreakerPolicy.DEFAULT.getFailureThreshold();
+    for(int i = 0; i < threshold; i++){
+      assertThrows(VehicleInServiceException.class, () -> client.getVehicleChargeState(accessToken, vehicleId));
+    }
+    assertEquals(threshold, requests.get());
+
+    // Calls are short-circuited without a request
+    assertThrows(VehicleInServiceException.class, () -> client.getVehicleChargeState(accessToken, vehicleId));
+    assertThrows(VehicleInServiceException.class, () -> client.startCharge(accessToken, vehicleId));
+    assertEquals(threshold, requests.get());
+  }
+
   void testVehicleDataSleeping(String path, CheckedBiConsumer<String,String> function){
 
     // Get old refresh token
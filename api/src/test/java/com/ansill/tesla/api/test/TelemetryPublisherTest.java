@@ -0,0 +1,400 @@
+package com.ansill.tesla.api.test;
+
+import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.response.VehicleResponse;
+import com.ansill.tesla.api.high.Account;
+import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.model.OverflowPolicy;
+import com.ansill.tesla.api.high.model.PollingPolicy;
+import com.ansill.tesla.api.high.model.VehicleActivity;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.ansill.tesla.api.test.TestUtility.*;
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryPublisherTest{
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final AtomicReference<Consumer<Context>> AUTHENTICATION_HANDLER = new AtomicReference<>();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLE_HANDLER = new AtomicReference<>();
+
+  private static final PollingPolicy POLICY = PollingPolicy.builder()
+                                                           .setInterval(VehicleActivity.ASLEEP, Duration.ofMillis(20))
+                                                           .build();
+
+  private static Javalin SERVER;
+
+  private static int PORT;
+
+  private final Map<String,Vehicle> vehicles = new ConcurrentHashMap<>();
+
+  private final AtomicInteger listings = new AtomicInteger();
+
+  private Client client;
+
+  private Account account;
+
+  @BeforeAll
+  static void setUp(){
+
+    // Set port
+    PORT = 2000;
+
+    // Loop until available port exists
+    var success = false;
+    do{
+
+      // Attempt to start server
+      try{
+        SERVER = Javalin.create().start(PORT);
+
+        // If no exception, mark success
+        success = true;
+
+      }catch(Exception e){
+
+        // Increment port
+        PORT++;
+      }
+
+    }while(!success);
+
+    // Bind endpoints
+    SERVER.post("/oauth/token", ctx -> AUTHENTICATION_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles/:id", ctx -> VEHICLE_HANDLER.get().accept(ctx));
+
+  }
+
+  @AfterAll
+  static void tearDown(){
+    SERVER.stop();
+  }
+
+  @BeforeEach
+  void setUpEach(){
+    var client_id = generateString(16);
+    var client_secret = generateString(16);
+    client = Client.builder()
+                   .setUrl("http://localhost:" + PORT)
+                   .setClientId(client_id)
+                   .setClientSecret(client_secret)
+                   .setSlowChangingDataLifetime(Duration.ZERO)
+                   .setMaxPollRequestsPerSecond(1000.0)
+                   .build();
+    var email = generateEmailAddress();
+    var pass = generateString(32);
+    var accessToken = generateString(32);
+    AUTHENTICATION_HANDLER.set(ctx -> HighAccountTest.auth(
+      ctx,
+      email,
+      pass,
+      client_id,
+      client_secret,
+      accessToken,
+      generateString(32),
+      Instant.now().getEpochSecond(),
+      (int) Duration.ofDays(100).getSeconds(),
+      "1"
+    ));
+    account = client.authenticate(email, pass).orElseThrow();
+
+    // Every poll lists the vehicle as asleep
+    VEHICLE_HANDLER.set(ctx -> {
+      listings.incrementAndGet();
+      ctx.status(200);
+      ctx.result(writeToJson(OBJECT_MAPPER, new VehicleResponse(vehicles.get(ctx.pathParam("id")))));
+    });
+  }
+
+  @AfterEach
+  void tearDownEach(){
+    account.close();
+    client.close();
+  }
+
+  private com.ansill.tesla.api.high.Vehicle addVehicle(){
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    vehicles.put(vehicle.getIdString(), vehicle);
+    return assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+  }
+
+  @Test
+  void deliversNoMoreThanRequested() throws InterruptedException{
+
+    // Set up publisher with one vehicle
+    try(var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.DROP_OLDEST, 100)){
+      var subscriber = new RecordingSubscriber();
+      publisher.subscribe(subscriber);
+      publisher.add(addVehicle());
+
+      // Ask for two
+      subscriber.request(2);
+      await(() -> subscriber.outcomes.size() == 2);
+
+      // Nothing more comes while vehicle is polled on
+      var count = listings.get();
+      await(() -> listings.get() >= count + 5);
+      assertEquals(2, subscriber.outcomes.size());
+
+      // Another one comes when it's asked for
+      subscriber.request(1);
+      await(() -> subscriber.outcomes.size() == 3);
+      Thread.sleep(100);
+      assertEquals(3, subscriber.outcomes.size());
+    }
+  }
+
+  @Test
+  void dropOldestKeepsNewestOutcomes() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes everything and one that takes nothing for now
+    var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.DROP_OLDEST, 2);
+    var everything = new RecordingSubscriber();
+    var subscriber = new RecordingSubscriber();
+    publisher.subscribe(everything);
+    publisher.subscribe(subscriber);
+    everything.request(Long.MAX_VALUE);
+    publisher.add(addVehicle());
+
+    // Let it overflow
+    await(() -> everything.outcomes.size() >= 5);
+    publisher.close();
+    assertTrue(everything.completed.await(5, TimeUnit.SECONDS));
+
+    // Only the newest two are left
+    subscriber.request(Long.MAX_VALUE);
+    assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    var all = everything.outcomes;
+    assertEquals(all.subList(all.size() - 2, all.size()), subscriber.outcomes);
+  }
+
+  @Test
+  void conflateKeepsLatestOutcomeOfEachVehicle() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes everything and one that takes nothing for now
+    var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.CONFLATE, 2);
+    var everything = new RecordingSubscriber();
+    var subscriber = new RecordingSubscriber();
+    publisher.subscribe(everything);
+    publisher.subscribe(subscriber);
+    everything.request(Long.MAX_VALUE);
+    publisher.add(addVehicle());
+    publisher.add(addVehicle());
+
+    // Let each vehicle be polled a few times
+    await(() -> everything.outcomes.stream()
+                                   .collect(Collectors.groupingBy(VehicleSnapshotOutcome::getVehicleId))
+                                   .values()
+                                   .stream()
+                                   .filter(outcomes -> outcomes.size() >= 3)
+                                   .count() == 2);
+    publisher.close();
+    assertTrue(everything.completed.await(5, TimeUnit.SECONDS));
+
+    // Only the latest outcome of each vehicle is left
+    subscriber.request(Long.MAX_VALUE);
+    assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    assertEquals(2, subscriber.outcomes.size());
+    for(var outcome : subscriber.outcomes){
+      var latest = everything.outcomes.stream()
+                                      .filter(item -> item.getVehicleId().equals(outcome.getVehicleId()))
+                                      .reduce((first, second) -> second)
+                                      .orElseThrow();
+      assertSame(latest, outcome);
+    }
+  }
+
+  @Test
+  void blockHoldsPollsUntilRequested() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes nothing for now
+    try(var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.BLOCK, 1)){
+      var subscriber = new RecordingSubscriber();
+      publisher.subscribe(subscriber);
+      var vehicle = addVehicle();
+      var lookups = listings.get();
+      publisher.add(vehicle);
+
+      // Buffer fills up and the next poll waits for room
+      await(() -> listings.get() >= lookups + 1);
+      var count = listings.get();
+      Thread.sleep(200);
+      assertEquals(count, listings.get());
+
+      // Polls go on once subscriber asks for more
+      subscriber.request(1);
+      await(() -> subscriber.outcomes.size() == 1);
+      await(() -> listings.get() > count);
+    }
+  }
+
+  @Test
+  void blockHoldsPollsOfAllVehiclesForSlowestSubscriber() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes nothing for now and one that takes everything
+    try(var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.BLOCK, 2)){
+      var slow = new RecordingSubscriber();
+      var fast = new RecordingSubscriber();
+      publisher.subscribe(slow);
+      publisher.subscribe(fast);
+      fast.request(Long.MAX_VALUE);
+      var added = List.of(addVehicle(), addVehicle(), addVehicle(), addVehicle());
+      var lookups = listings.get();
+      for(var vehicle : added) publisher.add(vehicle);
+
+      // Only as many vehicles are polled as the slow one has room for, the rest wait without running
+      await(() -> listings.get() >= lookups + 2);
+      Thread.sleep(200);
+      assertEquals(lookups + 2, listings.get());
+
+      // Polled outcomes reach the fast one without waiting for the slow one
+      await(() -> fast.outcomes.size() == 2);
+
+      // All vehicles are polled once the slow one takes what it gets
+      slow.request(Long.MAX_VALUE);
+      await(() -> fast.outcomes.stream().map(VehicleSnapshotOutcome::getVehicleId).distinct().count() == 4);
+      await(() -> slow.outcomes.size() >= 4);
+    }
+  }
+
+  @Test
+  void cancelReleasesBlockedPoller() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes nothing
+    try(var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.BLOCK, 1)){
+      var subscriber = new RecordingSubscriber();
+      publisher.subscribe(subscriber);
+      var vehicle = addVehicle();
+      var lookups = listings.get();
+      publisher.add(vehicle);
+
+      // Buffer fills up and the next poll waits for room
+      await(() -> listings.get() >= lookups + 1);
+      var count = listings.get();
+      Thread.sleep(200);
+      assertEquals(count, listings.get());
+
+      // Polls go on once subscriber is gone
+      subscriber.subscription.get().cancel();
+      await(() -> listings.get() >= count + 3);
+      assertEquals(0, subscriber.outcomes.size());
+    }
+  }
+
+  @Test
+  void closeCompletesAfterBufferDrains() throws InterruptedException{
+
+    // Set up publisher with a subscriber that takes nothing for now
+    var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.DROP_OLDEST, 100);
+    var subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    var vehicle = addVehicle();
+    var lookups = listings.get();
+    publisher.add(vehicle);
+
+    // Close it with at least two outcomes in the buffer, each poll delivers before the next one starts
+    await(() -> listings.get() >= lookups + 3);
+    publisher.close();
+    assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+
+    // Buffered outcomes come first, then the completion
+    subscriber.request(1);
+    await(() -> subscriber.outcomes.size() == 1);
+    assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+    subscriber.request(Long.MAX_VALUE);
+    assertTrue(subscriber.completed.await(5, TimeUnit.SECONDS));
+    assertTrue(subscriber.outcomes.size() >= 2);
+    assertEquals(subscriber.outcomes.size(), subscriber.outcomesAtCompletion.get());
+    assertNull(subscriber.error.get());
+  }
+
+  @Test
+  void requestingNothingIsError() throws InterruptedException{
+
+    // Set up publisher
+    try(var publisher = client.createTelemetryPublisher(POLICY, OverflowPolicy.DROP_OLDEST, 10)){
+      var subscriber = new RecordingSubscriber();
+      publisher.subscribe(subscriber);
+      publisher.add(addVehicle());
+
+      // Ask for nothing
+      subscriber.request(0);
+      await(() -> subscriber.error.get() != null);
+      assertTrue(subscriber.error.get() instanceof IllegalArgumentException);
+
+      // Subscription is over, nothing comes anymore
+      subscriber.request(1);
+      var count = listings.get();
+      await(() -> listings.get() >= count + 3);
+      assertEquals(0, subscriber.outcomes.size());
+      assertEquals(1, subscriber.errors.get());
+    }
+  }
+
+  private static final class RecordingSubscriber implements Flow.Subscriber<VehicleSnapshotOutcome>{
+
+    private final AtomicReference<Flow.Subscription> subscription = new AtomicReference<>();
+
+    private final List<VehicleSnapshotOutcome> outcomes = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private final AtomicInteger outcomesAtCompletion = new AtomicInteger(-1);
+
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    private final AtomicInteger errors = new AtomicInteger();
+
+    private void request(long n){
+      subscription.get().request(n);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription){
+      assertTrue(this.subscription.compareAndSet(null, subscription));
+    }
+
+    @Override
+    public void onNext(VehicleSnapshotOutcome item){
+      assertEquals(1, completed.getCount());
+      outcomes.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable){
+      errors.incrementAndGet();
+      error.set(throwable);
+    }
+
+    @Override
+    public void onComplete(){
+      outcomesAtCompletion.set(outcomes.size());
+      completed.countDown();
+    }
+  }
+}
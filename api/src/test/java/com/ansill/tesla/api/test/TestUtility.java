@@ -1,10 +1,12 @@
 package com.ansill.tesla.api.test;
 
 import com.ansill.tesla.api.data.model.ChargeState;
+import com.ansill.tesla.api.data.model.ChargingState;
 import com.ansill.tesla.api.data.model.ClimateState;
 import com.ansill.tesla.api.data.model.CompleteVehicle;
 import com.ansill.tesla.api.data.model.DriveState;
 import com.ansill.tesla.api.data.model.GuiSettings;
+import com.ansill.tesla.api.data.model.LatchState;
 import com.ansill.tesla.api.data.model.MediaState;
 import com.ansill.tesla.api.data.model.SoftwareUpdate;
 import com.ansill.tesla.api.data.model.SpeedLimitMode;
@@ -17,14 +19,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.annotation.Nonnull;
 import java.security.SecureRandom;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public final class TestUtility{
 
@@ -189,6 +195,11 @@ public final class TestUtility{
     );
   }
 
+  @Nonnull
+  private static String generateEnumName(@Nonnull Enum<?>[] values){
+    return values[RANDOM.nextInt(values.length)].name().toLowerCase();
+  }
+
   public static ChargeState generateChargeState(){
     return new ChargeState(
       RANDOM.nextBoolean(),
@@ -206,7 +217,7 @@ public final class TestUtility{
       RANDOM.nextDouble(),
       RANDOM.nextBoolean(),
       RANDOM.nextBoolean(),
-      generateString(32),
+      generateEnumName(LatchState.values()),
       RANDOM.nextDouble(),
       RANDOM.nextBoolean(),
       RANDOM.nextInt(),
@@ -214,7 +225,7 @@ public final class TestUtility{
       RANDOM.nextInt(),
       RANDOM.nextInt(),
       RANDOM.nextInt(),
-      generateString(32),
+      generateEnumName(ChargingState.values()),
       generateString(32),
       RANDOM.nextDouble(),
       generateString(32),
@@ -228,9 +239,9 @@ public final class TestUtility{
       RANDOM.nextInt(),
       RANDOM.nextBoolean(),
       RANDOM.nextBoolean(),
-      RANDOM.nextBoolean() ? null : generateString(32),
+      RANDOM.nextBoolean() ? null : Instant.ofEpochSecond(RANDOM.nextInt(Integer.MAX_VALUE)).toString(),
       RANDOM.nextDouble(),
-      RANDOM.nextLong(),
+      RANDOM.nextInt(Integer.MAX_VALUE),
       RANDOM.nextBoolean(),
       RANDOM.nextInt(),
       generateString(32)
@@ -248,9 +259,9 @@ public final class TestUtility{
       RANDOM.nextDouble(),
       generateString(32),
       RANDOM.nextInt(),
-      RANDOM.nextBoolean() ? null : generateString(32),
+      RANDOM.nextBoolean() ? null : List.of("P", "R", "D", "N").get(RANDOM.nextInt(4)),
       RANDOM.nextBoolean() ? null : RANDOM.nextLong(),
-      RANDOM.nextLong()
+      RANDOM.nextInt(Integer.MAX_VALUE)
     );
   }
 
@@ -269,6 +280,16 @@ public final class TestUtility{
   @Nonnull
   public static Vehicle generateVehicle(){
     Collections.shuffle(STATES);
+    return generateVehicle(STATES.get(0));
+  }
+
+  @Nonnull
+  public static Vehicle generateVehicle(@Nonnull com.ansill.tesla.api.low.model.Vehicle.State state){
+    return generateVehicle(state.toString().toLowerCase());
+  }
+
+  @Nonnull
+  private static Vehicle generateVehicle(@Nonnull String state){
     return new Vehicle(
       RANDOM.nextLong(),
       RANDOM.nextLong(),
@@ -277,7 +298,7 @@ public final class TestUtility{
       generateString(6),
       generateString(6),
       IntStream.range(0, RANDOM.nextInt(3)).mapToObj(j -> generateString(4)).collect(Collectors.toList()),
-      STATES.get(0),
+      state,
       RANDOM.nextBoolean(),
       RANDOM.nextBoolean(),
       RANDOM.nextInt(),
@@ -302,4 +323,12 @@ public final class TestUtility{
       throw new RuntimeException(e);
     }
   }
+
+  public static void await(BooleanSupplier condition) throws InterruptedException{
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while(!condition.getAsBoolean()){
+      assertTrue(System.nanoTime() < deadline, "Condition was not met in time");
+      Thread.sleep(5);
+    }
+  }
 }
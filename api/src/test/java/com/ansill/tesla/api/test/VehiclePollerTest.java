@@ -0,0 +1,367 @@
+package com.ansill.tesla.api.test;
+
+import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.response.VehicleResponse;
+import com.ansill.tesla.api.high.Account;
+import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.model.PollingPolicy;
+import com.ansill.tesla.api.high.model.VehicleActivity;
+import com.ansill.tesla.api.high.model.VehicleSnapshotOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static com.ansill.tesla.api.test.TestUtility.*;
+import static com.ansill.utility.Utility.generateString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehiclePollerTest{
+
+  private static final Consumer<Context> DEFAULT_FAIL = context -> context.status(600);
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private static final AtomicReference<Consumer<Context>> AUTHENTICATION_HANDLER = new AtomicReference<>();
+
+  private static final AtomicReference<Consumer<Context>> VEHICLE_HANDLER = new AtomicReference<>();
+
+  private static Javalin SERVER;
+
+  private static int PORT;
+
+  private Client client;
+
+  private Account account;
+
+  private String accessToken;
+
+  @BeforeAll
+  static void setUp(){
+
+    // Set port
+    PORT = 2000;
+
+    // Loop until available port exists
+    var success = false;
+    do{
+
+      // Attempt to start server
+      try{
+        SERVER = Javalin.create().start(PORT);
+
+        // If no exception, mark success
+        success = true;
+
+      }catch(Exception e){
+
+        // Increment port
+        PORT++;
+      }
+
+    }while(!success);
+
+    // Bind endpoints
+    SERVER.post("/oauth/token", ctx -> AUTHENTICATION_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles/:id", ctx -> VEHICLE_HANDLER.get().accept(ctx));
+    SERVER.get("/api/1/vehicles/:id/:type", ctx -> VEHICLE_HANDLER.get().accept(ctx));
+    SERVER.post("/api/1/vehicles/:id/:type", ctx -> VEHICLE_HANDLER.get().accept(ctx));
+
+  }
+
+  @AfterAll
+  static void tearDown(){
+    SERVER.stop();
+  }
+
+  private static Vehicle withState(Vehicle vehicle, com.ansill.tesla.api.low.model.Vehicle.State state){
+    return new Vehicle(
+      vehicle.getId(),
+      vehicle.getVehicleId(),
+      vehicle.getVIN(),
+      vehicle.getDisplayName(),
+      vehicle.getOptionCodes(),
+      vehicle.getColor().orElse(null),
+      vehicle.getTokens(),
+      state.toString().toLowerCase(),
+      vehicle.isInService(),
+      vehicle.isCalendarEnabled(),
+      vehicle.getApiVersion(),
+      vehicle.getBackseatToken().orElse(null),
+      vehicle.getBackseatTokenUpdatedAt().orElse(null)
+    );
+  }
+
+  private static void vehicleSuccess(Context ctx, Vehicle vehicle){
+    ctx.status(200);
+    ctx.result(writeToJson(OBJECT_MAPPER, new VehicleResponse(vehicle)));
+  }
+
+  private void login(double maxPollRequestsPerSecond){
+    var client_id = generateString(16);
+    var client_secret = generateString(16);
+    client = Client.builder()
+                   .setUrl("http://localhost:" + PORT)
+                   .setClientId(client_id)
+                   .setClientSecret(client_secret)
+                   .setSlowChangingDataLifetime(Duration.ZERO)
+                   .setMaxPollRequestsPerSecond(maxPollRequestsPerSecond)
+                   .build();
+    var email = generateEmailAddress();
+    var pass = generateString(32);
+    accessToken = generateString(32);
+    AUTHENTICATION_HANDLER.set(ctx -> HighAccountTest.auth(
+      ctx,
+      email,
+      pass,
+      client_id,
+      client_secret,
+      accessToken,
+      generateString(32),
+      Instant.now().getEpochSecond(),
+      (int) Duration.ofDays(100).getSeconds(),
+      "1"
+    ));
+    account = client.authenticate(email, pass).orElseThrow();
+  }
+
+  @BeforeEach
+  void setUpEach(){
+    VEHICLE_HANDLER.set(DEFAULT_FAIL);
+  }
+
+  @AfterEach
+  void tearDownEach(){
+    if(account != null) account.close();
+    if(client != null) client.close();
+  }
+
+  @Test
+  void pollIntervalFollowsActivity() throws InterruptedException{
+
+    // Build vehicle that is offline for now
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.OFFLINE);
+    var listed = new AtomicReference<>(vehicle);
+    var listings = new AtomicInteger();
+
+    // Set up a 'catch' that lists the vehicle in its current state
+    VEHICLE_HANDLER.set(ctx -> {
+      assertFalse(ctx.pathParamMap().containsKey("type"));
+      listings.incrementAndGet();
+      vehicleSuccess(ctx, listed.get());
+    });
+
+    // Poll offline vehicles often and sleeping ones rarely
+    login(100);
+    var policy = PollingPolicy.builder()
+                              .setInterval(VehicleActivity.OFFLINE, Duration.ofMillis(50))
+                              .setInterval(VehicleActivity.ASLEEP, Duration.ofHours(1))
+                              .build();
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    try(var poller = client.createPoller(policy, outcomes::add)){
+      poller.add(high);
+
+      // Offline vehicle is polled again and again
+      for(int i = 0; i < 3; i++){
+        var outcome = outcomes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(outcome);
+        assertEquals(VehicleSnapshotOutcome.Status.OFFLINE, outcome.getStatus());
+      }
+      assertEquals(Optional.of(VehicleActivity.OFFLINE), poller.getActivity(high));
+
+      // Once it's asleep, the polls slow down to the sleeping interval
+      listed.set(withState(vehicle, com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP));
+      VehicleSnapshotOutcome outcome;
+      do{
+        outcome = outcomes.poll(5, TimeUnit.SECONDS);
+        assertNotNull(outcome);
+      }while(outcome.getStatus() != VehicleSnapshotOutcome.Status.ASLEEP);
+      assertEquals(Optional.of(VehicleActivity.ASLEEP), poller.getActivity(high));
+      var count = listings.get();
+      Thread.sleep(300);
+      assertEquals(count, listings.get());
+      assertTrue(outcomes.isEmpty());
+    }
+  }
+
+  @Test
+  void sleepingVehicleIsNotWoken() throws InterruptedException{
+
+    // Build vehicle
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var otherRequests = new AtomicInteger();
+
+    // Set up a 'catch' that lists the vehicle and counts anything else
+    VEHICLE_HANDLER.set(ctx -> {
+      if(ctx.pathParamMap().containsKey("type")){
+        otherRequests.incrementAndGet();
+        ctx.status(600);
+        return;
+      }
+      vehicleSuccess(ctx, vehicle);
+    });
+
+    // Poll it with default policy which leaves sleeping vehicles alone
+    login(100);
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    try(var poller = client.createPoller(PollingPolicy.DEFAULT, outcomes::add)){
+      poller.add(high);
+
+      // It's reported asleep without being woken up or asked for data
+      var outcome = outcomes.poll(5, TimeUnit.SECONDS);
+      assertNotNull(outcome);
+      assertEquals(VehicleSnapshotOutcome.Status.ASLEEP, outcome.getStatus());
+      assertEquals(vehicle.getIdString(), outcome.getVehicleId());
+      assertEquals(Optional.of(VehicleActivity.ASLEEP), poller.getActivity(high));
+      assertEquals(0, otherRequests.get());
+    }
+  }
+
+  @Test
+  void budgetIsChargedForEveryRequestOfPoll() throws InterruptedException{
+
+    // Build vehicle that wakes up when asked to
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var online = withState(vehicle, com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    List<Long> requestTimes = new CopyOnWriteArrayList<>();
+    List<String> requestTypes = new CopyOnWriteArrayList<>();
+
+    // Set up a 'catch' that lists the vehicle, wakes it up and then fails to serve its data
+    VEHICLE_HANDLER.set(ctx -> {
+      var type = ctx.pathParam("type");
+      if(type == null){
+        vehicleSuccess(ctx, vehicle);
+        return;
+      }
+      requestTimes.add(System.nanoTime());
+      requestTypes.add(type);
+      if(type.equals("wake_up")) vehicleSuccess(ctx, online);
+      else ctx.status(600);
+    });
+
+    // Two requests per second, the poll has to wake the vehicle and then ask for the data
+    login(2);
+    var policy = PollingPolicy.builder()
+                              .setWakeSleeping(true)
+                              .setInterval(VehicleActivity.IDLE, Duration.ofHours(1))
+                              .build();
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    try(var poller = client.createPoller(policy, outcomes::add)){
+      poller.add(high);
+
+      // Poll fails on the data but both of its requests went out
+      var outcome = outcomes.poll(5, TimeUnit.SECONDS);
+      assertNotNull(outcome);
+      assertEquals(VehicleSnapshotOutcome.Status.FAILED, outcome.getStatus());
+      assertEquals(List.of("wake_up", "vehicle_data"), requestTypes);
+
+      // Second request had to wait for its own permit
+      var gap = Duration.ofNanos(requestTimes.get(1) - requestTimes.get(0));
+      assertTrue(gap.compareTo(Duration.ofMillis(400)) >= 0, "Requests were " + gap + " apart");
+    }
+  }
+
+  @Test
+  void wakingVehicleDoesNotHoldThread() throws InterruptedException{
+
+    // Build vehicle that wakes up on the second command
+    var vehicle = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var online = withState(vehicle, com.ansill.tesla.api.low.model.Vehicle.State.ONLINE);
+    var wakeUps = new AtomicInteger();
+
+    // Set up a 'catch' that lists the vehicle asleep, wakes it up and then fails to serve its data
+    VEHICLE_HANDLER.set(ctx -> {
+      var type = ctx.pathParam("type");
+      if(type == null) vehicleSuccess(ctx, vehicle);
+      else if(type.equals("wake_up")) vehicleSuccess(ctx, wakeUps.incrementAndGet() == 1 ? vehicle : online);
+      else ctx.status(600);
+    });
+
+    // Poll it with a policy that wakes sleeping vehicles
+    login(100);
+    var policy = PollingPolicy.builder()
+                              .setWakeSleeping(true)
+                              .setInterval(VehicleActivity.IDLE, Duration.ofHours(1))
+                              .build();
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var high = assertDoesNotThrow(() -> account.getVehicleByID(vehicle.getIdString())).orElseThrow();
+    try(var poller = client.createPoller(policy, outcomes::add)){
+      poller.add(high);
+
+      // No thread is held by the poll while the vehicle wakes up
+      await(() -> wakeUps.get() == 1);
+      Thread.sleep(500);
+      assertTrue(Thread.getAllStackTraces()
+                       .values()
+                       .stream()
+                       .flatMap(Arrays::stream)
+                       .noneMatch(frame -> frame.getClassName().equals("com.ansill.tesla.api.high.VehiclePoller") &&
+                                           frame.getMethodName().equals("poll")));
+      assertTrue(outcomes.isEmpty());
+
+      // Next poll wakes it up and goes on to the data
+      var outcome = outcomes.poll(10, TimeUnit.SECONDS);
+      assertNotNull(outcome);
+      assertEquals(VehicleSnapshotOutcome.Status.FAILED, outcome.getStatus());
+      assertEquals(2, wakeUps.get());
+    }
+  }
+
+  @Test
+  void pollersShareBudget() throws InterruptedException{
+
+    // Build two sleeping vehicles
+    var first = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var second = generateVehicle(com.ansill.tesla.api.low.model.Vehicle.State.ASLEEP);
+    var polling = new AtomicBoolean(false);
+    List<Long> listingTimes = new CopyOnWriteArrayList<>();
+
+    // Set up a 'catch' that lists either vehicle and records when the polls did it
+    VEHICLE_HANDLER.set(ctx -> {
+      assertFalse(ctx.pathParamMap().containsKey("type"));
+      if(polling.get()) listingTimes.add(System.nanoTime());
+      vehicleSuccess(ctx, ctx.pathParam("id").equals(first.getIdString()) ? first : second);
+    });
+
+    // Two requests per second for the whole client
+    login(2);
+    BlockingQueue<VehicleSnapshotOutcome> outcomes = new LinkedBlockingQueue<>();
+    var firstHigh = assertDoesNotThrow(() -> account.getVehicleByID(first.getIdString())).orElseThrow();
+    var secondHigh = assertDoesNotThrow(() -> account.getVehicleByID(second.getIdString())).orElseThrow();
+    polling.set(true);
+    try(
+      var firstPoller = client.createPoller(PollingPolicy.DEFAULT, outcomes::add);
+      var secondPoller = client.createPoller(PollingPolicy.DEFAULT, outcomes::add)
+    ){
+      firstPoller.add(firstHigh);
+      secondPoller.add(secondHigh);
+
+      // Both are polled, but not within the same permit
+      for(int i = 0; i < 2; i++) assertNotNull(outcomes.poll(5, TimeUnit.SECONDS));
+      assertEquals(2, listingTimes.size());
+      var gap = Duration.ofNanos(Math.abs(listingTimes.get(1) - listingTimes.get(0)));
+      assertTrue(gap.compareTo(Duration.ofMillis(400)) >= 0, "Polls were " + gap + " apart");
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.ansill.tesla.api.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so the allocation rate is reported next to the throughput. Takes
+ * the usual JMH command line, for example "java -jar benchmarks.jar Deserialization -p collectUnknownFields=true"
+ */
+public final class BenchmarkRunner{
+
+  private BenchmarkRunner(){
+    throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException{
+    var options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+    new Runner(options).run();
+  }
+}
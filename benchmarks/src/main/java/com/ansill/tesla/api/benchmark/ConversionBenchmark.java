@@ -0,0 +1,56 @@
+package com.ansill.tesla.api.benchmark;
+
+import com.ansill.tesla.api.data.model.CompleteVehicle;
+import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
+import com.ansill.tesla.api.high.model.VehicleSnapshot;
+import com.ansill.tesla.api.low.model.CompleteData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of parsed vehicle data into the low-level and high-level models. The unknown fields function only runs
+ * while parsing, so it makes no difference here, see DeserializationBenchmark#vehicleDataToSnapshot for the whole path
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ConversionBenchmark{
+
+  /** Parsed vehicle data */
+  private CompleteVehicle vehicle;
+
+  /** Converted vehicle data */
+  private CompleteData data;
+
+  @Setup
+  public void setUp() throws IOException{
+    vehicle = Payloads.createObjectMapper(false)
+                      .readValue(Payloads.VEHICLE_DATA, CompleteVehicleDataResponse.class)
+                      .getResponse();
+    data = CompleteData.convert(vehicle);
+  }
+
+  @Benchmark
+  public CompleteData completeData(){
+    return CompleteData.convert(vehicle);
+  }
+
+  @Benchmark
+  public VehicleSnapshot vehicleSnapshot(){
+    return VehicleSnapshot.convert(data);
+  }
+}
@@ -0,0 +1,80 @@
+package com.ansill.tesla.api.benchmark;
+
+import com.ansill.tesla.api.data.model.ChargeState;
+import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
+import com.ansill.tesla.api.data.model.response.SimpleResponse;
+import com.ansill.tesla.api.data.model.response.VehiclesResponse;
+import com.ansill.tesla.api.high.model.VehicleSnapshot;
+import com.ansill.tesla.api.low.model.CompleteData;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the response bodies through the custom deserializers, with and without an unknown fields function
+ * installed
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class DeserializationBenchmark{
+
+  /** Type of the charge state response */
+  private static final TypeReference<SimpleResponse<ChargeState>> CHARGE_STATE_TYPE = new TypeReference<>(){
+  };
+
+  /** Whether the unknown fields function is installed */
+  @Param({"false", "true"})
+  public boolean collectUnknownFields;
+
+  /** Object mapper */
+  private ObjectMapper objectMapper;
+
+  @Setup
+  public void setUp(){
+    objectMapper = Payloads.createObjectMapper(collectUnknownFields);
+  }
+
+  @Benchmark
+  public CompleteVehicleDataResponse vehicleData() throws IOException{
+    return objectMapper.readValue(Payloads.VEHICLE_DATA, CompleteVehicleDataResponse.class);
+  }
+
+  @Benchmark
+  public SimpleResponse<ChargeState> chargeState() throws IOException{
+    return objectMapper.readValue(Payloads.CHARGE_STATE, CHARGE_STATE_TYPE);
+  }
+
+  @Benchmark
+  public VehiclesResponse vehicles() throws IOException{
+    return objectMapper.readValue(Payloads.VEHICLES, VehiclesResponse.class);
+  }
+
+  /**
+   * Whole path of a high-level vehicle data read, from the body to the snapshot
+   *
+   * @return snapshot
+   * @throws IOException never, the body is in memory
+   */
+  @Benchmark
+  public VehicleSnapshot vehicleDataToSnapshot() throws IOException{
+    var response = objectMapper.readValue(Payloads.VEHICLE_DATA, CompleteVehicleDataResponse.class);
+    return VehicleSnapshot.convert(CompleteData.convert(response.getResponse()));
+  }
+}
@@ -0,0 +1,334 @@
+package com.ansill.tesla.api.benchmark;
+
+import com.ansill.tesla.api.high.Account;
+import com.ansill.tesla.api.high.Client;
+import com.ansill.tesla.api.high.Vehicle;
+import com.ansill.tesla.api.metrics.HistogramMetrics;
+import com.ansill.tesla.api.metrics.LatencyHistogram;
+import com.ansill.tesla.api.mock.MockServer;
+import com.ansill.tesla.api.mock.MockUtility;
+import com.ansill.tesla.api.mock.model.MockModel;
+
+import javax.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Load test - boots the mock server with N accounts of M vehicles each and drives the high-level client from K
+ * workers for a while, then reports throughput, latency percentiles and how long the workers spent blocked on monitors
+ * or parked on locks. Everything runs on localhost, see the load-test profile in the pom
+ * <p>
+ * Arguments, all optional: accounts, vehicles per account, workers, duration and fast-changing data lifetime, the
+ * latter two in ISO-8601 form such as PT30S
+ */
+public final class LoadTest{
+
+  /** Default number of accounts */
+  private static final int DEFAULT_ACCOUNTS = 4;
+
+  /** Default number of vehicles per account */
+  private static final int DEFAULT_VEHICLES = 8;
+
+  /** Default number of workers */
+  private static final int DEFAULT_WORKERS = 16;
+
+  /** Default duration of the measured run */
+  @Nonnull
+  private static final Duration DEFAULT_DURATION = Duration.ofSeconds(30);
+
+  /** Default lifetime of fast-changing data, short enough that the cache keeps going back to the server */
+  @Nonnull
+  private static final Duration DEFAULT_FAST_CHANGING_DATA_LIFETIME = Duration.ofMillis(500);
+
+  /** Warm-up before the measured run */
+  @Nonnull
+  private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+  /** Password of every account */
+  @Nonnull
+  private static final String PASSWORD = "load-test";
+
+  private LoadTest(){
+    throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
+  }
+
+  public static void main(String... args) throws InterruptedException{
+
+    // Read arguments
+    var accounts = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ACCOUNTS;
+    var vehicles = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_VEHICLES;
+    var workers = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_WORKERS;
+    var duration = args.length > 3 ? Duration.parse(args[3]) : DEFAULT_DURATION;
+    var lifetime = args.length > 4 ? Duration.parse(args[4]) : DEFAULT_FAST_CHANGING_DATA_LIFETIME;
+
+    // Set up model
+    var model = new MockModel(MockUtility.generateString(64), MockUtility.generateString(64));
+    var emailAddresses = new ArrayList<String>(accounts);
+    for(int index = 0; index < accounts; index++){
+      var emailAddress = f("load-test-{}@example.com", index);
+      var account = model.createAccount(emailAddress, PASSWORD);
+      for(int vehicle = 0; vehicle < vehicles; vehicle++) model.createVehicle(account);
+      emailAddresses.add(emailAddress);
+    }
+
+    // Run it
+    var metrics = new HistogramMetrics();
+    try(
+      var server = new MockServer(new AtomicReference<>(model));
+      var client = Client.builder()
+                         .setFastChangingDataLifetime(lifetime)
+                         .setUrl("http://localhost:" + server.getPort())
+                         .setClientId(model.getClientId())
+                         .setClientSecret(model.getClientSecret())
+                         .setMetrics(metrics)
+                         .build()
+    ){
+
+      // Log in and look up the vehicles
+      var targets = new ArrayList<Target>();
+      for(var emailAddress : emailAddresses){
+        var account = client.authenticate(emailAddress, PASSWORD)
+                            .orElseThrow(() -> new IllegalStateException(f("Cannot log in as {}", emailAddress)));
+        for(var vehicle : account.getVehicles()) targets.add(new Target(account, vehicle));
+      }
+      System.out.println(f(
+        "Load test: {} accounts, {} vehicles, {} workers, {} warm-up, {} run, {} fast-changing data lifetime",
+        accounts,
+        targets.size(),
+        workers,
+        WARM_UP,
+        duration,
+        lifetime
+      ));
+
+      // Warm up, then measure
+      run(targets, workers, WARM_UP);
+      var result = run(targets, workers, duration);
+
+      // Report it
+      System.out.println(result);
+      System.out.println("Requests by endpoint:");
+      for(var endpoint : new TreeSet<>(metrics.getEndpoints())){
+        System.out.println(f(
+          "  {}: {}, status codes {}",
+          endpoint,
+          metrics.getRequestLatency(endpoint).map(LoadTest::toMillis).orElse("-"),
+          metrics.getStatusCodeCounts(endpoint)
+        ));
+      }
+    }
+  }
+
+  /**
+   * Runs the workers against the vehicles
+   *
+   * @param targets  vehicles with their accounts
+   * @param workers  number of workers
+   * @param duration duration of the run
+   * @return result
+   * @throws InterruptedException thrown if interrupted while waiting on the workers
+   */
+  @Nonnull
+  private static Result run(@Nonnull List<Target> targets, int workers, @Nonnull Duration duration)
+  throws InterruptedException{
+
+    // Watch the contention of the workers
+    var threads = ManagementFactory.getThreadMXBean();
+    if(threads.isThreadContentionMonitoringSupported()) threads.setThreadContentionMonitoringEnabled(true);
+
+    // Start the workers
+    var latency = new LatencyHistogram();
+    var errors = new LongAdder();
+    var start = new CountDownLatch(1);
+    var contention = new Contention();
+    var deadline = new AtomicLong();
+    var threadList = new ArrayList<Thread>(workers);
+    for(int index = 0; index < workers; index++){
+      var thread = new Thread(() -> {
+        try{
+          start.await();
+        }catch(InterruptedException e){
+          return;
+        }
+        var random = ThreadLocalRandom.current();
+        var baseline = Contention.of(threads);
+        while(System.nanoTime() < deadline.get()){
+          var target = targets.get(random.nextInt(targets.size()));
+          var startAt = System.nanoTime();
+          try{
+            target.call(random.nextInt(100));
+            latency.record(System.nanoTime() - startAt);
+          }catch(Exception e){
+            errors.increment();
+          }
+        }
+        contention.add(Contention.of(threads), baseline);
+      }, "load-test-worker-" + index);
+      thread.start();
+      threadList.add(thread);
+    }
+
+    // Let them go and wait for them
+    var startAt = System.nanoTime();
+    deadline.set(startAt + duration.toNanos());
+    start.countDown();
+    for(var thread : threadList) thread.join();
+    return new Result(latency, errors.sum(), System.nanoTime() - startAt, contention);
+  }
+
+  /**
+   * Formats histogram in milliseconds
+   *
+   * @param histogram histogram in nanoseconds
+   * @return text
+   */
+  @Nonnull
+  private static String toMillis(@Nonnull LatencyHistogram histogram){
+    return f(
+      "count={}, p50={}ms, p99={}ms, p999={}ms, max={}ms",
+      histogram.getCount(),
+      histogram.getValueAtPercentile(50) / 1e6,
+      histogram.getValueAtPercentile(99) / 1e6,
+      histogram.getValueAtPercentile(99.9) / 1e6,
+      histogram.getMax() / 1e6
+    );
+  }
+
+  /** Vehicle with the account it belongs to */
+  private static final class Target{
+
+    /** Account */
+    @Nonnull
+    private final Account account;
+
+    /** Vehicle */
+    @Nonnull
+    private final Vehicle vehicle;
+
+    private Target(@Nonnull Account account, @Nonnull Vehicle vehicle){
+      this.account = account;
+      this.vehicle = vehicle;
+    }
+
+    /**
+     * Makes a call, the mix leans on the vehicle data like a dashboard would
+     *
+     * @param roll number in range [0, 100) that picks the call
+     * @throws Exception thrown if the call fails
+     */
+    private void call(int roll) throws Exception{
+      if(roll < 50) vehicle.getVehicleSnapshot();
+      else if(roll < 70) vehicle.getChargeState();
+      else if(roll < 85) vehicle.getLocation();
+      else if(roll < 95) vehicle.getVehicleConfig();
+      else account.getVehicles();
+    }
+  }
+
+  /** Time the workers spent blocked on monitors or parked, which includes waiting on the locks */
+  private static final class Contention{
+
+    /** Number of times blocked on a monitor */
+    private final LongAdder blockedCount = new LongAdder();
+
+    /** Milliseconds blocked on monitors */
+    private final LongAdder blockedMillis = new LongAdder();
+
+    /** Number of times parked or waiting */
+    private final LongAdder waitedCount = new LongAdder();
+
+    /** Milliseconds parked or waiting */
+    private final LongAdder waitedMillis = new LongAdder();
+
+    /**
+     * Takes the contention of the current thread so far
+     *
+     * @param threads thread bean
+     * @return contention
+     */
+    @Nonnull
+    private static Contention of(@Nonnull ThreadMXBean threads){
+      var info = threads.getThreadInfo(Thread.currentThread().getId());
+      var contention = new Contention();
+      contention.blockedCount.add(info.getBlockedCount());
+      contention.blockedMillis.add(info.getBlockedTime());
+      contention.waitedCount.add(info.getWaitedCount());
+      contention.waitedMillis.add(info.getWaitedTime());
+      return contention;
+    }
+
+    /**
+     * Adds the difference between two readings of a thread
+     *
+     * @param end   reading at the end
+     * @param start reading at the start
+     */
+    private void add(@Nonnull Contention end, @Nonnull Contention start){
+      blockedCount.add(end.blockedCount.sum() - start.blockedCount.sum());
+      blockedMillis.add(end.blockedMillis.sum() - start.blockedMillis.sum());
+      waitedCount.add(end.waitedCount.sum() - start.waitedCount.sum());
+      waitedMillis.add(end.waitedMillis.sum() - start.waitedMillis.sum());
+    }
+
+    @Override
+    public String toString(){
+      return f(
+        "blocked {} times for {}ms, parked or waiting {} times for {}ms",
+        blockedCount.sum(),
+        blockedMillis.sum(),
+        waitedCount.sum(),
+        waitedMillis.sum()
+      );
+    }
+  }
+
+  /** Result of a run */
+  private static final class Result{
+
+    /** Call latencies in nanoseconds */
+    @Nonnull
+    private final LatencyHistogram latency;
+
+    /** Number of failed calls */
+    private final long errors;
+
+    /** Duration of the run in nanoseconds */
+    private final long elapsedNanos;
+
+    /** Contention of the workers */
+    @Nonnull
+    private final Contention contention;
+
+    private Result(@Nonnull LatencyHistogram latency, long errors, long elapsedNanos, @Nonnull Contention contention){
+      this.latency = latency;
+      this.errors = errors;
+      this.elapsedNanos = elapsedNanos;
+      this.contention = contention;
+    }
+
+    @Override
+    public String toString(){
+      var calls = latency.getCount() + errors;
+      return f(
+        "Throughput: {} calls/s ({} calls, {} errors)\nLatency: {}\nContention: {}",
+        calls * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos),
+        calls,
+        errors,
+        toMillis(latency),
+        contention
+      );
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.ansill.tesla.api.benchmark;
+
+import com.ansill.tesla.api.data.utility.JacksonUtility;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.ansill.utility.Utility.f;
+
+/**
+ * Recorded API response bodies and the object mapper the raw client parses them with. The bodies carry the fields that
+ * the current API returns but the model does not know about, so the unknown fields path has real work to do
+ */
+final class Payloads{
+
+  /** Body of GET /api/1/vehicles/{id}/vehicle_data */
+  @Nonnull
+  static final byte[] VEHICLE_DATA = load("vehicle_data.json");
+
+  /** Body of GET /api/1/vehicles/{id}/data_request/charge_state */
+  @Nonnull
+  static final byte[] CHARGE_STATE = load("charge_state.json");
+
+  /** Body of GET /api/1/vehicles */
+  @Nonnull
+  static final byte[] VEHICLES = load("vehicles.json");
+
+  private Payloads(){
+    throw new AssertionError(f("No {} instances for you!", this.getClass().getName()));
+  }
+
+  /**
+   * Loads the body from the resources next to this class
+   *
+   * @param name resource name
+   * @return body
+   */
+  @Nonnull
+  private static byte[] load(@Nonnull String name){
+    try(var stream = Payloads.class.getResourceAsStream(name)){
+      if(stream == null) throw new IllegalStateException(f("Payload '{}' is missing", name));
+      return stream.readAllBytes();
+    }catch(IOException e){
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Creates object mapper set up the same way as the raw client's
+   *
+   * @param collectUnknownFields true to install an unknown fields function, false to leave the lenient one in place
+   * @return object mapper
+   */
+  @Nonnull
+  static ObjectMapper createObjectMapper(boolean collectUnknownFields){
+    Function<Map<String,Optional<Object>>,Boolean> function = collectUnknownFields ?
+                                                              unknownFields -> false :
+                                                              JacksonUtility.IGNORE_UNKNOWN_FIELDS;
+    var objectMapper = new ObjectMapper();
+    objectMapper.registerModule(JacksonUtility.createModule(new AtomicReference<>(function)));
+    return objectMapper;
+  }
+}
@@ -1,8 +1,8 @@
 package com.ansill.tesla.api.data.model;
 
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.DeserializationContext;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -12,7 +12,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 import static com.ansill.tesla.api.data.utility.JacksonUtility.*;
 
@@ -87,80 +86,7 @@ public class AbstractVehicle{
     this.apiVersion = apiVersion;
     this.backseatToken = backseatToken;
     this.backseatTokenUpdatedAt = backseatTokenUpdatedAt;
-    this._unknownFields = Collections.unmodifiableMap(unknownFields);
-  }
-
-  @Nonnull
-  public static AbstractVehicle deserialize(
-    @Nonnull ObjectNode node,
-    @Nonnull ObjectCodec codec,
-    @Nonnull Set<String> usedKeys
-  ) throws IOException{
-
-    // Get id
-    var id = getLong(node, "id", usedKeys);
-
-    // Get vehicleId
-    var vehicleId = getLong(node, "vehicle_id", usedKeys);
-
-    // Get VIN
-    var vin = getString(node, "vin", usedKeys);
-
-    // Get Display name
-    var displayName = getString(node, "display_name", usedKeys);
-
-    // Get Option Codes
-    var optionCodes = getString(node, "option_codes", usedKeys);
-
-    // Get color
-    var color = getStringNullable(node, "color", usedKeys);
-
-    // Get Tokens
-    List<String> tokens = getObject(codec, "tokens", node, usedKeys, new TypeReference<>(){
-    });
-
-    // Get State
-    var state = getString(node, "state", usedKeys);
-
-    // Get InService
-    var inService = getBoolean(node, "in_service", usedKeys);
-
-    // Get idString
-    var idStringNode = node.get("id_s");
-    var idString = idStringNode != null ? getStringNullable(node, "id_s", usedKeys) : id + "";
-
-    // Assert that id string is correct
-    assert idString == null || idString.equals(id + ""); // TODO add in option to become lenient
-
-    // Get CalendarEnabled
-    var calendarEnabled = getBoolean(node, "calendar_enabled", usedKeys);
-
-    // Get APIVersion
-    var apiVersion = getInteger(node, "api_version", usedKeys);
-
-    // Get backseat token
-    var backseatToken = getStringNullable(node, "backseat_token", usedKeys);
-
-    // Get backseat token updated at
-    var backseatTokenUpdatedAt = getStringNullable(node, "backseat_token_updated_at", usedKeys);
-
-    // Build and return
-    return new AbstractVehicle(
-      id,
-      vehicleId,
-      vin,
-      displayName,
-      optionCodes,
-      color,
-      tokens,
-      state,
-      inService,
-      calendarEnabled,
-      apiVersion,
-      backseatToken,
-      backseatTokenUpdatedAt,
-      Collections.emptyMap()
-    );
+    this._unknownFields = unknownFields.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(unknownFields);
   }
 
   public long getId(){
@@ -272,4 +198,144 @@ public class AbstractVehicle{
   public Optional<String> getBackseatTokenUpdatedAt(){
     return Optional.ofNullable(backseatTokenUpdatedAt);
   }
+
+  /** Mutable holder of vehicle fields, filled while the deserializer walks the object */
+  static final class Fields{
+
+    /** Type of tokens list */
+    @Nonnull
+    private static final TypeReference<List<String>> TOKENS_TYPE = new TypeReference<>(){
+    };
+
+    private long id;
+
+    private boolean idSeen;
+
+    private long vehicleId;
+
+    private boolean vehicleIdSeen;
+
+    @Nullable
+    private String vin;
+
+    @Nullable
+    private String displayName;
+
+    @Nullable
+    private String optionCodes;
+
+    @Nullable
+    private String color;
+
+    @Nullable
+    private List<String> tokens;
+
+    @Nullable
+    private String state;
+
+    private boolean inService;
+
+    private boolean inServiceSeen;
+
+    @Nullable
+    private String idString;
+
+    private boolean calendarEnabled;
+
+    private boolean calendarEnabledSeen;
+
+    private int apiVersion;
+
+    private boolean apiVersionSeen;
+
+    @Nullable
+    private String backseatToken;
+
+    @Nullable
+    private String backseatTokenUpdatedAt;
+
+    /**
+     * Reads value under the current token if the key belongs to the vehicle
+     *
+     * @param key     key name
+     * @param parser  parser positioned on the value
+     * @param context deserialization context
+     * @return true if value has been consumed, false if the key is not a vehicle field
+     * @throws IOException thrown if the parser fails
+     */
+    boolean read(
+      @Nonnull String key,
+      @Nonnull JsonParser parser,
+      @Nonnull DeserializationContext context
+    ) throws IOException{
+      switch(key){
+        case "id" -> {
+          id = getLong(parser, key);
+          idSeen = true;
+        }
+        case "vehicle_id" -> {
+          vehicleId = getLong(parser, key);
+          vehicleIdSeen = true;
+        }
+        case "vin" -> vin = getString(parser, key);
+        case "display_name" -> displayName = getString(parser, key);
+        case "option_codes" -> optionCodes = getString(parser, key);
+        case "color" -> color = getStringNullable(parser, key);
+        case "tokens" -> tokens = getObject(parser, context, TOKENS_TYPE);
+        case "state" -> state = getString(parser, key);
+        case "in_service" -> {
+          inService = getBoolean(parser, key);
+          inServiceSeen = true;
+        }
+        case "id_s" -> idString = getStringNullable(parser, key);
+        case "calendar_enabled" -> {
+          calendarEnabled = getBoolean(parser, key);
+          calendarEnabledSeen = true;
+        }
+        case "api_version" -> {
+          apiVersion = getInteger(parser, key);
+          apiVersionSeen = true;
+        }
+        case "backseat_token" -> backseatToken = getStringNullable(parser, key);
+        case "backseat_token_updated_at" -> backseatTokenUpdatedAt = getStringNullable(parser, key);
+        default -> {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Ensures that required fields exist and builds the vehicle
+     *
+     * @return vehicle
+     */
+    @Nonnull
+    AbstractVehicle build(){
+
+      // Get id
+      long id = required(this.id, idSeen, "id");
+
+      // Assert that id string is correct
+      assert idString == null || idString.equals(id + ""); // TODO add in option to become lenient
+
+      // Build and return
+      return new AbstractVehicle(
+        id,
+        required(vehicleId, vehicleIdSeen, "vehicle_id"),
+        required(vin, "vin"),
+        required(displayName, "display_name"),
+        required(optionCodes, "option_codes"),
+        color,
+        required(tokens, "tokens"),
+        required(state, "state"),
+        required(inService, inServiceSeen, "in_service"),
+        required(calendarEnabled, calendarEnabledSeen, "calendar_enabled"),
+        required(apiVersion, apiVersionSeen, "api_version"),
+        backseatToken,
+        backseatTokenUpdatedAt,
+        Collections.emptyMap()
+      );
+    }
+  }
 }
@@ -7,13 +7,11 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -521,114 +519,306 @@ public final class ChargeState{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var batteryHeaterOn = JacksonUtility.getBoolean(node, "battery_heater_on", usedKeysSet);
-      var batteryLevel = JacksonUtility.getInteger(node, "battery_level", usedKeysSet);
-      var batteryRange = JacksonUtility.getDouble(node, "battery_range", usedKeysSet);
-      var chargeCurrentRequest = JacksonUtility.getInteger(node, "charge_current_request", usedKeysSet);
-      var chargeCurrentRequestMax = JacksonUtility.getInteger(node, "charge_current_request_max", usedKeysSet);
-      var chargeEnableRequest = JacksonUtility.getBoolean(node, "charge_enable_request", usedKeysSet);
-      var chargeEnergyAdded = JacksonUtility.getDouble(node, "charge_energy_added", usedKeysSet);
-      var chargeLimitSoc = JacksonUtility.getInteger(node, "charge_limit_soc", usedKeysSet);
-      var chargeLimitSocMax = JacksonUtility.getInteger(node, "charge_limit_soc_max", usedKeysSet);
-      var chargeLimitSocMin = JacksonUtility.getInteger(node, "charge_limit_soc_min", usedKeysSet);
-      var chargeLimitSocStd = JacksonUtility.getInteger(node, "charge_limit_soc_std", usedKeysSet);
-      var chargeMilesAddedIdeal = JacksonUtility.getDouble(node, "charge_miles_added_ideal", usedKeysSet);
-      var chargeMilesAddedRated = JacksonUtility.getDouble(node, "charge_miles_added_rated", usedKeysSet);
-      var chargePortColdWeatherMode = JacksonUtility.getBoolean(node, "charge_port_cold_weather_mode", usedKeysSet);
-      var chargePortDoorOpen = JacksonUtility.getBoolean(node, "charge_port_door_open", usedKeysSet);
-      var chargePortLatch = JacksonUtility.getString(node, "charge_port_latch", usedKeysSet);
-      var chargeRate = JacksonUtility.getDouble(node, "charge_rate", usedKeysSet);
-      var chargeToMaxRange = JacksonUtility.getBoolean(node, "charge_to_max_range", usedKeysSet);
-      var chargerActualCurrent = JacksonUtility.getInteger(node, "charger_actual_current", usedKeysSet);
-      var chargerPhases = JacksonUtility.getIntegerNullable(node, "charger_phases", usedKeysSet);
-      var chargerPilotCurrent = JacksonUtility.getInteger(node, "charger_pilot_current", usedKeysSet);
-      var chargerPower = JacksonUtility.getInteger(node, "charger_power", usedKeysSet);
-      var chargerVoltage = JacksonUtility.getInteger(node, "charger_voltage", usedKeysSet);
-      var chargingState = JacksonUtility.getString(node, "charging_state", usedKeysSet);
-      var connChargeCable = JacksonUtility.getStringNullable(node, "conn_charge_cable", usedKeysSet);
-      var estBatteryRange = JacksonUtility.getDouble(node, "est_battery_range", usedKeysSet);
-      var fastChargerBrand = JacksonUtility.getStringNullable(node, "fast_charger_brand", usedKeysSet);
-      var fastChargerPresent = JacksonUtility.getBoolean(node, "fast_charger_present", usedKeysSet);
-      var fastChargerType = JacksonUtility.getStringNullable(node, "fast_charger_type", usedKeysSet);
-      var idealBatteryRange = JacksonUtility.getDouble(node, "ideal_battery_range", usedKeysSet);
-      var managedChargingActive = JacksonUtility.getBoolean(node, "managed_charging_active", usedKeysSet);
-      var managedChargingStartTime = JacksonUtility.getStringNullable(node, "managed_charging_start_time", usedKeysSet);
-      var managedChargingUserCanceled = JacksonUtility.getBoolean(node, "managed_charging_user_canceled", usedKeysSet);
-      var maxRangeChargeCounter = JacksonUtility.getInteger(node, "max_range_charge_counter", usedKeysSet);
-      var minutesToFullCharge = JacksonUtility.getLong(node, "minutes_to_full_charge", usedKeysSet);
-      var notEnoughPowerToHeat = JacksonUtility.getBooleanNullable(node, "not_enough_power_to_heat", usedKeysSet);
-      var scheduledChargingPending = JacksonUtility.getBoolean(node, "scheduled_charging_pending", usedKeysSet);
-      var scheduledChargingStartTime = JacksonUtility.getStringNullable(
-        node,
-        "scheduled_charging_start_time",
-        usedKeysSet
-      );
-      var timeToFullCharge = JacksonUtility.getDouble(node, "time_to_full_charge", usedKeysSet);
-      var timestamp = JacksonUtility.getLong(node, "timestamp", usedKeysSet);
-      var tripCharging = JacksonUtility.getBoolean(node, "trip_charging", usedKeysSet);
-      var usableBatteryLevel = JacksonUtility.getInteger(node, "usable_battery_level", usedKeysSet);
-      var userChargeEnableRequest = JacksonUtility.getStringNullable(node, "user_charge_enable_request", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean batteryHeaterOn = false;
+      boolean batteryHeaterOnSeen = false;
+      int batteryLevel = 0;
+      boolean batteryLevelSeen = false;
+      double batteryRange = 0;
+      boolean batteryRangeSeen = false;
+      int chargeCurrentRequest = 0;
+      boolean chargeCurrentRequestSeen = false;
+      int chargeCurrentRequestMax = 0;
+      boolean chargeCurrentRequestMaxSeen = false;
+      boolean chargeEnableRequest = false;
+      boolean chargeEnableRequestSeen = false;
+      double chargeEnergyAdded = 0;
+      boolean chargeEnergyAddedSeen = false;
+      int chargeLimitSoc = 0;
+      boolean chargeLimitSocSeen = false;
+      int chargeLimitSocMax = 0;
+      boolean chargeLimitSocMaxSeen = false;
+      int chargeLimitSocMin = 0;
+      boolean chargeLimitSocMinSeen = false;
+      int chargeLimitSocStd = 0;
+      boolean chargeLimitSocStdSeen = false;
+      double chargeMilesAddedIdeal = 0;
+      boolean chargeMilesAddedIdealSeen = false;
+      double chargeMilesAddedRated = 0;
+      boolean chargeMilesAddedRatedSeen = false;
+      boolean chargePortColdWeatherMode = false;
+      boolean chargePortColdWeatherModeSeen = false;
+      boolean chargePortDoorOpen = false;
+      boolean chargePortDoorOpenSeen = false;
+      String chargePortLatch = null;
+      double chargeRate = 0;
+      boolean chargeRateSeen = false;
+      boolean chargeToMaxRange = false;
+      boolean chargeToMaxRangeSeen = false;
+      int chargerActualCurrent = 0;
+      boolean chargerActualCurrentSeen = false;
+      Integer chargerPhases = null;
+      int chargerPilotCurrent = 0;
+      boolean chargerPilotCurrentSeen = false;
+      int chargerPower = 0;
+      boolean chargerPowerSeen = false;
+      int chargerVoltage = 0;
+      boolean chargerVoltageSeen = false;
+      String chargingState = null;
+      String connChargeCable = null;
+      double estBatteryRange = 0;
+      boolean estBatteryRangeSeen = false;
+      String fastChargerBrand = null;
+      boolean fastChargerPresent = false;
+      boolean fastChargerPresentSeen = false;
+      String fastChargerType = null;
+      double idealBatteryRange = 0;
+      boolean idealBatteryRangeSeen = false;
+      boolean managedChargingActive = false;
+      boolean managedChargingActiveSeen = false;
+      String managedChargingStartTime = null;
+      boolean managedChargingUserCanceled = false;
+      boolean managedChargingUserCanceledSeen = false;
+      int maxRangeChargeCounter = 0;
+      boolean maxRangeChargeCounterSeen = false;
+      long minutesToFullCharge = 0;
+      boolean minutesToFullChargeSeen = false;
+      Boolean notEnoughPowerToHeat = null;
+      boolean scheduledChargingPending = false;
+      boolean scheduledChargingPendingSeen = false;
+      String scheduledChargingStartTime = null;
+      double timeToFullCharge = 0;
+      boolean timeToFullChargeSeen = false;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      boolean tripCharging = false;
+      boolean tripChargingSeen = false;
+      int usableBatteryLevel = 0;
+      boolean usableBatteryLevelSeen = false;
+      String userChargeEnableRequest = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "battery_heater_on" -> {
+            batteryHeaterOn = JacksonUtility.getBoolean(jsonParser, key);
+            batteryHeaterOnSeen = true;
+          }
+          case "battery_level" -> {
+            batteryLevel = JacksonUtility.getInteger(jsonParser, key);
+            batteryLevelSeen = true;
+          }
+          case "battery_range" -> {
+            batteryRange = JacksonUtility.getDouble(jsonParser, key);
+            batteryRangeSeen = true;
+          }
+          case "charge_current_request" -> {
+            chargeCurrentRequest = JacksonUtility.getInteger(jsonParser, key);
+            chargeCurrentRequestSeen = true;
+          }
+          case "charge_current_request_max" -> {
+            chargeCurrentRequestMax = JacksonUtility.getInteger(jsonParser, key);
+            chargeCurrentRequestMaxSeen = true;
+          }
+          case "charge_enable_request" -> {
+            chargeEnableRequest = JacksonUtility.getBoolean(jsonParser, key);
+            chargeEnableRequestSeen = true;
+          }
+          case "charge_energy_added" -> {
+            chargeEnergyAdded = JacksonUtility.getDouble(jsonParser, key);
+            chargeEnergyAddedSeen = true;
+          }
+          case "charge_limit_soc" -> {
+            chargeLimitSoc = JacksonUtility.getInteger(jsonParser, key);
+            chargeLimitSocSeen = true;
+          }
+          case "charge_limit_soc_max" -> {
+            chargeLimitSocMax = JacksonUtility.getInteger(jsonParser, key);
+            chargeLimitSocMaxSeen = true;
+          }
+          case "charge_limit_soc_min" -> {
+            chargeLimitSocMin = JacksonUtility.getInteger(jsonParser, key);
+            chargeLimitSocMinSeen = true;
+          }
+          case "charge_limit_soc_std" -> {
+            chargeLimitSocStd = JacksonUtility.getInteger(jsonParser, key);
+            chargeLimitSocStdSeen = true;
+          }
+          case "charge_miles_added_ideal" -> {
+            chargeMilesAddedIdeal = JacksonUtility.getDouble(jsonParser, key);
+            chargeMilesAddedIdealSeen = true;
+          }
+          case "charge_miles_added_rated" -> {
+            chargeMilesAddedRated = JacksonUtility.getDouble(jsonParser, key);
+            chargeMilesAddedRatedSeen = true;
+          }
+          case "charge_port_cold_weather_mode" -> {
+            chargePortColdWeatherMode = JacksonUtility.getBoolean(jsonParser, key);
+            chargePortColdWeatherModeSeen = true;
+          }
+          case "charge_port_door_open" -> {
+            chargePortDoorOpen = JacksonUtility.getBoolean(jsonParser, key);
+            chargePortDoorOpenSeen = true;
+          }
+          case "charge_port_latch" -> chargePortLatch = JacksonUtility.getString(jsonParser, key);
+          case "charge_rate" -> {
+            chargeRate = JacksonUtility.getDouble(jsonParser, key);
+            chargeRateSeen = true;
+          }
+          case "charge_to_max_range" -> {
+            chargeToMaxRange = JacksonUtility.getBoolean(jsonParser, key);
+            chargeToMaxRangeSeen = true;
+          }
+          case "charger_actual_current" -> {
+            chargerActualCurrent = JacksonUtility.getInteger(jsonParser, key);
+            chargerActualCurrentSeen = true;
+          }
+          case "charger_phases" -> chargerPhases = JacksonUtility.getIntegerNullable(jsonParser, key);
+          case "charger_pilot_current" -> {
+            chargerPilotCurrent = JacksonUtility.getInteger(jsonParser, key);
+            chargerPilotCurrentSeen = true;
+          }
+          case "charger_power" -> {
+            chargerPower = JacksonUtility.getInteger(jsonParser, key);
+            chargerPowerSeen = true;
+          }
+          case "charger_voltage" -> {
+            chargerVoltage = JacksonUtility.getInteger(jsonParser, key);
+            chargerVoltageSeen = true;
+          }
+          case "charging_state" -> chargingState = JacksonUtility.getString(jsonParser, key);
+          case "conn_charge_cable" -> connChargeCable = JacksonUtility.getStringNullable(jsonParser, key);
+          case "est_battery_range" -> {
+            estBatteryRange = JacksonUtility.getDouble(jsonParser, key);
+            estBatteryRangeSeen = true;
+          }
+          case "fast_charger_brand" -> fastChargerBrand = JacksonUtility.getStringNullable(jsonParser, key);
+          case "fast_charger_present" -> {
+            fastChargerPresent = JacksonUtility.getBoolean(jsonParser, key);
+            fastChargerPresentSeen = true;
+          }
+          case "fast_charger_type" -> fastChargerType = JacksonUtility.getStringNullable(jsonParser, key);
+          case "ideal_battery_range" -> {
+            idealBatteryRange = JacksonUtility.getDouble(jsonParser, key);
+            idealBatteryRangeSeen = true;
+          }
+          case "managed_charging_active" -> {
+            managedChargingActive = JacksonUtility.getBoolean(jsonParser, key);
+            managedChargingActiveSeen = true;
+          }
+          case "managed_charging_start_time" -> managedChargingStartTime = JacksonUtility.getStringNullable(
+            jsonParser,
+            key
+          );
+          case "managed_charging_user_canceled" -> {
+            managedChargingUserCanceled = JacksonUtility.getBoolean(jsonParser, key);
+            managedChargingUserCanceledSeen = true;
+          }
+          case "max_range_charge_counter" -> {
+            maxRangeChargeCounter = JacksonUtility.getInteger(jsonParser, key);
+            maxRangeChargeCounterSeen = true;
+          }
+          case "minutes_to_full_charge" -> {
+            minutesToFullCharge = JacksonUtility.getLong(jsonParser, key);
+            minutesToFullChargeSeen = true;
+          }
+          case "not_enough_power_to_heat" -> notEnoughPowerToHeat = JacksonUtility.getBooleanNullable(jsonParser, key);
+          case "scheduled_charging_pending" -> {
+            scheduledChargingPending = JacksonUtility.getBoolean(jsonParser, key);
+            scheduledChargingPendingSeen = true;
+          }
+          case "scheduled_charging_start_time" -> scheduledChargingStartTime = JacksonUtility.getStringNullable(
+            jsonParser,
+            key
+          );
+          case "time_to_full_charge" -> {
+            timeToFullCharge = JacksonUtility.getDouble(jsonParser, key);
+            timeToFullChargeSeen = true;
+          }
+          case "timestamp" -> {
+            timestamp = JacksonUtility.getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          case "trip_charging" -> {
+            tripCharging = JacksonUtility.getBoolean(jsonParser, key);
+            tripChargingSeen = true;
+          }
+          case "usable_battery_level" -> {
+            usableBatteryLevel = JacksonUtility.getInteger(jsonParser, key);
+            usableBatteryLevelSeen = true;
+          }
+          case "user_charge_enable_request" -> userChargeEnableRequest = JacksonUtility.getStringNullable(
+            jsonParser,
+            key
+          );
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new ChargeState(
-        batteryHeaterOn,
-        batteryLevel,
-        batteryRange,
-        chargeCurrentRequest,
-        chargeCurrentRequestMax,
-        chargeEnableRequest,
-        chargeEnergyAdded,
-        chargeLimitSoc,
-        chargeLimitSocMax,
-        chargeLimitSocMin,
-        chargeLimitSocStd,
-        chargeMilesAddedIdeal,
-        chargeMilesAddedRated,
-        chargePortColdWeatherMode,
-        chargePortDoorOpen,
-        chargePortLatch,
-        chargeRate,
-        chargeToMaxRange,
-        chargerActualCurrent,
+        JacksonUtility.required(batteryHeaterOn, batteryHeaterOnSeen, "battery_heater_on"),
+        JacksonUtility.required(batteryLevel, batteryLevelSeen, "battery_level"),
+        JacksonUtility.required(batteryRange, batteryRangeSeen, "battery_range"),
+        JacksonUtility.required(chargeCurrentRequest, chargeCurrentRequestSeen, "charge_current_request"),
+        JacksonUtility.required(chargeCurrentRequestMax, chargeCurrentRequestMaxSeen, "charge_current_request_max"),
+        JacksonUtility.required(chargeEnableRequest, chargeEnableRequestSeen, "charge_enable_request"),
+        JacksonUtility.required(chargeEnergyAdded, chargeEnergyAddedSeen, "charge_energy_added"),
+        JacksonUtility.required(chargeLimitSoc, chargeLimitSocSeen, "charge_limit_soc"),
+        JacksonUtility.required(chargeLimitSocMax, chargeLimitSocMaxSeen, "charge_limit_soc_max"),
+        JacksonUtility.required(chargeLimitSocMin, chargeLimitSocMinSeen, "charge_limit_soc_min"),
+        JacksonUtility.required(chargeLimitSocStd, chargeLimitSocStdSeen, "charge_limit_soc_std"),
+        JacksonUtility.required(chargeMilesAddedIdeal, chargeMilesAddedIdealSeen, "charge_miles_added_ideal"),
+        JacksonUtility.required(chargeMilesAddedRated, chargeMilesAddedRatedSeen, "charge_miles_added_rated"),
+        JacksonUtility.required(
+          chargePortColdWeatherMode,
+          chargePortColdWeatherModeSeen,
+          "charge_port_cold_weather_mode"
+        ),
+        JacksonUtility.required(chargePortDoorOpen, chargePortDoorOpenSeen, "charge_port_door_open"),
+        JacksonUtility.required(chargePortLatch, "charge_port_latch"),
+        JacksonUtility.required(chargeRate, chargeRateSeen, "charge_rate"),
+        JacksonUtility.required(chargeToMaxRange, chargeToMaxRangeSeen, "charge_to_max_range"),
+        JacksonUtility.required(chargerActualCurrent, chargerActualCurrentSeen, "charger_actual_current"),
         chargerPhases,
-        chargerPilotCurrent,
-        chargerPower,
-        chargerVoltage,
-        chargingState,
+        JacksonUtility.required(chargerPilotCurrent, chargerPilotCurrentSeen, "charger_pilot_current"),
+        JacksonUtility.required(chargerPower, chargerPowerSeen, "charger_power"),
+        JacksonUtility.required(chargerVoltage, chargerVoltageSeen, "charger_voltage"),
+        JacksonUtility.required(chargingState, "charging_state"),
         connChargeCable,
-        estBatteryRange,
+        JacksonUtility.required(estBatteryRange, estBatteryRangeSeen, "est_battery_range"),
         fastChargerBrand,
-        fastChargerPresent,
+        JacksonUtility.required(fastChargerPresent, fastChargerPresentSeen, "fast_charger_present"),
         fastChargerType,
-        idealBatteryRange,
-        managedChargingActive,
+        JacksonUtility.required(idealBatteryRange, idealBatteryRangeSeen, "ideal_battery_range"),
+        JacksonUtility.required(managedChargingActive, managedChargingActiveSeen, "managed_charging_active"),
         managedChargingStartTime,
-        managedChargingUserCanceled,
-        maxRangeChargeCounter,
-        minutesToFullCharge,
+        JacksonUtility.required(
+          managedChargingUserCanceled,
+          managedChargingUserCanceledSeen,
+          "managed_charging_user_canceled"
+        ),
+        JacksonUtility.required(maxRangeChargeCounter, maxRangeChargeCounterSeen, "max_range_charge_counter"),
+        JacksonUtility.required(minutesToFullCharge, minutesToFullChargeSeen, "minutes_to_full_charge"),
         notEnoughPowerToHeat,
-        scheduledChargingPending,
+        JacksonUtility.required(scheduledChargingPending, scheduledChargingPendingSeen, "scheduled_charging_pending"),
         scheduledChargingStartTime,
-        timeToFullCharge,
-        timestamp,
-        tripCharging,
-        usableBatteryLevel,
+        JacksonUtility.required(timeToFullCharge, timeToFullChargeSeen, "time_to_full_charge"),
+        JacksonUtility.required(timestamp, timestampSeen, "timestamp"),
+        JacksonUtility.required(tripCharging, tripChargingSeen, "trip_charging"),
+        JacksonUtility.required(usableBatteryLevel, usableBatteryLevelSeen, "usable_battery_level"),
         userChargeEnableRequest
       );
     }
@@ -7,14 +7,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -384,83 +382,220 @@ public final class ClimateState{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var batteryHeater = JacksonUtility.getBoolean(node, "battery_heater", usedKeysSet);
-      var batteryHeaterNoPower = JacksonUtility.getBooleanNullable(node, "battery_heater_no_power", usedKeysSet);
-      var climateKeeperMode = JacksonUtility.getString(node, "climate_keeper_mode", usedKeysSet);
-      var defrostMode = JacksonUtility.getInteger(node, "defrost_mode", usedKeysSet);
-      var driverTempSetting = JacksonUtility.getDouble(node, "driver_temp_setting", usedKeysSet);
-      var fanStatus = JacksonUtility.getInteger(node, "fan_status", usedKeysSet);
-      var insideTemp = JacksonUtility.getDouble(node, "inside_temp", usedKeysSet);
-      var isAutoConditioningOn = JacksonUtility.getBoolean(node, "is_auto_conditioning_on", usedKeysSet);
-      var isClimateOn = JacksonUtility.getBoolean(node, "is_climate_on", usedKeysSet);
-      var isFrontDefrosterOn = JacksonUtility.getBoolean(node, "is_front_defroster_on", usedKeysSet);
-      var isPreconditioning = JacksonUtility.getBoolean(node, "is_preconditioning", usedKeysSet);
-      var isRearDefrosterOn = JacksonUtility.getBoolean(node, "is_rear_defroster_on", usedKeysSet);
-      var leftTempDirection = JacksonUtility.getInteger(node, "left_temp_direction", usedKeysSet);
-      var maxAvailTemp = JacksonUtility.getDouble(node, "max_avail_temp", usedKeysSet);
-      var minAvailTemp = JacksonUtility.getDouble(node, "min_avail_temp", usedKeysSet);
-      var outsideTemp = JacksonUtility.getDouble(node, "outside_temp", usedKeysSet);
-      var passengerTempSetting = JacksonUtility.getDouble(node, "passenger_temp_setting", usedKeysSet);
-      var remoteHeaterControlEnabled = JacksonUtility.getBoolean(node, "remote_heater_control_enabled", usedKeysSet);
-      var rightTempDirection = JacksonUtility.getInteger(node, "right_temp_direction", usedKeysSet);
-      var seatHeaterLeft = JacksonUtility.getInteger(node, "seat_heater_left", usedKeysSet);
-      var seatHeaterRearCenter = JacksonUtility.getInteger(node, "seat_heater_rear_center", usedKeysSet);
-      var seatHeaterRearLeft = JacksonUtility.getInteger(node, "seat_heater_rear_left", usedKeysSet);
-      var seatHeaterRearRight = JacksonUtility.getInteger(node, "seat_heater_rear_right", usedKeysSet);
-      var seatHeaterBackLeft = JacksonUtility.getIntegerNullable(node, "seat_heater_back_left", usedKeysSet);
-      var seatHeaterBackRight = JacksonUtility.getIntegerNullable(node, "seat_heater_back_right", usedKeysSet);
-      var seatHeaterRight = JacksonUtility.getInteger(node, "seat_heater_right", usedKeysSet);
-      var sideMirrorHeaters = JacksonUtility.getBoolean(node, "side_mirror_heaters", usedKeysSet);
-      var timestamp = JacksonUtility.getLong(node, "timestamp", usedKeysSet);
-      var wiperBladeHeater = JacksonUtility.getBoolean(node, "wiper_blade_heater", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean batteryHeater = false;
+      boolean batteryHeaterSeen = false;
+      Boolean batteryHeaterNoPower = null;
+      String climateKeeperMode = null;
+      int defrostMode = 0;
+      boolean defrostModeSeen = false;
+      double driverTempSetting = 0;
+      boolean driverTempSettingSeen = false;
+      int fanStatus = 0;
+      boolean fanStatusSeen = false;
+      double insideTemp = 0;
+      boolean insideTempSeen = false;
+      boolean isAutoConditioningOn = false;
+      boolean isAutoConditioningOnSeen = false;
+      boolean isClimateOn = false;
+      boolean isClimateOnSeen = false;
+      boolean isFrontDefrosterOn = false;
+      boolean isFrontDefrosterOnSeen = false;
+      boolean isPreconditioning = false;
+      boolean isPreconditioningSeen = false;
+      boolean isRearDefrosterOn = false;
+      boolean isRearDefrosterOnSeen = false;
+      int leftTempDirection = 0;
+      boolean leftTempDirectionSeen = false;
+      double maxAvailTemp = 0;
+      boolean maxAvailTempSeen = false;
+      double minAvailTemp = 0;
+      boolean minAvailTempSeen = false;
+      double outsideTemp = 0;
+      boolean outsideTempSeen = false;
+      double passengerTempSetting = 0;
+      boolean passengerTempSettingSeen = false;
+      boolean remoteHeaterControlEnabled = false;
+      boolean remoteHeaterControlEnabledSeen = false;
+      int rightTempDirection = 0;
+      boolean rightTempDirectionSeen = false;
+      int seatHeaterLeft = 0;
+      boolean seatHeaterLeftSeen = false;
+      int seatHeaterRearCenter = 0;
+      boolean seatHeaterRearCenterSeen = false;
+      int seatHeaterRearLeft = 0;
+      boolean seatHeaterRearLeftSeen = false;
+      int seatHeaterRearRight = 0;
+      boolean seatHeaterRearRightSeen = false;
+      Integer seatHeaterBackLeft = null;
+      Integer seatHeaterBackRight = null;
+      int seatHeaterRight = 0;
+      boolean seatHeaterRightSeen = false;
+      boolean sideMirrorHeaters = false;
+      boolean sideMirrorHeatersSeen = false;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      boolean wiperBladeHeater = false;
+      boolean wiperBladeHeaterSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "battery_heater" -> {
+            batteryHeater = JacksonUtility.getBoolean(jsonParser, key);
+            batteryHeaterSeen = true;
+          }
+          case "battery_heater_no_power" -> batteryHeaterNoPower = JacksonUtility.getBooleanNullable(jsonParser, key);
+          case "climate_keeper_mode" -> climateKeeperMode = JacksonUtility.getString(jsonParser, key);
+          case "defrost_mode" -> {
+            defrostMode = JacksonUtility.getInteger(jsonParser, key);
+            defrostModeSeen = true;
+          }
+          case "driver_temp_setting" -> {
+            driverTempSetting = JacksonUtility.getDouble(jsonParser, key);
+            driverTempSettingSeen = true;
+          }
+          case "fan_status" -> {
+            fanStatus = JacksonUtility.getInteger(jsonParser, key);
+            fanStatusSeen = true;
+          }
+          case "inside_temp" -> {
+            insideTemp = JacksonUtility.getDouble(jsonParser, key);
+            insideTempSeen = true;
+          }
+          case "is_auto_conditioning_on" -> {
+            isAutoConditioningOn = JacksonUtility.getBoolean(jsonParser, key);
+            isAutoConditioningOnSeen = true;
+          }
+          case "is_climate_on" -> {
+            isClimateOn = JacksonUtility.getBoolean(jsonParser, key);
+            isClimateOnSeen = true;
+          }
+          case "is_front_defroster_on" -> {
+            isFrontDefrosterOn = JacksonUtility.getBoolean(jsonParser, key);
+            isFrontDefrosterOnSeen = true;
+          }
+          case "is_preconditioning" -> {
+            isPreconditioning = JacksonUtility.getBoolean(jsonParser, key);
+            isPreconditioningSeen = true;
+          }
+          case "is_rear_defroster_on" -> {
+            isRearDefrosterOn = JacksonUtility.getBoolean(jsonParser, key);
+            isRearDefrosterOnSeen = true;
+          }
+          case "left_temp_direction" -> {
+            leftTempDirection = JacksonUtility.getInteger(jsonParser, key);
+            leftTempDirectionSeen = true;
+          }
+          case "max_avail_temp" -> {
+            maxAvailTemp = JacksonUtility.getDouble(jsonParser, key);
+            maxAvailTempSeen = true;
+          }
+          case "min_avail_temp" -> {
+            minAvailTemp = JacksonUtility.getDouble(jsonParser, key);
+            minAvailTempSeen = true;
+          }
+          case "outside_temp" -> {
+            outsideTemp = JacksonUtility.getDouble(jsonParser, key);
+            outsideTempSeen = true;
+          }
+          case "passenger_temp_setting" -> {
+            passengerTempSetting = JacksonUtility.getDouble(jsonParser, key);
+            passengerTempSettingSeen = true;
+          }
+          case "remote_heater_control_enabled" -> {
+            remoteHeaterControlEnabled = JacksonUtility.getBoolean(jsonParser, key);
+            remoteHeaterControlEnabledSeen = true;
+          }
+          case "right_temp_direction" -> {
+            rightTempDirection = JacksonUtility.getInteger(jsonParser, key);
+            rightTempDirectionSeen = true;
+          }
+          case "seat_heater_left" -> {
+            seatHeaterLeft = JacksonUtility.getInteger(jsonParser, key);
+            seatHeaterLeftSeen = true;
+          }
+          case "seat_heater_rear_center" -> {
+            seatHeaterRearCenter = JacksonUtility.getInteger(jsonParser, key);
+            seatHeaterRearCenterSeen = true;
+          }
+          case "seat_heater_rear_left" -> {
+            seatHeaterRearLeft = JacksonUtility.getInteger(jsonParser, key);
+            seatHeaterRearLeftSeen = true;
+          }
+          case "seat_heater_rear_right" -> {
+            seatHeaterRearRight = JacksonUtility.getInteger(jsonParser, key);
+            seatHeaterRearRightSeen = true;
+          }
+          case "seat_heater_back_left" -> seatHeaterBackLeft = JacksonUtility.getIntegerNullable(jsonParser, key);
+          case "seat_heater_back_right" -> seatHeaterBackRight = JacksonUtility.getIntegerNullable(jsonParser, key);
+          case "seat_heater_right" -> {
+            seatHeaterRight = JacksonUtility.getInteger(jsonParser, key);
+            seatHeaterRightSeen = true;
+          }
+          case "side_mirror_heaters" -> {
+            sideMirrorHeaters = JacksonUtility.getBoolean(jsonParser, key);
+            sideMirrorHeatersSeen = true;
+          }
+          case "timestamp" -> {
+            timestamp = JacksonUtility.getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          case "wiper_blade_heater" -> {
+            wiperBladeHeater = JacksonUtility.getBoolean(jsonParser, key);
+            wiperBladeHeaterSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new ClimateState(
-        batteryHeater,
+        JacksonUtility.required(batteryHeater, batteryHeaterSeen, "battery_heater"),
         batteryHeaterNoPower,
-        climateKeeperMode,
-        defrostMode,
-        driverTempSetting,
-        fanStatus,
-        insideTemp,
-        isAutoConditioningOn,
-        isClimateOn,
-        isFrontDefrosterOn,
-        isPreconditioning,
-        isRearDefrosterOn,
-        leftTempDirection,
-        maxAvailTemp,
-        minAvailTemp,
-        outsideTemp,
-        passengerTempSetting,
-        remoteHeaterControlEnabled,
-        rightTempDirection,
-        seatHeaterLeft,
-        seatHeaterRearCenter,
-        seatHeaterRearLeft,
-        seatHeaterRearRight,
-        seatHeaterRight,
+        JacksonUtility.required(climateKeeperMode, "climate_keeper_mode"),
+        JacksonUtility.required(defrostMode, defrostModeSeen, "defrost_mode"),
+        JacksonUtility.required(driverTempSetting, driverTempSettingSeen, "driver_temp_setting"),
+        JacksonUtility.required(fanStatus, fanStatusSeen, "fan_status"),
+        JacksonUtility.required(insideTemp, insideTempSeen, "inside_temp"),
+        JacksonUtility.required(isAutoConditioningOn, isAutoConditioningOnSeen, "is_auto_conditioning_on"),
+        JacksonUtility.required(isClimateOn, isClimateOnSeen, "is_climate_on"),
+        JacksonUtility.required(isFrontDefrosterOn, isFrontDefrosterOnSeen, "is_front_defroster_on"),
+        JacksonUtility.required(isPreconditioning, isPreconditioningSeen, "is_preconditioning"),
+        JacksonUtility.required(isRearDefrosterOn, isRearDefrosterOnSeen, "is_rear_defroster_on"),
+        JacksonUtility.required(leftTempDirection, leftTempDirectionSeen, "left_temp_direction"),
+        JacksonUtility.required(maxAvailTemp, maxAvailTempSeen, "max_avail_temp"),
+        JacksonUtility.required(minAvailTemp, minAvailTempSeen, "min_avail_temp"),
+        JacksonUtility.required(outsideTemp, outsideTempSeen, "outside_temp"),
+        JacksonUtility.required(passengerTempSetting, passengerTempSettingSeen, "passenger_temp_setting"),
+        JacksonUtility.required(
+          remoteHeaterControlEnabled,
+          remoteHeaterControlEnabledSeen,
+          "remote_heater_control_enabled"
+        ),
+        JacksonUtility.required(rightTempDirection, rightTempDirectionSeen, "right_temp_direction"),
+        JacksonUtility.required(seatHeaterLeft, seatHeaterLeftSeen, "seat_heater_left"),
+        JacksonUtility.required(seatHeaterRearCenter, seatHeaterRearCenterSeen, "seat_heater_rear_center"),
+        JacksonUtility.required(seatHeaterRearLeft, seatHeaterRearLeftSeen, "seat_heater_rear_left"),
+        JacksonUtility.required(seatHeaterRearRight, seatHeaterRearRightSeen, "seat_heater_rear_right"),
+        JacksonUtility.required(seatHeaterRight, seatHeaterRightSeen, "seat_heater_right"),
         seatHeaterBackLeft,
         seatHeaterBackRight,
-        sideMirrorHeaters,
-        timestamp,
-        wiperBladeHeater
+        JacksonUtility.required(sideMirrorHeaters, sideMirrorHeatersSeen, "side_mirror_heaters"),
+        JacksonUtility.required(timestamp, timestampSeen, "timestamp"),
+        JacksonUtility.required(wiperBladeHeater, wiperBladeHeaterSeen, "wiper_blade_heater")
       );
     }
   }
@@ -7,20 +7,20 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import static com.ansill.tesla.api.data.utility.JacksonUtility.*;
+
 @JsonSerialize(using = SimpleSerializer.class)
 @JsonDeserialize(using = CompleteVehicle.Deserializer.class)
 @Immutable
@@ -209,65 +209,44 @@ public final class CompleteVehicle extends AbstractVehicle{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Deserialize
-      var vehicle = AbstractVehicle.deserialize(node, jsonParser.getCodec(), usedKeysSet);
-
-      // Get rest of values
-      ClimateState climateState = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "climate_state",
-        node,
-        usedKeysSet,
-        ClimateState.class
-      );
-      DriveState driveState = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "drive_state",
-        node,
-        usedKeysSet,
-        DriveState.class
-      );
-      ChargeState chargeState = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "charge_state",
-        node,
-        usedKeysSet,
-        ChargeState.class
-      );
-      GuiSettings guiSettings = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "gui_settings",
-        node,
-        usedKeysSet,
-        GuiSettings.class
-      );
-      VehicleConfig vehicleConfig = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "vehicle_config",
-        node,
-        usedKeysSet,
-        VehicleConfig.class
-      );
-      VehicleState vehicleState = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "vehicle_state",
-        node,
-        usedKeysSet,
-        VehicleState.class
-      );
+      // Set up values
+      var fields = new AbstractVehicle.Fields();
+      ClimateState climateState = null;
+      DriveState driveState = null;
+      ChargeState chargeState = null;
+      GuiSettings guiSettings = null;
+      VehicleConfig vehicleConfig = null;
+      VehicleState vehicleState = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "climate_state" -> climateState = getObject(jsonParser, deserializationContext, ClimateState.class);
+          case "drive_state" -> driveState = getObject(jsonParser, deserializationContext, DriveState.class);
+          case "charge_state" -> chargeState = getObject(jsonParser, deserializationContext, ChargeState.class);
+          case "gui_settings" -> guiSettings = getObject(jsonParser, deserializationContext, GuiSettings.class);
+          case "vehicle_config" -> vehicleConfig = getObject(jsonParser, deserializationContext, VehicleConfig.class);
+          case "vehicle_state" -> vehicleState = getObject(jsonParser, deserializationContext, VehicleState.class);
+          default -> {
+            if(!fields.read(key, jsonParser, deserializationContext)){
+              JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+            }
+          }
+        }
+      }
 
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Build vehicle
+      var vehicle = fields.build();
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
@@ -286,13 +265,13 @@ public final class CompleteVehicle extends AbstractVehicle{
         vehicle.getApiVersion(),
         vehicle.getBackseatToken().orElse(null),
         vehicle.getBackseatTokenUpdatedAt().orElse(null),
-        unknownFields,
-        climateState,
-        driveState,
-        chargeState,
-        guiSettings,
-        vehicleConfig,
-        vehicleState
+        unknownFields != null ? unknownFields : Collections.emptyMap(),
+        required(climateState, "climate_state"),
+        required(driveState, "drive_state"),
+        required(chargeState, "charge_state"),
+        required(guiSettings, "gui_settings"),
+        required(vehicleConfig, "vehicle_config"),
+        required(vehicleState, "vehicle_state")
       );
     }
   }
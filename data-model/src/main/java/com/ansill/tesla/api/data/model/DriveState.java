@@ -7,14 +7,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -196,49 +194,101 @@ public final class DriveState{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var gpsAsOf = JacksonUtility.getLong(node, "gps_as_of", usedKeysSet);
-      var heading = JacksonUtility.getInteger(node, "heading", usedKeysSet);
-      var latitude = JacksonUtility.getDouble(node, "latitude", usedKeysSet);
-      var longitude = JacksonUtility.getDouble(node, "longitude", usedKeysSet);
-      var nativeLatitude = JacksonUtility.getDouble(node, "native_latitude", usedKeysSet);
-      var nativeLocationSupported = JacksonUtility.getInteger(node, "native_location_supported", usedKeysSet);
-      var nativeLongitude = JacksonUtility.getDouble(node, "native_longitude", usedKeysSet);
-      var nativeType = JacksonUtility.getString(node, "native_type", usedKeysSet);
-      var power = JacksonUtility.getLong(node, "power", usedKeysSet);
-      var shiftState = JacksonUtility.getStringNullable(node, "shift_state", usedKeysSet);
-      Long speed = JacksonUtility.getLongNullable(node, "speed", usedKeysSet);
-      var timestamp = JacksonUtility.getLong(node, "timestamp", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      long gpsAsOf = 0;
+      boolean gpsAsOfSeen = false;
+      int heading = 0;
+      boolean headingSeen = false;
+      double latitude = 0;
+      boolean latitudeSeen = false;
+      double longitude = 0;
+      boolean longitudeSeen = false;
+      double nativeLatitude = 0;
+      boolean nativeLatitudeSeen = false;
+      int nativeLocationSupported = 0;
+      boolean nativeLocationSupportedSeen = false;
+      double nativeLongitude = 0;
+      boolean nativeLongitudeSeen = false;
+      String nativeType = null;
+      long power = 0;
+      boolean powerSeen = false;
+      String shiftState = null;
+      Long speed = null;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "gps_as_of" -> {
+            gpsAsOf = JacksonUtility.getLong(jsonParser, key);
+            gpsAsOfSeen = true;
+          }
+          case "heading" -> {
+            heading = JacksonUtility.getInteger(jsonParser, key);
+            headingSeen = true;
+          }
+          case "latitude" -> {
+            latitude = JacksonUtility.getDouble(jsonParser, key);
+            latitudeSeen = true;
+          }
+          case "longitude" -> {
+            longitude = JacksonUtility.getDouble(jsonParser, key);
+            longitudeSeen = true;
+          }
+          case "native_latitude" -> {
+            nativeLatitude = JacksonUtility.getDouble(jsonParser, key);
+            nativeLatitudeSeen = true;
+          }
+          case "native_location_supported" -> {
+            nativeLocationSupported = JacksonUtility.getInteger(jsonParser, key);
+            nativeLocationSupportedSeen = true;
+          }
+          case "native_longitude" -> {
+            nativeLongitude = JacksonUtility.getDouble(jsonParser, key);
+            nativeLongitudeSeen = true;
+          }
+          case "native_type" -> nativeType = JacksonUtility.getString(jsonParser, key);
+          case "power" -> {
+            power = JacksonUtility.getLong(jsonParser, key);
+            powerSeen = true;
+          }
+          case "shift_state" -> shiftState = JacksonUtility.getStringNullable(jsonParser, key);
+          case "speed" -> speed = JacksonUtility.getLongNullable(jsonParser, key);
+          case "timestamp" -> {
+            timestamp = JacksonUtility.getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new DriveState(
-        gpsAsOf,
-        heading,
-        latitude,
-        longitude,
-        nativeLatitude,
-        nativeLocationSupported,
-        nativeLongitude,
-        nativeType,
-        power,
+        JacksonUtility.required(gpsAsOf, gpsAsOfSeen, "gps_as_of"),
+        JacksonUtility.required(heading, headingSeen, "heading"),
+        JacksonUtility.required(latitude, latitudeSeen, "latitude"),
+        JacksonUtility.required(longitude, longitudeSeen, "longitude"),
+        JacksonUtility.required(nativeLatitude, nativeLatitudeSeen, "native_latitude"),
+        JacksonUtility.required(nativeLocationSupported, nativeLocationSupportedSeen, "native_location_supported"),
+        JacksonUtility.required(nativeLongitude, nativeLongitudeSeen, "native_longitude"),
+        JacksonUtility.required(nativeType, "native_type"),
+        JacksonUtility.required(power, powerSeen, "power"),
         shiftState,
         speed,
-        timestamp
+        JacksonUtility.required(timestamp, timestampSeen, "timestamp")
       );
     }
   }
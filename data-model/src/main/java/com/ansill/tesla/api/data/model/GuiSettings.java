@@ -8,13 +8,11 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -140,39 +138,62 @@ public final class GuiSettings{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var gui24HourTime = JacksonUtility.getBoolean(node, "gui_24_hour_time", usedKeysSet);
-      var guiChargeRateUnits = JacksonUtility.getString(node, "gui_charge_rate_units", usedKeysSet);
-      var guiDistanceUnits = JacksonUtility.getString(node, "gui_distance_units", usedKeysSet);
-      var guiRangeDisplay = JacksonUtility.getString(node, "gui_range_display", usedKeysSet);
-      var guiTemperatureUnits = JacksonUtility.getString(node, "gui_temperature_units", usedKeysSet);
-      var showRangeUnits = JacksonUtility.getBoolean(node, "show_range_units", usedKeysSet);
-      var timestamp = JacksonUtility.getLong(node, "timestamp", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean gui24HourTime = false;
+      boolean gui24HourTimeSeen = false;
+      String guiChargeRateUnits = null;
+      String guiDistanceUnits = null;
+      String guiRangeDisplay = null;
+      String guiTemperatureUnits = null;
+      boolean showRangeUnits = false;
+      boolean showRangeUnitsSeen = false;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "gui_24_hour_time" -> {
+            gui24HourTime = JacksonUtility.getBoolean(jsonParser, key);
+            gui24HourTimeSeen = true;
+          }
+          case "gui_charge_rate_units" -> guiChargeRateUnits = JacksonUtility.getString(jsonParser, key);
+          case "gui_distance_units" -> guiDistanceUnits = JacksonUtility.getString(jsonParser, key);
+          case "gui_range_display" -> guiRangeDisplay = JacksonUtility.getString(jsonParser, key);
+          case "gui_temperature_units" -> guiTemperatureUnits = JacksonUtility.getString(jsonParser, key);
+          case "show_range_units" -> {
+            showRangeUnits = JacksonUtility.getBoolean(jsonParser, key);
+            showRangeUnitsSeen = true;
+          }
+          case "timestamp" -> {
+            timestamp = JacksonUtility.getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new GuiSettings(
-        gui24HourTime,
-        guiChargeRateUnits,
-        guiDistanceUnits,
-        guiRangeDisplay,
-        guiTemperatureUnits,
-        showRangeUnits,
-        timestamp
+        JacksonUtility.required(gui24HourTime, gui24HourTimeSeen, "gui_24_hour_time"),
+        JacksonUtility.required(guiChargeRateUnits, "gui_charge_rate_units"),
+        JacksonUtility.required(guiDistanceUnits, "gui_distance_units"),
+        JacksonUtility.required(guiRangeDisplay, "gui_range_display"),
+        JacksonUtility.required(guiTemperatureUnits, "gui_temperature_units"),
+        JacksonUtility.required(showRangeUnits, showRangeUnitsSeen, "show_range_units"),
+        JacksonUtility.required(timestamp, timestampSeen, "timestamp")
       );
     }
   }
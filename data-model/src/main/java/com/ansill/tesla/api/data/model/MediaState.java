@@ -7,18 +7,16 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
-import static com.ansill.tesla.api.data.utility.JacksonUtility.getBoolean;
+import static com.ansill.tesla.api.data.utility.JacksonUtility.*;
 
 @JsonSerialize(using = SimpleSerializer.class)
 @JsonDeserialize(using = MediaState.Deserializer.class)
@@ -72,26 +70,35 @@ public final class MediaState{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var remoteControlEnabled = getBoolean(node, "remote_control_enabled", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean remoteControlEnabled = false;
+      boolean remoteControlEnabledSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "remote_control_enabled" -> {
+            remoteControlEnabled = getBoolean(jsonParser, key);
+            remoteControlEnabledSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
-      return new MediaState(remoteControlEnabled);
+      return new MediaState(required(remoteControlEnabled, remoteControlEnabledSeen, "remote_control_enabled"));
     }
   }
 }
@@ -0,0 +1,236 @@
+package com.ansill.tesla.api.data.model;
+
+import com.ansill.tesla.api.data.utility.JacksonUtility;
+import com.ansill.tesla.api.data.utility.SimpleSerializer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static com.ansill.tesla.api.data.utility.JacksonUtility.getObject;
+
+/** Vehicle with only the sub-documents that were selected in vehicle_data request */
+@JsonSerialize(using = SimpleSerializer.class)
+@JsonDeserialize(using = PartialVehicle.Deserializer.class)
+@Immutable
+public final class PartialVehicle extends AbstractVehicle{
+  @Nullable
+  private final ClimateState climateState;
+
+  @Nullable
+  private final DriveState driveState;
+
+  @Nullable
+  private final ChargeState chargeState;
+
+  @Nullable
+  private final GuiSettings guiSettings;
+
+  @Nullable
+  private final VehicleConfig vehicleConfig;
+
+  @Nullable
+  private final VehicleState vehicleState;
+
+  public PartialVehicle(
+    long id,
+    long vehicleId,
+    @Nonnull String vin,
+    @Nonnull String displayName,
+    @Nonnull String optionCodes,
+    @Nullable String color,
+    @Nonnull List<String> tokens,
+    @Nonnull String state,
+    boolean inService,
+    boolean calendarEnabled,
+    int apiVersion,
+    @Nullable String backseatToken,
+    @Nullable String backseatTokenUpdatedAt,
+    @Nonnull Map<String,Optional<Object>> unknownFields,
+    @Nullable ClimateState climateState,
+    @Nullable DriveState driveState,
+    @Nullable ChargeState chargeState,
+    @Nullable GuiSettings guiSettings,
+    @Nullable VehicleConfig vehicleConfig,
+    @Nullable VehicleState vehicleState
+  ){
+    super(
+      id,
+      vehicleId,
+      vin,
+      displayName,
+      optionCodes,
+      color,
+      tokens,
+      state,
+      inService,
+      calendarEnabled,
+      apiVersion,
+      backseatToken,
+      backseatTokenUpdatedAt,
+      unknownFields
+    );
+    this.climateState = climateState;
+    this.driveState = driveState;
+    this.chargeState = chargeState;
+    this.guiSettings = guiSettings;
+    this.vehicleConfig = vehicleConfig;
+    this.vehicleState = vehicleState;
+  }
+
+  @Override
+  public boolean equals(Object o){
+    if(this == o) return true;
+    if(!(o instanceof PartialVehicle that)) return false;
+
+    if(!Objects.equals(climateState, that.climateState)) return false;
+    if(!Objects.equals(driveState, that.driveState)) return false;
+    if(!Objects.equals(chargeState, that.chargeState)) return false;
+    if(!Objects.equals(guiSettings, that.guiSettings)) return false;
+    if(!Objects.equals(vehicleConfig, that.vehicleConfig)) return false;
+    return Objects.equals(vehicleState, that.vehicleState);
+  }
+
+  @Override
+  public int hashCode(){
+    int result = Objects.hashCode(climateState);
+    result = 31 * result + Objects.hashCode(driveState);
+    result = 31 * result + Objects.hashCode(chargeState);
+    result = 31 * result + Objects.hashCode(guiSettings);
+    result = 31 * result + Objects.hashCode(vehicleConfig);
+    result = 31 * result + Objects.hashCode(vehicleState);
+    return result;
+  }
+
+  @Nonnull
+  public Optional<VehicleState> getVehicleState(){
+    return Optional.ofNullable(vehicleState);
+  }
+
+  @Nonnull
+  public Optional<ClimateState> getClimateState(){
+    return Optional.ofNullable(climateState);
+  }
+
+  @Nonnull
+  public Optional<DriveState> getDriveState(){
+    return Optional.ofNullable(driveState);
+  }
+
+  @Nonnull
+  public Optional<ChargeState> getChargeState(){
+    return Optional.ofNullable(chargeState);
+  }
+
+  @Nonnull
+  public Optional<GuiSettings> getGuiSettings(){
+    return Optional.ofNullable(guiSettings);
+  }
+
+  @Nonnull
+  public Optional<VehicleConfig> getVehicleConfig(){
+    return Optional.ofNullable(vehicleConfig);
+  }
+
+  public static class Deserializer extends StdDeserializer<PartialVehicle>{
+
+    private static final long serialVersionUID = 4467470419385364025L;
+
+    @Nonnull
+    private final AtomicReference<Function<Map<String,Optional<Object>>,Boolean>> unknownFieldsFunction;
+
+    public Deserializer(){
+      super(PartialVehicle.class);
+      unknownFieldsFunction = new AtomicReference<>();
+    }
+
+    public Deserializer(@Nonnull AtomicReference<Function<Map<String,Optional<Object>>,Boolean>> unknownFieldsFunction){
+      super(PartialVehicle.class);
+      this.unknownFieldsFunction = unknownFieldsFunction;
+    }
+
+    @Override
+    public PartialVehicle deserialize(
+      JsonParser jsonParser, DeserializationContext deserializationContext
+    ) throws IOException{
+
+      // Set up values, sub-documents that were not selected stay null
+      var fields = new AbstractVehicle.Fields();
+      ClimateState climateState = null;
+      DriveState driveState = null;
+      ChargeState chargeState = null;
+      GuiSettings guiSettings = null;
+      VehicleConfig vehicleConfig = null;
+      VehicleState vehicleState = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "climate_state" -> climateState = getObject(jsonParser, deserializationContext, ClimateState.class);
+          case "drive_state" -> driveState = getObject(jsonParser, deserializationContext, DriveState.class);
+          case "charge_state" -> chargeState = getObject(jsonParser, deserializationContext, ChargeState.class);
+          case "gui_settings" -> guiSettings = getObject(jsonParser, deserializationContext, GuiSettings.class);
+          case "vehicle_config" -> vehicleConfig = getObject(jsonParser, deserializationContext, VehicleConfig.class);
+          case "vehicle_state" -> vehicleState = getObject(jsonParser, deserializationContext, VehicleState.class);
+          default -> {
+            if(!fields.read(key, jsonParser, deserializationContext)){
+              JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+            }
+          }
+        }
+      }
+
+      // Build vehicle
+      var vehicle = fields.build();
+
+      // Report it
+      if(unknownFields != null && fnc.apply(unknownFields)){
+        throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
+      }
+
+      // Return vehicle
+      return new PartialVehicle(
+        vehicle.getId(),
+        vehicle.getVehicleId(),
+        vehicle.getVIN(),
+        vehicle.getDisplayName(),
+        vehicle.getOptionCodes(),
+        vehicle.getColor().orElse(null),
+        vehicle.getTokens(),
+        vehicle.getState(),
+        vehicle.isInService(),
+        vehicle.isCalendarEnabled(),
+        vehicle.getApiVersion(),
+        vehicle.getBackseatToken().orElse(null),
+        vehicle.getBackseatTokenUpdatedAt().orElse(null),
+        unknownFields != null ? unknownFields : Collections.emptyMap(),
+        climateState,
+        driveState,
+        chargeState,
+        guiSettings,
+        vehicleConfig,
+        vehicleState
+      );
+    }
+  }
+}
@@ -8,14 +8,12 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -120,35 +118,52 @@ public final class SoftwareUpdate{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var downloadPercent = getInteger(node, "download_perc", usedKeysSet);
-      var expectedDurationSeconds = getLongNullable(node, "expected_duration_sec", usedKeysSet);
-      var installPercent = getInteger(node, "install_perc", usedKeysSet);
-      var status = getString(node, "status", usedKeysSet);
-      var version = getString(node, "version", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      int downloadPercent = 0;
+      boolean downloadPercentSeen = false;
+      Long expectedDurationSeconds = null;
+      int installPercent = 0;
+      boolean installPercentSeen = false;
+      String status = null;
+      String version = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "download_perc" -> {
+            downloadPercent = getInteger(jsonParser, key);
+            downloadPercentSeen = true;
+          }
+          case "expected_duration_sec" -> expectedDurationSeconds = getLongNullable(jsonParser, key);
+          case "install_perc" -> {
+            installPercent = getInteger(jsonParser, key);
+            installPercentSeen = true;
+          }
+          case "status" -> status = getString(jsonParser, key);
+          case "version" -> version = getString(jsonParser, key);
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new SoftwareUpdate(
-        downloadPercent,
+        required(downloadPercent, downloadPercentSeen, "download_perc"),
         expectedDurationSeconds,
-        installPercent,
-        status,
-        version
+        required(installPercent, installPercentSeen, "install_perc"),
+        required(status, "status"),
+        required(version, "version")
       );
     }
   }
@@ -7,12 +7,10 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -110,35 +108,64 @@ public final class SpeedLimitMode{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var active = getBoolean(node, "active", usedKeysSet);
-      var currentLimitMph = getDouble(node, "current_limit_mph", usedKeysSet);
-      var maxLimitMph = getInteger(node, "max_limit_mph", usedKeysSet);
-      var minLimitMph = getInteger(node, "min_limit_mph", usedKeysSet);
-      var pinCodeSet = getBoolean(node, "pin_code_set", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean active = false;
+      boolean activeSeen = false;
+      double currentLimitMph = 0;
+      boolean currentLimitMphSeen = false;
+      int maxLimitMph = 0;
+      boolean maxLimitMphSeen = false;
+      int minLimitMph = 0;
+      boolean minLimitMphSeen = false;
+      boolean pinCodeSet = false;
+      boolean pinCodeSetSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "active" -> {
+            active = getBoolean(jsonParser, key);
+            activeSeen = true;
+          }
+          case "current_limit_mph" -> {
+            currentLimitMph = getDouble(jsonParser, key);
+            currentLimitMphSeen = true;
+          }
+          case "max_limit_mph" -> {
+            maxLimitMph = getInteger(jsonParser, key);
+            maxLimitMphSeen = true;
+          }
+          case "min_limit_mph" -> {
+            minLimitMph = getInteger(jsonParser, key);
+            minLimitMphSeen = true;
+          }
+          case "pin_code_set" -> {
+            pinCodeSet = getBoolean(jsonParser, key);
+            pinCodeSetSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new SpeedLimitMode(
-        active,
-        currentLimitMph,
-        maxLimitMph,
-        minLimitMph,
-        pinCodeSet
+        required(active, activeSeen, "active"),
+        required(currentLimitMph, currentLimitMphSeen, "current_limit_mph"),
+        required(maxLimitMph, maxLimitMphSeen, "max_limit_mph"),
+        required(minLimitMph, minLimitMphSeen, "min_limit_mph"),
+        required(pinCodeSet, pinCodeSetSeen, "pin_code_set")
       );
     }
   }
@@ -7,14 +7,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -114,21 +112,28 @@ public final class Vehicle extends AbstractVehicle{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
+      // Set up values
+      var fields = new AbstractVehicle.Fields();
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
 
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
+        // Move to the value
+        jsonParser.nextToken();
 
-      // Deserialize
-      var vehicle = AbstractVehicle.deserialize(node, jsonParser.getCodec(), usedKeysSet);
+        // Get value
+        if(!fields.read(key, jsonParser, deserializationContext)){
+          JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Build vehicle
+      var vehicle = fields.build();
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
@@ -147,7 +152,7 @@ public final class Vehicle extends AbstractVehicle{
         vehicle.getApiVersion(),
         vehicle.getBackseatToken().orElse(null),
         vehicle.getBackseatTokenUpdatedAt().orElse(null),
-        unknownFields
+        unknownFields != null ? unknownFields : Collections.emptyMap()
       );
     }
   }
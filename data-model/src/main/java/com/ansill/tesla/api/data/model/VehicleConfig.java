@@ -7,13 +7,11 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -324,73 +322,157 @@ public final class VehicleConfig{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var canAcceptNavigationRequests = JacksonUtility.getBoolean(node, "can_accept_navigation_requests", usedKeysSet);
-      var canActuateTrunks = JacksonUtility.getBoolean(node, "can_actuate_trunks", usedKeysSet);
-      var carSpecialType = JacksonUtility.getString(node, "car_special_type", usedKeysSet);
-      var carType = JacksonUtility.getString(node, "car_type", usedKeysSet);
-      var chargePortType = JacksonUtility.getString(node, "charge_port_type", usedKeysSet);
-      var eceRestrictions = JacksonUtility.getBoolean(node, "ece_restrictions", usedKeysSet);
-      var euVehicle = JacksonUtility.getBoolean(node, "eu_vehicle", usedKeysSet);
-      var exteriorColor = JacksonUtility.getString(node, "exterior_color", usedKeysSet);
-      var hasAirSuspension = JacksonUtility.getBoolean(node, "has_air_suspension", usedKeysSet);
-      var hasLudicrousMode = JacksonUtility.getBoolean(node, "has_ludicrous_mode", usedKeysSet);
-      var keyVersion = JacksonUtility.getInteger(node, "key_version", usedKeysSet);
-      var motorizedChargePort = JacksonUtility.getBoolean(node, "motorized_charge_port", usedKeysSet);
-      var plg = JacksonUtility.getBoolean(node, "plg", usedKeysSet);
-      var rearSeatHeaters = JacksonUtility.getInteger(node, "rear_seat_heaters", usedKeysSet);
-      var rearSeatType = JacksonUtility.getStringNullable(node, "rear_seat_type", usedKeysSet);
-      var rhd = JacksonUtility.getBoolean(node, "rhd", usedKeysSet);
-      var roofColor = JacksonUtility.getString(node, "roof_color", usedKeysSet);
-      var seatType = JacksonUtility.getStringNullable(node, "seat_type", usedKeysSet);
-      var spoilerType = JacksonUtility.getString(node, "spoiler_type", usedKeysSet);
-      var sunRoofInstalled = JacksonUtility.getStringNullable(node, "sun_roof_installed", usedKeysSet);
-      var thirdRowSeats = JacksonUtility.getString(node, "third_row_seats", usedKeysSet);
-      var timestamp = JacksonUtility.getLong(node, "timestamp", usedKeysSet);
-      var useRangeBadging = JacksonUtility.getBoolean(node, "use_range_badging", usedKeysSet);
-      var wheelType = JacksonUtility.getString(node, "wheel_type", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      boolean canAcceptNavigationRequests = false;
+      boolean canAcceptNavigationRequestsSeen = false;
+      boolean canActuateTrunks = false;
+      boolean canActuateTrunksSeen = false;
+      String carSpecialType = null;
+      String carType = null;
+      String chargePortType = null;
+      boolean eceRestrictions = false;
+      boolean eceRestrictionsSeen = false;
+      boolean euVehicle = false;
+      boolean euVehicleSeen = false;
+      String exteriorColor = null;
+      boolean hasAirSuspension = false;
+      boolean hasAirSuspensionSeen = false;
+      boolean hasLudicrousMode = false;
+      boolean hasLudicrousModeSeen = false;
+      int keyVersion = 0;
+      boolean keyVersionSeen = false;
+      boolean motorizedChargePort = false;
+      boolean motorizedChargePortSeen = false;
+      boolean plg = false;
+      boolean plgSeen = false;
+      int rearSeatHeaters = 0;
+      boolean rearSeatHeatersSeen = false;
+      String rearSeatType = null;
+      boolean rhd = false;
+      boolean rhdSeen = false;
+      String roofColor = null;
+      String seatType = null;
+      String spoilerType = null;
+      String sunRoofInstalled = null;
+      String thirdRowSeats = null;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      boolean useRangeBadging = false;
+      boolean useRangeBadgingSeen = false;
+      String wheelType = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "can_accept_navigation_requests" -> {
+            canAcceptNavigationRequests = JacksonUtility.getBoolean(jsonParser, key);
+            canAcceptNavigationRequestsSeen = true;
+          }
+          case "can_actuate_trunks" -> {
+            canActuateTrunks = JacksonUtility.getBoolean(jsonParser, key);
+            canActuateTrunksSeen = true;
+          }
+          case "car_special_type" -> carSpecialType = JacksonUtility.getString(jsonParser, key);
+          case "car_type" -> carType = JacksonUtility.getString(jsonParser, key);
+          case "charge_port_type" -> chargePortType = JacksonUtility.getString(jsonParser, key);
+          case "ece_restrictions" -> {
+            eceRestrictions = JacksonUtility.getBoolean(jsonParser, key);
+            eceRestrictionsSeen = true;
+          }
+          case "eu_vehicle" -> {
+            euVehicle = JacksonUtility.getBoolean(jsonParser, key);
+            euVehicleSeen = true;
+          }
+          case "exterior_color" -> exteriorColor = JacksonUtility.getString(jsonParser, key);
+          case "has_air_suspension" -> {
+            hasAirSuspension = JacksonUtility.getBoolean(jsonParser, key);
+            hasAirSuspensionSeen = true;
+          }
+          case "has_ludicrous_mode" -> {
+            hasLudicrousMode = JacksonUtility.getBoolean(jsonParser, key);
+            hasLudicrousModeSeen = true;
+          }
+          case "key_version" -> {
+            keyVersion = JacksonUtility.getInteger(jsonParser, key);
+            keyVersionSeen = true;
+          }
+          case "motorized_charge_port" -> {
+            motorizedChargePort = JacksonUtility.getBoolean(jsonParser, key);
+            motorizedChargePortSeen = true;
+          }
+          case "plg" -> {
+            plg = JacksonUtility.getBoolean(jsonParser, key);
+            plgSeen = true;
+          }
+          case "rear_seat_heaters" -> {
+            rearSeatHeaters = JacksonUtility.getInteger(jsonParser, key);
+            rearSeatHeatersSeen = true;
+          }
+          case "rear_seat_type" -> rearSeatType = JacksonUtility.getStringNullable(jsonParser, key);
+          case "rhd" -> {
+            rhd = JacksonUtility.getBoolean(jsonParser, key);
+            rhdSeen = true;
+          }
+          case "roof_color" -> roofColor = JacksonUtility.getString(jsonParser, key);
+          case "seat_type" -> seatType = JacksonUtility.getStringNullable(jsonParser, key);
+          case "spoiler_type" -> spoilerType = JacksonUtility.getString(jsonParser, key);
+          case "sun_roof_installed" -> sunRoofInstalled = JacksonUtility.getStringNullable(jsonParser, key);
+          case "third_row_seats" -> thirdRowSeats = JacksonUtility.getString(jsonParser, key);
+          case "timestamp" -> {
+            timestamp = JacksonUtility.getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          case "use_range_badging" -> {
+            useRangeBadging = JacksonUtility.getBoolean(jsonParser, key);
+            useRangeBadgingSeen = true;
+          }
+          case "wheel_type" -> wheelType = JacksonUtility.getString(jsonParser, key);
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new VehicleConfig(
-        canAcceptNavigationRequests,
-        canActuateTrunks,
-        carSpecialType,
-        carType,
-        chargePortType,
-        eceRestrictions,
-        euVehicle,
-        exteriorColor,
-        hasAirSuspension,
-        hasLudicrousMode,
-        keyVersion,
-        motorizedChargePort,
-        plg,
-        rearSeatHeaters,
+        JacksonUtility.required(
+          canAcceptNavigationRequests,
+          canAcceptNavigationRequestsSeen,
+          "can_accept_navigation_requests"
+        ),
+        JacksonUtility.required(canActuateTrunks, canActuateTrunksSeen, "can_actuate_trunks"),
+        JacksonUtility.required(carSpecialType, "car_special_type"),
+        JacksonUtility.required(carType, "car_type"),
+        JacksonUtility.required(chargePortType, "charge_port_type"),
+        JacksonUtility.required(eceRestrictions, eceRestrictionsSeen, "ece_restrictions"),
+        JacksonUtility.required(euVehicle, euVehicleSeen, "eu_vehicle"),
+        JacksonUtility.required(exteriorColor, "exterior_color"),
+        JacksonUtility.required(hasAirSuspension, hasAirSuspensionSeen, "has_air_suspension"),
+        JacksonUtility.required(hasLudicrousMode, hasLudicrousModeSeen, "has_ludicrous_mode"),
+        JacksonUtility.required(keyVersion, keyVersionSeen, "key_version"),
+        JacksonUtility.required(motorizedChargePort, motorizedChargePortSeen, "motorized_charge_port"),
+        JacksonUtility.required(plg, plgSeen, "plg"),
+        JacksonUtility.required(rearSeatHeaters, rearSeatHeatersSeen, "rear_seat_heaters"),
         rearSeatType,
-        rhd,
-        roofColor,
+        JacksonUtility.required(rhd, rhdSeen, "rhd"),
+        JacksonUtility.required(roofColor, "roof_color"),
         seatType,
-        spoilerType,
+        JacksonUtility.required(spoilerType, "spoiler_type"),
         sunRoofInstalled,
-        thirdRowSeats,
-        timestamp,
-        useRangeBadging,
-        wheelType
+        JacksonUtility.required(thirdRowSeats, "third_row_seats"),
+        JacksonUtility.required(timestamp, timestampSeen, "timestamp"),
+        JacksonUtility.required(useRangeBadging, useRangeBadgingSeen, "use_range_badging"),
+        JacksonUtility.required(wheelType, "wheel_type")
       );
     }
   }
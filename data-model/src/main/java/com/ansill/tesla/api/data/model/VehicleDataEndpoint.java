@@ -0,0 +1,46 @@
+package com.ansill.tesla.api.data.model;
+
+import javax.annotation.Nonnull;
+import java.util.Optional;
+
+/** Sub-documents of vehicle data that can be selected in a single vehicle_data request */
+public enum VehicleDataEndpoint{
+  CHARGE_STATE("charge_state"),
+  CLIMATE_STATE("climate_state"),
+  DRIVE_STATE("drive_state"),
+  GUI_SETTINGS("gui_settings"),
+  VEHICLE_CONFIG("vehicle_config"),
+  VEHICLE_STATE("vehicle_state");
+
+  /** Name of the endpoint, same as the key of the sub-document */
+  @Nonnull
+  private final String name;
+
+  VehicleDataEndpoint(@Nonnull String name){
+    this.name = name;
+  }
+
+  /**
+   * Finds endpoint by its name
+   *
+   * @param name name of the endpoint
+   * @return optional that contains the endpoint if name is known
+   */
+  @Nonnull
+  public static Optional<VehicleDataEndpoint> fromName(@Nonnull String name){
+    for(var endpoint : values()){
+      if(endpoint.name.equals(name)) return Optional.of(endpoint);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Returns name of the endpoint
+   *
+   * @return name
+   */
+  @Nonnull
+  public String getName(){
+    return name;
+  }
+}
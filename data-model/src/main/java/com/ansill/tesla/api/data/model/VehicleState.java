@@ -7,14 +7,12 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -239,7 +237,7 @@ public final class VehicleState{
     this.valetMode = valetMode;
     this.valetPinNeeded = valetPinNeeded;
     this.vehicleName = vehicleName;
-    this._unknownFields = Collections.unmodifiableMap(unknownFields);
+    this._unknownFields = unknownFields.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(unknownFields);
   }
 
   @Override
@@ -486,109 +484,244 @@ public final class VehicleState{
       JsonParser jsonParser, DeserializationContext deserializationContext
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var apiVersion = getInteger(node, "api_version", usedKeysSet);
+      // Set up values
+      int apiVersion = 0;
+      boolean apiVersionSeen = false;
+      String autoparkStateV3 = null;
+      boolean calendarSupported = false;
+      boolean calendarSupportedSeen = false;
+      String carVersion = null;
+      int centerDisplayState = 0;
+      boolean centerDisplayStateSeen = false;
+      int df = 0;
+      boolean dfSeen = false;
+      int dr = 0;
+      boolean drSeen = false;
+      int fdWindow = 0;
+      boolean fdWindowSeen = false;
+      int fpWindow = 0;
+      boolean fpWindowSeen = false;
+      int ft = 0;
+      boolean ftSeen = false;
+      boolean isUserPresent = false;
+      boolean isUserPresentSeen = false;
+      boolean locked = false;
+      boolean lockedSeen = false;
+      MediaState mediaState = null;
+      boolean notificationsSupported = false;
+      boolean notificationsSupportedSeen = false;
+      double odometer = 0;
+      boolean odometerSeen = false;
+      boolean parsedCalendarSupported = false;
+      boolean parsedCalendarSupportedSeen = false;
+      int pf = 0;
+      boolean pfSeen = false;
+      int pr = 0;
+      boolean prSeen = false;
+      int rdWindow = 0;
+      boolean rdWindowSeen = false;
+      boolean remoteStart = false;
+      boolean remoteStartSeen = false;
+      boolean remoteStartEnabled = false;
+      boolean remoteStartEnabledSeen = false;
+      boolean remoteStartSupported = false;
+      boolean remoteStartSupportedSeen = false;
+      int rpWindow = 0;
+      boolean rpWindowSeen = false;
+      int rt = 0;
+      boolean rtSeen = false;
+      boolean sentryMode = false;
+      boolean sentryModeSeen = false;
+      boolean sentryModeAvailable = false;
+      boolean sentryModeAvailableSeen = false;
+      SoftwareUpdate softwareUpdate = null;
+      SpeedLimitMode speedLimitMode = null;
+      long timestamp = 0;
+      boolean timestampSeen = false;
+      boolean valetMode = false;
+      boolean valetModeSeen = false;
+      boolean valetPinNeeded = false;
+      boolean valetPinNeededSeen = false;
+      String vehicleName = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "api_version" -> {
+            apiVersion = getInteger(jsonParser, key);
+            apiVersionSeen = true;
+          }
+          case "autopark_state_v3" -> autoparkStateV3 = getStringNullable(jsonParser, key);
+          case "calendar_supported" -> {
+            calendarSupported = getBoolean(jsonParser, key);
+            calendarSupportedSeen = true;
+          }
+          case "car_version" -> carVersion = getString(jsonParser, key);
+          case "center_display_state" -> {
+            centerDisplayState = getInteger(jsonParser, key);
+            centerDisplayStateSeen = true;
+          }
+          case "df" -> {
+            df = getInteger(jsonParser, key);
+            dfSeen = true;
+          }
+          case "dr" -> {
+            dr = getInteger(jsonParser, key);
+            drSeen = true;
+          }
+          case "fd_window" -> {
+            fdWindow = getInteger(jsonParser, key);
+            fdWindowSeen = true;
+          }
+          case "fp_window" -> {
+            fpWindow = getInteger(jsonParser, key);
+            fpWindowSeen = true;
+          }
+          case "ft" -> {
+            ft = getInteger(jsonParser, key);
+            ftSeen = true;
+          }
+          case "is_user_present" -> {
+            isUserPresent = getBoolean(jsonParser, key);
+            isUserPresentSeen = true;
+          }
+          case "locked" -> {
+            locked = getBoolean(jsonParser, key);
+            lockedSeen = true;
+          }
+          case "media_state" -> mediaState = getObject(jsonParser, deserializationContext, MediaState.class);
+          case "notifications_supported" -> {
+            notificationsSupported = getBoolean(jsonParser, key);
+            notificationsSupportedSeen = true;
+          }
+          case "odometer" -> {
+            odometer = getDouble(jsonParser, key);
+            odometerSeen = true;
+          }
+          case "parsed_calendar_supported" -> {
+            parsedCalendarSupported = getBoolean(jsonParser, key);
+            parsedCalendarSupportedSeen = true;
+          }
+          case "pf" -> {
+            pf = getInteger(jsonParser, key);
+            pfSeen = true;
+          }
+          case "pr" -> {
+            pr = getInteger(jsonParser, key);
+            prSeen = true;
+          }
+          case "rd_window" -> {
+            rdWindow = getInteger(jsonParser, key);
+            rdWindowSeen = true;
+          }
+          case "remote_start" -> {
+            remoteStart = getBoolean(jsonParser, key);
+            remoteStartSeen = true;
+          }
+          case "remote_start_enabled" -> {
+            remoteStartEnabled = getBoolean(jsonParser, key);
+            remoteStartEnabledSeen = true;
+          }
+          case "remote_start_supported" -> {
+            remoteStartSupported = getBoolean(jsonParser, key);
+            remoteStartSupportedSeen = true;
+          }
+          case "rp_window" -> {
+            rpWindow = getInteger(jsonParser, key);
+            rpWindowSeen = true;
+          }
+          case "rt" -> {
+            rt = getInteger(jsonParser, key);
+            rtSeen = true;
+          }
+          case "sentry_mode" -> {
+            sentryMode = getBoolean(jsonParser, key);
+            sentryModeSeen = true;
+          }
+          case "sentry_mode_available" -> {
+            sentryModeAvailable = getBoolean(jsonParser, key);
+            sentryModeAvailableSeen = true;
+          }
+          case "software_update" -> softwareUpdate = getObject(
+            jsonParser,
+            deserializationContext,
+            SoftwareUpdate.class
+          );
+          case "speed_limit_mode" -> speedLimitMode = getObject(
+            jsonParser,
+            deserializationContext,
+            SpeedLimitMode.class
+          );
+          case "timestamp" -> {
+            timestamp = getLong(jsonParser, key);
+            timestampSeen = true;
+          }
+          case "valet_mode" -> {
+            valetMode = getBoolean(jsonParser, key);
+            valetModeSeen = true;
+          }
+          case "valet_pin_needed" -> {
+            valetPinNeeded = getBoolean(jsonParser, key);
+            valetPinNeededSeen = true;
+          }
+          case "vehicle_name" -> vehicleName = getString(jsonParser, key);
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Warn if api version is not 8
-      if(apiVersion != SUPPORTED_API_VERSION){
+      if(apiVersionSeen && apiVersion != SUPPORTED_API_VERSION){
         // TODO warn
         System.out.println(f("API Version is '{}'. Supported API version is '{}'", apiVersion, SUPPORTED_API_VERSION));
       }
 
-      var autoparkStateV3 = getStringNullable(node, "autopark_state_v3", usedKeysSet);
-      var calendarSupported = getBoolean(node, "calendar_supported", usedKeysSet);
-      var carVersion = getString(node, "car_version", usedKeysSet);
-      var centerDisplayState = getInteger(node, "center_display_state", usedKeysSet);
-      var df = getInteger(node, "df", usedKeysSet);
-      var dr = getInteger(node, "dr", usedKeysSet);
-      var fdWindow = getInteger(node, "fd_window", usedKeysSet);
-      var fpWindow = getInteger(node, "fp_window", usedKeysSet);
-      var ft = getInteger(node, "ft", usedKeysSet);
-      var isUserPresent = getBoolean(node, "is_user_present", usedKeysSet);
-      var locked = getBoolean(node, "locked", usedKeysSet);
-      MediaState mediaState = getObject(jsonParser.getCodec(), "media_state", node, usedKeysSet, MediaState.class);
-      var notificationsSupported = getBoolean(node, "notifications_supported", usedKeysSet);
-      var odometer = getDouble(node, "odometer", usedKeysSet);
-      var parsedCalendarSupported = getBoolean(node, "parsed_calendar_supported", usedKeysSet);
-      var pf = getInteger(node, "pf", usedKeysSet);
-      var pr = getInteger(node, "pr", usedKeysSet);
-      var rdWindow = getInteger(node, "rd_window", usedKeysSet);
-      var remoteStart = getBoolean(node, "remote_start", usedKeysSet);
-      var remoteStartEnabled = getBoolean(node, "remote_start_enabled", usedKeysSet);
-      var remoteStartSupported = getBoolean(node, "remote_start_supported", usedKeysSet);
-      var rpWindow = getInteger(node, "rp_window", usedKeysSet);
-      var rt = getInteger(node, "rt", usedKeysSet);
-      var sentryMode = getBoolean(node, "sentry_mode", usedKeysSet);
-      var sentryModeAvailable = getBoolean(node, "sentry_mode_available", usedKeysSet);
-      SoftwareUpdate softwareUpdate = getObject(
-        jsonParser.getCodec(),
-        "software_update",
-        node,
-        usedKeysSet,
-        SoftwareUpdate.class
-      );
-      SpeedLimitMode speedLimitMode = getObject(
-        jsonParser.getCodec(),
-        "speed_limit_mode",
-        node,
-        usedKeysSet,
-        SpeedLimitMode.class
-      );
-      var timestamp = getLong(node, "timestamp", usedKeysSet);
-      var valetMode = getBoolean(node, "valet_mode", usedKeysSet);
-      var valetPinNeeded = getBoolean(node, "valet_pin_needed", usedKeysSet);
-      var vehicleName = getString(node, "vehicle_name", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
-
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Build and return
       return new VehicleState(
-        apiVersion,
+        required(apiVersion, apiVersionSeen, "api_version"),
         autoparkStateV3,
-        calendarSupported,
-        carVersion,
-        centerDisplayState,
-        df,
-        dr,
-        fdWindow,
-        fpWindow,
-        ft,
-        isUserPresent,
-        locked,
-        mediaState,
-        notificationsSupported,
-        odometer,
-        parsedCalendarSupported,
-        pf,
-        pr,
-        rdWindow,
-        remoteStart,
-        remoteStartEnabled,
-        remoteStartSupported,
-        rpWindow,
-        rt,
-        sentryMode,
-        sentryModeAvailable,
-        softwareUpdate,
-        speedLimitMode,
-        timestamp,
-        valetMode,
-        valetPinNeeded,
-        vehicleName,
-        unknownFields
+        required(calendarSupported, calendarSupportedSeen, "calendar_supported"),
+        required(carVersion, "car_version"),
+        required(centerDisplayState, centerDisplayStateSeen, "center_display_state"),
+        required(df, dfSeen, "df"),
+        required(dr, drSeen, "dr"),
+        required(fdWindow, fdWindowSeen, "fd_window"),
+        required(fpWindow, fpWindowSeen, "fp_window"),
+        required(ft, ftSeen, "ft"),
+        required(isUserPresent, isUserPresentSeen, "is_user_present"),
+        required(locked, lockedSeen, "locked"),
+        required(mediaState, "media_state"),
+        required(notificationsSupported, notificationsSupportedSeen, "notifications_supported"),
+        required(odometer, odometerSeen, "odometer"),
+        required(parsedCalendarSupported, parsedCalendarSupportedSeen, "parsed_calendar_supported"),
+        required(pf, pfSeen, "pf"),
+        required(pr, prSeen, "pr"),
+        required(rdWindow, rdWindowSeen, "rd_window"),
+        required(remoteStart, remoteStartSeen, "remote_start"),
+        required(remoteStartEnabled, remoteStartEnabledSeen, "remote_start_enabled"),
+        required(remoteStartSupported, remoteStartSupportedSeen, "remote_start_supported"),
+        required(rpWindow, rpWindowSeen, "rp_window"),
+        required(rt, rtSeen, "rt"),
+        required(sentryMode, sentryModeSeen, "sentry_mode"),
+        required(sentryModeAvailable, sentryModeAvailableSeen, "sentry_mode_available"),
+        required(softwareUpdate, "software_update"),
+        required(speedLimitMode, "speed_limit_mode"),
+        required(timestamp, timestampSeen, "timestamp"),
+        required(valetMode, valetModeSeen, "valet_mode"),
+        required(valetPinNeeded, valetPinNeededSeen, "valet_pin_needed"),
+        required(vehicleName, "vehicle_name"),
+        unknownFields != null ? unknownFields : Collections.emptyMap()
       );
     }
   }
@@ -8,12 +8,10 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -62,32 +60,31 @@ public final class CompleteVehicleDataResponse extends SimpleResponse<CompleteVe
     public CompleteVehicleDataResponse deserialize(JsonParser jsonParser, DeserializationContext ctxt)
     throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
+      // Set up values
+      CompleteVehicle item = null;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
 
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
 
-      // Get values
-      CompleteVehicle item = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "response",
-        node,
-        usedKeysSet,
-        CompleteVehicle.class
-      );
+        // Move to the value
+        jsonParser.nextToken();
 
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+        // Get value
+        switch(key){
+          case "response" -> item = JacksonUtility.getObject(jsonParser, ctxt, CompleteVehicle.class);
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Return object
-      return new CompleteVehicleDataResponse(item);
+      return new CompleteVehicleDataResponse(JacksonUtility.required(item, "response"));
     }
   }
 }
\ No newline at end of file
@@ -1,21 +1,20 @@
 package com.ansill.tesla.api.data.model.response;
 
+import com.ansill.tesla.api.data.utility.JacksonUtility;
 import com.ansill.tesla.api.data.utility.SimpleSerializer;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Optional;
 
-import static com.ansill.tesla.api.data.utility.JacksonUtility.getStringNullable;
+import static com.ansill.tesla.api.data.utility.JacksonUtility.*;
 import static com.ansill.utility.Utility.simpleToString;
 
 /** Generic Error Response */
@@ -110,16 +109,25 @@ public final class GenericErrorResponse{
       JsonParser jsonParser, DeserializationContext ctxt
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var error = getStringNullable(node, "error", usedKeysSet);
-      var errorDescription = getStringNullable(node, "error_description", usedKeysSet);
-      var response = getStringNullable(node, "response", usedKeysSet);
+      // Set up values
+      String error = null;
+      String errorDescription = null;
+      String response = null;
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "error" -> error = getStringNullable(jsonParser, key);
+          case "error_description" -> errorDescription = getStringNullable(jsonParser, key);
+          case "response" -> response = getStringNullable(jsonParser, key);
+          default -> jsonParser.skipChildren();
+        }
+      }
 
       // Build and return
       return new GenericErrorResponse(
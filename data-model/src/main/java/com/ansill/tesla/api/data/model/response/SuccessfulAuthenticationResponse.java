@@ -8,13 +8,11 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
@@ -107,30 +105,53 @@ public final class SuccessfulAuthenticationResponse{
       JsonParser jsonParser, DeserializationContext ctxt
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
-
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
-
-      // Get values
-      var tokenType = JacksonUtility.getString(node, "token_type", usedKeysSet);
-      var accessToken = JacksonUtility.getString(node, "access_token", usedKeysSet);
-      var refreshToken = JacksonUtility.getString(node, "refresh_token", usedKeysSet);
-      var createdAt = JacksonUtility.getLong(node, "created_at", usedKeysSet);
-      var expireAt = JacksonUtility.getLong(node, "expires_in", usedKeysSet);
-
-      // Get unused fields map
-      var unknownFields = JacksonUtility.createUnknownFieldsMap(node, jsonParser.getCodec(), usedKeysSet);
+      // Set up values
+      String tokenType = null;
+      String accessToken = null;
+      String refreshToken = null;
+      long createdAt = 0;
+      boolean createdAtSeen = false;
+      long expireAt = 0;
+      boolean expireAtSeen = false;
+      var fnc = unknownFieldsFunction.get();
+      var unknownFields = JacksonUtility.createUnknownFieldsMap(fnc);
+
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
+
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "token_type" -> tokenType = JacksonUtility.getString(jsonParser, key);
+          case "access_token" -> accessToken = JacksonUtility.getString(jsonParser, key);
+          case "refresh_token" -> refreshToken = JacksonUtility.getString(jsonParser, key);
+          case "created_at" -> {
+            createdAt = JacksonUtility.getLong(jsonParser, key);
+            createdAtSeen = true;
+          }
+          case "expires_in" -> {
+            expireAt = JacksonUtility.getLong(jsonParser, key);
+            expireAtSeen = true;
+          }
+          default -> JacksonUtility.putUnknownField(jsonParser, key, unknownFields);
+        }
+      }
 
       // Report it
-      var fnc = unknownFieldsFunction.get();
-      if(fnc != null && fnc.apply(unknownFields)){
+      if(unknownFields != null && fnc.apply(unknownFields)){
         throw new IllegalArgumentException("Thrown by the unknownFieldsFunction function");
       }
 
       // Return it
-      return new SuccessfulAuthenticationResponse(accessToken, tokenType, expireAt, refreshToken, createdAt);
+      return new SuccessfulAuthenticationResponse(
+        JacksonUtility.required(accessToken, "access_token"),
+        JacksonUtility.required(tokenType, "token_type"),
+        JacksonUtility.required(expireAt, expireAtSeen, "expires_in"),
+        JacksonUtility.required(refreshToken, "refresh_token"),
+        JacksonUtility.required(createdAt, createdAtSeen, "created_at")
+      );
     }
   }
 }
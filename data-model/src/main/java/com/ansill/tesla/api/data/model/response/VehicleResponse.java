@@ -8,12 +8,10 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
-import java.util.HashSet;
 
 import static com.ansill.utility.Utility.simpleToString;
 
@@ -47,17 +45,24 @@ public final class VehicleResponse extends SimpleResponse<Vehicle>{
     @Override
     public VehicleResponse deserialize(JsonParser jsonParser, DeserializationContext ctxt) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
+      // Set up values
+      Vehicle vehicle = null;
 
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
 
-      // Get value
-      Vehicle vehicle = JacksonUtility.getObject(jsonParser.getCodec(), "response", node, usedKeysSet, Vehicle.class);
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "response" -> vehicle = JacksonUtility.getObject(jsonParser, ctxt, Vehicle.class);
+          default -> jsonParser.skipChildren();
+        }
+      }
 
       // Return it
-      return new VehicleResponse(vehicle);
+      return new VehicleResponse(JacksonUtility.required(vehicle, "response"));
     }
   }
 }
\ No newline at end of file
@@ -8,7 +8,6 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -16,7 +15,6 @@ import javax.annotation.concurrent.Immutable;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 
 import static com.ansill.utility.Utility.simpleToString;
@@ -91,24 +89,33 @@ public final class VehiclesResponse{
       JsonParser jsonParser, DeserializationContext ctxt
     ) throws IOException{
 
-      // Get node
-      ObjectNode node = jsonParser.readValueAsTree();
+      // Set up values
+      Vehicle[] vehicle = null;
+      int count = 0;
+      boolean countSeen = false;
 
-      // Set up set of used keys
-      var usedKeysSet = new HashSet<String>();
+      // Read the object in a single pass
+      for(var key = JacksonUtility.firstFieldName(jsonParser); key != null; key = jsonParser.nextFieldName()){
 
-      // Get value
-      Vehicle[] vehicle = JacksonUtility.getObject(
-        jsonParser.getCodec(),
-        "response",
-        node,
-        usedKeysSet,
-        Vehicle[].class
-      );
-      var count = JacksonUtility.getInteger(node, "count", usedKeysSet);
+        // Move to the value
+        jsonParser.nextToken();
+
+        // Get value
+        switch(key){
+          case "response" -> vehicle = JacksonUtility.getObject(jsonParser, ctxt, Vehicle[].class);
+          case "count" -> {
+            count = JacksonUtility.getInteger(jsonParser, key);
+            countSeen = true;
+          }
+          default -> jsonParser.skipChildren();
+        }
+      }
 
       // Return it
-      return new VehiclesResponse(Arrays.asList(vehicle), count);
+      return new VehiclesResponse(
+        Arrays.asList(JacksonUtility.required(vehicle, "response")),
+        JacksonUtility.required(count, countSeen, "count")
+      );
     }
   }
 }
\ No newline at end of file
@@ -1,209 +1,343 @@
 package com.ansill.tesla.api.data.utility;
 
-import com.fasterxml.jackson.core.ObjectCodec;
+import com.ansill.tesla.api.data.model.ChargeState;
+import com.ansill.tesla.api.data.model.ClimateState;
+import com.ansill.tesla.api.data.model.CompleteVehicle;
+import com.ansill.tesla.api.data.model.DriveState;
+import com.ansill.tesla.api.data.model.GuiSettings;
+import com.ansill.tesla.api.data.model.MediaState;
+import com.ansill.tesla.api.data.model.PartialVehicle;
+import com.ansill.tesla.api.data.model.SoftwareUpdate;
+import com.ansill.tesla.api.data.model.SpeedLimitMode;
+import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.VehicleConfig;
+import com.ansill.tesla.api.data.model.VehicleState;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import static com.ansill.utility.Utility.f;
 
+/**
+ * Streaming helpers for the deserializers. Deserializers walk the object once, token by token, and the helpers read the
+ * value under the current token. The parser is expected to be positioned on the value token of the field
+ */
 public final class JacksonUtility{
 
+  /** Unknown fields function that ignores everything, deserializers skip unknown fields bookkeeping when it's set */
+  @Nonnull
+  public static final Function<Map<String,Optional<Object>>,Boolean> IGNORE_UNKNOWN_FIELDS = item -> false;
+
   private JacksonUtility(){
     throw new AssertionError("No instantiation");
   }
 
+  /**
+   * Creates module with the deserializers that report unknown fields to the function. The model classes name their
+   * deserializers in the class annotations, which Jackson picks before the module ones, so the module also puts an
+   * annotation introspector in front that points the classes at these deserializers instead. As a result, unknown
+   * fields of nested objects, such as the charge state inside the vehicle data, are reported too, not only the ones
+   * of the top-level response
+   *
+   * @param unknownFieldsFunction reference to the unknown fields function, read on every deserialization
+   * @return module
+   */
   @Nonnull
-  public static Map<String,Optional<Object>> createUnknownFieldsMap(
-    @Nonnull ObjectNode node,
-    @Nonnull ObjectCodec codec,
-    @Nonnull Set<String> usedKeyNames
+  public static SimpleModule createModule(
+    @Nonnull AtomicReference<Function<Map<String,Optional<Object>>,Boolean>> unknownFieldsFunction
   ){
-    // Error if there's unused keys
-    var keys = new HashSet<String>();
-    var iterator = node.fieldNames();
-    while(iterator.hasNext()) keys.add(iterator.next());
 
-    // Perform a usedKeysSet difference
-    keys.removeAll(usedKeyNames);
+    // Set up deserializers
+    var deserializers = new HashMap<Class<?>,JsonDeserializer<?>>();
+    deserializers.put(Vehicle.class, new Vehicle.Deserializer(unknownFieldsFunction));
+    deserializers.put(CompleteVehicle.class, new CompleteVehicle.Deserializer(unknownFieldsFunction));
+    deserializers.put(PartialVehicle.class, new PartialVehicle.Deserializer(unknownFieldsFunction));
+    deserializers.put(ClimateState.class, new ClimateState.Deserializer(unknownFieldsFunction));
+    deserializers.put(ChargeState.class, new ChargeState.Deserializer(unknownFieldsFunction));
+    deserializers.put(DriveState.class, new DriveState.Deserializer(unknownFieldsFunction));
+    deserializers.put(GuiSettings.class, new GuiSettings.Deserializer(unknownFieldsFunction));
+    deserializers.put(MediaState.class, new MediaState.Deserializer(unknownFieldsFunction));
+    deserializers.put(SoftwareUpdate.class, new SoftwareUpdate.Deserializer(unknownFieldsFunction));
+    deserializers.put(SpeedLimitMode.class, new SpeedLimitMode.Deserializer(unknownFieldsFunction));
+    deserializers.put(VehicleConfig.class, new VehicleConfig.Deserializer(unknownFieldsFunction));
+    deserializers.put(VehicleState.class, new VehicleState.Deserializer(unknownFieldsFunction));
 
-    // Create unused keys map
-    var unknownFields = new HashMap<String,Optional<Object>>();
+    // Put the introspector in front of the annotations
+    return new SimpleModule(){
 
-    // Process each field
-    for(var key : keys){
+      private static final long serialVersionUID = 2816400516426851253L;
 
-      // Get node
-      var itemNode = node.get(key);
+      @Override
+      public void setupModule(SetupContext context){
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new NopAnnotationIntrospector(){
 
-      if(itemNode.isNull()) unknownFields.put(key, Optional.empty());
-      else if(itemNode.isTextual()) unknownFields.put(key, Optional.of(itemNode.asText()));
-      else if(itemNode.isDouble()) unknownFields.put(key, Optional.of(itemNode.asDouble()));
-      else if(itemNode.isInt()) unknownFields.put(key, Optional.of(itemNode.asInt()));
-      else if(itemNode.isLong()) unknownFields.put(key, Optional.of(itemNode.asLong()));
-      else if(itemNode.isBoolean()) unknownFields.put(key, Optional.of(itemNode.asBoolean()));
-      else if(itemNode.isArray()) unknownFields.put(key, Optional.of(itemNode.asText()));
-      else if(itemNode.isContainerNode()) unknownFields.put(key, Optional.of(itemNode.asText()));
+          private static final long serialVersionUID = -5129883062213484215L;
 
-    }
+          @Override
+          public Object findDeserializer(Annotated annotated){
+            return annotated instanceof AnnotatedClass ? deserializers.get(annotated.getRawType()) : null;
+          }
+        });
+      }
+    };
+  }
 
-    // Return map
-    return unknownFields;
+  /**
+   * Returns name of the first field in the object the parser is positioned on
+   *
+   * @param parser parser positioned on START_OBJECT (or already on the first FIELD_NAME)
+   * @return name of the first field or null if object is empty
+   * @throws IOException thrown if the parser is not positioned on an object
+   */
+  @Nullable
+  public static String firstFieldName(@Nonnull JsonParser parser) throws IOException{
+    var token = parser.currentToken();
+    if(token == JsonToken.START_OBJECT) return parser.nextFieldName();
+    if(token == JsonToken.FIELD_NAME) return parser.getCurrentName();
+    if(token == JsonToken.END_OBJECT) return null;
+    throw new JsonParseException(parser, f("Expected start of an object, got '{}'", token));
   }
 
+  /**
+   * Ensures that the required value has been encountered in the object
+   *
+   * @param value   value, null if the key has not been encountered
+   * @param keyName key name
+   * @param <T>     value type
+   * @return value
+   */
   @Nonnull
-  public static String getString(@Nonnull ObjectNode node, @Nonnull String keyName, @Nonnull Set<String> usedKeyNames){
-    var itemNode = node.required(keyName);
-    if(!itemNode.isTextual()) throw new RuntimeException(f("Key name '{}' is not a String!", keyName));
-    var item = itemNode.asText();
-    usedKeyNames.add(keyName);
-    return item;
+  public static <T> T required(@Nullable T value, @Nonnull String keyName){
+    if(value == null) throw missing(keyName);
+    return value;
+  }
+
+  /**
+   * Ensures that the required primitive value has been encountered in the object
+   *
+   * @param value   value
+   * @param seen    whether the key has been encountered
+   * @param keyName key name
+   * @return value
+   */
+  public static long required(long value, boolean seen, @Nonnull String keyName){
+    if(!seen) throw missing(keyName);
+    return value;
   }
 
+  /**
+   * Ensures that the required primitive value has been encountered in the object
+   *
+   * @param value   value
+   * @param seen    whether the key has been encountered
+   * @param keyName key name
+   * @return value
+   */
+  public static int required(int value, boolean seen, @Nonnull String keyName){
+    if(!seen) throw missing(keyName);
+    return value;
+  }
 
-  public static boolean getBoolean(
-    @Nonnull ObjectNode node,
-    @Nonnull String keyName,
-    @Nonnull Set<String> usedKeyNames
-  ){
-    var itemNode = node.required(keyName);
-    if(!itemNode.isBoolean()) throw new RuntimeException(f("Key name '{}' is not a Boolean!", keyName));
-    var item = itemNode.asBoolean();
-    usedKeyNames.add(keyName);
-    return item;
+  /**
+   * Ensures that the required primitive value has been encountered in the object
+   *
+   * @param value   value
+   * @param seen    whether the key has been encountered
+   * @param keyName key name
+   * @return value
+   */
+  public static double required(double value, boolean seen, @Nonnull String keyName){
+    if(!seen) throw missing(keyName);
+    return value;
+  }
+
+  /**
+   * Ensures that the required primitive value has been encountered in the object
+   *
+   * @param value   value
+   * @param seen    whether the key has been encountered
+   * @param keyName key name
+   * @return value
+   */
+  public static boolean required(boolean value, boolean seen, @Nonnull String keyName){
+    if(!seen) throw missing(keyName);
+    return value;
+  }
+
+  /**
+   * Creates exception for the required value that has not been encountered
+   *
+   * @param keyName key name
+   * @return exception
+   */
+  @Nonnull
+  private static IllegalArgumentException missing(@Nonnull String keyName){
+    return new IllegalArgumentException(f("No value for property '{}'", keyName));
   }
 
+  /**
+   * Creates unknown fields map if the function wants to see it
+   *
+   * @param function unknown fields function
+   * @return empty map or null if there's nothing that consumes unknown fields
+   */
   @Nullable
-  public static Boolean getBooleanNullable(
-    @Nonnull ObjectNode node,
-    @Nonnull String keyName,
-    @Nonnull Set<String> usedKeyNames
+  public static Map<String,Optional<Object>> createUnknownFieldsMap(
+    @Nullable Function<Map<String,Optional<Object>>,Boolean> function
   ){
-    var itemNode = node.get(keyName);
-    if(itemNode == null) return null;
-    if(!itemNode.isNull() && !itemNode.isBoolean()) throw new RuntimeException(f(
-      "Key name '{}' is not a Boolean!",
+    if(function == null || function == IGNORE_UNKNOWN_FIELDS) return null;
+    return new HashMap<>();
+  }
+
+  /**
+   * Reads the value under current token and puts it in the unknown fields map, containers are skipped and recorded as
+   * an empty string
+   *
+   * @param parser        parser
+   * @param keyName       key name
+   * @param unknownFields unknown fields map or null if unknown fields are not tracked
+   * @throws IOException thrown if the parser fails
+   */
+  public static void putUnknownField(
+    @Nonnull JsonParser parser,
+    @Nonnull String keyName,
+    @Nullable Map<String,Optional<Object>> unknownFields
+  ) throws IOException{
+
+    // Just skip it if not tracked
+    if(unknownFields == null){
+      parser.skipChildren();
+      return;
+    }
+
+    // Record it
+    var token = parser.currentToken();
+    switch(token){
+      case VALUE_NULL -> unknownFields.put(keyName, Optional.empty());
+      case VALUE_STRING -> unknownFields.put(keyName, Optional.of(parser.getText()));
+      case VALUE_TRUE, VALUE_FALSE -> unknownFields.put(keyName, Optional.of(parser.getBooleanValue()));
+      case VALUE_NUMBER_FLOAT -> unknownFields.put(keyName, Optional.of(parser.getDoubleValue()));
+      case VALUE_NUMBER_INT -> {
+        switch(parser.getNumberType()){
+          case INT -> unknownFields.put(keyName, Optional.of(parser.getIntValue()));
+          case LONG -> unknownFields.put(keyName, Optional.of(parser.getLongValue()));
+          default -> {
+            // Not reported, same as before
+          }
+        }
+      }
+      case START_ARRAY, START_OBJECT -> {
+        parser.skipChildren();
+        unknownFields.put(keyName, Optional.of(""));
+      }
+      default -> {
+        // Nothing to report
+      }
+    }
+  }
+
+  @Nonnull
+  public static String getString(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() != JsonToken.VALUE_STRING) throw new RuntimeException(f(
+      "Key name '{}' is not a String!",
       keyName
     ));
-    var item = itemNode.isNull() ? null : itemNode.asBoolean();
-    usedKeyNames.add(keyName);
-    return item;
+    return parser.getText();
   }
 
-  @Nonnull
+  public static boolean getBoolean(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(!parser.currentToken().isBoolean()) throw new RuntimeException(f("Key name '{}' is not a Boolean!", keyName));
+    return parser.getBooleanValue();
+  }
+
+  @Nullable
+  public static Boolean getBooleanNullable(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    return getBoolean(parser, keyName);
+  }
+
+  @Nullable
   public static <T> T getObject(
-    @Nonnull ObjectCodec codec,
-    @Nonnull String keyName,
-    @Nonnull ObjectNode node,
-    @Nonnull Set<String> usedKeyNames,
+    @Nonnull JsonParser parser,
+    @Nonnull DeserializationContext context,
     @Nonnull Class<T> clazz
   ) throws IOException{
-    var itemParser = node.required(keyName).traverse();
-    itemParser.setCodec(codec);
-    T item = itemParser.readValueAs(clazz);
-    usedKeyNames.add(keyName);
-    return item;
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    return context.readValue(parser, clazz);
   }
 
-  @Nonnull
+  @Nullable
   public static <T> T getObject(
-    @Nonnull ObjectCodec codec,
-    @Nonnull String keyName,
-    @Nonnull ObjectNode node,
-    @Nonnull Set<String> usedKeyNames,
+    @Nonnull JsonParser parser,
+    @Nonnull DeserializationContext context,
     @Nonnull TypeReference<T> reference
   ) throws IOException{
-    var itemParser = node.required(keyName).traverse();
-    itemParser.setCodec(codec);
-    T item = itemParser.readValueAs(reference);
-    usedKeyNames.add(keyName);
-    return item;
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    return context.readValue(parser, context.getTypeFactory().constructType(reference));
   }
 
   @Nullable
-  public static String getStringNullable(
-    @Nonnull ObjectNode node,
-    @Nonnull String keyName,
-    @Nonnull Set<String> usedKeyNames
-  ){
-    var itemNode = node.get(keyName);
-    if(itemNode == null) return null;
-    if(!itemNode.isNull() && !itemNode.isTextual()) throw new RuntimeException(f(
-      "Key name '{}' is not a String!",
-      keyName
-    ));
-    var item = itemNode.isNull() ? null : itemNode.asText();
-    usedKeyNames.add(keyName);
-    return item;
+  public static String getStringNullable(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    return getString(parser, keyName);
   }
 
-  public static long getLong(@Nonnull ObjectNode node, @Nonnull String keyName, @Nonnull Set<String> usedKeyNames){
-    var itemNode = node.required(keyName);
-    if(!itemNode.isLong() && !itemNode.isIntegralNumber()) throw new RuntimeException(f(
+  public static long getLong(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() != JsonToken.VALUE_NUMBER_INT) throw new RuntimeException(f(
       "Key name '{}' is not a Long!",
       keyName
     ));
-    var item = itemNode.asLong();
-    usedKeyNames.add(keyName);
-    return item;
+    return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER ?
+           parser.getBigIntegerValue().longValue() :
+           parser.getLongValue();
   }
 
   @Nullable
-  public static Long getLongNullable(
-    @Nonnull ObjectNode node,
-    @Nonnull String keyName,
-    @Nonnull Set<String> usedKeyNames
-  ){
-    var itemNode = node.get(keyName);
-    if(itemNode == null) return null;
-    if(!itemNode.isNull() && !itemNode.isLong() && !itemNode.isIntegralNumber()) throw new RuntimeException(f(
-      "Key name '{}' is not a Long!",
-      keyName
-    ));
-    var item = itemNode.isNull() ? null : itemNode.asLong();
-    usedKeyNames.add(keyName);
-    return item;
+  public static Long getLongNullable(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    return getLong(parser, keyName);
   }
 
   @Nullable
-  public static Integer getIntegerNullable(
-    @Nonnull ObjectNode node,
-    @Nonnull String keyName,
-    @Nonnull Set<String> usedKeyNames
-  ){
-    var itemNode = node.get(keyName);
-    if(itemNode == null) return null;
-    if(!itemNode.isNull() && !itemNode.isLong() && !itemNode.isIntegralNumber()) throw new RuntimeException(f(
+  public static Integer getIntegerNullable(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() == JsonToken.VALUE_NULL) return null;
+    if(parser.currentToken() != JsonToken.VALUE_NUMBER_INT) throw new RuntimeException(f(
       "Key name '{}' is not a Integer!",
       keyName
     ));
-    var item = itemNode.isNull() ? null : itemNode.asInt();
-    usedKeyNames.add(keyName);
-    return item;
+    return (int) getLong(parser, keyName);
   }
 
-  public static int getInteger(@Nonnull ObjectNode node, @Nonnull String keyName, @Nonnull Set<String> usedKeyNames){
-    var itemNode = node.required(keyName);
-    if(!itemNode.isInt()) throw new RuntimeException(f("Key name '{}' is not an Integer!", keyName));
-    var item = itemNode.asInt();
-    usedKeyNames.add(keyName);
-    return item;
+  public static int getInteger(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT){
+      throw new RuntimeException(f("Key name '{}' is not an Integer!", keyName));
+    }
+    return parser.getIntValue();
   }
 
-  public static double getDouble(@Nonnull ObjectNode node, @Nonnull String keyName, @Nonnull Set<String> usedKeyNames){
-    var itemNode = node.required(keyName);
-    if(!itemNode.isDouble()) throw new RuntimeException(f("Key name '{}' is not a Double!", keyName));
-    var item = itemNode.asDouble();
-    usedKeyNames.add(keyName);
-    return item;
+  public static double getDouble(@Nonnull JsonParser parser, @Nonnull String keyName) throws IOException{
+    if(parser.currentToken() != JsonToken.VALUE_NUMBER_FLOAT) throw new RuntimeException(f(
+      "Key name '{}' is not a Double!",
+      keyName
+    ));
+    return parser.getDoubleValue();
   }
 
 }
@@ -1,7 +1,9 @@
 package com.ansill.tesla.api.mock.endpoint.tesla.v1;
 
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 import com.ansill.tesla.api.data.model.response.CompleteVehicleDataResponse;
 import com.ansill.tesla.api.data.model.response.GenericErrorResponse;
+import com.ansill.tesla.api.data.model.response.SimpleResponse;
 import com.ansill.tesla.api.data.model.response.VehicleResponse;
 import com.ansill.tesla.api.data.model.response.VehiclesResponse;
 import com.ansill.tesla.api.mock.model.MockAccount;
@@ -17,6 +19,7 @@ import io.javalin.plugin.openapi.annotations.OpenApiResponse;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.EnumSet;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -211,6 +214,12 @@ public class VehiclesEndpoint implements EndpointGroup{
         description = "Vehicle Id"
       )
     },
+    queryParams = {
+      @OpenApiParam(
+        name = "endpoints",
+        description = "Semicolon-separated sub-documents to return, such as charge_state;drive_state. All if absent"
+      )
+    },
     responses = {
       @OpenApiResponse(status = "200", content = {@OpenApiContent(from = CompleteVehicleDataResponse.class)}),
       @OpenApiResponse(status = "401"),
@@ -242,6 +251,28 @@ public class VehiclesEndpoint implements EndpointGroup{
       return;
     }
 
+    // Return only the selected sub-documents if endpoints are selected
+    var endpoints = context.queryParam("endpoints");
+    if(endpoints != null){
+
+      // Parse endpoints
+      var selected = EnumSet.noneOf(VehicleDataEndpoint.class);
+      for(var name : endpoints.split(";")){
+        var endpoint = VehicleDataEndpoint.fromName(name.trim());
+        if(endpoint.isEmpty()){
+          context.status(400);
+          context.json(new GenericErrorResponse(null, "invalid_endpoint", name));
+          return;
+        }
+        selected.add(endpoint.get());
+      }
+
+      // Get vehicle
+      context.json(new SimpleResponse<>(vehicle.get().convertPartial(selected)));
+      context.status(200);
+      return;
+    }
+
     // Get vehicles
     context.json(new CompleteVehicleDataResponse(vehicle.get().convertComplete()));
     context.status(200);
@@ -3,7 +3,9 @@ package com.ansill.tesla.api.mock.model;
 
 import com.ansill.tesla.api.data.model.CompleteVehicle;
 import com.ansill.tesla.api.data.model.GuiSettings;
+import com.ansill.tesla.api.data.model.PartialVehicle;
 import com.ansill.tesla.api.data.model.Vehicle;
+import com.ansill.tesla.api.data.model.VehicleDataEndpoint;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -12,6 +14,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 
 import static com.ansill.tesla.api.mock.MockUtility.generateLegibleString;
 import static com.ansill.tesla.api.mock.MockUtility.generateString;
@@ -379,6 +382,31 @@ public class MockVehicle{
     );
   }
 
+  public PartialVehicle convertPartial(@Nonnull Set<VehicleDataEndpoint> endpoints){
+    return new PartialVehicle(
+      id,
+      vehicleId,
+      vin,
+      displayName,
+      optionCodes,
+      color,
+      tokens,
+      state,
+      inService,
+      calendarEnabled,
+      apiVersion,
+      backseatToken,
+      backseatTokenUpdatedAt,
+      Collections.emptyMap(),
+      endpoints.contains(VehicleDataEndpoint.CLIMATE_STATE) ? climateState.convert() : null,
+      endpoints.contains(VehicleDataEndpoint.DRIVE_STATE) ? driveState.convert() : null,
+      endpoints.contains(VehicleDataEndpoint.CHARGE_STATE) ? chargeState.convert() : null,
+      endpoints.contains(VehicleDataEndpoint.GUI_SETTINGS) ? guiSettings.convert() : null,
+      endpoints.contains(VehicleDataEndpoint.VEHICLE_CONFIG) ? vehicleConfig.convert() : null,
+      endpoints.contains(VehicleDataEndpoint.VEHICLE_STATE) ? vehicleState.convert() : null
+    );
+  }
+
   public static class DriveState{
 
     private long gpsAsOf;